@@ -0,0 +1,141 @@
+package org.wordpress.android.datasets;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.models.ReaderPostList;
+
+import java.util.List;
+
+public class ReaderPostSearchTableTest extends AndroidTestCase {
+    private static final String TAG = "ReaderPostSearchTest";
+    private static final int NUM_BENCHMARK_POSTS = 10000;
+
+    private static final String[] WORDS = {
+            "android", "photography", "travel", "recipe", "garden", "music", "design", "coffee",
+            "running", "history", "science", "poetry", "football", "cycling", "painting", "kitchen"
+    };
+
+    private SQLiteDatabase mDb;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mDb = SQLiteDatabase.create(null);
+        ReaderPostSearchTable.createTables(mDb);
+        // searches only return posts that still exist in tbl_posts, which only needs the pseudo_id here
+        mDb.execSQL("CREATE TABLE tbl_posts (pseudo_id TEXT)");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        mDb.close();
+        super.tearDown();
+    }
+
+    private static ReaderPost makePost(int index, String title, String excerpt) {
+        ReaderPost post = new ReaderPost();
+        post.setPseudoId("pseudo-" + index);
+        post.setTitle(title);
+        post.setExcerpt(excerpt);
+        post.setAuthorName("Author " + WORDS[index % WORDS.length]);
+        post.setBlogName("Blog " + WORDS[(index / 3) % WORDS.length]);
+        post.setPrimaryTag(WORDS[(index / 7) % WORDS.length]);
+        post.setSecondaryTag("");
+        return post;
+    }
+
+    private void indexPosts(ReaderPostList posts) {
+        mDb.beginTransaction();
+        try {
+            for (ReaderPost post : posts) {
+                mDb.execSQL("INSERT INTO tbl_posts (pseudo_id) VALUES (?)", new Object[]{post.getPseudoId()});
+            }
+            ReaderPostSearchTable.indexPosts(mDb, posts);
+            mDb.setTransactionSuccessful();
+        } finally {
+            mDb.endTransaction();
+        }
+    }
+
+    public void testMatchQuery() {
+        assertNull(ReaderPostSearchTable.getMatchQuery(null));
+        assertNull(ReaderPostSearchTable.getMatchQuery(" \"*- "));
+        assertEquals("hello* world*", ReaderPostSearchTable.getMatchQuery("Hello, \"World\""));
+        assertEquals("or* near*", ReaderPostSearchTable.getMatchQuery("OR NEAR"));
+    }
+
+    public void testTitleMatchRanksAboveExcerptMatch() {
+        ReaderPostList posts = new ReaderPostList();
+        posts.add(makePost(1, "Something else", "A post about espresso"));
+        posts.add(makePost(2, "Espresso at home", "Making coffee"));
+        indexPosts(posts);
+
+        List<String> results = ReaderPostSearchTable.getMatchingPseudoIds(mDb, "espresso", 10);
+        assertEquals(2, results.size());
+        assertEquals("pseudo-2", results.get(0));
+        assertEquals("pseudo-1", results.get(1));
+    }
+
+    public void testReindexReplacesPreviousContent() {
+        ReaderPostList posts = new ReaderPostList();
+        posts.add(makePost(1, "Original title", ""));
+        indexPosts(posts);
+
+        posts.clear();
+        posts.add(makePost(1, "Updated title", ""));
+        indexPosts(posts);
+
+        assertEquals(0, ReaderPostSearchTable.getMatchingPseudoIds(mDb, "original", 10).size());
+        assertEquals(1, ReaderPostSearchTable.getMatchingPseudoIds(mDb, "updated", 10).size());
+    }
+
+    public void testDeletedPostsAreNotReturned() {
+        ReaderPostList posts = new ReaderPostList();
+        posts.add(makePost(1, "Espresso at home", ""));
+        posts.add(makePost(2, "Espresso on the road", ""));
+        indexPosts(posts);
+
+        mDb.execSQL("DELETE FROM tbl_posts WHERE pseudo_id=?", new Object[]{"pseudo-1"});
+        List<String> results = ReaderPostSearchTable.getMatchingPseudoIds(mDb, "espresso", 10);
+        assertEquals(1, results.size());
+        assertEquals("pseudo-2", results.get(0));
+
+        // purging removes the deleted post from the index itself
+        assertEquals(1, ReaderPostSearchTable.purge(mDb));
+    }
+
+    public void testBenchmarkCorpus() {
+        ReaderPostList posts = new ReaderPostList();
+        for (int i = 0; i < NUM_BENCHMARK_POSTS; i++) {
+            String title = WORDS[i % WORDS.length] + " " + WORDS[(i * 7) % WORDS.length] + " post " + i;
+            String excerpt = "An excerpt mentioning " + WORDS[(i * 3) % WORDS.length]
+                             + " and " + WORDS[(i * 5) % WORDS.length];
+            posts.add(makePost(i, title, excerpt));
+        }
+
+        long startTime = SystemClock.elapsedRealtime();
+        indexPosts(posts);
+        long indexTime = SystemClock.elapsedRealtime() - startTime;
+
+        String[] queries = {"android", "photo", "travel recipe", "coff", "history science", "post 9999"};
+        long totalQueryTime = 0;
+        for (String query : queries) {
+            startTime = SystemClock.elapsedRealtime();
+            List<String> results = ReaderPostSearchTable.getMatchingPseudoIds(mDb, query, 20);
+            long queryTime = SystemClock.elapsedRealtime() - startTime;
+            totalQueryTime += queryTime;
+            assertFalse("No results for " + query, results.isEmpty());
+            Log.i(TAG, "query \"" + query + "\" returned " + results.size() + " results in " + queryTime + "ms");
+        }
+
+        Log.i(TAG, "indexed " + NUM_BENCHMARK_POSTS + " posts in " + indexTime + "ms, average query time "
+                   + (totalQueryTime / queries.length) + "ms");
+
+        // the exact title match should be the best result
+        assertEquals("pseudo-9999", ReaderPostSearchTable.getMatchingPseudoIds(mDb, "post 9999", 20).get(0));
+    }
+}
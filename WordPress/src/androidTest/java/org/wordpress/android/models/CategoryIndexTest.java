@@ -0,0 +1,95 @@
+package org.wordpress.android.models;
+
+import android.test.AndroidTestCase;
+
+import org.wordpress.android.fluxc.model.SiteModel;
+import org.wordpress.android.fluxc.model.TermModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CategoryIndexTest extends AndroidTestCase {
+    private static TermModel makeCategory(long id, long parentId, String name) {
+        TermModel category = new TermModel();
+        category.setRemoteTermId(id);
+        category.setParentRemoteId(parentId);
+        category.setName(name);
+        return category;
+    }
+
+    private static SiteModel makeSite(int localId) {
+        SiteModel site = new SiteModel();
+        site.setId(localId);
+        return site;
+    }
+
+    private static List<TermModel> makeCategories() {
+        List<TermModel> categories = new ArrayList<>();
+        categories.add(makeCategory(1, 0, "travel"));
+        categories.add(makeCategory(2, 1, "Tips"));
+        categories.add(makeCategory(3, 0, "Food"));
+        categories.add(makeCategory(4, 1, "Europe"));
+        categories.add(makeCategory(5, 4, "Paris"));
+        categories.add(makeCategory(6, 42, "Orphan"));
+        return categories;
+    }
+
+    private static List<Long> categoryIds(List<CategoryNode> categories) {
+        List<Long> ids = new ArrayList<>();
+        for (CategoryNode category : categories) {
+            ids.add(category.getCategoryId());
+        }
+        return ids;
+    }
+
+    public void testFlattensInPreOrderSortedByName() {
+        CategoryIndex index = CategoryIndex.getForSite(makeSite(1), makeCategories());
+        List<CategoryNode> sorted = index.getSortedCategories();
+        assertEquals(Arrays.asList(3L, 6L, 1L, 4L, 5L, 2L), categoryIds(sorted));
+        // top level categories are at level 1, as they were under the old tree's root
+        assertEquals(1, sorted.get(0).getLevel());
+        assertEquals(2, sorted.get(3).getLevel());
+        assertEquals(3, sorted.get(4).getLevel());
+        assertEquals(4, index.getPosition(5));
+        assertEquals(4L, index.getParent(sorted.get(4)).getCategoryId());
+    }
+
+    public void testReusesIndexUntilCategoriesChange() {
+        SiteModel site = makeSite(2);
+        List<TermModel> categories = makeCategories();
+        CategoryIndex index = CategoryIndex.getForSite(site, categories);
+        assertSame(index, CategoryIndex.getForSite(site, makeCategories()));
+
+        categories.get(0).setName("Trips");
+        assertNotSame(index, CategoryIndex.getForSite(site, categories));
+    }
+
+    public void testAddedCategoryMatchesRebuild() {
+        SiteModel site = makeSite(3);
+        List<TermModel> categories = makeCategories();
+        CategoryIndex index = CategoryIndex.getForSite(site, categories);
+
+        TermModel added = makeCategory(7, 1, "Asia");
+        CategoryIndex.addCategory(site, added);
+        categories.add(added);
+        assertSame(index, CategoryIndex.getForSite(site, categories));
+        assertEquals(Arrays.asList(3L, 6L, 1L, 7L, 4L, 5L, 2L), categoryIds(index.getSortedCategories()));
+        assertEquals(2, index.getSortedCategories().get(3).getLevel());
+
+        CategoryIndex.addCategory(makeSite(4), makeCategory(8, 0, "Unused"));
+        CategoryIndex rebuilt = CategoryIndex.getForSite(makeSite(4), categories);
+        assertEquals(categoryIds(rebuilt.getSortedCategories()), categoryIds(index.getSortedCategories()));
+
+        CategoryIndex.addCategory(site, makeCategory(9, 0, "Zoo"));
+        assertEquals(1, index.getSortedCategories().get(index.getPosition(9)).getLevel());
+    }
+
+    public void testSearchMatchesWordPrefixes() {
+        CategoryIndex index = CategoryIndex.getForSite(makeSite(5), makeCategories());
+        assertEquals(Arrays.asList(1L, 2L), categoryIds(index.search("t")));
+        assertEquals(Arrays.asList(5L), categoryIds(index.search("PAR")));
+        assertTrue(index.search("paris food").isEmpty());
+        assertTrue(index.search(" ").isEmpty());
+    }
+}
@@ -0,0 +1,104 @@
+package org.wordpress.android.networking;
+
+import android.test.AndroidTestCase;
+
+import com.android.volley.VolleyError;
+import com.wordpress.rest.RestRequest;
+
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RestBatchTest extends AndroidTestCase {
+    private static final String ENDPOINT_URL = "https://public-api.wordpress.com/rest/v1.1/";
+
+    private final List<String> mResponses = new ArrayList<>();
+    private final List<String> mErrors = new ArrayList<>();
+
+    private RestRequest.Listener makeListener(final String name) {
+        return new RestRequest.Listener() {
+            @Override
+            public void onResponse(JSONObject response) {
+                mResponses.add(name + ":" + response.optString("name"));
+            }
+        };
+    }
+
+    private RestRequest.ErrorListener makeErrorListener(final String name) {
+        return new RestRequest.ErrorListener() {
+            @Override
+            public void onErrorResponse(VolleyError error) {
+                mErrors.add(name);
+            }
+        };
+    }
+
+    private RestBatch makeBatch() {
+        return new RestBatch()
+                .add(RestClientUtils.getGeneralSettingsPath(123), makeListener("settings"),
+                     makeErrorListener("settings"))
+                .add(RestClientUtils.getCategoriesPath(123), makeListener("categories"),
+                     makeErrorListener("categories"))
+                .add(RestClientUtils.getJetpackSettingsPath(123), makeListener("jetpack"),
+                     makeErrorListener("jetpack"));
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mResponses.clear();
+        mErrors.clear();
+    }
+
+    public void testQueryStringKeepsOrderAndIdentifiesSite() {
+        RestBatch batch = makeBatch();
+        assertEquals(3, batch.size());
+
+        String queryString = batch.getQueryString();
+        assertEquals("urls%5B%5D=%2Fsites%2F123%2Fsettings"
+                     + "&urls%5B%5D=%2Fsites%2F123%2Fcategories"
+                     + "&urls%5B%5D=%2Fjetpack-blogs%2F123%2Frest-api%2F%3Fpath%3D%2Fjetpack%2Fv4%2Fsettings",
+                     queryString);
+
+        // the authenticator has to be able to tell which site the batch is for
+        String url = ENDPOINT_URL + "batch/?" + queryString;
+        assertEquals("123", AuthenticatorRequest.extractSiteIdFromUrl(ENDPOINT_URL, url));
+    }
+
+    /*
+     * stands in for the server's response to the batch, with one of the requests failing
+     */
+    public void testResponseIsDemultiplexed() throws Exception {
+        JSONObject response = new JSONObject();
+        response.put("/sites/123/settings", new JSONObject().put("name", "My Site"));
+        response.put("/sites/123/categories", new JSONObject().put("name", "Uncategorized"));
+        response.put("/jetpack-blogs/123/rest-api/?path=/jetpack/v4/settings",
+                     new JSONObject().put("error", "unauthorized").put("message", "Not allowed"));
+
+        makeBatch().deliverResponse(response);
+
+        assertEquals(2, mResponses.size());
+        assertEquals("settings:My Site", mResponses.get(0));
+        assertEquals("categories:Uncategorized", mResponses.get(1));
+        assertEquals(1, mErrors.size());
+        assertEquals("jetpack", mErrors.get(0));
+    }
+
+    public void testMissingResultIsAnError() throws Exception {
+        JSONObject response = new JSONObject();
+        response.put("/sites/123/settings", new JSONObject().put("name", "My Site"));
+
+        makeBatch().deliverResponse(response);
+
+        assertEquals(1, mResponses.size());
+        assertEquals(2, mErrors.size());
+    }
+
+    public void testBatchErrorIsPassedToEveryRequest() {
+        makeBatch().deliverError(new VolleyError("timeout"));
+
+        assertEquals(0, mResponses.size());
+        assertEquals(3, mErrors.size());
+    }
+}
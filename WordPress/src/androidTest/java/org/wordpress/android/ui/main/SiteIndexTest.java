@@ -0,0 +1,75 @@
+package org.wordpress.android.ui.main;
+
+import android.test.AndroidTestCase;
+
+import org.wordpress.android.fluxc.model.SiteModel;
+import org.wordpress.android.ui.main.SitePickerAdapter.SiteList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SiteIndexTest extends AndroidTestCase {
+    private static SiteModel makeSite(int localId, long siteId, String name, String url) {
+        SiteModel site = new SiteModel();
+        site.setId(localId);
+        site.setSiteId(siteId);
+        site.setName(name);
+        site.setUrl(url);
+        site.setIsVisible(true);
+        return site;
+    }
+
+    private static SiteList makeSites() {
+        List<SiteModel> siteModels = new ArrayList<>();
+        siteModels.add(makeSite(1, 101, "zebra Crossing", "https://zebra.wordpress.com"));
+        siteModels.add(makeSite(2, 102, "My Travel Blog", "https://travelblog.example.com"));
+        siteModels.add(makeSite(3, 103, "apple pie", "https://pies.wordpress.com"));
+        siteModels.add(makeSite(4, 104, "Banana Bread", "https://bread.example.com"));
+        return new SiteList(siteModels);
+    }
+
+    private static List<Integer> localIds(SiteList sites) {
+        List<Integer> ids = new ArrayList<>();
+        for (SitePickerAdapter.SiteRecord site : sites) {
+            ids.add(site.getLocalId());
+        }
+        return ids;
+    }
+
+    public void testSortsByNameIgnoringCase() {
+        SiteIndex index = new SiteIndex(makeSites(), null, 0, null);
+        assertEquals(Arrays.asList(3, 4, 2, 1), localIds(index.getSites()));
+    }
+
+    public void testPrimaryThenRecentPicksComeFirst() {
+        SiteIndex index = new SiteIndex(makeSites(), null, 102, null);
+        assertEquals(Arrays.asList(2, 3, 4, 1), localIds(index.getSites()));
+
+        index = new SiteIndex(makeSites(), null, 102, Arrays.asList(1, 4, 99));
+        assertEquals(Arrays.asList(1, 4, 2, 3), localIds(index.getSites()));
+        assertTrue(index.getSites().get(0).isRecentPick());
+        assertFalse(index.getSites().get(2).isRecentPick());
+    }
+
+    public void testSearchMatchesWordPrefixesInNameAndUrl() {
+        SiteIndex index = new SiteIndex(makeSites(), null, 0, null);
+        assertEquals(Arrays.asList(3, 1), localIds(index.search("wordpress")));
+        assertEquals(Arrays.asList(2), localIds(index.search("my blog")));
+        assertEquals(Arrays.asList(4), localIds(index.search("BRE")));
+        assertEquals(Arrays.asList(3, 4, 2, 1), localIds(index.search("")));
+        assertEquals(0, index.search("zebra pie").size());
+    }
+
+    public void testReloadReusesUnchangedSites() {
+        SiteIndex first = new SiteIndex(makeSites(), null, 0, null);
+        List<SiteModel> siteModels = new ArrayList<>();
+        siteModels.add(makeSite(1, 101, "Aardvark", "https://zebra.wordpress.com"));
+        siteModels.add(makeSite(3, 103, "apple pie", "https://pies.wordpress.com"));
+        SiteIndex second = new SiteIndex(new SiteList(siteModels), first, 0, null);
+
+        assertEquals(Arrays.asList(1, 3), localIds(second.getSites()));
+        assertEquals(Arrays.asList(1), localIds(second.search("aard")));
+        assertEquals(0, second.search("banana").size());
+    }
+}
@@ -0,0 +1,97 @@
+package org.wordpress.android.ui.suggestion.util;
+
+import android.os.SystemClock;
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+import org.wordpress.android.models.Suggestion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class SuggestionIndexTest extends AndroidTestCase {
+    private static final String TAG = "SuggestionIndexTest";
+    private static final int NUM_BENCHMARK_SUGGESTIONS = 5000;
+
+    private static final String[] FIRST_NAMES = {"Mary", "John", "Ann", "Peter", "Lucia", "Omar", "Chen", "Sofia"};
+    private static final String[] LAST_NAMES = {"Lee", "Smith", "Garcia", "Nguyen", "Rossi", "Khan", "Brown", "Kim"};
+
+    private static Suggestion makeSuggestion(String login, String displayName) {
+        return new Suggestion(1, login, displayName, "", "mention");
+    }
+
+    public void testMatchesLoginDisplayNameAndWords() {
+        List<Suggestion> suggestions = new ArrayList<>();
+        suggestions.add(makeSuggestion("maryann", "Mary Ann Lee"));
+        suggestions.add(makeSuggestion("jsmith", "John Smith"));
+        suggestions.add(makeSuggestion("leeroy", "Roy Jenkins"));
+        SuggestionIndex index = new SuggestionIndex(suggestions);
+
+        assertEquals(1, index.getSuggestionsWithPrefix("mary").size());
+        assertEquals(1, index.getSuggestionsWithPrefix("Ann L").size());
+        assertEquals(1, index.getSuggestionsWithPrefix("SMI").size());
+        assertEquals(0, index.getSuggestionsWithPrefix("ohn").size());
+
+        // "lee" matches a login and a display name word, results keep the original order
+        List<Suggestion> results = index.getSuggestionsWithPrefix("lee");
+        assertEquals(2, results.size());
+        assertEquals("maryann", results.get(0).getUserLogin());
+        assertEquals("leeroy", results.get(1).getUserLogin());
+    }
+
+    public void testSuggestionMatchingSeveralKeysIsReturnedOnce() {
+        List<Suggestion> suggestions = new ArrayList<>();
+        suggestions.add(makeSuggestion("ann", "Ann Annabel"));
+        SuggestionIndex index = new SuggestionIndex(suggestions);
+        assertEquals(1, index.getSuggestionsWithPrefix("ann").size());
+    }
+
+    /*
+     * compares the index against the linear scan SuggestionAdapter used to do on each keystroke
+     */
+    public void testBenchmark() {
+        List<Suggestion> suggestions = new ArrayList<>(NUM_BENCHMARK_SUGGESTIONS);
+        for (int i = 0; i < NUM_BENCHMARK_SUGGESTIONS; i++) {
+            String first = FIRST_NAMES[i % FIRST_NAMES.length];
+            String last = LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+            suggestions.add(makeSuggestion(first.toLowerCase(Locale.ROOT) + i, first + " " + last + " " + i));
+        }
+
+        long startTime = SystemClock.elapsedRealtime();
+        SuggestionIndex index = new SuggestionIndex(suggestions);
+        long buildTime = SystemClock.elapsedRealtime() - startTime;
+
+        String[] keystrokes = {"k", "kh", "kha", "khan", "khan 4", "khan 49", "khan 499"};
+        long indexTime = 0;
+        long scanTime = 0;
+        for (String constraint : keystrokes) {
+            startTime = SystemClock.elapsedRealtime();
+            List<Suggestion> indexResults = index.getSuggestionsWithPrefix(constraint);
+            indexTime += SystemClock.elapsedRealtime() - startTime;
+
+            startTime = SystemClock.elapsedRealtime();
+            List<Suggestion> scanResults = linearScan(suggestions, constraint);
+            scanTime += SystemClock.elapsedRealtime() - startTime;
+
+            assertEquals(scanResults, indexResults);
+        }
+
+        Log.i(TAG, "built index of " + NUM_BENCHMARK_SUGGESTIONS + " suggestions in " + buildTime + "ms, "
+                   + keystrokes.length + " keystrokes took " + indexTime + "ms with the index and "
+                   + scanTime + "ms with a linear scan");
+    }
+
+    private static List<Suggestion> linearScan(List<Suggestion> suggestions, String constraint) {
+        List<Suggestion> results = new ArrayList<>();
+        String lowerCaseConstraint = constraint.toLowerCase(Locale.getDefault());
+        for (Suggestion suggestion : suggestions) {
+            if (suggestion.getUserLogin().toLowerCase(Locale.ROOT).startsWith(lowerCaseConstraint)
+                || suggestion.getDisplayName().toLowerCase(Locale.getDefault()).startsWith(lowerCaseConstraint)
+                || suggestion.getDisplayName().toLowerCase(Locale.getDefault()).contains(" " + lowerCaseConstraint)) {
+                results.add(suggestion);
+            }
+        }
+        return results;
+    }
+}
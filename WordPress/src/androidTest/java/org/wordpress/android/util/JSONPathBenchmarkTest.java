@@ -0,0 +1,175 @@
+package org.wordpress.android.util;
+
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wordpress.android.TestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public class JSONPathBenchmarkTest extends InstrumentationTestCase {
+    private static final String TAG = "JSONPathBenchmarkTest";
+    private static final String NOTES_PAYLOAD = "rest-v1-notifications-num_note_items=20.json";
+    private static final int NUM_BENCHMARK_PASSES = 200;
+
+    // the kind of queries the notification parsers run on each note
+    private static final String[] QUERIES = {
+            "id",
+            "type",
+            "unread",
+            "body.template",
+            "body.header",
+            "body.items[0].header_text",
+            "body.items[first].icon",
+            "body.items[last].html",
+            "body.actions[0].type",
+            "body.actions[0].params.rest_path",
+            "body.actions[-1].params.button_text",
+            "subject.text",
+            "meta.ids.site"
+    };
+
+    private JSONArray loadNotes() throws IOException, JSONException {
+        InputStream is = getInstrumentation().getContext().getAssets().open(NOTES_PAYLOAD);
+        try {
+            return new JSONObject(TestUtils.convertStreamToString(is)).getJSONArray("notes");
+        } finally {
+            is.close();
+        }
+    }
+
+    /*
+     * compares the way queryJSON used to walk each query's string on every call, queryJSON now that it
+     * looks up the compiled query, and holding on to the compiled queries
+     */
+    public void testBenchmark() throws IOException, JSONException {
+        JSONArray notes = loadNotes();
+        JSONPath[] compiled = new JSONPath[QUERIES.length];
+        for (int i = 0; i < QUERIES.length; i++) {
+            compiled[i] = JSONPath.compile(QUERIES[i]);
+        }
+
+        for (int n = 0; n < notes.length(); n++) {
+            JSONObject note = notes.getJSONObject(n);
+            for (int i = 0; i < QUERIES.length; i++) {
+                Object expected = legacyQueryJSON(note, QUERIES[i], "");
+                assertEquals(expected, JSONUtils.queryJSON(note, QUERIES[i], ""));
+                assertEquals(expected, compiled[i].query(note, ""));
+            }
+        }
+
+        long startTime = SystemClock.elapsedRealtime();
+        for (int pass = 0; pass < NUM_BENCHMARK_PASSES; pass++) {
+            for (int n = 0; n < notes.length(); n++) {
+                JSONObject note = notes.getJSONObject(n);
+                for (String query : QUERIES) {
+                    legacyQueryJSON(note, query, "");
+                }
+            }
+        }
+        long legacyTime = SystemClock.elapsedRealtime() - startTime;
+
+        startTime = SystemClock.elapsedRealtime();
+        for (int pass = 0; pass < NUM_BENCHMARK_PASSES; pass++) {
+            for (int n = 0; n < notes.length(); n++) {
+                JSONObject note = notes.getJSONObject(n);
+                for (String query : QUERIES) {
+                    JSONUtils.queryJSON(note, query, "");
+                }
+            }
+        }
+        long queryJSONTime = SystemClock.elapsedRealtime() - startTime;
+
+        startTime = SystemClock.elapsedRealtime();
+        for (int pass = 0; pass < NUM_BENCHMARK_PASSES; pass++) {
+            for (int n = 0; n < notes.length(); n++) {
+                JSONObject note = notes.getJSONObject(n);
+                for (JSONPath path : compiled) {
+                    path.query(note, "");
+                }
+            }
+        }
+        long compiledTime = SystemClock.elapsedRealtime() - startTime;
+
+        int numQueries = NUM_BENCHMARK_PASSES * notes.length() * QUERIES.length;
+        Log.i(TAG, numQueries + " queries took " + legacyTime + "ms re-parsing each query, "
+                   + queryJSONTime + "ms with queryJSON and " + compiledTime + "ms with compiled queries");
+    }
+
+    /*
+     * how JSONUtils.queryJSON worked before queries were compiled, trimmed of its logging
+     */
+    @SuppressWarnings("unchecked")
+    private static <U> U legacyQueryJSON(JSONObject source, String query, U defaultObject) {
+        int nextSeparator = query.indexOf(".");
+        int nextIndexStart = query.indexOf("[");
+        try {
+            if (nextSeparator == -1 && nextIndexStart == -1) {
+                if (!source.has(query)) {
+                    return defaultObject;
+                }
+                Object result = source.get(query);
+                return result.getClass().isAssignableFrom(defaultObject.getClass()) ? (U) result : defaultObject;
+            }
+            int endQuery;
+            if (nextSeparator == -1 || nextIndexStart == -1) {
+                endQuery = Math.max(nextSeparator, nextIndexStart);
+            } else {
+                endQuery = Math.min(nextSeparator, nextIndexStart);
+            }
+            String nextQuery = query.substring(endQuery);
+            String key = query.substring(0, endQuery);
+            if (nextQuery.indexOf(".") == 0) {
+                return legacyQueryJSON(source.getJSONObject(key), nextQuery.substring(1), defaultObject);
+            } else if (nextQuery.indexOf("[") == 0) {
+                return legacyQueryJSON(source.getJSONArray(key), nextQuery, defaultObject);
+            } else if (!nextQuery.equals("")) {
+                return defaultObject;
+            }
+            Object result = source.get(key);
+            return result.getClass().isAssignableFrom(defaultObject.getClass()) ? (U) result : defaultObject;
+        } catch (JSONException e) {
+            return defaultObject;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <U> U legacyQueryJSON(JSONArray source, String query, U defaultObject) {
+        int indexStart = query.indexOf("[");
+        int indexEnd = query.indexOf("]");
+        if (indexStart == -1 || indexEnd == -1 || indexStart > indexEnd) {
+            return defaultObject;
+        }
+        String indexStr = query.substring(indexStart + 1, indexEnd);
+        int index;
+        if (indexStr.equals("first")) {
+            index = 0;
+        } else if (indexStr.equals("last")) {
+            index = -1;
+        } else {
+            index = Integer.parseInt(indexStr);
+        }
+        if (index < 0) {
+            index = source.length() + index;
+        }
+        String remainingQuery = query.substring(indexEnd + 1);
+        try {
+            if (remainingQuery.indexOf("[") == 0) {
+                return legacyQueryJSON(source.getJSONArray(index), remainingQuery, defaultObject);
+            } else if (remainingQuery.indexOf(".") == 0) {
+                return legacyQueryJSON(source.getJSONObject(index), remainingQuery.substring(1), defaultObject);
+            } else if (!remainingQuery.equals("")) {
+                return defaultObject;
+            }
+            Object result = source.get(index);
+            return result.getClass().isAssignableFrom(defaultObject.getClass()) ? (U) result : defaultObject;
+        } catch (JSONException e) {
+            return defaultObject;
+        }
+    }
+}
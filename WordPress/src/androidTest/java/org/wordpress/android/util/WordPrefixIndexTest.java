@@ -0,0 +1,59 @@
+package org.wordpress.android.util;
+
+import android.test.AndroidTestCase;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+public class WordPrefixIndexTest extends AndroidTestCase {
+    private static WordPrefixIndex makeIndex() {
+        return new WordPrefixIndex.Builder()
+                .addWords("Travel Tips", 0)
+                .addWords("travel-blog.example.com", 1)
+                .addWords("Tipping Point", 2)
+                .setNumItems(4)
+                .build();
+    }
+
+    private static BitSet bits(int... positions) {
+        BitSet bits = new BitSet();
+        for (int position : positions) {
+            bits.set(position);
+        }
+        return bits;
+    }
+
+    public void testSplitsOnNonWordCharacters() {
+        assertEquals(Arrays.asList("travel", "blog", "example", "com"),
+                     WordPrefixIndex.getLowerCaseWords("Travel-Blog.example.COM"));
+        assertTrue(WordPrefixIndex.getLowerCaseWords(" .- ").isEmpty());
+        assertTrue(WordPrefixIndex.getLowerCaseWords(null).isEmpty());
+    }
+
+    public void testFindPrefix() {
+        WordPrefixIndex index = makeIndex();
+        assertEquals(bits(0, 1), index.findPrefix("trav"));
+        assertEquals(bits(0, 2), index.findPrefix("tip"));
+        assertEquals(bits(1), index.findPrefix("com"));
+        assertEquals(bits(), index.findPrefix("zz"));
+    }
+
+    public void testFindAllWords() {
+        WordPrefixIndex index = makeIndex();
+        assertEquals(bits(0), index.findAllWords("tr TI"));
+        assertEquals(bits(1), index.findAllWords("travel blog"));
+        assertEquals(bits(), index.findAllWords("travel point"));
+        assertNull(index.findAllWords(" - "));
+    }
+
+    public void testAddWordKeepsWordAsIs() {
+        WordPrefixIndex index = new WordPrefixIndex.Builder()
+                .addWord("mary ann lee", 0)
+                .addWord("ann lee", 0)
+                .addWord("annie", 1)
+                .build();
+        assertEquals(bits(0, 1), index.findPrefix("ann"));
+        assertEquals(bits(0), index.findPrefix("ann l"));
+        assertEquals(bits(0), index.findPrefix("mary a"));
+    }
+}
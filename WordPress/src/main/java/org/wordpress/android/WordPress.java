@@ -54,6 +54,7 @@ import org.wordpress.android.fluxc.tools.FluxCImageLoader;
 import org.wordpress.android.fluxc.utils.ErrorUtils.OnUnexpectedError;
 import org.wordpress.android.modules.AppComponent;
 import org.wordpress.android.modules.DaggerAppComponent;
+import org.wordpress.android.networking.ConditionalRequestStore;
 import org.wordpress.android.networking.ConnectionChangeReceiver;
 import org.wordpress.android.networking.OAuthAuthenticator;
 import org.wordpress.android.networking.RestClientUtils;
@@ -63,6 +64,9 @@ import org.wordpress.android.ui.notifications.NotificationsListFragment;
 import org.wordpress.android.ui.notifications.services.NotificationsUpdateService;
 import org.wordpress.android.ui.notifications.utils.NotificationsUtils;
 import org.wordpress.android.ui.prefs.AppPrefs;
+import org.wordpress.android.ui.reader.actions.ReaderActionQueue;
+import org.wordpress.android.ui.reader.actions.ReaderPageViewBuffer;
+import org.wordpress.android.ui.reader.services.ReaderPredictiveSyncService;
 import org.wordpress.android.ui.stats.StatsWidgetProvider;
 import org.wordpress.android.ui.stats.datasets.StatsDatabaseHelper;
 import org.wordpress.android.ui.stats.datasets.StatsTable;
@@ -72,6 +76,7 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.AppLogListener;
 import org.wordpress.android.util.AppLog.LogLevel;
 import org.wordpress.android.util.AppLog.T;
+import org.wordpress.android.util.BitmapDiskCache;
 import org.wordpress.android.util.BitmapLruCache;
 import org.wordpress.android.util.CrashlyticsUtils;
 import org.wordpress.android.util.DateTimeUtils;
@@ -83,6 +88,7 @@ import org.wordpress.android.util.PackageUtils;
 import org.wordpress.android.util.ProfilingUtils;
 import org.wordpress.android.util.RateLimitedTask;
 import org.wordpress.android.util.VolleyUtils;
+import org.wordpress.android.widgets.WPNetworkImageView;
 import org.wordpress.passcodelock.AbstractAppLock;
 import org.wordpress.passcodelock.AppLockManager;
 
@@ -119,6 +125,7 @@ public class WordPress extends MultiDexApplication implements HasServiceInjector
     private static final int SECONDS_BETWEEN_SITE_UPDATE = 60 * 60; // 1 hour
     private static final int SECONDS_BETWEEN_BLOGLIST_UPDATE = 15 * 60; // 15 minutes
     private static final int SECONDS_BETWEEN_DELETE_STATS = 5 * 60; // 5 minutes
+    private static final long BITMAP_DISK_CACHE_SIZE = 20 * 1024 * 1024; // 20MB
 
     private static Context mContext;
     private static BitmapLruCache mBitmapCache;
@@ -195,6 +202,10 @@ public class WordPress extends MultiDexApplication implements HasServiceInjector
             int maxMemory = (int) (Runtime.getRuntime().maxMemory() / 1024);
             int cacheSize = maxMemory / 4; // Use 1/4th of the available memory for this memory cache.
             mBitmapCache = new BitmapLruCache(cacheSize);
+            if (mContext != null) {
+                File diskCacheDir = new File(mContext.getCacheDir(), "bitmaps");
+                mBitmapCache.setDiskCache(new BitmapDiskCache(diskCacheDir, BITMAP_DISK_CACHE_SIZE));
+            }
         }
         return mBitmapCache;
     }
@@ -287,6 +298,13 @@ public class WordPress extends MultiDexApplication implements HasServiceInjector
         // verify media is sanitized
         sanitizeMediaUploadStateForSite();
 
+        // prefetch the reader content the user opens most while the device is charging on wifi
+        ReaderPredictiveSyncService.schedule(this);
+
+        // send any reader likes, follows, blocks and page views that didn't reach the server last time
+        ReaderActionQueue.init();
+        ReaderPageViewBuffer.init();
+
         // setup the Credentials Client so we can clean it up on wpcom logout
         mCredentialsClient = new GoogleApiClient.Builder(this)
                 .addConnectionCallbacks(new GoogleApiClient.ConnectionCallbacks() {
@@ -521,6 +539,8 @@ public class WordPress extends MultiDexApplication implements HasServiceInjector
         // reset all reader-related prefs & data
         AppPrefs.reset();
         ReaderDatabase.reset();
+        // forget the validators of the responses we just deleted, so they're fetched in full next time
+        ConditionalRequestStore.getInstance(context).clear();
 
         // Reset Stats Data
         StatsDatabaseHelper.getDatabase(context).reset();
@@ -528,6 +548,13 @@ public class WordPress extends MultiDexApplication implements HasServiceInjector
 
         // Reset Notifications Data
         NotificationsTable.reset();
+
+        // Remove cached images, the disk cache may contain private site images
+        BitmapLruCache bitmapCache = getBitmapCache();
+        bitmapCache.evictAll();
+        if (bitmapCache.getDiskCache() != null) {
+            bitmapCache.getDiskCache().clear();
+        }
     }
 
     /**
@@ -696,14 +723,20 @@ public class WordPress extends MultiDexApplication implements HasServiceInjector
                 case TRIM_MEMORY_RUNNING_LOW:
                     evictBitmaps = true;
                     break;
-                case TRIM_MEMORY_BACKGROUND:
                 case TRIM_MEMORY_UI_HIDDEN:
+                    // log the image cache stats when the app goes to the background, used to tune the caches
+                    WPNetworkImageView.logCacheLookupCounts();
+                    break;
+                case TRIM_MEMORY_BACKGROUND:
                 default:
                     break;
             }
 
-            if (evictBitmaps && mBitmapCache != null) {
-                mBitmapCache.evictAll();
+            if (evictBitmaps) {
+                if (mBitmapCache != null) {
+                    mBitmapCache.evictAll();
+                }
+                WPNetworkImageView.clearShapedBitmapCache();
             }
         }
 
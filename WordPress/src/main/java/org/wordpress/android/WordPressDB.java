@@ -21,7 +21,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 public class WordPressDB {
-    private static final int DATABASE_VERSION = 64;
+    private static final int DATABASE_VERSION = 68;
 
 
     // Warning if you rename DATABASE_NAME, that could break previous App backups (see: xml/backup_scheme.xml)
@@ -225,6 +225,23 @@ public class WordPressDB {
                 mDb.execSQL(SiteSettingsModel.ADD_AMP_SUPPORTED);
                 mDb.execSQL(SiteSettingsModel.ADD_AMP_ENABLED);
                 currentVersion++;
+            case 64:
+                // add note_hash to notifications table for delta syncing - notes are re-fetched from the server
+                NotificationsTable.reset(mDb);
+                currentVersion++;
+            case 65:
+                // add indexed columns extracted from the note JSON - notes are re-fetched from the server
+                NotificationsTable.reset(mDb);
+                currentVersion++;
+            case 66:
+                // add list position & stale columns for incremental people syncing - people are re-fetched
+                PeopleTable.reset(mDb);
+                PeopleTable.createViewersTable(mDb);
+                currentVersion++;
+            case 67:
+                // add is_comment column used by the comments filter - notes are re-fetched from the server
+                NotificationsTable.reset(mDb);
+                currentVersion++;
         }
         mDb.setVersion(DATABASE_VERSION);
     }
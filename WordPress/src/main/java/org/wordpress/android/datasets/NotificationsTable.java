@@ -10,11 +10,16 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.models.Note;
+import org.wordpress.android.models.NotesListFilter;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.SqlUtils;
+import org.wordpress.android.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class NotificationsTable {
     private static final String NOTIFICATIONS_TABLE = "tbl_notifications";
@@ -32,8 +37,22 @@ public class NotificationsTable {
                    + "type TEXT,"
                    + "raw_note_data TEXT,"
                    + "timestamp INTEGER,"
+                   + "note_hash TEXT,"
+                   + "is_unread INTEGER DEFAULT 0,"
+                   + "site_id INTEGER DEFAULT 0,"
+                   + "post_id INTEGER DEFAULT 0,"
+                   + "comment_id INTEGER DEFAULT 0,"
+                   + "is_comment INTEGER DEFAULT 0,"
                    + " UNIQUE (note_id) ON CONFLICT REPLACE"
                    + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_timestamp ON "
+                   + NOTIFICATIONS_TABLE + "(timestamp)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_type ON "
+                   + NOTIFICATIONS_TABLE + "(type, timestamp)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_unread ON "
+                   + NOTIFICATIONS_TABLE + "(is_unread, timestamp)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_comment ON "
+                   + NOTIFICATIONS_TABLE + "(is_comment, timestamp)");
     }
 
     private static void dropTables(SQLiteDatabase db) {
@@ -45,20 +64,50 @@ public class NotificationsTable {
     }
 
     public static ArrayList<Note> getLatestNotes(int limit) {
-        Cursor cursor = getDb().query(NOTIFICATIONS_TABLE, new String[]{"note_id", "raw_note_data"},
-                                      null, null, null, null, "timestamp DESC", "" + limit);
-        ArrayList<Note> notes = new ArrayList<Note>();
-        while (cursor.moveToNext()) {
-            String noteId = cursor.getString(0);
-            String rawNoteData = cursor.getString(1);
-            try {
-                Note note = new Note(noteId, new JSONObject(rawNoteData));
-                notes.add(note);
-            } catch (JSONException e) {
-                AppLog.e(AppLog.T.DB, "Can't parse notification with noteId:" + noteId + ", exception:" + e);
+        return getLatestNotes(NotesListFilter.FILTER_ALL, limit);
+    }
+
+    /*
+     * returns the latest notes matching the passed filter - filtering is done using the indexed
+     * columns so the raw JSON is never parsed here, the returned notes only parse it when their
+     * content is first accessed
+     */
+    public static ArrayList<Note> getLatestNotes(NotesListFilter filter, int limit) {
+        String where;
+        String[] args;
+        switch (filter) {
+            case FILTER_COMMENT:
+                where = "is_comment=1";
+                args = null;
+                break;
+            case FILTER_FOLLOW:
+                where = "type=?";
+                args = new String[]{Note.NOTE_FOLLOW_TYPE};
+                break;
+            case FILTER_LIKE:
+                where = "type=?";
+                args = new String[]{Note.NOTE_LIKE_TYPE};
+                break;
+            case FILTER_UNREAD:
+                where = "is_unread=1";
+                args = null;
+                break;
+            default:
+                where = null;
+                args = null;
+                break;
+        }
+
+        Cursor cursor = getDb().query(NOTIFICATIONS_TABLE, new String[]{"note_id", "raw_note_data", "timestamp"},
+                                      where, args, null, null, "timestamp DESC", Integer.toString(limit));
+        ArrayList<Note> notes = new ArrayList<>();
+        try {
+            while (cursor.moveToNext()) {
+                notes.add(new Note(cursor.getString(0), cursor.getString(1), cursor.getLong(2)));
             }
+        } finally {
+            SqlUtils.closeCursor(cursor);
         }
-        cursor.close();
         return notes;
     }
 
@@ -67,6 +116,13 @@ public class NotificationsTable {
         values.put("type", note.getType());
         values.put("timestamp", note.getTimestamp());
         values.put("raw_note_data", note.getJSON().toString());
+        values.put("note_hash", note.getNoteHash());
+        values.put("is_unread", SqlUtils.boolToSql(note.isUnread()));
+        values.put("site_id", note.getSiteId());
+        values.put("post_id", note.getPostId());
+        values.put("comment_id", note.getCommentId());
+        // stored rather than derived from type & comment_id so the filter can't drift from isCommentType()
+        values.put("is_comment", SqlUtils.boolToSql(note.isCommentType()));
 
         long result;
         if (checkBeforeInsert && isNoteAvailable(note.getId())) {
@@ -107,6 +163,71 @@ public class NotificationsTable {
         }
     }
 
+    /*
+     * saves only the passed notes whose hash differs from the one already stored, returns the
+     * list of notes that were actually written so callers can pass on the change set
+     */
+    public static List<Note> upsertNotes(List<Note> notes) {
+        List<Note> changedNotes = new ArrayList<>();
+        if (notes == null || notes.isEmpty()) {
+            return changedNotes;
+        }
+
+        Map<String, String> storedHashes = getNoteHashes();
+        getDb().beginTransaction();
+        try {
+            for (Note note : notes) {
+                String storedHash = storedHashes.get(note.getId());
+                String newHash = note.getNoteHash();
+                if (storedHash != null && !TextUtils.isEmpty(newHash) && storedHash.equals(newHash)) {
+                    continue;
+                }
+                if (putNote(note, storedHash != null)) {
+                    changedNotes.add(note);
+                }
+            }
+            getDb().setTransactionSuccessful();
+        } finally {
+            getDb().endTransaction();
+        }
+        return changedNotes;
+    }
+
+    /*
+     * returns a map of note_id -> note_hash for the notes we have stored locally, used to
+     * determine which notes have changed on the server
+     */
+    public static Map<String, String> getNoteHashes() {
+        Map<String, String> hashes = new HashMap<>();
+        Cursor cursor = getDb().query(NOTIFICATIONS_TABLE, new String[]{"note_id", "note_hash"},
+                                      null, null, null, null, null);
+        try {
+            while (cursor.moveToNext()) {
+                hashes.put(cursor.getString(0), StringUtils.notNullStr(cursor.getString(1)));
+            }
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+        return hashes;
+    }
+
+    public static int deleteNotesByIds(Collection<String> noteIds) {
+        if (noteIds == null || noteIds.isEmpty()) {
+            return 0;
+        }
+        int numDeleted = 0;
+        getDb().beginTransaction();
+        try {
+            for (String noteId : noteIds) {
+                numDeleted += getDb().delete(NOTIFICATIONS_TABLE, "note_id=?", new String[]{noteId});
+            }
+            getDb().setTransactionSuccessful();
+        } finally {
+            getDb().endTransaction();
+        }
+        return numDeleted;
+    }
+
     public static boolean saveNote(Note note) {
         getDb().beginTransaction();
         boolean saved = false;
@@ -182,7 +303,10 @@ public class NotificationsTable {
      * drop & recreate notifications table
      */
     public static void reset() {
-        SQLiteDatabase db = getDb();
+        reset(getDb());
+    }
+
+    public static void reset(SQLiteDatabase db) {
         db.beginTransaction();
         try {
             dropTables(db);
@@ -37,6 +37,8 @@ public class PeopleTable {
                    + "display_name TEXT,"
                    + "avatar_url TEXT,"
                    + "role TEXT,"
+                   + "list_position INTEGER DEFAULT 0,"
+                   + "is_stale INTEGER DEFAULT 0,"
                    + "PRIMARY KEY (person_id, local_blog_id)"
                    + ");");
 
@@ -47,6 +49,8 @@ public class PeopleTable {
                    + "display_name TEXT,"
                    + "avatar_url TEXT,"
                    + "subscribed TEXT,"
+                   + "list_position INTEGER DEFAULT 0,"
+                   + "is_stale INTEGER DEFAULT 0,"
                    + "PRIMARY KEY (person_id, local_blog_id)"
                    + ");");
 
@@ -56,8 +60,13 @@ public class PeopleTable {
                    + "display_name TEXT,"
                    + "avatar_url TEXT,"
                    + "subscribed TEXT,"
+                   + "list_position INTEGER DEFAULT 0,"
+                   + "is_stale INTEGER DEFAULT 0,"
                    + "PRIMARY KEY (person_id, local_blog_id)"
                    + ");");
+
+        createPositionIndex(db, FOLLOWERS_TABLE);
+        createPositionIndex(db, EMAIL_FOLLOWERS_TABLE);
     }
 
     public static void createViewersTable(SQLiteDatabase db) {
@@ -67,8 +76,17 @@ public class PeopleTable {
                    + "user_name TEXT,"
                    + "display_name TEXT,"
                    + "avatar_url TEXT,"
+                   + "list_position INTEGER DEFAULT 0,"
+                   + "is_stale INTEGER DEFAULT 0,"
                    + "PRIMARY KEY (person_id, local_blog_id)"
                    + ");");
+
+        createPositionIndex(db, VIEWERS_TABLE);
+    }
+
+    // the team is listed alphabetically, everyone else in the order the server returned them
+    private static void createPositionIndex(SQLiteDatabase db, String table) {
+        db.execSQL("CREATE INDEX idx_" + table + "_position ON " + table + "(local_blog_id, list_position)");
     }
 
     private static void dropTables(SQLiteDatabase db) {
@@ -91,10 +109,31 @@ public class PeopleTable {
         save(TEAM_TABLE, person, getWritableDb());
     }
 
+    /*
+     * saves a single person without changing its position in the list
+     */
     private static void save(String table, Person person, SQLiteDatabase database) {
+        upsertPerson(database, table, getContentValues(table, person), person.getPersonID(),
+                     person.getLocalTableBlogId());
+    }
+
+    /*
+     * updates the person's row in place if it exists, so rows keep their identity across syncs, otherwise
+     * inserts it - shared by save() and savePeople()
+     */
+    private static void upsertPerson(SQLiteDatabase db, String table, ContentValues values, long personId,
+                                     int localTableBlogId) {
+        String[] args = {Long.toString(personId), Integer.toString(localTableBlogId)};
+        int numUpdated = db.update(table, values, "person_id=? AND local_blog_id=?", args);
+        if (numUpdated == 0) {
+            values.put("person_id", personId);
+            values.put("local_blog_id", localTableBlogId);
+            db.insert(table, null, values);
+        }
+    }
+
+    private static ContentValues getContentValues(String table, Person person) {
         ContentValues values = new ContentValues();
-        values.put("person_id", person.getPersonID());
-        values.put("local_blog_id", person.getLocalTableBlogId());
         values.put("display_name", person.getDisplayName());
         values.put("avatar_url", person.getAvatarUrl());
 
@@ -117,39 +156,66 @@ public class PeopleTable {
                 break;
         }
 
-        database.insertWithOnConflict(table, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        return values;
     }
 
-    public static void saveUsers(List<Person> peopleList, int localTableBlogId, boolean isFreshList) {
-        savePeople(TEAM_TABLE, peopleList, localTableBlogId, isFreshList);
+    public static void saveUsers(List<Person> peopleList, int localTableBlogId, int offset, boolean isEndOfList) {
+        savePeople(TEAM_TABLE, peopleList, localTableBlogId, offset, isEndOfList);
     }
 
-    public static void saveFollowers(List<Person> peopleList, int localTableBlogId, boolean isFreshList) {
-        savePeople(FOLLOWERS_TABLE, peopleList, localTableBlogId, isFreshList);
+    public static void saveFollowers(List<Person> peopleList, int localTableBlogId, int offset,
+                                     boolean isEndOfList) {
+        savePeople(FOLLOWERS_TABLE, peopleList, localTableBlogId, offset, isEndOfList);
     }
 
-    public static void saveEmailFollowers(List<Person> peopleList, int localTableBlogId, boolean isFreshList) {
-        savePeople(EMAIL_FOLLOWERS_TABLE, peopleList, localTableBlogId, isFreshList);
+    public static void saveEmailFollowers(List<Person> peopleList, int localTableBlogId, int offset,
+                                          boolean isEndOfList) {
+        savePeople(EMAIL_FOLLOWERS_TABLE, peopleList, localTableBlogId, offset, isEndOfList);
     }
 
-    public static void saveViewers(List<Person> peopleList, int localTableBlogId, boolean isFreshList) {
-        savePeople(VIEWERS_TABLE, peopleList, localTableBlogId, isFreshList);
+    public static void saveViewers(List<Person> peopleList, int localTableBlogId, int offset, boolean isEndOfList) {
+        savePeople(VIEWERS_TABLE, peopleList, localTableBlogId, offset, isEndOfList);
     }
 
-    private static void savePeople(String table, List<Person> peopleList, int localTableBlogId, boolean isFreshList) {
-        getWritableDb().beginTransaction();
+    /**
+     * Incrementally syncs a page of people fetched from remote. Rather than deleting the whole list when the
+     * first page arrives, the existing rows are marked stale and each page updates the people it contains in
+     * place (keyed on person id), so large lists don't have to be rewritten and the list never goes empty.
+     * Stale people whose old position is covered by the pages synced so far have either been removed on
+     * remote or moved further down the list (and will be added back when their page arrives), so they're
+     * deleted - the rest are deleted once the end of the list is reached.
+     *
+     * @param offset - position of the first person of the page in the full list
+     */
+    private static void savePeople(String table, List<Person> peopleList, int localTableBlogId, int offset,
+                                   boolean isEndOfList) {
+        SQLiteDatabase db = getWritableDb();
+        String[] args = {Integer.toString(localTableBlogId)};
+        db.beginTransaction();
         try {
-            // We have a fresh list, remove the previous list of people in case it was deleted on remote
-            if (isFreshList) {
-                PeopleTable.deletePeople(table, localTableBlogId);
+            if (offset == 0) {
+                ContentValues values = new ContentValues();
+                values.put("is_stale", 1);
+                db.update(table, values, "local_blog_id=?", args);
             }
 
+            int position = offset;
             for (Person person : peopleList) {
-                PeopleTable.save(table, person, getWritableDb());
+                ContentValues values = getContentValues(table, person);
+                values.put("list_position", position++);
+                values.put("is_stale", 0);
+                upsertPerson(db, table, values, person.getPersonID(), localTableBlogId);
             }
-            getWritableDb().setTransactionSuccessful();
+
+            if (isEndOfList) {
+                db.delete(table, "local_blog_id=? AND is_stale=1", args);
+            } else {
+                String[] staleArgs = {Integer.toString(localTableBlogId), Integer.toString(position)};
+                db.delete(table, "local_blog_id=? AND is_stale=1 AND list_position<?", staleArgs);
+            }
+            db.setTransactionSuccessful();
         } finally {
-            getWritableDb().endTransaction();
+            db.endTransaction();
         }
     }
 
@@ -184,12 +250,7 @@ public class PeopleTable {
                     String where = "local_blog_id=" + localTableBlogId;
                     String[] columns = {"person_id"};
                     String limit = Integer.toString(size - fetchLimit);
-                    String orderBy;
-                    if (shouldOrderAlphabetically(table)) {
-                        orderBy = "lower(display_name) DESC, lower(user_name) DESC";
-                    } else {
-                        orderBy = "ROWID DESC";
-                    }
+                    String orderBy = getOrderBy(table, true);
                     String inQuery = SQLiteQueryBuilder.buildQueryString(false, table, columns, where, null, null,
                                                                          orderBy, limit);
 
@@ -203,12 +264,29 @@ public class PeopleTable {
         }
     }
 
-    public static int getUsersCountForLocalBlogId(int localTableBlogId) {
-        return getPeopleCountForLocalBlogId(TEAM_TABLE, localTableBlogId);
+    /*
+     * the number of people synced since the first page was fetched, which is the offset of the next page
+     */
+    public static int getSyncedUsersCount(int localTableBlogId) {
+        return getSyncedPeopleCount(TEAM_TABLE, localTableBlogId);
+    }
+
+    public static int getSyncedViewersCount(int localTableBlogId) {
+        return getSyncedPeopleCount(VIEWERS_TABLE, localTableBlogId);
     }
 
-    public static int getViewersCountForLocalBlogId(int localTableBlogId) {
-        return getPeopleCountForLocalBlogId(VIEWERS_TABLE, localTableBlogId);
+    private static int getSyncedPeopleCount(String table, int localTableBlogId) {
+        String[] args = new String[]{Integer.toString(localTableBlogId)};
+        String sql = "SELECT COUNT(*) FROM " + table + " WHERE local_blog_id=? AND is_stale=0";
+        return SqlUtils.intForQuery(getReadableDb(), sql, args);
+    }
+
+    public static int getPeopleCount(Person.PersonType personType, int localTableBlogId) {
+        String table = getTableForPersonType(personType);
+        if (table == null) {
+            return 0;
+        }
+        return getPeopleCountForLocalBlogId(table, localTableBlogId);
     }
 
     private static int getPeopleCountForLocalBlogId(String table, int localTableBlogId) {
@@ -229,34 +307,25 @@ public class PeopleTable {
         getWritableDb().delete(table, "person_id=? AND local_blog_id=?", args);
     }
 
-    public static List<Person> getUsers(int localTableBlogId) {
-        return PeopleTable.getPeople(TEAM_TABLE, localTableBlogId);
-    }
-
-    public static List<Person> getFollowers(int localTableBlogId) {
-        return PeopleTable.getPeople(FOLLOWERS_TABLE, localTableBlogId);
-    }
-
-    public static List<Person> getEmailFollowers(int localTableBlogId) {
-        return PeopleTable.getPeople(EMAIL_FOLLOWERS_TABLE, localTableBlogId);
-    }
-
-    public static List<Person> getViewers(int localTableBlogId) {
-        return PeopleTable.getPeople(VIEWERS_TABLE, localTableBlogId);
-    }
-
-    private static List<Person> getPeople(String table, int localTableBlogId) {
-        String[] args = {Integer.toString(localTableBlogId)};
-        String orderBy;
-        if (shouldOrderAlphabetically(table)) {
-            orderBy = " ORDER BY lower(display_name), lower(user_name)";
-        } else {
-            // we want the server-side order for followers & viewers
-            orderBy = " ORDER BY ROWID";
+    /**
+     * Reads a window of the list rather than the whole list, so sites with tens of thousands of followers
+     * don't have to be loaded into memory at once
+     *
+     * @param offset - position of the first person to return
+     * @param limit - maximum number of people to return
+     */
+    public static List<Person> getPeople(Person.PersonType personType, int localTableBlogId, int offset, int limit) {
+        List<Person> people = new ArrayList<>();
+        String table = getTableForPersonType(personType);
+        if (table == null) {
+            return people;
         }
-        Cursor c = getReadableDb().rawQuery("SELECT * FROM " + table + " WHERE local_blog_id=?" + orderBy, args);
 
-        List<Person> people = new ArrayList<>();
+        String[] args = {Integer.toString(localTableBlogId)};
+        String sql = "SELECT * FROM " + table + " WHERE local_blog_id=?"
+                     + " ORDER BY " + getOrderBy(table, false)
+                     + " LIMIT " + limit + " OFFSET " + offset;
+        Cursor c = getReadableDb().rawQuery(sql, args);
         try {
             while (c.moveToNext()) {
                 Person person = getPersonFromCursor(c, table, localTableBlogId);
@@ -268,6 +337,15 @@ public class PeopleTable {
         return people;
     }
 
+    private static String getOrderBy(String table, boolean descending) {
+        String direction = descending ? " DESC" : "";
+        if (shouldOrderAlphabetically(table)) {
+            return "lower(display_name)" + direction + ", lower(user_name)" + direction;
+        }
+        // we want the server-side order for followers & viewers
+        return "list_position" + direction + ", ROWID" + direction;
+    }
+
     @Nullable
     public static Person getPerson(long personId, int localTableBlogId, Person.PersonType personType) {
         String table = getTableForPersonType(personType);
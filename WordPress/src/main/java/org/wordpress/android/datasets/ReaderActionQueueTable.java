@@ -0,0 +1,148 @@
+package org.wordpress.android.datasets;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import org.wordpress.android.models.ReaderQueuedAction;
+import org.wordpress.android.models.ReaderQueuedAction.ActionType;
+import org.wordpress.android.util.SqlUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * likes, follows and blocks waiting to be sent to the server, in the order they were made
+ */
+public class ReaderActionQueueTable {
+    private static final String COLUMN_NAMES =
+            "_id,"                  // 0
+            + "action_type,"        // 1
+            + "blog_id,"            // 2
+            + "post_id,"            // 3
+            + "feed_id,"            // 4
+            + "feed_url,"           // 5
+            + "user_id,"            // 6
+            + "date_queued,"        // 7
+            + "num_attempts";       // 8
+
+    protected static void createTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE tbl_action_queue ("
+                   + " _id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                   + " idempotency_key TEXT NOT NULL UNIQUE,"
+                   + " target_key TEXT NOT NULL,"
+                   + " action_type INTEGER DEFAULT 0,"
+                   + " blog_id INTEGER DEFAULT 0,"
+                   + " post_id INTEGER DEFAULT 0,"
+                   + " feed_id INTEGER DEFAULT 0,"
+                   + " feed_url TEXT,"
+                   + " user_id INTEGER DEFAULT 0,"
+                   + " date_queued INTEGER DEFAULT 0,"
+                   + " num_attempts INTEGER DEFAULT 0)");
+        db.execSQL("CREATE INDEX idx_action_queue_target ON tbl_action_queue(target_key)");
+    }
+
+    protected static void dropTables(SQLiteDatabase db) {
+        db.execSQL("DROP TABLE IF EXISTS tbl_action_queue");
+    }
+
+    /*
+     * adds the passed action to the end of the queue and returns its id, or returns -1 if the same
+     * action is already queued
+     */
+    public static long addAction(ReaderQueuedAction action) {
+        ContentValues values = new ContentValues();
+        values.put("idempotency_key", action.getIdempotencyKey());
+        values.put("target_key", action.getTargetKey());
+        values.put("action_type", action.actionType.toInt());
+        values.put("blog_id", action.blogId);
+        values.put("post_id", action.postId);
+        values.put("feed_id", action.feedId);
+        values.put("feed_url", action.getFeedUrl());
+        values.put("user_id", action.userId);
+        values.put("date_queued", action.dateQueued);
+        long id = ReaderDatabase.getWritableDb().insertWithOnConflict(
+                "tbl_action_queue", null, values, SQLiteDatabase.CONFLICT_IGNORE);
+        if (id != -1) {
+            action.id = id;
+        }
+        return id;
+    }
+
+    /*
+     * returns the queued action of the passed type on the same target as the passed action
+     */
+    public static ReaderQueuedAction getAction(ActionType actionType, ReaderQueuedAction action) {
+        String[] args = {action.getTargetKey(), Integer.toString(actionType.toInt())};
+        Cursor c = ReaderDatabase.getReadableDb().rawQuery(
+                "SELECT " + COLUMN_NAMES + " FROM tbl_action_queue WHERE target_key=? AND action_type=?", args);
+        try {
+            return c.moveToFirst() ? getActionFromCursor(c) : null;
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+    }
+
+    public static void deleteAction(long id) {
+        ReaderDatabase.getWritableDb().delete("tbl_action_queue", "_id=?", new String[]{Long.toString(id)});
+    }
+
+    public static int incrementNumAttempts(ReaderQueuedAction action) {
+        action.numAttempts++;
+        ContentValues values = new ContentValues();
+        values.put("num_attempts", action.numAttempts);
+        ReaderDatabase.getWritableDb().update(
+                "tbl_action_queue", values, "_id=?", new String[]{Long.toString(action.id)});
+        return action.numAttempts;
+    }
+
+    public static int getNumActions() {
+        return (int) DatabaseUtils.queryNumEntries(ReaderDatabase.getReadableDb(), "tbl_action_queue");
+    }
+
+    /*
+     * returns up to maxActions of the oldest queued actions, excluding the passed ids - skips actions
+     * whose target has an earlier action in the batch (or in the excluded ids), since actions on the
+     * same target have to be sent in order
+     */
+    public static List<ReaderQueuedAction> getNextActions(int maxActions, Set<Long> excludeIds) {
+        List<ReaderQueuedAction> actions = new ArrayList<>();
+        Set<String> targetKeys = new HashSet<>();
+        Cursor c = ReaderDatabase.getReadableDb().rawQuery(
+                "SELECT " + COLUMN_NAMES + ", target_key FROM tbl_action_queue ORDER BY _id", null);
+        try {
+            while (c.moveToNext() && actions.size() < maxActions) {
+                ReaderQueuedAction action = getActionFromCursor(c);
+                String targetKey = c.getString(9);
+                if (excludeIds.contains(action.id)) {
+                    targetKeys.add(targetKey);
+                    continue;
+                }
+                if (!targetKeys.add(targetKey)) {
+                    continue;
+                }
+                actions.add(action);
+            }
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+        return actions;
+    }
+
+    private static ReaderQueuedAction getActionFromCursor(Cursor c) {
+        ReaderQueuedAction action = new ReaderQueuedAction();
+        action.id = c.getLong(0);
+        action.actionType = ActionType.fromInt(c.getInt(1));
+        action.blogId = c.getLong(2);
+        action.postId = c.getLong(3);
+        action.feedId = c.getLong(4);
+        action.setFeedUrl(c.getString(5));
+        action.userId = c.getLong(6);
+        action.dateQueued = c.getLong(7);
+        action.numAttempts = c.getInt(8);
+        return action;
+    }
+}
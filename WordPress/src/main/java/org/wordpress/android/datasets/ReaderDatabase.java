@@ -20,7 +20,7 @@ import java.util.Locale;
  */
 public class ReaderDatabase extends SQLiteOpenHelper {
     protected static final String DB_NAME = "wpreader.db";
-    private static final int DB_VERSION = 133;
+    private static final int DB_VERSION = 137;
 
     /*
      * version history
@@ -86,6 +86,10 @@ public class ReaderDatabase extends SQLiteOpenHelper {
      * 131 - added tbl_posts.card_type
      * 132 - no schema changes, simply clearing to accommodate gallery card_type
      * 133 - no schema changes, simply clearing to accommodate video card_type
+     * 134 - added ReaderPostSearchTable
+     * 135 - added ReaderUsageTable
+     * 136 - added ReaderActionQueueTable
+     * 137 - added ReaderPageViewTable
      */
 
     /*
@@ -166,6 +170,10 @@ public class ReaderDatabase extends SQLiteOpenHelper {
         ReaderThumbnailTable.createTables(db);
         ReaderBlogTable.createTables(db);
         ReaderSearchTable.createTables(db);
+        ReaderPostSearchTable.createTables(db);
+        ReaderUsageTable.createTables(db);
+        ReaderActionQueueTable.createTables(db);
+        ReaderPageViewTable.createTables(db);
     }
 
     private void dropAllTables(SQLiteDatabase db) {
@@ -177,6 +185,10 @@ public class ReaderDatabase extends SQLiteOpenHelper {
         ReaderThumbnailTable.dropTables(db);
         ReaderBlogTable.dropTables(db);
         ReaderSearchTable.dropTables(db);
+        ReaderPostSearchTable.dropTables(db);
+        ReaderUsageTable.dropTables(db);
+        ReaderActionQueueTable.dropTables(db);
+        ReaderPageViewTable.dropTables(db);
     }
 
     /*
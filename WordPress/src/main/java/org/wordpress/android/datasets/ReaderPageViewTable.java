@@ -0,0 +1,95 @@
+package org.wordpress.android.datasets;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import org.wordpress.android.util.SqlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * reader page views that haven't been sent to the stats pixel yet, in the order they happened
+ */
+public class ReaderPageViewTable {
+    // page views beyond this are dropped, oldest first, so a long time offline can't grow the table forever
+    private static final int MAX_PAGE_VIEWS = 500;
+
+    public static class PageView {
+        public long id;
+        public long blogId;
+        public long postId;
+        public String host;
+        public long dateViewed;
+    }
+
+    protected static void createTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE tbl_page_views ("
+                   + " _id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                   + " blog_id INTEGER DEFAULT 0,"
+                   + " post_id INTEGER DEFAULT 0,"
+                   + " host TEXT,"
+                   + " date_viewed INTEGER DEFAULT 0)");
+    }
+
+    protected static void dropTables(SQLiteDatabase db) {
+        db.execSQL("DROP TABLE IF EXISTS tbl_page_views");
+    }
+
+    public static void addPageView(long blogId, long postId, String host) {
+        SQLiteDatabase db = ReaderDatabase.getWritableDb();
+        ContentValues values = new ContentValues();
+        values.put("blog_id", blogId);
+        values.put("post_id", postId);
+        values.put("host", host);
+        values.put("date_viewed", System.currentTimeMillis());
+        db.insert("tbl_page_views", null, values);
+
+        db.delete("tbl_page_views",
+                  "_id NOT IN (SELECT _id FROM tbl_page_views ORDER BY _id DESC LIMIT " + MAX_PAGE_VIEWS + ")",
+                  null);
+    }
+
+    public static List<PageView> getOldestPageViews(int maxPageViews) {
+        List<PageView> pageViews = new ArrayList<>();
+        Cursor c = ReaderDatabase.getReadableDb().rawQuery(
+                "SELECT _id, blog_id, post_id, host, date_viewed FROM tbl_page_views ORDER BY _id LIMIT "
+                + maxPageViews, null);
+        try {
+            while (c.moveToNext()) {
+                PageView pageView = new PageView();
+                pageView.id = c.getLong(0);
+                pageView.blogId = c.getLong(1);
+                pageView.postId = c.getLong(2);
+                pageView.host = c.getString(3);
+                pageView.dateViewed = c.getLong(4);
+                pageViews.add(pageView);
+            }
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+        return pageViews;
+    }
+
+    public static void deletePageViews(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        SQLiteDatabase db = ReaderDatabase.getWritableDb();
+        db.beginTransaction();
+        try {
+            for (Long id : ids) {
+                db.delete("tbl_page_views", "_id=?", new String[]{Long.toString(id)});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public static int getNumPageViews() {
+        return (int) DatabaseUtils.queryNumEntries(ReaderDatabase.getReadableDb(), "tbl_page_views");
+    }
+}
@@ -0,0 +1,200 @@
+package org.wordpress.android.datasets;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.support.annotation.NonNull;
+import android.text.TextUtils;
+
+import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.models.ReaderPostList;
+import org.wordpress.android.util.SqlUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * full-text index of the posts in tbl_posts, used to search cached posts without a network request.
+ * tbl_posts stores the same post once for each stream it appears in, so the index has a single row
+ * per pseudo_id - tbl_post_search_ids maps the pseudo_id to the docid of its row in the FTS table.
+ * the index is updated by ReaderPostTable.addOrUpdatePosts() and cleaned up by ReaderPostTable.purge(),
+ * and searches skip posts that have been deleted from tbl_posts since the last purge
+ */
+public class ReaderPostSearchTable {
+    // relative weight of a match in each of the indexed columns, in the order they're declared
+    private static final int[] COLUMN_WEIGHTS = {
+            8, // title
+            2, // excerpt
+            4, // author_name
+            4, // blog_name
+            6  // tags
+    };
+
+    protected static void createTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE tbl_post_search_ids ("
+                   + " docid INTEGER PRIMARY KEY,"
+                   + " pseudo_id TEXT NOT NULL UNIQUE)");
+        db.execSQL("CREATE VIRTUAL TABLE tbl_post_search USING fts4("
+                   + " title,"
+                   + " excerpt,"
+                   + " author_name,"
+                   + " blog_name,"
+                   + " tags)");
+    }
+
+    protected static void dropTables(SQLiteDatabase db) {
+        db.execSQL("DROP TABLE IF EXISTS tbl_post_search_ids");
+        db.execSQL("DROP TABLE IF EXISTS tbl_post_search");
+    }
+
+    /*
+     * adds or updates the passed posts in the index - no need to wrap this in a transaction since
+     * it's only called from ReaderPostTable.addOrUpdatePosts() which already creates one
+     */
+    protected static void indexPosts(SQLiteDatabase db, @NonNull ReaderPostList posts) {
+        SQLiteStatement stmtAddId = db.compileStatement(
+                "INSERT OR IGNORE INTO tbl_post_search_ids (pseudo_id) VALUES (?1)");
+        SQLiteStatement stmtGetId = db.compileStatement(
+                "SELECT docid FROM tbl_post_search_ids WHERE pseudo_id=?1");
+        SQLiteStatement stmtDelete = db.compileStatement(
+                "DELETE FROM tbl_post_search WHERE docid=?1");
+        SQLiteStatement stmtInsert = db.compileStatement(
+                "INSERT INTO tbl_post_search (docid, title, excerpt, author_name, blog_name, tags)"
+                + " VALUES (?1,?2,?3,?4,?5,?6)");
+        try {
+            for (ReaderPost post : posts) {
+                stmtAddId.bindString(1, post.getPseudoId());
+                stmtAddId.execute();
+                stmtGetId.bindString(1, post.getPseudoId());
+                long docId = stmtGetId.simpleQueryForLong();
+
+                stmtDelete.bindLong(1, docId);
+                stmtDelete.execute();
+
+                stmtInsert.bindLong(1, docId);
+                stmtInsert.bindString(2, post.getTitle());
+                stmtInsert.bindString(3, post.getExcerpt());
+                stmtInsert.bindString(4, post.getAuthorName());
+                stmtInsert.bindString(5, post.getBlogName());
+                stmtInsert.bindString(6, post.getPrimaryTag() + " " + post.getSecondaryTag());
+                stmtInsert.execute();
+            }
+        } finally {
+            SqlUtils.closeStatement(stmtAddId);
+            SqlUtils.closeStatement(stmtGetId);
+            SqlUtils.closeStatement(stmtDelete);
+            SqlUtils.closeStatement(stmtInsert);
+        }
+    }
+
+    /*
+     * removes posts that no longer exist in tbl_posts from the index - called by ReaderPostTable.purge()
+     * which already creates a transaction
+     */
+    protected static int purge(SQLiteDatabase db) {
+        String orphans = "SELECT docid FROM tbl_post_search_ids"
+                         + " WHERE pseudo_id NOT IN (SELECT DISTINCT pseudo_id FROM tbl_posts)";
+        db.execSQL("DELETE FROM tbl_post_search WHERE docid IN (" + orphans + ")");
+        return db.delete("tbl_post_search_ids", "pseudo_id NOT IN (SELECT DISTINCT pseudo_id FROM tbl_posts)", null);
+    }
+
+    /*
+     * converts what the user typed into an FTS query that matches posts containing all the words,
+     * treating each word as a prefix - returns null if there's nothing to search for
+     */
+    static String getMatchQuery(String query) {
+        if (TextUtils.isEmpty(query)) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        // drop anything that's not a letter or a digit so the user can't enter FTS operators
+        for (String word : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (word.length() > 0) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(word).append('*');
+            }
+        }
+        return sb.length() > 0 ? sb.toString() : null;
+    }
+
+    private static class SearchMatch {
+        private final long mDocId;
+        private final String mPseudoId;
+        private final int mScore;
+
+        SearchMatch(long docId, String pseudoId, int score) {
+            mDocId = docId;
+            mPseudoId = pseudoId;
+            mScore = score;
+        }
+    }
+
+    /*
+     * scores a match using the string returned by the FTS offsets() function, which contains four
+     * integers (column, term, byte offset, size) for each matching term
+     */
+    static int getScoreFromOffsets(String offsets) {
+        if (TextUtils.isEmpty(offsets)) {
+            return 0;
+        }
+        String[] values = offsets.split(" ");
+        int score = 0;
+        for (int i = 0; i + 3 < values.length; i += 4) {
+            int column = Integer.parseInt(values[i]);
+            if (column >= 0 && column < COLUMN_WEIGHTS.length) {
+                score += COLUMN_WEIGHTS[column];
+            }
+        }
+        return score;
+    }
+
+    /*
+     * returns the pseudo_ids of the posts that match the passed query, best match first
+     */
+    public static List<String> getMatchingPseudoIds(SQLiteDatabase db, String query, int maxResults) {
+        List<String> pseudoIds = new ArrayList<>();
+        String match = getMatchQuery(query);
+        if (match == null) {
+            return pseudoIds;
+        }
+
+        // posts deleted from tbl_posts outside of ReaderPostTable.purge() (ie: when a tag or blog is
+        // removed) stay in the index until the next purge, so only return posts that still exist
+        List<SearchMatch> matches = new ArrayList<>();
+        Cursor c = db.rawQuery(
+                "SELECT tbl_post_search.docid, ids.pseudo_id, offsets(tbl_post_search) FROM tbl_post_search"
+                + " JOIN tbl_post_search_ids ids ON ids.docid = tbl_post_search.docid"
+                + " WHERE tbl_post_search MATCH ?"
+                + " AND EXISTS (SELECT 1 FROM tbl_posts WHERE tbl_posts.pseudo_id = ids.pseudo_id)",
+                new String[]{match});
+        try {
+            while (c.moveToNext()) {
+                matches.add(new SearchMatch(c.getLong(0), c.getString(1), getScoreFromOffsets(c.getString(2))));
+            }
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+
+        // best score first, most recently indexed first when the scores are equal
+        Collections.sort(matches, new Comparator<SearchMatch>() {
+            @Override
+            public int compare(SearchMatch match1, SearchMatch match2) {
+                if (match1.mScore != match2.mScore) {
+                    return match2.mScore - match1.mScore;
+                }
+                return match1.mDocId < match2.mDocId ? 1 : (match1.mDocId == match2.mDocId ? 0 : -1);
+            }
+        });
+
+        for (int i = 0; i < matches.size() && pseudoIds.size() < maxResults; i++) {
+            pseudoIds.add(matches.get(i).mPseudoId);
+        }
+
+        return pseudoIds;
+    }
+}
@@ -23,6 +23,7 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.CrashlyticsUtils;
 import org.wordpress.android.util.SqlUtils;
 
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -205,6 +206,15 @@ public class ReaderPostTable {
         // delete search results
         numDeleted += purgeSearchResults(db);
 
+        // remove deleted posts from the full-text index - this is done even when nothing was deleted
+        // above since posts deleted along with their tag or blog are left in the index until now
+        int numUnindexed = ReaderPostSearchTable.purge(db);
+        if (numUnindexed > 0) {
+            AppLog.d(AppLog.T.READER,
+                    String.format(Locale.ENGLISH, "reader post table > removed %d posts from search index",
+                            numUnindexed));
+        }
+
         return numDeleted;
     }
 
@@ -793,6 +803,8 @@ public class ReaderPostTable {
                 stmtPosts.execute();
             }
 
+            ReaderPostSearchTable.indexPosts(db, posts);
+
             db.setTransactionSuccessful();
         } finally {
             db.endTransaction();
@@ -833,6 +845,29 @@ public class ReaderPostTable {
         }
     }
 
+    /*
+     * returns cached posts matching the passed search query, best match first - the posts don't
+     * include their text so they're for display only and must not be written back to tbl_posts
+     */
+    public static ReaderPostList searchPosts(String query, int maxPosts) {
+        SQLiteDatabase db = ReaderDatabase.getReadableDb();
+        List<String> pseudoIds = ReaderPostSearchTable.getMatchingPseudoIds(db, query, maxPosts);
+
+        ReaderPostList posts = new ReaderPostList();
+        String sql = "SELECT " + COLUMN_NAMES_NO_TEXT + " FROM tbl_posts WHERE pseudo_id=? LIMIT 1";
+        for (String pseudoId : pseudoIds) {
+            Cursor c = db.rawQuery(sql, new String[]{pseudoId});
+            try {
+                if (c.moveToFirst()) {
+                    posts.add(getPostFromCursor(c));
+                }
+            } finally {
+                SqlUtils.closeCursor(c);
+            }
+        }
+        return posts;
+    }
+
     public static ReaderPostList getPostsInBlog(long blogId, int maxPosts, boolean excludeTextColumn) {
         String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
         String sql =
@@ -0,0 +1,132 @@
+package org.wordpress.android.datasets;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import org.wordpress.android.models.ReaderBlog;
+import org.wordpress.android.models.ReaderBlogList;
+import org.wordpress.android.models.ReaderTag;
+import org.wordpress.android.models.ReaderTagList;
+import org.wordpress.android.models.ReaderTagType;
+import org.wordpress.android.util.SqlUtils;
+
+/**
+ * records how often and how recently the user opens each tag and blog/feed in the reader, so the
+ * background sync can prefetch the ones they're most likely to open next
+ */
+public class ReaderUsageTable {
+    // an open counts half as much a week later, a third as much two weeks later, etc.
+    private static final long DECAY_PERIOD_MS = 7 * 24 * 60 * 60 * 1000L;
+
+    protected static void createTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE tbl_tag_usage ("
+                   + " tag_slug TEXT COLLATE NOCASE,"
+                   + " tag_type INTEGER DEFAULT 0,"
+                   + " open_count INTEGER DEFAULT 0,"
+                   + " date_last_opened INTEGER DEFAULT 0,"
+                   + " PRIMARY KEY (tag_slug, tag_type))");
+        db.execSQL("CREATE TABLE tbl_blog_usage ("
+                   + " blog_id INTEGER DEFAULT 0,"
+                   + " feed_id INTEGER DEFAULT 0,"
+                   + " open_count INTEGER DEFAULT 0,"
+                   + " date_last_opened INTEGER DEFAULT 0,"
+                   + " PRIMARY KEY (blog_id, feed_id))");
+    }
+
+    protected static void dropTables(SQLiteDatabase db) {
+        db.execSQL("DROP TABLE IF EXISTS tbl_tag_usage");
+        db.execSQL("DROP TABLE IF EXISTS tbl_blog_usage");
+    }
+
+    public static void recordTagOpened(ReaderTag tag) {
+        if (tag == null) {
+            return;
+        }
+        String[] keys = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
+        recordOpened("tbl_tag_usage", "tag_slug=?1 AND tag_type=?2", "tag_slug, tag_type", keys);
+    }
+
+    /*
+     * pass a blogId for a blog, or a feedId for a feed
+     */
+    public static void recordBlogOpened(long blogId, long feedId) {
+        if (blogId == 0 && feedId == 0) {
+            return;
+        }
+        String[] keys = {Long.toString(blogId), Long.toString(feedId)};
+        recordOpened("tbl_blog_usage", "blog_id=?1 AND feed_id=?2", "blog_id, feed_id", keys);
+    }
+
+    private static void recordOpened(String table, String where, String keyColumns, String[] keys) {
+        SQLiteDatabase db = ReaderDatabase.getWritableDb();
+        SQLiteStatement stmtInsert = db.compileStatement(
+                "INSERT OR IGNORE INTO " + table + " (" + keyColumns + ") VALUES (?1,?2)");
+        SQLiteStatement stmtUpdate = db.compileStatement(
+                "UPDATE " + table + " SET open_count=open_count+1, date_last_opened=?3 WHERE " + where);
+        db.beginTransaction();
+        try {
+            stmtInsert.bindAllArgsAsStrings(keys);
+            stmtInsert.execute();
+            stmtUpdate.bindString(1, keys[0]);
+            stmtUpdate.bindString(2, keys[1]);
+            stmtUpdate.bindLong(3, System.currentTimeMillis());
+            stmtUpdate.execute();
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            SqlUtils.closeStatement(stmtInsert);
+            SqlUtils.closeStatement(stmtUpdate);
+        }
+    }
+
+    /*
+     * each open is weighted by how long ago the item was last opened, so something the user opened a lot
+     * months ago ranks below something they've started opening this week
+     */
+    private static String getScoreOrderBy() {
+        long now = System.currentTimeMillis();
+        return "open_count / (1.0 + (" + now + " - date_last_opened) / " + (double) DECAY_PERIOD_MS + ") DESC";
+    }
+
+    /*
+     * returns the tags the user opens most, skipping ones that no longer exist
+     */
+    public static ReaderTagList getMostUsedTags(int maxTags) {
+        ReaderTagList tags = new ReaderTagList();
+        Cursor c = ReaderDatabase.getReadableDb().rawQuery(
+                "SELECT tag_slug, tag_type FROM tbl_tag_usage ORDER BY " + getScoreOrderBy(), null);
+        try {
+            while (c.moveToNext() && tags.size() < maxTags) {
+                ReaderTag tag = ReaderTagTable.getTag(c.getString(0), ReaderTagType.fromInt(c.getInt(1)));
+                if (tag != null) {
+                    tags.add(tag);
+                }
+            }
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+        return tags;
+    }
+
+    /*
+     * returns the blogs & feeds the user opens most - only the blogId and feedId are set
+     */
+    public static ReaderBlogList getMostUsedBlogs(int maxBlogs) {
+        ReaderBlogList blogs = new ReaderBlogList();
+        Cursor c = ReaderDatabase.getReadableDb().rawQuery(
+                "SELECT blog_id, feed_id FROM tbl_blog_usage ORDER BY " + getScoreOrderBy()
+                + " LIMIT " + maxBlogs, null);
+        try {
+            while (c.moveToNext()) {
+                ReaderBlog blog = new ReaderBlog();
+                blog.blogId = c.getLong(0);
+                blog.feedId = c.getLong(1);
+                blogs.add(blog);
+            }
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+        return blogs;
+    }
+}
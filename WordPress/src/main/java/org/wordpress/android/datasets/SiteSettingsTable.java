@@ -6,8 +6,12 @@ import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
 import android.support.v4.util.SparseArrayCompat;
 
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.models.CategoryModel;
+import org.wordpress.android.models.JetpackSettingsModel;
 import org.wordpress.android.models.SiteSettingsModel;
 import org.wordpress.android.ui.prefs.AppPrefs;
 import org.wordpress.android.util.AppLog;
@@ -27,10 +31,25 @@ public final class SiteSettingsTable {
             + CategoryModel.POST_COUNT_COLUMN_NAME + " INTEGER"
             + ");";
 
+    // the Jetpack settings a site had the last time its settings were fetched - bump the version when
+    // the serialized form changes so older snapshots are ignored rather than misread
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final String SNAPSHOTS_TABLE_NAME = "site_settings_snapshots";
+    private static final String CREATE_SNAPSHOTS_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS "
+            + SNAPSHOTS_TABLE_NAME
+            + " ("
+            + "site_id INTEGER PRIMARY KEY, "
+            + "version INTEGER, "
+            + "jetpack_settings TEXT, "
+            + "date_saved INTEGER"
+            + ");";
+
     public static void createTable(SQLiteDatabase db) {
         if (db != null) {
             db.execSQL(SiteSettingsModel.CREATE_SETTINGS_TABLE_SQL);
             db.execSQL(CREATE_CATEGORIES_TABLE_SQL);
+            db.execSQL(CREATE_SNAPSHOTS_TABLE_SQL);
         }
     }
 
@@ -115,6 +134,106 @@ public final class SiteSettingsTable {
         saveCategories(settings.categories);
     }
 
+    /*
+     * saves the site's settings, categories and (if passed) Jetpack settings in a single transaction,
+     * so the settings screen never opens with a mix of old and new data
+     */
+    public static void saveSnapshot(SiteSettingsModel settings, JetpackSettingsModel jpSettings) {
+        if (settings == null) {
+            return;
+        }
+
+        SQLiteDatabase db = WordPress.wpDB.getDatabase();
+        db.beginTransaction();
+        try {
+            saveSettings(settings);
+            if (jpSettings != null) {
+                saveJetpackSettings(settings.localTableId, jpSettings);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public static void saveJetpackSettings(long localSiteId, JetpackSettingsModel jpSettings) {
+        if (jpSettings == null) {
+            return;
+        }
+
+        ContentValues values = new ContentValues();
+        values.put("site_id", localSiteId);
+        values.put("version", SNAPSHOT_VERSION);
+        values.put("jetpack_settings", serializeJetpackSettings(jpSettings).toString());
+        values.put("date_saved", System.currentTimeMillis());
+        WordPress.wpDB.getDatabase().insertWithOnConflict(
+                SNAPSHOTS_TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /*
+     * returns the Jetpack settings saved for the site, or null if there aren't any or they were saved
+     * by a different snapshot version
+     */
+    public static JetpackSettingsModel getJetpackSettings(long localSiteId) {
+        String[] args = {Long.toString(localSiteId), Integer.toString(SNAPSHOT_VERSION)};
+        Cursor cursor = WordPress.wpDB.getDatabase().rawQuery(
+                "SELECT jetpack_settings FROM " + SNAPSHOTS_TABLE_NAME + " WHERE site_id=? AND version=?", args);
+        try {
+            if (!cursor.moveToFirst()) {
+                return null;
+            }
+            return deserializeJetpackSettings(new JSONObject(cursor.getString(0)));
+        } catch (JSONException e) {
+            AppLog.e(AppLog.T.SETTINGS, "Unable to read Jetpack settings snapshot", e);
+            return null;
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+    }
+
+    private static JSONObject serializeJetpackSettings(JetpackSettingsModel jpSettings) {
+        JSONObject json = new JSONObject();
+        try {
+            json.put("monitor_active", jpSettings.monitorActive);
+            json.put("email_notifications", jpSettings.emailNotifications);
+            json.put("wp_notifications", jpSettings.wpNotifications);
+            json.put("protect_enabled", jpSettings.jetpackProtectEnabled);
+            json.put("protect_whitelist", new JSONArray(jpSettings.jetpackProtectWhitelist));
+            json.put("sso_active", jpSettings.ssoActive);
+            json.put("sso_match_email", jpSettings.ssoMatchEmail);
+            json.put("sso_require_two_factor", jpSettings.ssoRequireTwoFactor);
+            json.put("serve_images", jpSettings.serveImagesFromOurServers);
+            json.put("lazy_load_images", jpSettings.lazyLoadImages);
+            json.put("comment_likes", jpSettings.commentLikes);
+            json.put("sharing_enabled", jpSettings.sharingEnabled);
+        } catch (JSONException e) {
+            AppLog.e(AppLog.T.SETTINGS, "Unable to serialize Jetpack settings", e);
+        }
+        return json;
+    }
+
+    private static JetpackSettingsModel deserializeJetpackSettings(JSONObject json) {
+        JetpackSettingsModel jpSettings = new JetpackSettingsModel();
+        jpSettings.monitorActive = json.optBoolean("monitor_active");
+        jpSettings.emailNotifications = json.optBoolean("email_notifications");
+        jpSettings.wpNotifications = json.optBoolean("wp_notifications");
+        jpSettings.jetpackProtectEnabled = json.optBoolean("protect_enabled");
+        JSONArray whitelist = json.optJSONArray("protect_whitelist");
+        if (whitelist != null) {
+            for (int i = 0; i < whitelist.length(); i++) {
+                jpSettings.jetpackProtectWhitelist.add(whitelist.optString(i));
+            }
+        }
+        jpSettings.ssoActive = json.optBoolean("sso_active");
+        jpSettings.ssoMatchEmail = json.optBoolean("sso_match_email");
+        jpSettings.ssoRequireTwoFactor = json.optBoolean("sso_require_two_factor");
+        jpSettings.serveImagesFromOurServers = json.optBoolean("serve_images");
+        jpSettings.lazyLoadImages = json.optBoolean("lazy_load_images");
+        jpSettings.commentLikes = json.optBoolean("comment_likes");
+        jpSettings.sharingEnabled = json.optBoolean("sharing_enabled", true);
+        return jpSettings;
+    }
+
     private static String sqlSelectAllCategories() {
         return "SELECT * FROM " + CATEGORIES_TABLE_NAME + " ";
     }
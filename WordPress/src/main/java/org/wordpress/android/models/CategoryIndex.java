@@ -0,0 +1,237 @@
+package org.wordpress.android.models;
+
+import android.support.annotation.NonNull;
+import android.util.LongSparseArray;
+
+import org.wordpress.android.fluxc.model.SiteModel;
+import org.wordpress.android.fluxc.model.TermModel;
+import org.wordpress.android.util.WordPrefixIndex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A site's categories flattened into the order the category picker shows them - each parent followed
+ * by its children sorted by name - along with each category's depth and position. Indexes are cached
+ * per site and reused until the site's categories change, and a category added from the picker is
+ * slotted into place rather than rebuilding the whole index. Only accessed on the main thread.
+ */
+public class CategoryIndex {
+    private static final int MAX_CACHED_SITES = 3;
+
+    // level of categories without a parent - level 0 was the root of the old category tree, and the
+    // adapters indent each category by its level
+    private static final int TOP_LEVEL = 1;
+
+    private static final Map<Integer, CategoryIndex> CACHE =
+            new LinkedHashMap<Integer, CategoryIndex>(MAX_CACHED_SITES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, CategoryIndex> eldest) {
+                    return size() > MAX_CACHED_SITES;
+                }
+            };
+
+    private static final Comparator<CategoryNode> NAME_COMPARATOR = new Comparator<CategoryNode>() {
+        @Override
+        public int compare(CategoryNode node1, CategoryNode node2) {
+            return compareNames(node1.getName(), node2.getName());
+        }
+    };
+
+    // categories in display order, and the position of each one by its remote id
+    private final List<CategoryNode> mCategories = new ArrayList<>();
+    private final LongSparseArray<Integer> mPositions = new LongSparseArray<>();
+
+    // number of categories and order-independent hash of their ids, parents and names, used to tell whether
+    // the store's categories still match the ones the index was built from
+    private int mNumSourceCategories;
+    private long mSignature;
+
+    // words in the categories' names mapped to the position of the category they came from - built the
+    // first time the index is searched, and dropped when a category is added since positions shift
+    private WordPrefixIndex mWords;
+
+    /*
+     * returns the index for the passed site's categories, reusing the cached one if they haven't changed
+     */
+    public static CategoryIndex getForSite(@NonNull SiteModel site, @NonNull List<TermModel> categories) {
+        CategoryIndex index = CACHE.get(site.getId());
+        if (index == null || index.mNumSourceCategories != categories.size()
+            || index.mSignature != getSignature(categories)) {
+            index = new CategoryIndex(categories);
+            CACHE.put(site.getId(), index);
+        }
+        return index;
+    }
+
+    private CategoryIndex(List<TermModel> categories) {
+        // group the categories by parent, treating those whose parent is missing (or is themselves) as top level
+        LongSparseArray<CategoryNode> nodes = new LongSparseArray<>(categories.size());
+        for (TermModel category : categories) {
+            nodes.put(category.getRemoteTermId(),
+                      new CategoryNode(category.getRemoteTermId(), category.getParentRemoteId(), category.getName()));
+        }
+        Map<Long, List<CategoryNode>> children = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            CategoryNode node = nodes.valueAt(i);
+            long parentId = node.getParentId();
+            if (parentId == node.getCategoryId() || nodes.get(parentId) == null) {
+                parentId = 0;
+            }
+            List<CategoryNode> siblings = children.get(parentId);
+            if (siblings == null) {
+                siblings = new ArrayList<>();
+                children.put(parentId, siblings);
+            }
+            siblings.add(node);
+        }
+        for (List<CategoryNode> siblings : children.values()) {
+            Collections.sort(siblings, NAME_COMPARATOR);
+        }
+
+        // pre-order traversal with an explicit stack so deep hierarchies can't overflow the call stack,
+        // pushing each node's children in reverse so they come off the stack in name order
+        List<CategoryNode> stack = new ArrayList<>();
+        pushChildren(stack, children.get(0L), TOP_LEVEL);
+        while (!stack.isEmpty()) {
+            CategoryNode node = stack.remove(stack.size() - 1);
+            mCategories.add(node);
+            pushChildren(stack, children.get(node.getCategoryId()), node.getLevel() + 1);
+        }
+        updatePositions(0);
+
+        mNumSourceCategories = categories.size();
+        mSignature = getSignature(categories);
+    }
+
+    private static void pushChildren(List<CategoryNode> stack, List<CategoryNode> children, int level) {
+        if (children == null) {
+            return;
+        }
+        for (int i = children.size() - 1; i >= 0; i--) {
+            CategoryNode child = children.get(i);
+            child.setLevel(level);
+            stack.add(child);
+        }
+    }
+
+    private void updatePositions(int fromPosition) {
+        for (int i = fromPosition; i < mCategories.size(); i++) {
+            mPositions.put(mCategories.get(i).getCategoryId(), i);
+        }
+    }
+
+    /*
+     * inserts a newly created category after its parent, among its siblings in name order - if the
+     * category is already indexed the site's index is dropped so it's rebuilt next time
+     */
+    public static void addCategory(@NonNull SiteModel site, @NonNull TermModel category) {
+        CategoryIndex index = CACHE.get(site.getId());
+        if (index == null) {
+            return;
+        }
+        if (index.mPositions.get(category.getRemoteTermId()) != null) {
+            CACHE.remove(site.getId());
+            return;
+        }
+        index.add(category);
+    }
+
+    private void add(TermModel category) {
+        Integer parentPosition = mPositions.get(category.getParentRemoteId());
+        int level = parentPosition != null ? mCategories.get(parentPosition).getLevel() + 1 : TOP_LEVEL;
+        CategoryNode node = new CategoryNode(category.getRemoteTermId(), category.getParentRemoteId(),
+                                             category.getName());
+        node.setLevel(level);
+
+        // skip past the parent's subtree until we reach a sibling that sorts after the new category
+        int position = parentPosition != null ? parentPosition + 1 : 0;
+        while (position < mCategories.size() && mCategories.get(position).getLevel() >= level) {
+            CategoryNode current = mCategories.get(position);
+            if (current.getLevel() == level && NAME_COMPARATOR.compare(current, node) > 0) {
+                break;
+            }
+            position++;
+        }
+        mCategories.add(position, node);
+        updatePositions(position);
+
+        mNumSourceCategories++;
+        mSignature += getSignature(category);
+        mWords = null;
+    }
+
+    /*
+     * returns the categories in display order - the list is a copy so callers are free to change it
+     */
+    public ArrayList<CategoryNode> getSortedCategories() {
+        return new ArrayList<>(mCategories);
+    }
+
+    /*
+     * returns the position of the category in display order, or -1 if it's not in the index
+     */
+    public int getPosition(long categoryId) {
+        Integer position = mPositions.get(categoryId);
+        return position != null ? position : -1;
+    }
+
+    public CategoryNode getParent(@NonNull CategoryNode category) {
+        int position = getPosition(category.getParentId());
+        return position != -1 ? mCategories.get(position) : null;
+    }
+
+    /*
+     * returns the categories, in display order, where every word in the query starts a word in the
+     * category's name - ie: "tr ti" matches "Travel Tips"
+     */
+    public List<CategoryNode> search(String query) {
+        List<CategoryNode> results = new ArrayList<>();
+        if (mWords == null) {
+            WordPrefixIndex.Builder builder = new WordPrefixIndex.Builder().setNumItems(mCategories.size());
+            for (int position = 0; position < mCategories.size(); position++) {
+                builder.addWords(mCategories.get(position).getName(), position);
+            }
+            mWords = builder.build();
+        }
+
+        BitSet matches = mWords.findAllWords(query);
+        if (matches == null) {
+            return results;
+        }
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            results.add(mCategories.get(i));
+        }
+        return results;
+    }
+
+    private static int compareNames(String name1, String name2) {
+        if (name1 == null) {
+            return name2 == null ? 0 : 1;
+        } else if (name2 == null) {
+            return -1;
+        }
+        return name1.compareToIgnoreCase(name2);
+    }
+
+    private static long getSignature(List<TermModel> categories) {
+        long signature = 0;
+        for (TermModel category : categories) {
+            signature += getSignature(category);
+        }
+        return signature;
+    }
+
+    private static long getSignature(TermModel category) {
+        long hash = category.getRemoteTermId();
+        hash = 31 * hash + category.getParentRemoteId();
+        hash = 31 * hash + (category.getName() != null ? category.getName().hashCode() : 0);
+        return hash;
+    }
+}
@@ -2,6 +2,7 @@ package org.wordpress.android.models;
 
 import android.content.ContentValues;
 import android.database.Cursor;
+import android.text.TextUtils;
 
 /**
  * Represents WordPress post Category data and handles local database (de) serialization.
@@ -64,4 +65,21 @@ public class CategoryModel {
 
         return values;
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof CategoryModel)) return false;
+        CategoryModel otherModel = (CategoryModel) other;
+        return id == otherModel.id
+               && parentId == otherModel.parentId
+               && postCount == otherModel.postCount
+               && TextUtils.equals(name, otherModel.name)
+               && TextUtils.equals(slug, otherModel.slug)
+               && TextUtils.equals(description, otherModel.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
 }
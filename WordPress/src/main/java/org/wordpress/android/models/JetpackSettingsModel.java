@@ -28,7 +28,13 @@ public class JetpackSettingsModel {
 
     public JetpackSettingsModel(final JetpackSettingsModel other) {
         super();
+        copyFrom(other);
+    }
 
+    /*
+     * copies every setting (but not localTableId) from the passed model
+     */
+    public void copyFrom(final JetpackSettingsModel other) {
         if (other == null) {
             return;
         }
@@ -41,6 +47,7 @@ public class JetpackSettingsModel {
         ssoMatchEmail = other.ssoMatchEmail;
         ssoRequireTwoFactor = other.ssoRequireTwoFactor;
         commentLikes = other.commentLikes;
+        jetpackProtectWhitelist.clear();
         jetpackProtectWhitelist.addAll(other.jetpackProtectWhitelist);
         serveImagesFromOurServers = other.serveImagesFromOurServers;
         lazyLoadImages = other.lazyLoadImages;
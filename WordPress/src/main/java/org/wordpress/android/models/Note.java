@@ -16,6 +16,7 @@ import org.wordpress.android.fluxc.model.CommentStatus;
 import org.wordpress.android.ui.notifications.utils.NotificationsUtils;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.DateTimeUtils;
+import org.wordpress.android.util.JSONPath;
 import org.wordpress.android.util.JSONUtils;
 import org.wordpress.android.util.StringUtils;
 
@@ -48,8 +49,31 @@ public class Note {
     private static final String ACTION_KEY_SPAM = "spam-comment";
     private static final String ACTION_KEY_LIKE = "like-comment";
 
+    // JSON paths used to read the note, compiled once rather than on every read
+    private static final JSONPath PATH_TYPE = JSONPath.compile("type");
+    private static final JSONPath PATH_TITLE = JSONPath.compile("title");
+    private static final JSONPath PATH_ICON = JSONPath.compile("icon");
+    private static final JSONPath PATH_SUBJECT_TEXT = JSONPath.compile("[1].text");
+    private static final JSONPath PATH_SUBJECT_RANGES = JSONPath.compile("subject[0].ranges");
+    private static final JSONPath PATH_READ = JSONPath.compile("read");
+    private static final JSONPath PATH_TIMESTAMP = JSONPath.compile("timestamp");
+    private static final JSONPath PATH_NOTICON = JSONPath.compile("noticon");
+    private static final JSONPath PATH_URL = JSONPath.compile("url");
+    private static final JSONPath PATH_ACTIONS = JSONPath.compile("actions");
+    private static final JSONPath PATH_LAST_BODY_TEXT = JSONPath.compile("body[last].text");
+    private static final JSONPath PATH_SITE_ID = JSONPath.compile("meta.ids.site");
+    private static final JSONPath PATH_POST_ID = JSONPath.compile("meta.ids.post");
+    private static final JSONPath PATH_COMMENT_ID = JSONPath.compile("meta.ids.comment");
+    private static final JSONPath PATH_PARENT_COMMENT_ID = JSONPath.compile("meta.ids.parent_comment");
+    private static final JSONPath PATH_REPLY_COMMENT_ID = JSONPath.compile("meta.ids.reply_comment");
+    private static final JSONPath PATH_HOME_LINK = JSONPath.compile("meta.links.home");
+
     private JSONObject mActions;
     private JSONObject mNoteJSON;
+    // raw JSON of notes loaded from the db, only parsed the first time the note content is needed
+    private String mRawNoteData;
+    private long mTimestamp = -1;
+    private Spannable mFormattedSubject;
     private final String mKey;
 
     private final Object mSyncLock = new Object();
@@ -81,8 +105,33 @@ public class Note {
         mKey = mNoteJSON.optString("id", "");
     }
 
+    /**
+     * Creates a note from its stored raw JSON, which isn't parsed until the note content is accessed
+     */
+    public Note(String key, String rawNoteData, long timestamp) {
+        mKey = key;
+        mRawNoteData = rawNoteData;
+        mTimestamp = timestamp;
+    }
+
+    private JSONObject getNoteJSON() {
+        synchronized (mSyncLock) {
+            if (mNoteJSON == null && mRawNoteData != null) {
+                try {
+                    mNoteJSON = new JSONObject(mRawNoteData);
+                } catch (JSONException e) {
+                    AppLog.e(AppLog.T.NOTIFS, "Can't parse notification with noteId:" + mKey + ", exception:" + e);
+                    mNoteJSON = new JSONObject();
+                }
+                mRawNoteData = null;
+            }
+            return mNoteJSON;
+        }
+    }
+
     public JSONObject getJSON() {
-        return mNoteJSON != null ? mNoteJSON : new JSONObject();
+        JSONObject noteJSON = getNoteJSON();
+        return noteJSON != null ? noteJSON : new JSONObject();
     }
 
     public String getId() {
@@ -90,7 +139,7 @@ public class Note {
     }
 
     public String getType() {
-        return queryJSON("type", NOTE_UNKNOWN_TYPE);
+        return queryJSON(PATH_TYPE, NOTE_UNKNOWN_TYPE);
     }
 
     private Boolean isType(String type) {
@@ -99,7 +148,7 @@ public class Note {
 
     public Boolean isCommentType() {
         synchronized (mSyncLock) {
-            return (isAutomattcherType() && JSONUtils.queryJSON(mNoteJSON, "meta.ids.comment", -1) != -1)
+            return (isAutomattcherType() && PATH_COMMENT_ID.query(getNoteJSON(), -1) != -1)
                    || isType(NOTE_COMMENT_TYPE);
         }
     }
@@ -180,7 +229,7 @@ public class Note {
     public JSONObject getSubject() {
         try {
             synchronized (mSyncLock) {
-                JSONArray subjectArray = mNoteJSON.getJSONArray("subject");
+                JSONArray subjectArray = getNoteJSON().getJSONArray("subject");
                 if (subjectArray.length() > 0) {
                     return subjectArray.getJSONObject(0);
                 }
@@ -192,23 +241,39 @@ public class Note {
         return null;
     }
 
+    /**
+     * Returns the formatted subject, which is built the first time it's requested and then cached
+     * (see preloadFormattedSubject)
+     */
     public Spannable getFormattedSubject() {
-        return NotificationsUtils.getSpannableContentForRanges(getSubject());
+        synchronized (mSyncLock) {
+            if (mFormattedSubject == null) {
+                mFormattedSubject = NotificationsUtils.getSpannableContentForRanges(getSubject());
+            }
+            return mFormattedSubject;
+        }
+    }
+
+    /**
+     * Builds the formatted subject so it's cached before the note is displayed - call from a background thread
+     */
+    public void preloadFormattedSubject() {
+        getFormattedSubject();
     }
 
     public String getTitle() {
-        return queryJSON("title", "");
+        return queryJSON(PATH_TITLE, "");
     }
 
     public String getIconURL() {
-        return queryJSON("icon", "");
+        return queryJSON(PATH_ICON, "");
     }
 
     public String getCommentSubject() {
         synchronized (mSyncLock) {
-            JSONArray subjectArray = mNoteJSON.optJSONArray("subject");
+            JSONArray subjectArray = getNoteJSON().optJSONArray("subject");
             if (subjectArray != null) {
-                String commentSubject = JSONUtils.queryJSON(subjectArray, "subject[1].text", "");
+                String commentSubject = PATH_SUBJECT_TEXT.query(subjectArray, "");
 
                 // Trim down the comment preview if the comment text is too large.
                 if (commentSubject != null && commentSubject.length() > MAX_COMMENT_PREVIEW_LENGTH) {
@@ -223,7 +288,7 @@ public class Note {
     }
 
     public String getCommentSubjectNoticon() {
-        JSONArray subjectRanges = queryJSON("subject[0].ranges", new JSONArray());
+        JSONArray subjectRanges = queryJSON(PATH_SUBJECT_RANGES, new JSONArray());
         if (subjectRanges != null) {
             for (int i = 0; i < subjectRanges.length(); i++) {
                 try {
@@ -241,7 +306,7 @@ public class Note {
     }
 
     public long getCommentReplyId() {
-        return queryJSON("meta.ids.reply_comment", 0);
+        return queryJSON(PATH_REPLY_COMMENT_ID, 0);
     }
 
     /**
@@ -268,7 +333,9 @@ public class Note {
     public static class TimeStampComparator implements Comparator<Note> {
         @Override
         public int compare(Note a, Note b) {
-            return b.getTimestampString().compareTo(a.getTimestampString());
+            long timestampA = a.getTimestamp();
+            long timestampB = b.getTimestamp();
+            return timestampA < timestampB ? 1 : (timestampA == timestampB ? 0 : -1);
         }
     }
 
@@ -280,12 +347,12 @@ public class Note {
     }
 
     private Boolean isRead() {
-        return queryJSON("read", 0) == 1;
+        return queryJSON(PATH_READ, 0) == 1;
     }
 
     public void setRead() {
         try {
-            mNoteJSON.putOpt("read", 1);
+            getNoteJSON().putOpt("read", 1);
         } catch (JSONException e) {
             AppLog.e(AppLog.T.NOTIFS, "Failed to set 'read' property", e);
         }
@@ -295,17 +362,32 @@ public class Note {
      * Get the timestamp provided by the API for the note
      */
     public long getTimestamp() {
-        return DateTimeUtils.timestampFromIso8601(getTimestampString());
+        if (mTimestamp == -1) {
+            mTimestamp = DateTimeUtils.timestampFromIso8601(getTimestampString());
+        }
+        return mTimestamp;
     }
 
     public String getTimestampString() {
-        return queryJSON("timestamp", "");
+        return queryJSON(PATH_TIMESTAMP, "");
+    }
+
+    /**
+     * Hash of the note content provided by the API, changes whenever the note changes on the server
+     */
+    public String getNoteHash() {
+        synchronized (mSyncLock) {
+            if (getNoteJSON() == null) {
+                return "";
+            }
+            return JSONUtils.getString(getNoteJSON(), "note_hash");
+        }
     }
 
     public JSONArray getBody() {
         try {
             synchronized (mSyncLock) {
-                return mNoteJSON.getJSONArray("body");
+                return getNoteJSON().getJSONArray("body");
             }
         } catch (JSONException e) {
             return new JSONArray();
@@ -314,7 +396,7 @@ public class Note {
 
     // returns character code for notification font
     public String getNoticonCharacter() {
-        return queryJSON("noticon", "");
+        return queryJSON(PATH_NOTICON, "");
     }
 
     private JSONObject getCommentActions() {
@@ -326,8 +408,8 @@ public class Note {
                 try {
                     JSONObject bodyItem = bodyArray.getJSONObject(i);
                     if (bodyItem.has("type") && bodyItem.optString("type").equals("comment")
-                        && commentId == JSONUtils.queryJSON(bodyItem, "meta.ids.comment", 0)) {
-                        mActions = JSONUtils.queryJSON(bodyItem, "actions", new JSONObject());
+                        && commentId == PATH_COMMENT_ID.query(bodyItem, 0)) {
+                        mActions = PATH_ACTIONS.query(bodyItem, new JSONObject());
                         break;
                     }
                 } catch (JSONException e) {
@@ -373,30 +455,30 @@ public class Note {
     }
 
     public int getSiteId() {
-        return queryJSON("meta.ids.site", 0);
+        return queryJSON(PATH_SITE_ID, 0);
     }
 
     public int getPostId() {
-        return queryJSON("meta.ids.post", 0);
+        return queryJSON(PATH_POST_ID, 0);
     }
 
     public long getCommentId() {
-        return queryJSON("meta.ids.comment", 0);
+        return queryJSON(PATH_COMMENT_ID, 0);
     }
 
     public long getParentCommentId() {
-        return queryJSON("meta.ids.parent_comment", 0);
+        return queryJSON(PATH_PARENT_COMMENT_ID, 0);
     }
 
     /**
      * Rudimentary system for pulling an item out of a JSON object hierarchy
      */
-    private <U> U queryJSON(String query, U defaultObject) {
+    private <U> U queryJSON(JSONPath path, U defaultObject) {
         synchronized (mSyncLock) {
-            if (mNoteJSON == null) {
+            if (getNoteJSON() == null) {
                 return defaultObject;
             }
-            return JSONUtils.queryJSON(mNoteJSON, query, defaultObject);
+            return path.query(getNoteJSON(), defaultObject);
         }
     }
 
@@ -437,7 +519,7 @@ public class Note {
     }
 
     private String getCommentText() {
-        return queryJSON("body[last].text", "");
+        return queryJSON(PATH_LAST_BODY_TEXT, "");
     }
 
     private String getCommentAuthorUrl() {
@@ -447,7 +529,7 @@ public class Note {
             try {
                 JSONObject bodyItem = bodyArray.getJSONObject(i);
                 if (bodyItem.has("type") && bodyItem.optString("type").equals("user")) {
-                    return JSONUtils.queryJSON(bodyItem, "meta.links.home", "");
+                    return PATH_HOME_LINK.query(bodyItem, "");
                 }
             } catch (JSONException e) {
                 return "";
@@ -475,12 +557,12 @@ public class Note {
     }
 
     public String getUrl() {
-        return queryJSON("url", "");
+        return queryJSON(PATH_URL, "");
     }
 
     public JSONArray getHeader() {
         synchronized (mSyncLock) {
-            return mNoteJSON.optJSONArray("header");
+            return getNoteJSON().optJSONArray("header");
         }
     }
 
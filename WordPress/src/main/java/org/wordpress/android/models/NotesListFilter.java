@@ -0,0 +1,13 @@
+package org.wordpress.android.models;
+
+/**
+ * Filters for the notifications list - NotificationsTable applies them using the columns it stores
+ * for each note, so they match Note's isCommentType(), isFollowType(), isLikeType() and isUnread()
+ */
+public enum NotesListFilter {
+    FILTER_ALL,
+    FILTER_LIKE,
+    FILTER_COMMENT,
+    FILTER_UNREAD,
+    FILTER_FOLLOW
+}
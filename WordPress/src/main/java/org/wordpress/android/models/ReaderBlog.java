@@ -3,6 +3,7 @@ package org.wordpress.android.models;
 import android.text.TextUtils;
 
 import org.json.JSONObject;
+import org.wordpress.android.util.JSONPath;
 import org.wordpress.android.util.JSONUtils;
 import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.UrlUtils;
@@ -10,6 +11,9 @@ import org.wordpress.android.util.UrlUtils;
 import java.util.Locale;
 
 public class ReaderBlog {
+    private static final JSONPath PATH_META_SITE = JSONPath.compileChild("meta/data/site");
+    private static final JSONPath PATH_META_FEED = JSONPath.compileChild("meta/data/feed");
+
     public long blogId;
     public long feedId;
 
@@ -33,8 +37,8 @@ public class ReaderBlog {
         // if meta/data/site exists then JSON is for a read/following/mine?meta=site subscription,
         // if meta/data/feed exists then JSON is for a read/following/mine?meta=feed subscription,
         // otherwise JSON the response for a single site/$siteId or read/feed/$feedId
-        JSONObject jsonSite = JSONUtils.getJSONChild(json, "meta/data/site");
-        JSONObject jsonFeed = JSONUtils.getJSONChild(json, "meta/data/feed");
+        JSONObject jsonSite = PATH_META_SITE.getJSONObject(json);
+        JSONObject jsonFeed = PATH_META_FEED.getJSONObject(json);
         if (jsonSite != null) {
             blog.blogId = jsonSite.optLong("ID");
             blog.setName(JSONUtils.getStringDecoded(jsonSite, "name"));
@@ -5,10 +5,13 @@ import android.text.TextUtils;
 import org.json.JSONObject;
 import org.wordpress.android.util.DateTimeUtils;
 import org.wordpress.android.util.HtmlUtils;
+import org.wordpress.android.util.JSONPath;
 import org.wordpress.android.util.JSONUtils;
 import org.wordpress.android.util.StringUtils;
 
 public class ReaderComment {
+    private static final JSONPath PATH_META_LIKES = JSONPath.compileChild("meta/data/likes");
+
     public long commentId;
     public long blogId;
     public long postId;
@@ -72,7 +75,7 @@ public class ReaderComment {
         }
 
         // like info is found under meta/data/likes when meta=likes query param is used
-        JSONObject jsonLikes = JSONUtils.getJSONChild(json, "meta/data/likes");
+        JSONObject jsonLikes = PATH_META_LIKES.getJSONObject(json);
         if (jsonLikes != null) {
             comment.numLikes = jsonLikes.optInt("found");
             comment.isLikedByCurrentUser = JSONUtils.getBool(jsonLikes, "i_like");
@@ -13,6 +13,7 @@ import org.wordpress.android.ui.reader.utils.ReaderUtils;
 import org.wordpress.android.util.DateTimeUtils;
 import org.wordpress.android.util.GravatarUtils;
 import org.wordpress.android.util.HtmlUtils;
+import org.wordpress.android.util.JSONPath;
 import org.wordpress.android.util.JSONUtils;
 import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.UrlUtils;
@@ -21,6 +22,8 @@ import java.text.BreakIterator;
 import java.util.Iterator;
 
 public class ReaderPost {
+    private static final JSONPath PATH_META_SITE = JSONPath.compileChild("meta/data/site");
+
     private String mPseudoId;
     public long postId;
     public long blogId;
@@ -149,7 +152,7 @@ public class ReaderPost {
         }
 
         // site metadata - returned when ?meta=site was added to the request
-        JSONObject jsonSite = JSONUtils.getJSONChild(json, "meta/data/site");
+        JSONObject jsonSite = PATH_META_SITE.getJSONObject(json);
         if (jsonSite != null) {
             post.blogId = jsonSite.optInt("ID");
             post.mBlogName = JSONUtils.getString(jsonSite, "name");
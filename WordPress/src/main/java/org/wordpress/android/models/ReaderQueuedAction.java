@@ -0,0 +1,153 @@
+package org.wordpress.android.models;
+
+import org.wordpress.android.util.StringUtils;
+
+/**
+ * a like, follow or block the user made in the reader that's waiting to be sent to the server
+ */
+public class ReaderQueuedAction {
+    public enum ActionType {
+        LIKE_POST,
+        UNLIKE_POST,
+        FOLLOW_BLOG,
+        UNFOLLOW_BLOG,
+        FOLLOW_FEED,
+        UNFOLLOW_FEED,
+        BLOCK_BLOG;
+
+        private static final int INT_LIKE_POST = 0;
+        private static final int INT_UNLIKE_POST = 1;
+        private static final int INT_FOLLOW_BLOG = 2;
+        private static final int INT_UNFOLLOW_BLOG = 3;
+        private static final int INT_FOLLOW_FEED = 4;
+        private static final int INT_UNFOLLOW_FEED = 5;
+        private static final int INT_BLOCK_BLOG = 6;
+
+        public static ActionType fromInt(int value) {
+            switch (value) {
+                case INT_UNLIKE_POST:
+                    return UNLIKE_POST;
+                case INT_FOLLOW_BLOG:
+                    return FOLLOW_BLOG;
+                case INT_UNFOLLOW_BLOG:
+                    return UNFOLLOW_BLOG;
+                case INT_FOLLOW_FEED:
+                    return FOLLOW_FEED;
+                case INT_UNFOLLOW_FEED:
+                    return UNFOLLOW_FEED;
+                case INT_BLOCK_BLOG:
+                    return BLOCK_BLOG;
+                default:
+                    return LIKE_POST;
+            }
+        }
+
+        public int toInt() {
+            switch (this) {
+                case UNLIKE_POST:
+                    return INT_UNLIKE_POST;
+                case FOLLOW_BLOG:
+                    return INT_FOLLOW_BLOG;
+                case UNFOLLOW_BLOG:
+                    return INT_UNFOLLOW_BLOG;
+                case FOLLOW_FEED:
+                    return INT_FOLLOW_FEED;
+                case UNFOLLOW_FEED:
+                    return INT_UNFOLLOW_FEED;
+                case BLOCK_BLOG:
+                    return INT_BLOCK_BLOG;
+                default:
+                    return INT_LIKE_POST;
+            }
+        }
+
+        /*
+         * returns the action which undoes this one, or null if there isn't one that can be queued
+         */
+        public ActionType getOpposite() {
+            switch (this) {
+                case LIKE_POST:
+                    return UNLIKE_POST;
+                case UNLIKE_POST:
+                    return LIKE_POST;
+                case FOLLOW_BLOG:
+                    return UNFOLLOW_BLOG;
+                case UNFOLLOW_BLOG:
+                    return FOLLOW_BLOG;
+                case FOLLOW_FEED:
+                    return UNFOLLOW_FEED;
+                case UNFOLLOW_FEED:
+                    return FOLLOW_FEED;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    public long id;
+    public ActionType actionType;
+    public long blogId;
+    public long postId;
+    public long feedId;
+    private String mFeedUrl;
+    public long userId;
+    public long dateQueued;
+    public int numAttempts;
+
+    public static ReaderQueuedAction forPost(ActionType actionType, ReaderPost post, long userId) {
+        ReaderQueuedAction action = new ReaderQueuedAction();
+        action.actionType = actionType;
+        action.blogId = post.blogId;
+        action.postId = post.postId;
+        action.userId = userId;
+        return action;
+    }
+
+    public static ReaderQueuedAction forBlog(ActionType actionType, long blogId) {
+        ReaderQueuedAction action = new ReaderQueuedAction();
+        action.actionType = actionType;
+        action.blogId = blogId;
+        return action;
+    }
+
+    public static ReaderQueuedAction forFeed(ActionType actionType, long feedId, String feedUrl) {
+        ReaderQueuedAction action = new ReaderQueuedAction();
+        action.actionType = actionType;
+        action.feedId = feedId;
+        action.setFeedUrl(feedUrl);
+        return action;
+    }
+
+    public String getFeedUrl() {
+        return StringUtils.notNullStr(mFeedUrl);
+    }
+
+    public void setFeedUrl(String feedUrl) {
+        mFeedUrl = StringUtils.notNullStr(feedUrl);
+    }
+
+    /*
+     * identifies what the action is performed on, so actions on the same post/blog/feed can be
+     * collapsed - feeds are identified by url since they may be followed before their id is known
+     */
+    public String getTargetKey() {
+        switch (actionType) {
+            case LIKE_POST:
+            case UNLIKE_POST:
+                return "post:" + blogId + ":" + postId;
+            case FOLLOW_FEED:
+            case UNFOLLOW_FEED:
+                return "feed:" + getFeedUrl();
+            default:
+                return "blog:" + blogId;
+        }
+    }
+
+    /*
+     * the same action on the same target is only ever queued once, and since the endpoints set
+     * state rather than toggle it, sending it again after an interrupted flush is harmless
+     */
+    public String getIdempotencyKey() {
+        return actionType.name() + "/" + getTargetKey();
+    }
+}
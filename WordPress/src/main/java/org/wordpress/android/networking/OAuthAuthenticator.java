@@ -15,4 +15,9 @@ public class OAuthAuthenticator implements Authenticator {
     public void authenticate(final AuthenticatorRequest request) {
         request.sendWithAccessToken(StringUtils.notNullStr(mAccessToken.get()));
     }
+
+    @Override
+    public String getAccessToken() {
+        return mAccessToken.get();
+    }
 }
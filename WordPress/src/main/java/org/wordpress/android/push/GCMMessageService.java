@@ -8,6 +8,9 @@ import android.graphics.Bitmap;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.PowerManager;
 import android.preference.PreferenceManager;
 import android.support.annotation.NonNull;
 import android.support.v4.app.NotificationCompat;
@@ -32,7 +35,7 @@ import org.wordpress.android.ui.main.WPMainActivity;
 import org.wordpress.android.ui.notifications.NotificationDismissBroadcastReceiver;
 import org.wordpress.android.ui.notifications.NotificationEvents;
 import org.wordpress.android.ui.notifications.NotificationsListFragment;
-import org.wordpress.android.ui.notifications.utils.NotificationsActions;
+import org.wordpress.android.ui.notifications.utils.NotesPrefetcher;
 import org.wordpress.android.ui.notifications.utils.NotificationsUtils;
 import org.wordpress.android.ui.prefs.AppPrefs;
 import org.wordpress.android.util.AppLog;
@@ -45,11 +48,16 @@ import org.wordpress.android.util.StringUtils;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 
@@ -106,11 +114,97 @@ public class GCMMessageService extends GcmListenerService {
     private static final String[] PROPERTIES_TO_COPY_INTO_ANALYTICS =
             {PUSH_ARG_NOTE_ID, PUSH_ARG_TYPE, "blog_id", "post_id", "comment_id"};
 
+    // pushes arriving within this window are shown with a single rebuild of the system bar notifications
+    private static final long PUSH_COALESCE_WINDOW_MS = 1500;
+    private static final long PUSH_COALESCE_WAKELOCK_TIMEOUT_MS = PUSH_COALESCE_WINDOW_MS + 10000;
+
+    // ids of the notifications updated since the last rebuild, in the order they arrived
+    private static final Set<Integer> PENDING_PUSH_IDS = new LinkedHashSet<>();
+    private static final AtomicInteger PUSHES_RECEIVED_COUNT = new AtomicInteger();
+    private static final AtomicInteger NOTIFICATION_REBUILDS_COUNT = new AtomicInteger();
+    private static boolean sIsRebuildScheduled;
+    private static Handler sCoalesceHandler;
+    private static PowerManager.WakeLock sCoalesceWakeLock;
+
     private void synchronizedHandleDefaultPush(@NonNull Bundle data) {
         // ACTIVE_NOTIFICATIONS_MAP being static, we can't just synchronize the method
         synchronized (GCMMessageService.class) {
-            NOTIFICATION_HELPER.handleDefaultPush(this, data, mAccountStore.getAccount().getUserId());
+            int pushId = NOTIFICATION_HELPER.handleDefaultPush(this, data, mAccountStore.getAccount().getUserId());
+            if (pushId != 0) {
+                PUSHES_RECEIVED_COUNT.incrementAndGet();
+                PENDING_PUSH_IDS.add(pushId);
+                scheduleCoalescedRebuild(getApplicationContext());
+            }
+        }
+    }
+
+    /*
+     * the active notifications map has already been updated for the pending pushes, this schedules a
+     * single rebuild of their system bar notifications (and of the group notification) once the
+     * coalescing window ends - must be called while holding the class lock
+     */
+    private static void scheduleCoalescedRebuild(final Context context) {
+        if (sIsRebuildScheduled) {
+            // a rebuild is already scheduled for this window
+            return;
+        }
+        sIsRebuildScheduled = true;
+
+        if (sCoalesceHandler == null) {
+            HandlerThread thread = new HandlerThread("GCMMessageServiceCoalescer");
+            thread.start();
+            sCoalesceHandler = new Handler(thread.getLooper());
+        }
+
+        // keep the device awake until the batch is shown
+        if (sCoalesceWakeLock == null) {
+            PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+            sCoalesceWakeLock = powerManager.newWakeLock(PowerManager.PARTIAL_WAKE_LOCK, "GCMMessageServiceCoalescer");
+            sCoalesceWakeLock.setReferenceCounted(false);
         }
+        sCoalesceWakeLock.acquire(PUSH_COALESCE_WAKELOCK_TIMEOUT_MS);
+
+        sCoalesceHandler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                rebuildNotificationsForPendingPushes(context);
+            }
+        }, PUSH_COALESCE_WINDOW_MS);
+    }
+
+    private static synchronized void rebuildNotificationsForPendingPushes(Context context) {
+        try {
+            sIsRebuildScheduled = false;
+            if (PENDING_PUSH_IDS.isEmpty()) {
+                return;
+            }
+
+            List<Integer> pushIds = new ArrayList<>(PENDING_PUSH_IDS);
+            PENDING_PUSH_IDS.clear();
+
+            NOTIFICATION_HELPER.showNotificationsForPushes(context, pushIds);
+            int numRebuilds = NOTIFICATION_REBUILDS_COUNT.incrementAndGet();
+            AppLog.d(T.NOTIFS, "Rebuilt notifications for " + pushIds.size() + " push(es) - "
+                               + PUSHES_RECEIVED_COUNT.get() + " pushes received, " + numRebuilds + " rebuilds");
+
+            EventBus.getDefault().post(new NotificationEvents.NotificationsChanged(true));
+        } finally {
+            if (sCoalesceWakeLock != null && sCoalesceWakeLock.isHeld()) {
+                sCoalesceWakeLock.release();
+            }
+        }
+    }
+
+    /*
+     * number of note pushes received vs. number of times their system bar notifications were rebuilt,
+     * the difference being the rebuilds saved by coalescing pushes
+     */
+    public static int getPushesReceivedCount() {
+        return PUSHES_RECEIVED_COUNT.get();
+    }
+
+    public static int getNotificationRebuildsCount() {
+        return NOTIFICATION_REBUILDS_COUNT.get();
     }
 
     @Override
@@ -302,12 +396,16 @@ public class GCMMessageService extends GcmListenerService {
     }
 
     private static class NotificationHelper {
-        private void handleDefaultPush(Context context, @NonNull Bundle data, long wpcomUserId) {
+        /*
+         * handles the passed push, returns the id of the system bar notification which needs to be
+         * (re)built for it, or 0 if there's nothing to show
+         */
+        private int handleDefaultPush(Context context, @NonNull Bundle data, long wpcomUserId) {
             String pushUserId = data.getString(PUSH_ARG_USER);
             // pushUserId is always set server side, but better to double check it here.
             if (!String.valueOf(wpcomUserId).equals(pushUserId)) {
                 AppLog.e(T.NOTIFS, "wpcom userId found in the app doesn't match with the ID in the PN. Aborting.");
-                return;
+                return 0;
             }
 
             String noteType = StringUtils.notNullStr(data.getString(PUSH_ARG_TYPE));
@@ -316,49 +414,45 @@ public class GCMMessageService extends GcmListenerService {
             if (noteType.equals(PUSH_TYPE_PUSH_AUTH)) {
                 addAuthPushNotificationToNotificationMap(data);
                 handlePushAuth(context, data);
-                return;
+                return 0;
             }
 
             if (noteType.equals(PUSH_TYPE_BADGE_RESET)) {
                 handleBadgeResetPN(context, data);
-                return;
+                return 0;
             }
 
             if (noteType.equals(PUSH_TYPE_NOTE_DELETE)) {
                 handleNoteDeletePN(context, data);
-                return;
+                return 0;
             }
 
-            buildAndShowNotificationFromNoteData(context, data);
+            return addNoteDataToActiveNotifications(context, data);
         }
 
-        private void buildAndShowNotificationFromNoteData(Context context, Bundle data) {
+        /*
+         * saves the note in the push and adds it to the active notifications, the system bar notification
+         * is built later on by showNotificationsForPushes() - returns the id of the notification or 0 if
+         * the push should be skipped
+         */
+        private int addNoteDataToActiveNotifications(Context context, Bundle data) {
             if (data == null) {
                 AppLog.e(T.NOTIFS, "Push notification received without a valid Bundle!");
-                return;
+                return 0;
             }
 
             final String wpcomNoteID = data.getString(PUSH_ARG_NOTE_ID, "");
             if (TextUtils.isEmpty(wpcomNoteID)) {
                 // At this point 'note_id' is always available in the notification bundle.
                 AppLog.e(T.NOTIFS, "Push notification received without a valid note_id in in payload!");
-                return;
+                return 0;
             }
 
-            // Try to build the note object from the PN payload, and save it to the DB.
-            NotificationsUtils.buildNoteObjectFromBundleAndSaveIt(data);
-            EventBus.getDefault().post(new NotificationEvents.NotificationsChanged(true));
-            // Always do this, since a note can be updated on the server after a PN is sent
-            NotificationsActions.downloadNoteAndUpdateDB(wpcomNoteID, null, null);
+            // Store the note locally so it can be opened without a network request when tapped
+            NotesPrefetcher.prefetchNoteFromPush(data);
 
             String noteType = StringUtils.notNullStr(data.getString(PUSH_ARG_TYPE));
 
-            String title = StringEscapeUtils.unescapeHtml4(data.getString(PUSH_ARG_TITLE));
-            if (title == null) {
-                title = context.getString(R.string.app_name);
-            }
-            String message = StringEscapeUtils.unescapeHtml4(data.getString(PUSH_ARG_MSG));
-
         /*
          * if this has the same note_id as the previous notification, and the previous notification
          * was received within the last second, then skip showing it - this handles duplicate
@@ -377,7 +471,7 @@ public class GCMMessageService extends GcmListenerService {
                 long seconds = TimeUnit.MILLISECONDS.toSeconds(thisTime - AppPrefs.getLastPushNotificationTime());
                 if (seconds <= 1) {
                     AppLog.w(T.NOTIFS, "skipped potential duplicate notification");
-                    return;
+                    return 0;
                 }
             }
 
@@ -419,19 +513,60 @@ public class GCMMessageService extends GcmListenerService {
                 AnalyticsTracker.flush();
             }
 
-            // Build the new notification, add group to support wearable stacking
-            NotificationCompat.Builder builder = getNotificationBuilder(context, title, message);
-            Bitmap largeIconBitmap =
-                    getLargeIconBitmap(context, data.getString("icon"), shouldCircularizeNoteIcon(noteType));
-            if (largeIconBitmap != null) {
-                builder.setLargeIcon(largeIconBitmap);
+            return pushId;
+        }
+
+        /*
+         * builds the system bar notifications for a batch of pushes which have already been added to
+         * the active notifications map, then rebuilds the group notification once for the whole batch
+         */
+        private void showNotificationsForPushes(Context context, List<Integer> pushIds) {
+            NotificationCompat.Builder lastBuilder = null;
+            String lastNoteId = null;
+            String lastMessage = null;
+
+            // skip pushes that were dismissed or opened before the batch was shown
+            List<Integer> shownPushIds = new ArrayList<>();
+            for (int pushId : pushIds) {
+                if (ACTIVE_NOTIFICATIONS_MAP.get(pushId) != null) {
+                    shownPushIds.add(pushId);
+                }
             }
 
-            showSingleNotificationForBuilder(context, builder, noteType, wpcomNoteID, pushId, true);
+            for (int i = 0; i < shownPushIds.size(); i++) {
+                int pushId = shownPushIds.get(i);
+                Bundle data = ACTIVE_NOTIFICATIONS_MAP.get(pushId);
+
+                String wpcomNoteID = data.getString(PUSH_ARG_NOTE_ID, "");
+                String noteType = StringUtils.notNullStr(data.getString(PUSH_ARG_TYPE));
+                String title = StringEscapeUtils.unescapeHtml4(data.getString(PUSH_ARG_TITLE));
+                if (title == null) {
+                    title = context.getString(R.string.app_name);
+                }
+                String message = StringEscapeUtils.unescapeHtml4(data.getString(PUSH_ARG_MSG));
+
+                // Build the new notification, add group to support wearable stacking
+                NotificationCompat.Builder builder = getNotificationBuilder(context, title, message);
+                Bitmap largeIconBitmap =
+                        getLargeIconBitmap(context, data.getString("icon"), shouldCircularizeNoteIcon(noteType));
+                if (largeIconBitmap != null) {
+                    builder.setLargeIcon(largeIconBitmap);
+                }
+
+                // every push alerts the user, so alert once for the batch on the last notification shown
+                boolean notifyUser = i == shownPushIds.size() - 1;
+                showSingleNotificationForBuilder(context, builder, noteType, wpcomNoteID, pushId, notifyUser);
+
+                lastBuilder = builder;
+                lastNoteId = wpcomNoteID;
+                lastMessage = message;
+            }
 
             // Also add a group summary notification, which is required for non-wearable devices
             // Do not need to play the sound again. We've already played it in the individual builder.
-            showGroupNotificationForBuilder(context, builder, wpcomNoteID, message);
+            if (lastBuilder != null) {
+                showGroupNotificationForBuilder(context, lastBuilder, lastNoteId, lastMessage);
+            }
         }
 
         private void addActionsForCommentNotification(Context context, NotificationCompat.Builder builder,
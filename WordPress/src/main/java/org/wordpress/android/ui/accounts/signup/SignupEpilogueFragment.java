@@ -562,6 +562,7 @@ public class SignupEpilogueFragment extends LoginBaseFormFragment<SignupEpilogue
         if (injectFilePath != null && !injectFilePath.isEmpty()) {
             // Remove specific URL entry from bitmap cache. Update it via injected request cache.
             WordPress.getBitmapCache().removeSimilar(avatarUrl);
+            WPNetworkImageView.removeSimilarShapedBitmaps(avatarUrl);
 
             try {
                 // Inject request cache with new image. Gravatar backend (plus CDNs) can't be
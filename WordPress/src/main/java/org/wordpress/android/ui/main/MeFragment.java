@@ -291,6 +291,7 @@ public class MeFragment extends Fragment {
             // invalidate the specific gravatar entry from the bitmap cache. It will be updated via the injected
             // request cache.
             WordPress.getBitmapCache().removeSimilar(avatarUrl);
+            WPNetworkImageView.removeSimilarShapedBitmaps(avatarUrl);
 
             try {
                 // fool the network requests cache by injecting the new image. The Gravatar backend (plus CDNs)
@@ -0,0 +1,162 @@
+package org.wordpress.android.ui.main;
+
+import android.support.annotation.NonNull;
+
+import org.wordpress.android.ui.main.SitePickerAdapter.SiteList;
+import org.wordpress.android.ui.main.SitePickerAdapter.SiteRecord;
+import org.wordpress.android.util.WordPrefixIndex;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, sorted view of the site picker's sites with a prefix index over the words in each site's
+ * name and URL, so a search costs time proportional to the number of matches rather than the number
+ * of sites. The sort keys and words of a site are carried over from the previous index when its name
+ * and URL haven't changed, so reloading an account with hundreds of sites mostly reuses work.
+ */
+class SiteIndex {
+    private static class Entry {
+        private final String mName;
+        private final String mHomeUrl;
+        private final CollationKey mSortKey;
+        private final String[] mWords;
+
+        Entry(SiteRecord site, Collator collator) {
+            mName = site.getBlogNameOrHomeURL();
+            mHomeUrl = site.getHomeURL();
+            mSortKey = collator.getCollationKey(mName);
+
+            List<String> words = new ArrayList<>();
+            WordPrefixIndex.splitWords(words, mName.toLowerCase(Locale.getDefault()));
+            WordPrefixIndex.splitWords(words, mHomeUrl.toLowerCase(Locale.ROOT));
+            mWords = words.toArray(new String[words.size()]);
+        }
+
+        boolean isFor(SiteRecord site) {
+            return mName.equals(site.getBlogNameOrHomeURL()) && mHomeUrl.equals(site.getHomeURL());
+        }
+    }
+
+    private final Locale mLocale;
+    private final SiteList mSites;
+    private final Map<Integer, Entry> mEntries;
+
+    // every word of every site, mapped to the position in mSites of the site it belongs to
+    private final WordPrefixIndex mWords;
+
+    static SiteIndex empty() {
+        return new SiteIndex(new SiteList(), null, 0, null);
+    }
+
+    /*
+     * sorts the passed sites by name with the primary site (if any) first, then moves the recently
+     * picked ones (if any) to the top in the order they were picked
+     */
+    SiteIndex(@NonNull SiteList sites, SiteIndex previous, long primarySiteId, List<Integer> recentlyPickedIds) {
+        mLocale = Locale.getDefault();
+        mEntries = new HashMap<>(sites.size());
+
+        Collator collator = Collator.getInstance(mLocale);
+        // secondary strength ignores case, matching the compareToIgnoreCase this replaces
+        collator.setStrength(Collator.SECONDARY);
+        boolean canReuse = previous != null && previous.mLocale.equals(mLocale);
+        for (SiteRecord site : sites) {
+            Entry entry = canReuse ? previous.mEntries.get(site.getLocalId()) : null;
+            if (entry == null || !entry.isFor(site)) {
+                entry = new Entry(site, collator);
+            }
+            mEntries.put(site.getLocalId(), entry);
+        }
+
+        mSites = sortSites(sites, primarySiteId, recentlyPickedIds);
+
+        WordPrefixIndex.Builder builder = new WordPrefixIndex.Builder().setNumItems(mSites.size());
+        for (int position = 0; position < mSites.size(); position++) {
+            for (String word : mEntries.get(mSites.get(position).getLocalId()).mWords) {
+                builder.addWord(word, position);
+            }
+        }
+        mWords = builder.build();
+    }
+
+    private SiteList sortSites(SiteList sites, final long primarySiteId, List<Integer> recentlyPickedIds) {
+        SiteList sorted = new SiteList();
+        sorted.addAll(sites);
+        Collections.sort(sorted, new Comparator<SiteRecord>() {
+            public int compare(SiteRecord site1, SiteRecord site2) {
+                if (primarySiteId > 0) {
+                    if (site1.getSiteId() == primarySiteId) {
+                        return -1;
+                    } else if (site2.getSiteId() == primarySiteId) {
+                        return 1;
+                    }
+                }
+                CollationKey key1 = mEntries.get(site1.getLocalId()).mSortKey;
+                CollationKey key2 = mEntries.get(site2.getLocalId()).mSortKey;
+                return key1.compareTo(key2);
+            }
+        });
+
+        if (recentlyPickedIds == null || recentlyPickedIds.isEmpty()) {
+            return sorted;
+        }
+
+        // a single pass rather than removing and re-inserting each recent pick
+        Map<Integer, SiteRecord> recentPicks = new HashMap<>();
+        for (SiteRecord site : sorted) {
+            if (recentlyPickedIds.contains(site.getLocalId())) {
+                site.setIsRecentPick(true);
+                recentPicks.put(site.getLocalId(), site);
+            }
+        }
+        if (recentPicks.isEmpty()) {
+            return sorted;
+        }
+        SiteList result = new SiteList();
+        for (Integer localId : recentlyPickedIds) {
+            SiteRecord site = recentPicks.remove(localId);
+            if (site != null) {
+                result.add(site);
+            }
+        }
+        for (SiteRecord site : sorted) {
+            if (!site.isRecentPick()) {
+                result.add(site);
+            }
+        }
+        return result;
+    }
+
+    /*
+     * returns the sites in display order
+     */
+    SiteList getSites() {
+        return mSites;
+    }
+
+    /*
+     * returns the sites, in display order, where every word in the query starts a word in the site's
+     * name or URL - ie: "my blog" matches "My Travel Blog", and "word" matches "example.wordpress.com"
+     */
+    SiteList search(String query) {
+        BitSet matches = mWords.findAllWords(query);
+        if (matches == null) {
+            return mSites;
+        }
+
+        SiteList result = new SiteList();
+        for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+            result.add(mSites.get(position));
+        }
+        return result;
+    }
+}
@@ -27,11 +27,10 @@ import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.widgets.WPNetworkImageView;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -80,6 +79,7 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
     private boolean mShowSelfHostedSites = true;
     private String mLastSearch;
     private SiteList mAllSites;
+    private SiteIndex mSiteIndex = SiteIndex.empty();
     private ArrayList<Integer> mIgnoreSitesIds;
 
     private OnSiteClickListener mSiteSelectedListener;
@@ -357,7 +357,7 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
 
     public void searchSites(String searchText) {
         mLastSearch = searchText;
-        mSites = filteredSitesByText(mAllSites);
+        mSites = mSiteIndex.search(mLastSearch);
 
         notifyDataSetChanged();
     }
@@ -526,38 +526,17 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         new LoadSitesTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
     }
 
-    private SiteList filteredSitesByTextIfInSearchMode(SiteList sites) {
-        if (!mIsInSearchMode) {
-            return sites;
-        } else {
-            return filteredSitesByText(sites);
-        }
-    }
-
-    private SiteList filteredSitesByText(SiteList sites) {
-        SiteList filteredSiteList = new SiteList();
-
-        for (int i = 0; i < sites.size(); i++) {
-            SiteRecord record = sites.get(i);
-            String siteNameLowerCase = record.mBlogName.toLowerCase(Locale.getDefault());
-            String hostNameLowerCase = record.mHomeURL.toLowerCase(Locale.ROOT);
-
-            if (siteNameLowerCase.contains(mLastSearch.toLowerCase(Locale.getDefault())) || hostNameLowerCase
-                    .contains(mLastSearch.toLowerCase(Locale.ROOT))) {
-                filteredSiteList.add(record);
-            }
-        }
-
-        return filteredSiteList;
-    }
-
     /*
      * AsyncTask which loads sites from database and populates the adapter
      */
     private class LoadSitesTask extends AsyncTask<Void, Void, SiteList[]> {
+        private SiteIndex mPreviousIndex;
+        private SiteIndex mNewIndex;
+
         @Override
         protected void onPreExecute() {
             super.onPreExecute();
+            mPreviousIndex = mSiteIndex;
             if (mDataLoadedListener != null) {
                 boolean isEmpty = mSites == null || mSites.size() == 0;
                 mDataLoadedListener.onBeforeLoad(isEmpty);
@@ -590,39 +569,20 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
 
             SiteList sites = new SiteList(siteModels);
 
-            // sort primary blog to the top, otherwise sort by blog/host
-            final long primaryBlogId = mAccountStore.getAccount().getPrimarySiteId();
-            Collections.sort(sites, new Comparator<SiteRecord>() {
-                public int compare(SiteRecord site1, SiteRecord site2) {
-                    if (primaryBlogId > 0 && !mIsInSearchMode) {
-                        if (site1.mSiteId == primaryBlogId) {
-                            return -1;
-                        } else if (site2.mSiteId == primaryBlogId) {
-                            return 1;
-                        }
-                    }
-                    return site1.getBlogNameOrHomeURL().compareToIgnoreCase(site2.getBlogNameOrHomeURL());
-                }
-            });
-
-            // flag recently-picked sites and move them to the top if there are enough sites and
-            // the user isn't searching
+            // sort primary blog to the top, otherwise sort by blog/host, and move recently-picked
+            // sites to the top if there are enough sites and the user isn't searching
+            long primaryBlogId = mIsInSearchMode ? 0 : mAccountStore.getAccount().getPrimarySiteId();
+            List<Integer> pickedIds = null;
             if (!mIsInSearchMode && sites.size() >= RECENTLY_PICKED_THRESHOLD) {
-                ArrayList<Integer> pickedIds = AppPrefs.getRecentlyPickedSiteIds();
-                for (int i = pickedIds.size() - 1; i > -1; i--) {
-                    int thisId = pickedIds.get(i);
-                    int indexOfSite = sites.indexOfSiteId(thisId);
-                    if (indexOfSite > -1) {
-                        SiteRecord site = sites.remove(indexOfSite);
-                        site.mIsRecentPick = true;
-                        sites.add(0, site);
-                    }
-                }
+                pickedIds = AppPrefs.getRecentlyPickedSiteIds();
             }
+            SiteIndex siteIndex = new SiteIndex(sites, mPreviousIndex, primaryBlogId, pickedIds);
+            sites = siteIndex.getSites();
 
             if (mSites == null || !mSites.isSameList(sites)) {
+                mNewIndex = siteIndex;
                 SiteList allSites = (SiteList) sites.clone();
-                SiteList filteredSites = filteredSitesByTextIfInSearchMode(sites);
+                SiteList filteredSites = mIsInSearchMode ? siteIndex.search(mLastSearch) : sites;
 
                 return new SiteList[]{allSites, filteredSites};
             }
@@ -633,6 +593,7 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         @Override
         protected void onPostExecute(SiteList[] updatedSiteLists) {
             if (updatedSiteLists != null) {
+                mSiteIndex = mNewIndex;
                 mAllSites = updatedSiteLists[0];
                 mSites = updatedSiteLists[1];
                 notifyDataSetChanged();
@@ -714,6 +675,14 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         public long getSiteId() {
             return mSiteId;
         }
+
+        boolean isRecentPick() {
+            return mIsRecentPick;
+        }
+
+        void setIsRecentPick(boolean isRecentPick) {
+            mIsRecentPick = isRecentPick;
+        }
     }
 
     public static class SiteList extends ArrayList<SiteRecord> {
@@ -732,12 +701,18 @@ public class SitePickerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             if (sites == null || sites.size() != this.size()) {
                 return false;
             }
-            int i;
+            // map by site id so comparing large lists doesn't search this one for every site
+            Map<Long, SiteRecord> thisSites = new HashMap<>(size());
+            for (SiteRecord site : this) {
+                if (site.mSiteId > 0 && !thisSites.containsKey(site.mSiteId)) {
+                    thisSites.put(site.mSiteId, site);
+                }
+            }
             for (SiteRecord site : sites) {
-                i = indexOfSite(site);
-                if (i == -1
-                    || this.get(i).mIsHidden != site.mIsHidden
-                    || this.get(i).mIsRecentPick != site.mIsRecentPick) {
+                SiteRecord thisSite = site.mSiteId > 0 ? thisSites.get(site.mSiteId) : null;
+                if (thisSite == null
+                    || thisSite.mIsHidden != site.mIsHidden
+                    || thisSite.mIsRecentPick != site.mIsRecentPick) {
                     return false;
                 }
             }
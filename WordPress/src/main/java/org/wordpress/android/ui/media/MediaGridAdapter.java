@@ -25,7 +25,7 @@ import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.util.AniUtils;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.DisplayUtils;
-import org.wordpress.android.util.ImageUtils;
+import org.wordpress.android.util.ImagePrefetcher;
 import org.wordpress.android.util.ImageUtils.BitmapWorkerCallback;
 import org.wordpress.android.util.ImageUtils.BitmapWorkerTask;
 import org.wordpress.android.util.MediaUtils;
@@ -64,6 +64,13 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
 
     private final int mThumbWidth;
     private final int mThumbHeight;
+    // scale type of the thumbnail views, taken from the first one inflated - prefetched images are only
+    // found in the bitmap cache when they're requested with the same scale type as the view
+    private ImageView.ScaleType mThumbScaleType;
+
+    private final ImagePrefetcher mImagePrefetcher;
+    private final VideoThumbnailLoader mVideoThumbnailLoader = new VideoThumbnailLoader();
+    private final ImagePrefetcher.VolleyImagePrefetcher mVolleyPrefetcher = new ImagePrefetcher.VolleyImagePrefetcher();
 
     private static final float SCALE_NORMAL = 1.0f;
     private static final float SCALE_SELECTED = .8f;
@@ -95,6 +102,55 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
         int displayWidth = DisplayUtils.getDisplayPixelWidth(mContext);
         mThumbWidth = displayWidth / getColumnCount(mContext);
         mThumbHeight = (int) (mThumbWidth * 0.75f);
+
+        mImagePrefetcher = new ImagePrefetcher(new ImagePrefetcher.PrefetchHandler() {
+            @Override
+            public void prefetchItem(int position) {
+                String imageUrl = getImageUrlForPrefetch(position);
+                if (imageUrl != null && mThumbScaleType != null) {
+                    mVolleyPrefetcher.prefetch(position, imageUrl, mThumbWidth, mThumbHeight, mThumbScaleType);
+                }
+            }
+
+            @Override
+            public void cancelPrefetchItem(int position) {
+                mVolleyPrefetcher.cancel(position);
+            }
+        });
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mImagePrefetcher.attach(recyclerView);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        mImagePrefetcher.detach(recyclerView);
+        mVolleyPrefetcher.cancelAll();
+        mVideoThumbnailLoader.cancelAll();
+    }
+
+    /*
+     * returns the url of the network image that will be shown for the item at the passed position, or
+     * null if it doesn't show one - local images and video frames are skipped since they're not
+     * loaded through Volley
+     */
+    private String getImageUrlForPrefetch(int position) {
+        if (!mLoadThumbnails || !isValidPosition(position)) {
+            return null;
+        }
+        MediaModel media = mMediaList.get(position);
+        boolean isLocalFile = MediaUtils.isLocalFile(media.getUploadState()) && !TextUtils.isEmpty(media.getFilePath());
+        boolean isImage = media.getMimeType() != null && media.getMimeType().startsWith("image/");
+        if (isImage) {
+            return isLocalFile ? null : getBestImageUrl(media);
+        } else if (media.isVideo() && !TextUtils.isEmpty(media.getThumbnailUrl())) {
+            return media.getThumbnailUrl();
+        }
+        return null;
     }
 
     @Override
@@ -104,6 +160,9 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
 
     public void setMediaList(@NonNull List<MediaModel> mediaList) {
         if (!isSameList(mediaList)) {
+            // positions are about to change so any pending prefetches are no longer valid
+            mImagePrefetcher.cancelAll();
+            mVolleyPrefetcher.cancelAll();
             mMediaList.clear();
             mMediaList.addAll(mediaList);
             notifyDataSetChanged();
@@ -113,7 +172,11 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
     @Override
     public GridViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
         View view = mInflater.inflate(R.layout.media_grid_item, parent, false);
-        return new GridViewHolder(view);
+        GridViewHolder holder = new GridViewHolder(view);
+        if (mThumbScaleType == null) {
+            mThumbScaleType = holder.mImageView.getScaleType();
+        }
+        return holder;
     }
 
     /*
@@ -247,6 +310,7 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
     @Override
     public void onViewRecycled(GridViewHolder holder) {
         super.onViewRecycled(holder);
+        mVideoThumbnailLoader.cancel(holder.mImageView);
         holder.mImageView.setImageDrawable(null);
         holder.mImageView.setTag(null);
     }
@@ -480,35 +544,12 @@ public class MediaGridAdapter extends RecyclerView.Adapter<MediaGridAdapter.Grid
         imageView.setTag(filePath);
 
         if (TextUtils.isEmpty(filePath)) {
+            mVideoThumbnailLoader.cancel(imageView);
             AppLog.w(AppLog.T.MEDIA, "MediaGridAdapter > No path to video thumbnail");
             return;
         }
 
-        // see if we have a cached thumbnail before retrieving it
-        Bitmap bitmap = WordPress.getBitmapCache().get(filePath);
-        if (bitmap != null) {
-            imageView.setImageBitmap(bitmap);
-            return;
-        }
-
-        new Thread() {
-            @Override
-            public void run() {
-                final Bitmap thumb = ImageUtils.getVideoFrameFromVideo(filePath, mThumbWidth);
-                if (thumb != null) {
-                    mHandler.post(new Runnable() {
-                        @Override
-                        public void run() {
-                            WordPress.getBitmapCache().put(filePath, thumb);
-                            if (imageView.getTag() instanceof String
-                                && (imageView.getTag()).equals(filePath)) {
-                                imageView.setImageBitmap(thumb);
-                            }
-                        }
-                    });
-                }
-            }
-        }.start();
+        mVideoThumbnailLoader.loadThumbnail(imageView, filePath, mThumbWidth);
     }
 
     public boolean isEmpty() {
@@ -0,0 +1,189 @@
+package org.wordpress.android.ui.media;
+
+import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import org.wordpress.android.WordPress;
+import org.wordpress.android.util.BitmapDiskCache;
+import org.wordpress.android.util.ImageUtils;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracts video frames for use as thumbnails on a small bounded pool, rather than a thread per video.
+ * Frames are cached in memory and in the bitmap disk cache, keyed by path plus modification time for
+ * local videos (so an edited video gets a new thumbnail) and by url for remote ones (so a remote video
+ * is only downloaded once for its frame). Checking the modification time touches the file system, so
+ * keys are computed in the background and the last key for each video is used for memory cache lookups
+ * when a view is bound. Requests for a view are cancelled when it's reused.
+ */
+class VideoThumbnailLoader {
+    private static final int MAX_THREADS = 2;
+    private static final int MAX_QUEUED_TASKS = 24;
+    private static final int MAX_CACHED_KEYS = 200;
+    private static final long RETRY_DELAY_MS = 250;
+
+    // shared by all grids, requests that don't fit in the queue are rejected and retried shortly
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+            MAX_THREADS, MAX_THREADS, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(MAX_QUEUED_TASKS));
+
+    // cache key most recently computed for each video path, LruCache synchronizes its own access
+    private static final LruCache<String, String> CACHE_KEYS = new LruCache<>(MAX_CACHED_KEYS);
+
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final Map<ImageView, Future<?>> mTasks = new WeakHashMap<>();
+
+    private static String getCacheKey(String videoPath) {
+        File file = new File(videoPath);
+        if (file.exists()) {
+            return "videoframe:" + videoPath + "#" + file.lastModified();
+        }
+        return "videoframe:" + videoPath;
+    }
+
+    void loadThumbnail(ImageView imageView, String videoPath, int maxWidth) {
+        cancel(imageView);
+        imageView.setTag(videoPath);
+
+        String cacheKey = CACHE_KEYS.get(videoPath);
+        Bitmap bitmap = cacheKey != null ? WordPress.getBitmapCache().get(cacheKey) : null;
+        if (bitmap != null) {
+            imageView.setImageBitmap(bitmap);
+            return;
+        }
+
+        VideoThumbnailRunnable runnable = new VideoThumbnailRunnable(imageView, videoPath, maxWidth);
+        FutureTask<Void> future = new FutureTask<>(runnable, null);
+        runnable.mFuture = future;
+        // requests cancelled by cells that have been rebound stay in the queue until they're purged
+        if (EXECUTOR.getQueue().remainingCapacity() == 0) {
+            EXECUTOR.purge();
+        }
+        try {
+            EXECUTOR.execute(future);
+        } catch (RejectedExecutionException e) {
+            // the queue is full of live requests, so try again once some of them have finished rather
+            // than leaving the cell blank
+            retryLater(imageView, videoPath, maxWidth);
+            return;
+        }
+        mTasks.put(imageView, future);
+    }
+
+    private void retryLater(ImageView imageView, final String videoPath, final int maxWidth) {
+        final WeakReference<ImageView> weakImageView = new WeakReference<>(imageView);
+        mHandler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                ImageView view = weakImageView.get();
+                // skip if the view has been reused or has since been given a request
+                if (view != null && videoPath.equals(view.getTag()) && !mTasks.containsKey(view)) {
+                    loadThumbnail(view, videoPath, maxWidth);
+                }
+            }
+        }, RETRY_DELAY_MS);
+    }
+
+    void cancel(ImageView imageView) {
+        Future<?> future = mTasks.remove(imageView);
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    void cancelAll() {
+        mHandler.removeCallbacksAndMessages(null);
+        for (Future<?> future : mTasks.values()) {
+            future.cancel(false);
+        }
+        mTasks.clear();
+        EXECUTOR.purge();
+    }
+
+    private class VideoThumbnailRunnable implements Runnable {
+        private final WeakReference<ImageView> mWeakImageView;
+        private final String mVideoPath;
+        private final int mMaxWidth;
+        // set before the task is queued
+        private Future<?> mFuture;
+
+        VideoThumbnailRunnable(ImageView imageView, String videoPath, int maxWidth) {
+            mWeakImageView = new WeakReference<>(imageView);
+            mVideoPath = videoPath;
+            mMaxWidth = maxWidth;
+        }
+
+        private boolean isImageViewValid() {
+            ImageView imageView = mWeakImageView.get();
+            return imageView != null && mVideoPath.equals(imageView.getTag());
+        }
+
+        @Override
+        public void run() {
+            try {
+                loadThumbnail();
+            } finally {
+                // the view no longer has a pending request, whether or not a thumbnail was produced
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        ImageView imageView = mWeakImageView.get();
+                        if (imageView != null && mTasks.get(imageView) == mFuture) {
+                            mTasks.remove(imageView);
+                        }
+                    }
+                });
+            }
+        }
+
+        private void loadThumbnail() {
+            // skip the extraction if the view was reused while this was queued
+            if (!isImageViewValid()) {
+                return;
+            }
+
+            final String cacheKey = getCacheKey(mVideoPath);
+            CACHE_KEYS.put(mVideoPath, cacheKey);
+
+            Bitmap frame = WordPress.getBitmapCache().get(cacheKey);
+            BitmapDiskCache diskCache = WordPress.getBitmapCache().getDiskCache();
+            if (frame == null && diskCache != null) {
+                frame = diskCache.get(cacheKey);
+            }
+            if (frame == null) {
+                frame = ImageUtils.getVideoFrameFromVideo(mVideoPath, mMaxWidth);
+                if (frame != null && diskCache != null) {
+                    diskCache.put(cacheKey, frame);
+                }
+            }
+
+            final Bitmap thumbnail = frame;
+            mHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (thumbnail == null) {
+                        return;
+                    }
+                    WordPress.getBitmapCache().put(cacheKey, thumbnail);
+                    ImageView imageView = mWeakImageView.get();
+                    if (imageView != null && mVideoPath.equals(imageView.getTag())) {
+                        imageView.setImageBitmap(thumbnail);
+                    }
+                }
+            });
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.android.volley.VolleyError;
 
 import org.wordpress.android.models.Note;
 
+import java.util.Collections;
 import java.util.List;
 
 public class NotificationEvents {
@@ -47,9 +48,20 @@ public class NotificationEvents {
 
     public static class NotificationsRefreshCompleted {
         public final List<Note> notes;
+        // when true, notes only contains the notes that changed and removedNoteIds the ones deleted on the server
+        public final boolean isDelta;
+        public final List<String> removedNoteIds;
 
         public NotificationsRefreshCompleted(List<Note> notes) {
             this.notes = notes;
+            this.isDelta = false;
+            this.removedNoteIds = Collections.emptyList();
+        }
+
+        public NotificationsRefreshCompleted(List<Note> changedNotes, List<String> removedNoteIds) {
+            this.notes = changedNotes;
+            this.isDelta = true;
+            this.removedNoteIds = removedNoteIds;
         }
     }
 
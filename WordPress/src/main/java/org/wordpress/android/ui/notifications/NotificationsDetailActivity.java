@@ -6,6 +6,7 @@ import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 import android.os.Parcelable;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.v13.app.FragmentStatePagerAdapter;
 import android.support.v4.view.ViewPager;
@@ -26,14 +27,15 @@ import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.store.AccountStore;
 import org.wordpress.android.fluxc.store.SiteStore;
 import org.wordpress.android.models.Note;
+import org.wordpress.android.models.NotesListFilter;
 import org.wordpress.android.push.GCMMessageService;
 import org.wordpress.android.ui.ActivityLauncher;
 import org.wordpress.android.ui.WPWebViewActivity;
 import org.wordpress.android.ui.comments.CommentActions;
 import org.wordpress.android.ui.comments.CommentDetailFragment;
-import org.wordpress.android.ui.notifications.adapters.NotesAdapter;
 import org.wordpress.android.ui.notifications.blocks.NoteBlockRangeType;
 import org.wordpress.android.ui.notifications.services.NotificationsUpdateService;
+import org.wordpress.android.ui.notifications.utils.NotesPrefetcher;
 import org.wordpress.android.ui.notifications.utils.NotificationsActions;
 import org.wordpress.android.ui.notifications.utils.NotificationsUtils;
 import org.wordpress.android.ui.prefs.AppPrefs;
@@ -79,6 +81,7 @@ public class NotificationsDetailActivity extends AppCompatActivity implements
     private ViewPager.OnPageChangeListener mOnPageChangeListener;
     private NotificationDetailFragmentAdapter mAdapter;
     private boolean mIsReaderSwipeToNavigateShown;
+    private long mOpenedFromPushTime;
 
     @Override
     protected void attachBaseContext(Context newBase) {
@@ -115,6 +118,11 @@ public class NotificationsDetailActivity extends AppCompatActivity implements
         mIsReaderSwipeToNavigateShown = AppPrefs.isReaderSwipeToNavigateShown();
 
         Note note = NotificationsTable.getNoteById(mNoteId);
+        if (savedInstanceState == null
+            && getIntent().getBooleanExtra(NotificationsListFragment.NOTE_OPENED_FROM_PUSH_EXTRA, false)) {
+            mOpenedFromPushTime = SystemClock.elapsedRealtime();
+            NotesPrefetcher.trackNoteOpened(note);
+        }
         updateUIAndNote(note == null);
 
         // Hide the keyboard, unless we arrived here from the 'Reply' action in a push notification
@@ -154,9 +162,9 @@ public class NotificationsDetailActivity extends AppCompatActivity implements
             }
         }
 
-        NotesAdapter.FILTERS filter = NotesAdapter.FILTERS.FILTER_ALL;
+        NotesListFilter filter = NotesListFilter.FILTER_ALL;
         if (getIntent().hasExtra(NotificationsListFragment.NOTE_CURRENT_LIST_FILTER_EXTRA)) {
-            filter = (NotesAdapter.FILTERS) getIntent()
+            filter = (NotesListFilter) getIntent()
                     .getSerializableExtra(NotificationsListFragment.NOTE_CURRENT_LIST_FILTER_EXTRA);
         }
 
@@ -177,6 +185,11 @@ public class NotificationsDetailActivity extends AppCompatActivity implements
         AnalyticsTracker.track(AnalyticsTracker.Stat.NOTIFICATIONS_OPENED_NOTIFICATION_DETAILS, properties);
 
         setProgressVisible(false);
+
+        if (mOpenedFromPushTime != 0) {
+            NotesPrefetcher.trackTimeToFirstRender(mOpenedFromPushTime);
+            mOpenedFromPushTime = 0;
+        }
     }
 
     private void resetOnPageChangeListener() {
@@ -294,13 +307,10 @@ public class NotificationsDetailActivity extends AppCompatActivity implements
     }
 
     private NotificationDetailFragmentAdapter buildNoteListAdapterAndSetPosition(Note note,
-                                                                                 NotesAdapter.FILTERS filter) {
+                                                                                 NotesListFilter filter) {
         NotificationDetailFragmentAdapter adapter;
-        ArrayList<Note> notes = NotificationsTable.getLatestNotes();
-        ArrayList<Note> filteredNotes = new ArrayList<>();
-
         // apply filter to the list so we show the same items that the list show vertically, but horizontally
-        NotesAdapter.buildFilteredNotesList(filteredNotes, notes, filter);
+        ArrayList<Note> filteredNotes = NotificationsTable.getLatestNotes(filter, NotificationsTable.NOTES_TO_RETRIEVE);
         adapter = new NotificationDetailFragmentAdapter(getFragmentManager(), filteredNotes);
 
         mViewPager.setAdapter(adapter);
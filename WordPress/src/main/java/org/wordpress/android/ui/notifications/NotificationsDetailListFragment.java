@@ -332,6 +332,7 @@ public class NotificationsDetailListFragment extends ListFragment implements Not
                 );
 
                 headerNoteBlock.setIsComment(mNote.isCommentType());
+                headerNoteBlock.preloadNoteText();
                 noteList.add(headerNoteBlock);
             }
 
@@ -399,6 +400,8 @@ public class NotificationsDetailListFragment extends ListFragment implements Not
                             noteBlock.setIsBadge();
                         }
 
+                        // build the formatted text here so it's not built on the main thread when bound
+                        noteBlock.preloadNoteText();
                         noteList.add(noteBlock);
                     } catch (JSONException e) {
                         AppLog.e(AppLog.T.NOTIFS, "Invalid note data, could not parse.");
@@ -29,6 +29,7 @@ import org.wordpress.android.fluxc.model.CommentStatus;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.store.AccountStore;
 import org.wordpress.android.models.Note;
+import org.wordpress.android.models.NotesListFilter;
 import org.wordpress.android.push.GCMMessageService;
 import org.wordpress.android.ui.ActivityLauncher;
 import org.wordpress.android.ui.JetpackConnectionWebViewActivity;
@@ -58,6 +59,7 @@ public class NotificationsListFragment extends Fragment implements WPMainActivit
     public static final String NOTE_MODERATE_ID_EXTRA = "moderateNoteId";
     public static final String NOTE_MODERATE_STATUS_EXTRA = "moderateNoteStatus";
     public static final String NOTE_CURRENT_LIST_FILTER_EXTRA = "currentFilter";
+    public static final String NOTE_OPENED_FROM_PUSH_EXTRA = "openedFromPush";
 
     private static final String KEY_LIST_SCROLL_POSITION = "scrollPosition";
 
@@ -279,7 +281,7 @@ public class NotificationsListFragment extends Fragment implements WPMainActivit
                                         String noteId,
                                         boolean shouldShowKeyboard,
                                         String replyText,
-                                        NotesAdapter.FILTERS filter) {
+                                        NotesListFilter filter) {
         if (noteId == null || activity == null) {
             return;
         }
@@ -298,6 +300,22 @@ public class NotificationsListFragment extends Fragment implements WPMainActivit
         openNoteForReplyWithParams(detailIntent, activity);
     }
 
+    /**
+     * Open a note after its push notification was tapped
+     */
+    public static void openNoteFromPush(Activity activity, String noteId, boolean shouldShowKeyboard) {
+        if (noteId == null || activity == null || activity.isFinishing()) {
+            return;
+        }
+
+        Intent detailIntent = getOpenNoteIntent(activity, noteId);
+        detailIntent.putExtra(NOTE_INSTANT_REPLY_EXTRA, shouldShowKeyboard);
+        detailIntent.putExtra(NOTE_CURRENT_LIST_FILTER_EXTRA, NotesListFilter.FILTER_ALL);
+        detailIntent.putExtra(NOTE_OPENED_FROM_PUSH_EXTRA, true);
+
+        openNoteForReplyWithParams(detailIntent, activity);
+    }
+
     private static void openNoteForReplyWithParams(Intent detailIntent, Activity activity) {
         activity.startActivityForResult(detailIntent, RequestCodes.NOTE_DETAIL);
     }
@@ -509,17 +527,17 @@ public class NotificationsListFragment extends Fragment implements WPMainActivit
                 // Filter the list according to the RadioGroup selection
                 int checkedId = mFilterRadioGroup.getCheckedRadioButtonId();
                 if (checkedId == R.id.notifications_filter_all) {
-                    mNotesAdapter.setFilter(NotesAdapter.FILTERS.FILTER_ALL);
+                    mNotesAdapter.setFilter(NotesListFilter.FILTER_ALL);
                 } else if (checkedId == R.id.notifications_filter_unread) {
-                    mNotesAdapter.setFilter(NotesAdapter.FILTERS.FILTER_UNREAD);
+                    mNotesAdapter.setFilter(NotesListFilter.FILTER_UNREAD);
                 } else if (checkedId == R.id.notifications_filter_comments) {
-                    mNotesAdapter.setFilter(NotesAdapter.FILTERS.FILTER_COMMENT);
+                    mNotesAdapter.setFilter(NotesListFilter.FILTER_COMMENT);
                 } else if (checkedId == R.id.notifications_filter_follows) {
-                    mNotesAdapter.setFilter(NotesAdapter.FILTERS.FILTER_FOLLOW);
+                    mNotesAdapter.setFilter(NotesListFilter.FILTER_FOLLOW);
                 } else if (checkedId == R.id.notifications_filter_likes) {
-                    mNotesAdapter.setFilter(NotesAdapter.FILTERS.FILTER_LIKE);
+                    mNotesAdapter.setFilter(NotesListFilter.FILTER_LIKE);
                 } else {
-                    mNotesAdapter.setFilter(NotesAdapter.FILTERS.FILTER_ALL);
+                    mNotesAdapter.setFilter(NotesListFilter.FILTER_ALL);
                 }
 
                 restoreListScrollPosition();
@@ -552,7 +570,12 @@ public class NotificationsListFragment extends Fragment implements WPMainActivit
             return;
         }
         mSwipeToRefreshHelper.setRefreshing(false);
-        mNotesAdapter.addAll(event.notes, true);
+        // the refreshed notes have already been written to the db
+        if (event.isDelta) {
+            mNotesAdapter.applyChangeSet(event.notes);
+        } else {
+            mNotesAdapter.reloadNotesFromDBAsync();
+        }
     }
 
     @SuppressWarnings("unused")
@@ -4,6 +4,7 @@ import android.content.Context;
 import android.os.AsyncTask;
 import android.support.v4.text.BidiFormatter;
 import android.support.v4.view.ViewCompat;
+import android.support.v7.util.DiffUtil;
 import android.support.v7.widget.RecyclerView;
 import android.text.TextUtils;
 import android.view.LayoutInflater;
@@ -16,6 +17,7 @@ import org.wordpress.android.R;
 import org.wordpress.android.datasets.NotificationsTable;
 import org.wordpress.android.fluxc.model.CommentStatus;
 import org.wordpress.android.models.Note;
+import org.wordpress.android.models.NotesListFilter;
 import org.wordpress.android.ui.comments.CommentUtils;
 import org.wordpress.android.ui.notifications.NotificationsListFragment;
 import org.wordpress.android.util.GravatarUtils;
@@ -24,10 +26,13 @@ import org.wordpress.android.widgets.NoticonTextView;
 import org.wordpress.android.widgets.WPNetworkImageView;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHolder> {
+    private static final int NUM_SUBJECTS_TO_PRELOAD = 20;
+
     private final int mAvatarSz;
     private final int mColorRead;
     private final int mColorUnread;
@@ -35,15 +40,13 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
 
     private final DataLoadedListener mDataLoadedListener;
     private final OnLoadMoreListener mOnLoadMoreListener;
-    private final ArrayList<Note> mNotes = new ArrayList<>();
+    // notes matching the current filter, which is applied by the db when the notes are loaded
     private final ArrayList<Note> mFilteredNotes = new ArrayList<>();
+    // incremented each time mFilteredNotes is replaced, so a diff calculated in the background can tell
+    // whether the list it was calculated against is still the one being shown
+    private int mFilteredNotesVersion;
 
-    public enum FILTERS {
-        FILTER_ALL, FILTER_LIKE, FILTER_COMMENT, FILTER_UNREAD,
-        FILTER_FOLLOW
-    }
-
-    private FILTERS mCurrentFilter = FILTERS.FILTER_ALL;
+    private NotesListFilter mCurrentFilter = NotesListFilter.FILTER_ALL;
 
     public interface DataLoadedListener {
         void onDataLoaded(int itemsCount);
@@ -69,33 +72,61 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
         mTextIndentSize = context.getResources().getDimensionPixelSize(R.dimen.notifications_text_indent_sz);
     }
 
-    public void setFilter(FILTERS newFilter) {
+    public void setFilter(NotesListFilter newFilter) {
         mCurrentFilter = newFilter;
-        myNotifyDatasetChanged();
+        // filtering is done by the db using the indexed note columns
+        reloadNotesFromDBAsync();
     }
 
-    public FILTERS getCurrentFilter() {
+    public NotesListFilter getCurrentFilter() {
         return mCurrentFilter;
     }
 
-    public void addAll(List<Note> notes, boolean clearBeforeAdding) {
-        Collections.sort(notes, new Note.TimeStampComparator());
-        try {
-            if (clearBeforeAdding) {
-                mNotes.clear();
-            }
-            mNotes.addAll(notes);
-        } finally {
-            myNotifyDatasetChanged();
+    /*
+     * applies the change set from a delta refresh, which has already been written to the db - the
+     * notes are reloaded using the current filter and diffed against the current list in the
+     * background, then only the affected rows are notified
+     */
+    public void applyChangeSet(List<Note> changedNotes) {
+        Set<String> changedNoteIds = new HashSet<>();
+        for (Note note : changedNotes) {
+            changedNoteIds.add(note.getId());
         }
+        new ReloadNotesFromDBTask(changedNoteIds).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
     }
 
-    private void myNotifyDatasetChanged() {
-        buildFilteredNotesList(mFilteredNotes, mNotes, mCurrentFilter);
-        notifyDataSetChanged();
-        if (mDataLoadedListener != null) {
-            mDataLoadedListener.onDataLoaded(getItemCount());
-        }
+    private static DiffUtil.DiffResult calculateDiff(final List<Note> oldNotes,
+                                                     final List<Note> newNotes,
+                                                     final Set<String> changedNoteIds) {
+        return DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldNotes.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newNotes.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return oldNotes.get(oldItemPosition).getId().equals(newNotes.get(newItemPosition).getId());
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                if (changedNoteIds.contains(newNotes.get(newItemPosition).getId())) {
+                    return false;
+                }
+                // the time group header depends on the previous row, so rows whose predecessor
+                // changed are re-bound as well
+                if (oldItemPosition == 0 || newItemPosition == 0) {
+                    return oldItemPosition == newItemPosition;
+                }
+                return oldNotes.get(oldItemPosition - 1).getId().equals(newNotes.get(newItemPosition - 1).getId());
+            }
+        }, false);
     }
 
     @Override
@@ -105,40 +136,6 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
         return new NoteViewHolder(view);
     }
 
-    // Instead of building the filterd notes list dinamically, create it once and re-use it.
-    // Otherwise it's re-created so many times during layout.
-    public static void buildFilteredNotesList(ArrayList<Note> filteredNotes, ArrayList<Note> notes, FILTERS filter) {
-        filteredNotes.clear();
-        if (notes.isEmpty() || filter == FILTERS.FILTER_ALL) {
-            filteredNotes.addAll(notes);
-            return;
-        }
-        for (Note currentNote : notes) {
-            switch (filter) {
-                case FILTER_COMMENT:
-                    if (currentNote.isCommentType()) {
-                        filteredNotes.add(currentNote);
-                    }
-                    break;
-                case FILTER_FOLLOW:
-                    if (currentNote.isFollowType()) {
-                        filteredNotes.add(currentNote);
-                    }
-                    break;
-                case FILTER_UNREAD:
-                    if (currentNote.isUnread()) {
-                        filteredNotes.add(currentNote);
-                    }
-                    break;
-                case FILTER_LIKE:
-                    if (currentNote.isLikeType()) {
-                        filteredNotes.add(currentNote);
-                    }
-                    break;
-            }
-        }
-    }
-
     private Note getNoteAtPosition(int position) {
         if (isValidPosition(position)) {
             return mFilteredNotes.get(position);
@@ -149,9 +146,9 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
 
     public void replaceNote(Note newNote) {
         if (newNote != null) {
-            int position = getPositionForNoteUnfiltered(newNote.getId());
-            if (position != RecyclerView.NO_POSITION && position < mNotes.size()) {
-                mNotes.set(position, newNote);
+            int position = getPositionForNote(newNote.getId());
+            if (position != RecyclerView.NO_POSITION) {
+                mFilteredNotes.set(position, newNote);
             }
         }
     }
@@ -286,10 +283,6 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
         return getPositionForNoteInArray(noteId, mFilteredNotes);
     }
 
-    private int getPositionForNoteUnfiltered(String noteId) {
-        return getPositionForNoteInArray(noteId, mNotes);
-    }
-
     private int getPositionForNoteInArray(String noteId, ArrayList<Note> notes) {
         if (notes != null && noteId != null) {
             for (int i = 0; i < notes.size(); i++) {
@@ -307,20 +300,56 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
     }
 
     public void reloadNotesFromDBAsync() {
-        new ReloadNotesFromDBTask().executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        new ReloadNotesFromDBTask(null).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
     }
 
-    private class ReloadNotesFromDBTask extends AsyncTask<Void, Void, ArrayList<Note>> {
+    private class ReloadNotesFromDBTask extends AsyncTask<Void, Void, Boolean> {
+        private final NotesListFilter mFilter = mCurrentFilter;
+        // ids of the notes changed by a delta refresh - when set only the affected rows are notified
+        private final Set<String> mChangedNoteIds;
+        private final ArrayList<Note> mOldFilteredNotes;
+        private final int mOldFilteredNotesVersion = mFilteredNotesVersion;
+        private ArrayList<Note> mTmpFilteredNotes;
+        private DiffUtil.DiffResult mDiffResult;
+
+        ReloadNotesFromDBTask(Set<String> changedNoteIds) {
+            mChangedNoteIds = changedNoteIds;
+            mOldFilteredNotes = changedNoteIds != null ? new ArrayList<>(mFilteredNotes) : null;
+        }
+
         @Override
-        protected ArrayList<Note> doInBackground(Void... voids) {
-            return NotificationsTable.getLatestNotes();
+        protected Boolean doInBackground(Void... voids) {
+            mTmpFilteredNotes = NotificationsTable.getLatestNotes(mFilter, NotificationsTable.NOTES_TO_RETRIEVE);
+            // build the subjects of the first screen of notes here rather than when they're bound, the
+            // rest are built (and cached) on demand so we don't parse notes that are never shown
+            int preloadCount = Math.min(NUM_SUBJECTS_TO_PRELOAD, mTmpFilteredNotes.size());
+            for (int i = 0; i < preloadCount; i++) {
+                mTmpFilteredNotes.get(i).preloadFormattedSubject();
+            }
+            if (mChangedNoteIds != null) {
+                mDiffResult = calculateDiff(mOldFilteredNotes, mTmpFilteredNotes, mChangedNoteIds);
+            }
+            return true;
         }
 
         @Override
-        protected void onPostExecute(ArrayList<Note> notes) {
-            mNotes.clear();
-            mNotes.addAll(notes);
-            myNotifyDatasetChanged();
+        protected void onPostExecute(Boolean result) {
+            if (mFilter != mCurrentFilter) {
+                // filter changed while we were loading, a newer task will take care of it
+                return;
+            }
+            mFilteredNotes.clear();
+            mFilteredNotes.addAll(mTmpFilteredNotes);
+            // the diff is only valid if the list hasn't been replaced by another task since it was taken
+            if (mDiffResult != null && mOldFilteredNotesVersion == mFilteredNotesVersion) {
+                mDiffResult.dispatchUpdatesTo(NotesAdapter.this);
+            } else {
+                notifyDataSetChanged();
+            }
+            mFilteredNotesVersion++;
+            if (mDataLoadedListener != null) {
+                mDataLoadedListener.onDataLoaded(getItemCount());
+            }
         }
     }
 
@@ -3,6 +3,8 @@ package org.wordpress.android.ui.notifications.blocks;
 import android.content.Context;
 import android.support.v4.view.ViewCompat;
 import android.text.Html;
+import android.text.Spannable;
+import android.text.Spanned;
 import android.text.TextUtils;
 import android.view.View;
 import android.widget.TextView;
@@ -28,6 +30,11 @@ public class CommentUserNoteBlock extends UserNoteBlock {
 
     private boolean mStatusChanged;
 
+    private Spanned mFormattedName;
+    private Spannable mCommentText;
+    // image spans in the comment text are bound to the TextView that displays them
+    private TextView mCommentTextViewForImages;
+
     public interface OnCommentStatusChangeListener {
         void onCommentStatusChanged(CommentStatus newStatus);
     }
@@ -42,6 +49,42 @@ public class CommentUserNoteBlock extends UserNoteBlock {
         }
     }
 
+    @Override
+    public void preloadNoteText() {
+        super.preloadNoteText();
+        getFormattedName();
+        // comments with media need the TextView for their image spans, so they're built when bound
+        if (!hasCommentMedia()) {
+            getCommentText(null);
+        }
+    }
+
+    private Spanned getFormattedName() {
+        if (mFormattedName == null) {
+            mFormattedName = Html.fromHtml("<strong>" + getNoteText().toString() + "</strong>");
+        }
+        return mFormattedName;
+    }
+
+    private boolean hasCommentMedia() {
+        JSONObject commentText = getNoteData().optJSONObject("comment_text");
+        return commentText != null && commentText.has("media");
+    }
+
+    private Spannable getCommentText(TextView textView) {
+        boolean needsRebuild = mCommentText == null
+                               || (textView != null && textView != mCommentTextViewForImages && hasCommentMedia());
+        if (needsRebuild) {
+            mCommentText = NotificationsUtils.getSpannableContentForRanges(
+                    getNoteData().optJSONObject("comment_text"),
+                    textView,
+                    getOnNoteBlockTextClickListener(),
+                    false);
+            mCommentTextViewForImages = textView;
+        }
+        return mCommentText;
+    }
+
     @Override
     public BlockType getBlockType() {
         return BlockType.USER_COMMENT;
@@ -56,7 +99,7 @@ public class CommentUserNoteBlock extends UserNoteBlock {
     public View configureView(View view) {
         final CommentUserNoteBlockHolder noteBlockHolder = (CommentUserNoteBlockHolder) view.getTag();
 
-        noteBlockHolder.mNameTextView.setText(Html.fromHtml("<strong>" + getNoteText().toString() + "</strong>"));
+        noteBlockHolder.mNameTextView.setText(getFormattedName());
         noteBlockHolder.mAgoTextView.setText(DateTimeUtils.timeSpanFromTimestamp(getTimestamp(),
                                                                                  WordPress.getContext()));
         if (!TextUtils.isEmpty(getMetaHomeTitle()) || !TextUtils.isEmpty(getMetaSiteUrl())) {
@@ -85,13 +128,7 @@ public class CommentUserNoteBlock extends UserNoteBlock {
             noteBlockHolder.mAvatarImageView.setOnTouchListener(null);
         }
 
-        noteBlockHolder.mCommentTextView.setText(
-                NotificationsUtils.getSpannableContentForRanges(
-                        getNoteData().optJSONObject("comment_text"),
-                        noteBlockHolder.mCommentTextView,
-                        getOnNoteBlockTextClickListener(),
-                        false)
-                                                );
+        noteBlockHolder.mCommentTextView.setText(getCommentText(noteBlockHolder.mCommentTextView));
 
         // Change display based on comment status and type:
         // 1. Comment replies are indented and have a 'pipe' background
@@ -80,7 +80,7 @@ public class FooterNoteBlock extends NoteBlock {
     }
 
     @Override
-    Spannable getNoteText() {
+    Spannable buildNoteText() {
         return NotificationsUtils.getSpannableContentForRanges(getNoteData(), null,
                                                                getOnNoteBlockTextClickListener(), true);
     }
@@ -49,12 +49,16 @@ public class HeaderNoteBlock extends NoteBlock {
         return R.layout.note_block_header;
     }
 
+    @Override
+    Spannable buildNoteText() {
+        return NotificationsUtils.getSpannableContentForRanges(mHeaderArray.optJSONObject(0));
+    }
+
     @Override
     public View configureView(View view) {
         final NoteHeaderBlockHolder noteBlockHolder = (NoteHeaderBlockHolder) view.getTag();
 
-        Spannable spannable = NotificationsUtils.getSpannableContentForRanges(mHeaderArray.optJSONObject(0));
-        noteBlockHolder.mNameTextView.setText(spannable);
+        noteBlockHolder.mNameTextView.setText(getNoteText());
 
         noteBlockHolder.mAvatarImageView.setImageUrl(getAvatarUrl(), mImageType);
         if (!TextUtils.isEmpty(getUserUrl())) {
@@ -39,6 +39,7 @@ public class NoteBlock {
     private final JSONObject mNoteData;
     private final OnNoteBlockTextClickListener mOnNoteBlockTextClickListener;
     private JSONObject mMediaItem;
+    private Spannable mNoteText;
     private boolean mIsBadge;
     private boolean mHasAnimatedBadge;
     private int mBackgroundColor;
@@ -71,10 +72,25 @@ public class NoteBlock {
     }
 
     Spannable getNoteText() {
+        if (mNoteText == null) {
+            mNoteText = buildNoteText();
+        }
+        return mNoteText;
+    }
+
+    Spannable buildNoteText() {
         return NotificationsUtils.getSpannableContentForRanges(mNoteData, null,
                                                                mOnNoteBlockTextClickListener, false);
     }
 
+    /*
+     * builds and caches the formatted text of this block - called from a background thread when the
+     * blocks are created so configureView() only has to attach the cached text
+     */
+    public void preloadNoteText() {
+        getNoteText();
+    }
+
     String getMetaHomeTitle() {
         return JSONUtils.queryJSON(mNoteData, "meta.titles.home", "");
     }
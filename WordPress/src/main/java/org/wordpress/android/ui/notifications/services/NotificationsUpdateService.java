@@ -4,11 +4,13 @@ import android.app.Service;
 import android.content.Context;
 import android.content.Intent;
 import android.os.IBinder;
+import android.text.TextUtils;
 
 import com.android.volley.NetworkResponse;
 import com.android.volley.VolleyError;
 import com.wordpress.rest.RestRequest;
 
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.wordpress.android.WordPress;
@@ -20,11 +22,14 @@ import org.wordpress.android.ui.notifications.NotificationsListFragment;
 import org.wordpress.android.ui.notifications.utils.NotificationsActions;
 import org.wordpress.android.ui.notifications.utils.NotificationsUtils;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.JSONUtils;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import de.greenrobot.event.EventBus;
 
@@ -86,14 +91,151 @@ public class NotificationsUpdateService extends Service {
             return;
         }
         mRunning = true;
+
+        // if we already have notes stored locally, only fetch the ones whose hash has changed,
+        // otherwise do a full refresh
+        Map<String, String> localHashes = NotificationsTable.getNoteHashes();
+        if (localHashes.isEmpty()) {
+            performFullRefresh();
+        } else {
+            performDeltaRefresh(localHashes);
+        }
+    }
+
+    private void performFullRefresh() {
         Map<String, String> params = new HashMap<>();
-        params.put("number", "200");
+        params.put("number", Integer.toString(NotificationsTable.NOTES_TO_RETRIEVE));
         params.put("num_note_items", "20");
         params.put("fields", RestClientUtils.NOTIFICATION_FIELDS);
         RestListener listener = new RestListener();
         WordPress.getRestClientUtilsV1_1().getNotifications(params, listener, listener);
     }
 
+    /*
+     * requests only the id and hash of the latest notes, compares them with the ones stored
+     * locally, then requests the full content of the notes which are new or have changed
+     */
+    private void performDeltaRefresh(final Map<String, String> localHashes) {
+        Map<String, String> params = new HashMap<>();
+        params.put("number", Integer.toString(NotificationsTable.NOTES_TO_RETRIEVE));
+        params.put("fields", RestClientUtils.NOTIFICATION_HASH_FIELDS);
+
+        RestRequest.Listener listener = new RestRequest.Listener() {
+            @Override
+            public void onResponse(JSONObject response) {
+                JSONArray jsonNotes = response != null ? response.optJSONArray("notes") : null;
+                if (jsonNotes == null) {
+                    AppLog.w(AppLog.T.NOTIFS, "Delta refresh didn't return note hashes, falling back to full refresh");
+                    performFullRefresh();
+                    return;
+                }
+
+                List<String> changedNoteIds = new ArrayList<>();
+                Set<String> remoteNoteIds = new HashSet<>();
+                for (int i = 0; i < jsonNotes.length(); i++) {
+                    JSONObject jsonNote = jsonNotes.optJSONObject(i);
+                    if (jsonNote == null) {
+                        continue;
+                    }
+                    String noteId = jsonNote.optString("id", "");
+                    String noteHash = JSONUtils.getString(jsonNote, "note_hash");
+                    if (TextUtils.isEmpty(noteId)) {
+                        continue;
+                    }
+                    if (TextUtils.isEmpty(noteHash)) {
+                        AppLog.w(AppLog.T.NOTIFS, "Delta refresh returned a note without hash, falling back");
+                        performFullRefresh();
+                        return;
+                    }
+                    remoteNoteIds.add(noteId);
+                    if (!noteHash.equals(localHashes.get(noteId))) {
+                        changedNoteIds.add(noteId);
+                    }
+                }
+
+                List<String> removedNoteIds = new ArrayList<>();
+                for (String localNoteId : localHashes.keySet()) {
+                    if (!remoteNoteIds.contains(localNoteId)) {
+                        removedNoteIds.add(localNoteId);
+                    }
+                }
+
+                AppLog.d(AppLog.T.NOTIFS, "notifications update service > delta refresh, "
+                                          + changedNoteIds.size() + " changed, "
+                                          + removedNoteIds.size() + " removed");
+                if (changedNoteIds.isEmpty()) {
+                    handleDeltaNotes(new ArrayList<Note>(), removedNoteIds);
+                } else {
+                    fetchChangedNotes(changedNoteIds, removedNoteIds);
+                }
+            }
+        };
+        RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
+            @Override
+            public void onErrorResponse(VolleyError volleyError) {
+                handleVolleyError(volleyError);
+            }
+        };
+        WordPress.getRestClientUtilsV1_1().getNotifications(params, listener, errorListener);
+    }
+
+    private void fetchChangedNotes(List<String> changedNoteIds, final List<String> removedNoteIds) {
+        Map<String, String> params = new HashMap<>();
+        params.put("ids", TextUtils.join(",", changedNoteIds));
+        params.put("number", Integer.toString(changedNoteIds.size()));
+        params.put("num_note_items", "20");
+        params.put("fields", RestClientUtils.NOTIFICATION_FIELDS);
+
+        RestRequest.Listener listener = new RestRequest.Listener() {
+            @Override
+            public void onResponse(JSONObject response) {
+                try {
+                    List<Note> notes = response != null
+                            ? NotificationsActions.parseNotes(response) : new ArrayList<Note>();
+                    handleDeltaNotes(notes, removedNoteIds);
+                } catch (JSONException e) {
+                    AppLog.e(AppLog.T.NOTIFS, "Success, but can't parse the response", e);
+                    EventBus.getDefault().post(
+                            new NotificationEvents.NotificationsRefreshError()
+                                              );
+                    completed();
+                }
+            }
+        };
+        RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
+            @Override
+            public void onErrorResponse(VolleyError volleyError) {
+                handleVolleyError(volleyError);
+            }
+        };
+        WordPress.getRestClientUtilsV1_1().getNotifications(params, listener, errorListener);
+    }
+
+    private void handleDeltaNotes(List<Note> notes, List<String> removedNoteIds) {
+        // only rows whose hash changed are written
+        List<Note> changedNotes = NotificationsTable.upsertNotes(notes);
+        NotificationsTable.deleteNotesByIds(removedNoteIds);
+
+        // if we have a note id, we were started from NotificationsDetailActivity.
+        // That means we need to re-set the *read* flag on this note.
+        if (mIsStartedByTappingOnNotification && mNoteId != null) {
+            int notePos = NotificationsUtils.findNoteInNoteArray(changedNotes, mNoteId);
+            Note note = notePos != -1 ? changedNotes.get(notePos) : NotificationsTable.getNoteById(mNoteId);
+            if (note != null && note.isUnread()) {
+                note.setRead();
+                NotificationsTable.saveNote(note);
+                if (notePos == -1) {
+                    changedNotes.add(note);
+                }
+            }
+        }
+
+        EventBus.getDefault().post(
+                new NotificationEvents.NotificationsRefreshCompleted(changedNotes, removedNoteIds)
+                                  );
+        completed();
+    }
+
     private class RestListener implements RestRequest.Listener, RestRequest.ErrorListener {
         @Override
         public void onResponse(final JSONObject response) {
@@ -130,14 +272,18 @@ public class NotificationsUpdateService extends Service {
 
         @Override
         public void onErrorResponse(final VolleyError volleyError) {
-            logVolleyErrorDetails(volleyError);
-            EventBus.getDefault().post(
-                    new NotificationEvents.NotificationsRefreshError(volleyError)
-                                      );
-            completed();
+            handleVolleyError(volleyError);
         }
     }
 
+    private void handleVolleyError(VolleyError volleyError) {
+        logVolleyErrorDetails(volleyError);
+        EventBus.getDefault().post(
+                new NotificationEvents.NotificationsRefreshError(volleyError)
+                                  );
+        completed();
+    }
+
     private void setNoteRead(String noteId, List<Note> notes) {
         int notePos = NotificationsUtils.findNoteInNoteArray(notes, noteId);
         if (notePos != -1) {
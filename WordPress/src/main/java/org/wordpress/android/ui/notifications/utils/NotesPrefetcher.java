@@ -0,0 +1,135 @@
+package org.wordpress.android.ui.notifications.utils;
+
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.text.TextUtils;
+
+import com.android.volley.VolleyError;
+import com.wordpress.rest.RestRequest;
+
+import org.json.JSONObject;
+import org.wordpress.android.models.Note;
+import org.wordpress.android.push.GCMMessageService;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Makes sure the note in a push notification is stored locally before the user taps the notification,
+ * so NotificationsDetailActivity can open it without waiting on the network. The note is decoded from
+ * the push payload when it's included there, and is always downloaded (through a bounded queue) since
+ * it may have changed on the server after the push was sent.
+ */
+public class NotesPrefetcher {
+    // max number of notes waiting to be downloaded, the oldest are dropped when it's full
+    private static final int MAX_QUEUED_NOTES = 20;
+    // max number of notes being downloaded at the same time
+    private static final int MAX_CONCURRENT_DOWNLOADS = 2;
+
+    private static final Set<String> QUEUED_NOTE_IDS = new LinkedHashSet<>();
+    private static final Set<String> DOWNLOADING_NOTE_IDS = new LinkedHashSet<>();
+
+    private static int sNumOpenedFromLocal;
+    private static int sNumOpenedFromNetwork;
+    private static long sTotalTimeToFirstRenderMs;
+    private static int sNumRenders;
+
+    /*
+     * stores the note included in the push (if any), then queues it to be downloaded
+     */
+    public static void prefetchNoteFromPush(@NonNull Bundle data) {
+        String noteId = data.getString(GCMMessageService.PUSH_ARG_NOTE_ID, "");
+        if (TextUtils.isEmpty(noteId)) {
+            return;
+        }
+
+        // Try to build the note object from the PN payload, and save it to the DB.
+        boolean savedFromPayload = NotificationsUtils.buildNoteObjectFromBundleAndSaveIt(data);
+        AppLog.d(T.NOTIFS, "notes prefetcher > note " + noteId
+                           + (savedFromPayload ? " saved from push payload" : " not included in push payload"));
+
+        // Always do this, since a note can be updated on the server after a PN is sent
+        enqueueNoteDownload(noteId);
+    }
+
+    private static synchronized void enqueueNoteDownload(String noteId) {
+        if (DOWNLOADING_NOTE_IDS.contains(noteId)) {
+            // a download is already in progress, but it may return the note as it was before this
+            // push so make sure it's downloaded again once it completes
+            QUEUED_NOTE_IDS.add(noteId);
+            return;
+        }
+
+        // re-adding moves the note to the end of the queue
+        QUEUED_NOTE_IDS.remove(noteId);
+        QUEUED_NOTE_IDS.add(noteId);
+        if (QUEUED_NOTE_IDS.size() > MAX_QUEUED_NOTES) {
+            Iterator<String> iterator = QUEUED_NOTE_IDS.iterator();
+            String droppedNoteId = iterator.next();
+            iterator.remove();
+            AppLog.w(T.NOTIFS, "notes prefetcher > queue full, dropped note " + droppedNoteId);
+        }
+
+        downloadNextNotes();
+    }
+
+    private static synchronized void downloadNextNotes() {
+        Iterator<String> iterator = QUEUED_NOTE_IDS.iterator();
+        while (DOWNLOADING_NOTE_IDS.size() < MAX_CONCURRENT_DOWNLOADS && iterator.hasNext()) {
+            final String noteId = iterator.next();
+            if (DOWNLOADING_NOTE_IDS.contains(noteId)) {
+                continue;
+            }
+            iterator.remove();
+            DOWNLOADING_NOTE_IDS.add(noteId);
+
+            NotificationsActions.downloadNoteAndUpdateDB(
+                    noteId,
+                    new RestRequest.Listener() {
+                        @Override
+                        public void onResponse(JSONObject response) {
+                            onNoteDownloadCompleted(noteId);
+                        }
+                    }, new RestRequest.ErrorListener() {
+                        @Override
+                        public void onErrorResponse(VolleyError error) {
+                            onNoteDownloadCompleted(noteId);
+                        }
+                    });
+        }
+    }
+
+    private static synchronized void onNoteDownloadCompleted(String noteId) {
+        DOWNLOADING_NOTE_IDS.remove(noteId);
+        downloadNextNotes();
+    }
+
+    /*
+     * called when a note is opened, note is the locally stored note or null if it had to be fetched
+     */
+    public static synchronized void trackNoteOpened(Note note) {
+        if (note != null) {
+            sNumOpenedFromLocal++;
+        } else {
+            sNumOpenedFromNetwork++;
+        }
+        int total = sNumOpenedFromLocal + sNumOpenedFromNetwork;
+        AppLog.d(T.NOTIFS, "notes prefetcher > opened " + sNumOpenedFromLocal + " of " + total
+                           + " notes from local data (hit ratio " + (sNumOpenedFromLocal * 100 / total) + "%)");
+    }
+
+    /*
+     * called when a note is first rendered, startTime is the SystemClock.elapsedRealtime() when it was requested
+     */
+    public static synchronized void trackTimeToFirstRender(long startTime) {
+        long elapsed = SystemClock.elapsedRealtime() - startTime;
+        sTotalTimeToFirstRenderMs += elapsed;
+        sNumRenders++;
+        AppLog.d(T.NOTIFS, "notes prefetcher > time to first render " + elapsed + "ms, average "
+                           + (sTotalTimeToFirstRenderMs / sNumRenders) + "ms");
+    }
+}
@@ -4,8 +4,10 @@ import android.app.Fragment;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
+import android.os.AsyncTask;
 import android.os.Bundle;
 import android.support.v4.content.ContextCompat;
+import android.support.v4.util.LruCache;
 import android.support.v4.view.ViewCompat;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
@@ -28,6 +30,7 @@ import org.wordpress.android.models.Person;
 import org.wordpress.android.models.RoleUtils;
 import org.wordpress.android.ui.EmptyViewMessageType;
 import org.wordpress.android.ui.FilteredRecyclerView;
+import org.wordpress.android.ui.people.utils.PeopleUtils;
 import org.wordpress.android.ui.prefs.AppPrefs;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.GravatarUtils;
@@ -37,17 +40,25 @@ import org.wordpress.android.widgets.WPNetworkImageView;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Inject;
 
 public class PeopleListFragment extends Fragment {
+    // start fetching the next page when the user scrolls this close to the end of the list
+    private static final int PREFETCH_DISTANCE = PeopleUtils.FETCH_LIMIT / 2;
+
     private SiteModel mSite;
     private OnPersonSelectedListener mOnPersonSelectedListener;
     private OnFetchPeopleListener mOnFetchPeopleListener;
 
     private FilteredRecyclerView mFilteredRecyclerView;
     private PeopleListFilter mPeopleListFilter;
+    private boolean mIsFetchingMore;
 
     @Inject SiteStore mSiteStore;
 
@@ -147,6 +158,7 @@ public class PeopleListFragment extends Fragment {
             @Override
             public void onFilterSelected(int position, FilterCriteria criteria) {
                 mPeopleListFilter = (PeopleListFilter) criteria;
+                mIsFetchingMore = false;
                 AppPrefs.setPeopleListFilter(mPeopleListFilter);
             }
 
@@ -220,8 +232,10 @@ public class PeopleListFragment extends Fragment {
 
         if (mOnFetchPeopleListener != null) {
             if (loadMore) {
-                boolean isFetching = mOnFetchPeopleListener.onFetchMorePeople(mPeopleListFilter);
+                // the next page may already be on its way if it was prefetched
+                boolean isFetching = mIsFetchingMore || mOnFetchPeopleListener.onFetchMorePeople(mPeopleListFilter);
                 if (isFetching) {
+                    mIsFetchingMore = true;
                     mFilteredRecyclerView.showLoadingProgress();
                 }
             } else {
@@ -237,38 +251,40 @@ public class PeopleListFragment extends Fragment {
         }
     }
 
+    /*
+     * fetches the next page in the background as the user nears the end of the list, so it's usually
+     * there by the time they reach it
+     */
+    private void prefetchMorePeople() {
+        if (mIsFetchingMore || mOnFetchPeopleListener == null || !NetworkUtils.isNetworkAvailable(getActivity())) {
+            return;
+        }
+        mIsFetchingMore = mOnFetchPeopleListener.onFetchMorePeople(mPeopleListFilter);
+    }
+
     public void refreshPeopleList(boolean isFetching) {
+        refreshPeopleList(isFetching, 0);
+    }
+
+    /*
+     * refreshes the list after the people from the passed position on have changed, such as when a page
+     * of people has been fetched
+     */
+    public void refreshPeopleList(boolean isFetching, int fromPosition) {
         if (!isAdded()) {
             return;
         }
 
-        List<Person> peopleList;
-        switch (mPeopleListFilter) {
-            case TEAM:
-                peopleList = PeopleTable.getUsers(mSite.getId());
-                break;
-            case FOLLOWERS:
-                peopleList = PeopleTable.getFollowers(mSite.getId());
-                break;
-            case EMAIL_FOLLOWERS:
-                peopleList = PeopleTable.getEmailFollowers(mSite.getId());
-                break;
-            case VIEWERS:
-                peopleList = PeopleTable.getViewers(mSite.getId());
-                break;
-            default:
-                peopleList = new ArrayList<>();
-                break;
-        }
+        Person.PersonType personType = getPersonType(mPeopleListFilter);
         PeopleAdapter peopleAdapter = (PeopleAdapter) mFilteredRecyclerView.getAdapter();
         if (peopleAdapter == null) {
-            peopleAdapter = new PeopleAdapter(getActivity(), peopleList);
+            peopleAdapter = new PeopleAdapter(getActivity(), personType);
             mFilteredRecyclerView.setAdapter(peopleAdapter);
         } else {
-            peopleAdapter.setPeopleList(peopleList);
+            peopleAdapter.loadPeople(personType, fromPosition);
         }
 
-        if (!peopleList.isEmpty()) {
+        if (peopleAdapter.getItemCount() > 0) {
             // if the list is not empty, don't show any message
             mFilteredRecyclerView.hideEmptyView();
         } else if (!isFetching) {
@@ -277,6 +293,20 @@ public class PeopleListFragment extends Fragment {
         }
     }
 
+    private static Person.PersonType getPersonType(PeopleListFilter filter) {
+        switch (filter) {
+            case FOLLOWERS:
+                return Person.PersonType.FOLLOWER;
+            case EMAIL_FOLLOWERS:
+                return Person.PersonType.EMAIL_FOLLOWER;
+            case VIEWERS:
+                return Person.PersonType.VIEWER;
+            case TEAM:
+            default:
+                return Person.PersonType.USER;
+        }
+    }
+
     // Refresh the role display names after user roles is fetched
     public void refreshUserRoles() {
         if (mFilteredRecyclerView == null) {
@@ -292,6 +322,9 @@ public class PeopleListFragment extends Fragment {
     }
 
     public void fetchingRequestFinished(PeopleListFilter filter, boolean isFirstPage, boolean isSuccessful) {
+        if (!isFirstPage) {
+            mIsFetchingMore = false;
+        }
         if (mPeopleListFilter == filter) {
             if (isFirstPage) {
                 mFilteredRecyclerView.setRefreshing(false);
@@ -315,30 +348,142 @@ public class PeopleListFragment extends Fragment {
         boolean onFetchMorePeople(PeopleListFilter filter);
     }
 
+    /*
+     * the adapter only keeps a few windows of people in memory and reads the rest from PeopleTable as
+     * they're scrolled into view
+     */
     public class PeopleAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+        private static final int WINDOW_SIZE = 100;
+        private static final int MAX_WINDOWS = 5;
+
         private final LayoutInflater mInflater;
-        private List<Person> mPeopleList;
+        private final LruCache<Integer, List<Person>> mWindows = new LruCache<>(MAX_WINDOWS);
+        // windows being read from the db - a window that's read again replaces its task here, so a read
+        // that was started before the window's people changed is ignored when it finishes
+        private final Map<Integer, LoadWindowTask> mLoadingWindows = new HashMap<>();
+        private Person.PersonType mPersonType;
+        private int mPeopleCount;
         private int mAvatarSz;
         private List<RoleModel> mUserRoles;
 
-        public PeopleAdapter(Context context, List<Person> peopleList) {
+        public PeopleAdapter(Context context, Person.PersonType personType) {
             mAvatarSz = context.getResources().getDimensionPixelSize(R.dimen.people_avatar_sz);
             mInflater = LayoutInflater.from(context);
-            mPeopleList = peopleList;
+            mPersonType = personType;
+            mPeopleCount = PeopleTable.getPeopleCount(personType, mSite.getId());
             setHasStableIds(true);
             refreshUserRoles();
         }
 
-        public void setPeopleList(List<Person> peopleList) {
-            mPeopleList = peopleList;
-            notifyDataSetChanged();
+        /*
+         * reloads the list after the people from the passed position on have changed in the db - windows
+         * before it are kept, and the ones at or after it keep showing what they had until they're re-read
+         */
+        public void loadPeople(Person.PersonType personType, int fromPosition) {
+            int oldCount = mPeopleCount;
+            mPeopleCount = PeopleTable.getPeopleCount(personType, mSite.getId());
+            if (personType != mPersonType) {
+                mPersonType = personType;
+                mWindows.evictAll();
+                mLoadingWindows.clear();
+                notifyDataSetChanged();
+                return;
+            }
+
+            int firstWindow = fromPosition / WINDOW_SIZE;
+            Set<Integer> windows = new HashSet<>(mWindows.snapshot().keySet());
+            windows.addAll(mLoadingWindows.keySet());
+            for (int window : windows) {
+                if (window < firstWindow) {
+                    continue;
+                }
+                if (window * WINDOW_SIZE < mPeopleCount) {
+                    startLoadingWindow(window);
+                } else {
+                    mWindows.remove(window);
+                    mLoadingWindows.remove(window);
+                }
+            }
+
+            if (mPeopleCount > oldCount) {
+                notifyItemRangeInserted(oldCount, mPeopleCount - oldCount);
+            } else if (mPeopleCount < oldCount) {
+                notifyItemRangeRemoved(mPeopleCount, oldCount - mPeopleCount);
+            }
         }
 
+        /*
+         * returns the person at the passed position, or null if the window containing it hasn't been
+         * read from the db yet - in that case it's read in the background and its rows are re-bound
+         */
         public Person getPerson(int position) {
-            if (mPeopleList == null) {
+            if (position < 0 || position >= mPeopleCount) {
+                return null;
+            }
+            int window = position / WINDOW_SIZE;
+            List<Person> people = mWindows.get(window);
+            if (people == null) {
+                loadWindow(window);
                 return null;
             }
-            return mPeopleList.get(position);
+            int index = position % WINDOW_SIZE;
+            return index < people.size() ? people.get(index) : null;
+        }
+
+        /*
+         * reads the window the user is scrolling toward once they're halfway through the current one,
+         * so it's usually loaded before its rows are bound
+         */
+        private void prefetchWindow(int position) {
+            int window = position / WINDOW_SIZE;
+            if (position % WINDOW_SIZE >= WINDOW_SIZE / 2) {
+                if ((window + 1) * WINDOW_SIZE < mPeopleCount) {
+                    loadWindow(window + 1);
+                }
+            } else if (window > 0) {
+                loadWindow(window - 1);
+            }
+        }
+
+        private void loadWindow(int window) {
+            if (mLoadingWindows.containsKey(window) || mWindows.get(window) != null) {
+                return;
+            }
+            startLoadingWindow(window);
+        }
+
+        private void startLoadingWindow(int window) {
+            LoadWindowTask task = new LoadWindowTask(window);
+            mLoadingWindows.put(window, task);
+            task.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+        }
+
+        private class LoadWindowTask extends AsyncTask<Void, Void, List<Person>> {
+            private final int mWindow;
+            private final Person.PersonType mWindowPersonType = mPersonType;
+            private final int mLocalBlogId = mSite.getId();
+
+            LoadWindowTask(int window) {
+                mWindow = window;
+            }
+
+            @Override
+            protected List<Person> doInBackground(Void... params) {
+                return PeopleTable.getPeople(mWindowPersonType, mLocalBlogId, mWindow * WINDOW_SIZE, WINDOW_SIZE);
+            }
+
+            @Override
+            protected void onPostExecute(List<Person> people) {
+                if (mLoadingWindows.get(mWindow) != this) {
+                    return;
+                }
+                mLoadingWindows.remove(mWindow);
+                mWindows.put(mWindow, people);
+                int start = mWindow * WINDOW_SIZE;
+                if (start < mPeopleCount) {
+                    notifyItemRangeChanged(start, Math.min(WINDOW_SIZE, mPeopleCount - start));
+                }
+            }
         }
 
         public void refreshUserRoles() {
@@ -349,19 +494,14 @@ public class PeopleListFragment extends Fragment {
 
         @Override
         public int getItemCount() {
-            if (mPeopleList == null) {
-                return 0;
-            }
-            return mPeopleList.size();
+            return mPeopleCount;
         }
 
         @Override
         public long getItemId(int position) {
-            Person person = getPerson(position);
-            if (person == null) {
-                return -1;
-            }
-            return person.getPersonID();
+            // rows are identified by position rather than by person, so a row keeps its id whether or not
+            // its window has been read yet
+            return position;
         }
 
         @Override
@@ -375,8 +515,16 @@ public class PeopleListFragment extends Fragment {
         public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
             PeopleViewHolder peopleViewHolder = (PeopleViewHolder) holder;
             final Person person = getPerson(position);
+            prefetchWindow(position);
 
-            if (person != null) {
+            if (person == null) {
+                // the person's window is still being loaded, so clear whatever the recycled row showed
+                peopleViewHolder.mImgAvatar.resetImage();
+                peopleViewHolder.mTxtDisplayName.setText(null);
+                peopleViewHolder.mTxtRole.setVisibility(View.GONE);
+                peopleViewHolder.mTxtUsername.setVisibility(View.GONE);
+                peopleViewHolder.mTxtSubscribed.setVisibility(View.GONE);
+            } else {
                 String avatarUrl = GravatarUtils.fixGravatarUrl(person.getAvatarUrl(), mAvatarSz);
                 peopleViewHolder.mImgAvatar.setImageUrl(avatarUrl, WPNetworkImageView.ImageType.AVATAR);
                 peopleViewHolder.mTxtDisplayName.setText(StringEscapeUtils.unescapeHtml4(person.getDisplayName()));
@@ -406,6 +554,8 @@ public class PeopleListFragment extends Fragment {
             // end of list is reached
             if (position == getItemCount() - 1) {
                 updatePeople(true);
+            } else if (position >= getItemCount() - PREFETCH_DISTANCE) {
+                prefetchMorePeople();
             }
         }
 
@@ -431,7 +581,9 @@ public class PeopleListFragment extends Fragment {
             public void onClick(View v) {
                 if (mOnPersonSelectedListener != null) {
                     Person person = getPerson(getAdapterPosition());
-                    mOnPersonSelectedListener.onPersonSelected(person);
+                    if (person != null) {
+                        mOnPersonSelectedListener.onPersonSelected(person);
+                    }
                 }
             }
         }
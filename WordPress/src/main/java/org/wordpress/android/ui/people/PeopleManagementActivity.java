@@ -291,14 +291,14 @@ public class PeopleManagementActivity extends AppCompatActivity
                 boolean isFreshList = (offset == 0);
                 mHasRefreshedUsers = true;
                 mUsersEndOfListReached = isEndOfList;
-                PeopleTable.saveUsers(peopleList, site.getId(), isFreshList);
+                PeopleTable.saveUsers(peopleList, site.getId(), offset, isEndOfList);
 
                 PeopleListFragment peopleListFragment = getListFragment();
                 if (peopleListFragment != null) {
                     peopleListFragment.fetchingRequestFinished(PeopleListFilter.TEAM, isFreshList, true);
                 }
 
-                refreshOnScreenFragmentDetails();
+                refreshOnScreenFragmentDetails(offset);
                 mUsersFetchRequestInProgress = false;
             }
 
@@ -333,14 +333,15 @@ public class PeopleManagementActivity extends AppCompatActivity
                 mHasRefreshedFollowers = true;
                 mFollowersLastFetchedPage = pageFetched;
                 mFollowersEndOfListReached = isEndOfList;
-                PeopleTable.saveFollowers(peopleList, site.getId(), isFreshList);
+                int offset = (page - 1) * PeopleUtils.FETCH_LIMIT;
+                PeopleTable.saveFollowers(peopleList, site.getId(), offset, isEndOfList);
 
                 PeopleListFragment peopleListFragment = getListFragment();
                 if (peopleListFragment != null) {
                     peopleListFragment.fetchingRequestFinished(PeopleListFilter.FOLLOWERS, isFreshList, true);
                 }
 
-                refreshOnScreenFragmentDetails();
+                refreshOnScreenFragmentDetails(offset);
                 mFollowersFetchRequestInProgress = false;
             }
 
@@ -376,14 +377,15 @@ public class PeopleManagementActivity extends AppCompatActivity
                 mHasRefreshedEmailFollowers = true;
                 mEmailFollowersLastFetchedPage = pageFetched;
                 mEmailFollowersEndOfListReached = isEndOfList;
-                PeopleTable.saveEmailFollowers(peopleList, site.getId(), isFreshList);
+                int offset = (page - 1) * PeopleUtils.FETCH_LIMIT;
+                PeopleTable.saveEmailFollowers(peopleList, site.getId(), offset, isEndOfList);
 
                 PeopleListFragment peopleListFragment = getListFragment();
                 if (peopleListFragment != null) {
                     peopleListFragment.fetchingRequestFinished(PeopleListFilter.EMAIL_FOLLOWERS, isFreshList, true);
                 }
 
-                refreshOnScreenFragmentDetails();
+                refreshOnScreenFragmentDetails(offset);
                 mEmailFollowersFetchRequestInProgress = false;
             }
 
@@ -417,14 +419,14 @@ public class PeopleManagementActivity extends AppCompatActivity
                 boolean isFreshList = (offset == 0);
                 mHasRefreshedViewers = true;
                 mViewersEndOfListReached = isEndOfList;
-                PeopleTable.saveViewers(peopleList, site.getId(), isFreshList);
+                PeopleTable.saveViewers(peopleList, site.getId(), offset, isEndOfList);
 
                 PeopleListFragment peopleListFragment = getListFragment();
                 if (peopleListFragment != null) {
                     peopleListFragment.fetchingRequestFinished(PeopleListFilter.VIEWERS, isFreshList, true);
                 }
 
-                refreshOnScreenFragmentDetails();
+                refreshOnScreenFragmentDetails(offset);
                 mViewersFetchRequestInProgress = false;
             }
 
@@ -563,7 +565,7 @@ public class PeopleManagementActivity extends AppCompatActivity
                 ToastUtils.showToast(PeopleManagementActivity.this, message, ToastUtils.Duration.LONG);
 
                 navigateBackToPeopleListFragment();
-                refreshPeopleListFragment();
+                refreshPeopleListFragment(0);
             }
 
             @Override
@@ -597,14 +599,21 @@ public class PeopleManagementActivity extends AppCompatActivity
 
     // This helper method is used after a successful network request
     private void refreshOnScreenFragmentDetails() {
-        refreshPeopleListFragment();
+        refreshOnScreenFragmentDetails(0);
+    }
+
+    /*
+     * refreshes the fragments after the people from the passed position in the list on have changed
+     */
+    private void refreshOnScreenFragmentDetails(int fromPosition) {
+        refreshPeopleListFragment(fromPosition);
         refreshDetailFragment();
     }
 
-    private void refreshPeopleListFragment() {
+    private void refreshPeopleListFragment(int fromPosition) {
         PeopleListFragment peopleListFragment = getListFragment();
         if (peopleListFragment != null) {
-            peopleListFragment.refreshPeopleList(false);
+            peopleListFragment.refreshPeopleList(false, fromPosition);
         }
     }
 
@@ -656,7 +665,7 @@ public class PeopleManagementActivity extends AppCompatActivity
     @Override
     public boolean onFetchMorePeople(PeopleListFilter filter) {
         if (filter == PeopleListFilter.TEAM && !mUsersEndOfListReached) {
-            int count = PeopleTable.getUsersCountForLocalBlogId(mSite.getId());
+            int count = PeopleTable.getSyncedUsersCount(mSite.getId());
             return fetchUsersList(mSite, count);
         } else if (filter == PeopleListFilter.FOLLOWERS && !mFollowersEndOfListReached) {
             int pageToFetch = mFollowersLastFetchedPage + 1;
@@ -665,7 +674,7 @@ public class PeopleManagementActivity extends AppCompatActivity
             int pageToFetch = mEmailFollowersLastFetchedPage + 1;
             return fetchEmailFollowersList(mSite, pageToFetch);
         } else if (filter == PeopleListFilter.VIEWERS && !mViewersEndOfListReached) {
-            int count = PeopleTable.getViewersCountForLocalBlogId(mSite.getId());
+            int count = PeopleTable.getSyncedViewersCount(mSite.getId());
             return fetchViewersList(mSite, count);
         }
         return false;
@@ -22,6 +22,7 @@ import org.wordpress.android.util.AnalyticsUtils;
 import org.wordpress.android.util.AniUtils;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.DisplayUtils;
+import org.wordpress.android.util.ImagePrefetcher;
 import org.wordpress.android.util.SqlUtils;
 import org.wordpress.android.util.ViewUtils;
 
@@ -78,6 +79,7 @@ class PhotoPickerAdapter extends RecyclerView.Adapter<PhotoPickerAdapter.Thumbna
     private boolean mLoadThumbnails = true;
 
     private final ThumbnailLoader mThumbnailLoader;
+    private final ImagePrefetcher mImagePrefetcher;
     private final PhotoPickerAdapterListener mListener;
     private final LayoutInflater mInflater;
     private final MediaBrowserType mBrowserType;
@@ -93,10 +95,39 @@ class PhotoPickerAdapter extends RecyclerView.Adapter<PhotoPickerAdapter.Thumbna
         mInflater = LayoutInflater.from(context);
         mBrowserType = browserType;
         mThumbnailLoader = new ThumbnailLoader(context);
+        mImagePrefetcher = new ImagePrefetcher(new ImagePrefetcher.PrefetchHandler() {
+            @Override
+            public void prefetchItem(int position) {
+                if (mLoadThumbnails && isValidPosition(position)) {
+                    PhotoPickerItem item = getItemAtPosition(position);
+                    mThumbnailLoader.prefetchThumbnail(item.mId, item.mIsVideo, mThumbWidth);
+                }
+            }
+
+            @Override
+            public void cancelPrefetchItem(int position) {
+                if (isValidPosition(position)) {
+                    mThumbnailLoader.cancelPrefetch(getItemAtPosition(position).mId);
+                }
+            }
+        });
 
         setHasStableIds(true);
     }
 
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mImagePrefetcher.attach(recyclerView);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        mImagePrefetcher.detach(recyclerView);
+        mThumbnailLoader.cancelAllPrefetches();
+    }
+
     void refresh(boolean forceReload) {
         if (mIsListTaskRunning) {
             AppLog.w(AppLog.T.MEDIA, "photo picker > build list task already running");
@@ -481,6 +512,9 @@ class PhotoPickerAdapter extends RecyclerView.Adapter<PhotoPickerAdapter.Thumbna
         @Override
         protected void onPostExecute(Boolean result) {
             if (result) {
+                // positions are about to change so any pending prefetches are no longer valid
+                mImagePrefetcher.cancelAll();
+                mThumbnailLoader.cancelAllPrefetches();
                 mMediaList.clear();
                 mMediaList.addAll(mTmpList);
                 notifyDataSetChanged();
@@ -9,16 +9,23 @@ import android.provider.MediaStore;
 import android.view.View;
 import android.widget.ImageView;
 
+import org.wordpress.android.WordPress;
 import org.wordpress.android.util.ImageUtils;
 
 import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 
 class ThumbnailLoader {
     private final Context mContext;
     private final ThreadPoolExecutor mExecutor;
     private final Handler mHandler;
+    // prefetches run on their own single thread so they never delay thumbnails for visible items
+    private final ThreadPoolExecutor mPrefetchExecutor;
+    private final Map<Long, Future<?>> mPrefetches = new HashMap<>();
 
     private static final long FADE_TRANSITION = 250;
 
@@ -29,6 +36,12 @@ class ThumbnailLoader {
         mExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(maxThreads);
         mExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardOldestPolicy());
         mHandler = new Handler(Looper.getMainLooper());
+        mPrefetchExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+        mPrefetchExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardOldestPolicy());
+    }
+
+    private static String getCacheKey(long imageId, boolean isVideo, int maxSize) {
+        return "photopicker:" + (isVideo ? "video:" : "image:") + imageId + ":" + maxSize;
     }
 
     void loadThumbnail(ImageView imageView,
@@ -36,10 +49,78 @@ class ThumbnailLoader {
                        boolean isVideo,
                        boolean animate,
                        int maxSize) {
+        Bitmap thumbnail = WordPress.getBitmapCache().get(getCacheKey(imageId, isVideo, maxSize));
+        if (thumbnail != null) {
+            imageView.setTag(Long.toString(imageId));
+            imageView.setImageBitmap(thumbnail);
+            return;
+        }
         Runnable task = new ThumbnailLoaderRunnable(imageView, imageId, isVideo, animate, maxSize);
         mExecutor.submit(task);
     }
 
+    /*
+     * loads the thumbnail into the bitmap cache so it's immediately available when its item is shown
+     */
+    void prefetchThumbnail(final long imageId, final boolean isVideo, final int maxSize) {
+        final String cacheKey = getCacheKey(imageId, isVideo, maxSize);
+        if (mPrefetches.containsKey(imageId) || WordPress.getBitmapCache().get(cacheKey) != null) {
+            return;
+        }
+        Future<?> future = mPrefetchExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                final Bitmap thumbnail = getThumbnail(imageId, isVideo, maxSize);
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        mPrefetches.remove(imageId);
+                        if (thumbnail != null) {
+                            WordPress.getBitmapCache().put(cacheKey, thumbnail);
+                        }
+                    }
+                });
+            }
+        });
+        mPrefetches.put(imageId, future);
+    }
+
+    void cancelPrefetch(long imageId) {
+        Future<?> future = mPrefetches.remove(imageId);
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    void cancelAllPrefetches() {
+        for (Future<?> future : mPrefetches.values()) {
+            future.cancel(false);
+        }
+        mPrefetches.clear();
+    }
+
+    private Bitmap getThumbnail(long imageId, boolean isVideo, int maxSize) {
+        Bitmap media;
+        if (isVideo) {
+            media = MediaStore.Video.Thumbnails.getThumbnail(
+                    mContext.getContentResolver(),
+                    imageId,
+                    MediaStore.Video.Thumbnails.MINI_KIND,
+                    null);
+        } else {
+            media = ImageUtils.getThumbnail(
+                    mContext.getContentResolver(),
+                    imageId,
+                    MediaStore.Images.Thumbnails.MINI_KIND);
+        }
+
+        if (media != null && media.getWidth() > maxSize) {
+            return ImageUtils.getScaledBitmapAtLongestSide(media, maxSize);
+        } else {
+            return media;
+        }
+    }
+
     /*
      * task to load a device thumbnail and display it in an ImageView
      */
@@ -81,29 +162,14 @@ class ThumbnailLoader {
 
         @Override
         public void run() {
-            Bitmap media;
-            if (mIsVideo) {
-                media = MediaStore.Video.Thumbnails.getThumbnail(
-                        mContext.getContentResolver(),
-                        mImageId,
-                        MediaStore.Video.Thumbnails.MINI_KIND,
-                        null);
-            } else {
-                media = ImageUtils.getThumbnail(
-                        mContext.getContentResolver(),
-                        mImageId,
-                        MediaStore.Images.Thumbnails.MINI_KIND);
-            }
-
-            if (media != null && media.getWidth() > mMaxSize) {
-                mThumbnail = ImageUtils.getScaledBitmapAtLongestSide(media, mMaxSize);
-            } else {
-                mThumbnail = media;
-            }
+            mThumbnail = getThumbnail(mImageId, mIsVideo, mMaxSize);
 
             mHandler.post(new Runnable() {
                 @Override
                 public void run() {
+                    if (mThumbnail != null) {
+                        WordPress.getBitmapCache().put(getCacheKey(mImageId, mIsVideo, mMaxSize), mThumbnail);
+                    }
                     if (mThumbnail != null && isImageViewValid()) {
                         mWeakImageView.get().setImageBitmap(mThumbnail);
                         if (mAnimate) {
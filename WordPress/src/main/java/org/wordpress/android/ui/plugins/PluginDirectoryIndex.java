@@ -0,0 +1,127 @@
+package org.wordpress.android.ui.plugins;
+
+import android.support.annotation.NonNull;
+import android.text.TextUtils;
+
+import org.wordpress.android.fluxc.model.plugin.ImmutablePluginModel;
+import org.wordpress.android.fluxc.model.plugin.PluginDirectoryType;
+import org.wordpress.android.util.HtmlUtils;
+import org.wordpress.android.util.WordPrefixIndex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index over the plugins in the cached plugin directories, used to show search results
+ * straight away while the remote search is in progress, and to find where a plugin appears in each
+ * directory without scanning the lists.
+ */
+public class PluginDirectoryIndex {
+    // plugins that appear in more than one directory are indexed once, from the first directory here
+    private static final PluginDirectoryType[] DIRECTORY_ORDER = {
+            PluginDirectoryType.SITE,
+            PluginDirectoryType.FEATURED,
+            PluginDirectoryType.POPULAR,
+            PluginDirectoryType.NEW
+    };
+
+    private final List<ImmutablePluginModel> mPlugins = new ArrayList<>();
+    private final Map<PluginDirectoryType, Map<String, Integer>> mPositions = new HashMap<>();
+
+    // words in the plugins' names and slugs, and words in their descriptions, each mapped to the position
+    // in mPlugins of the plugin they came from
+    private final WordPrefixIndex mNameWords;
+    private final WordPrefixIndex mDescriptionWords;
+
+    public PluginDirectoryIndex(@NonNull Map<PluginDirectoryType, List<ImmutablePluginModel>> directories) {
+        Map<String, ImmutablePluginModel> pluginsBySlug = new LinkedHashMap<>();
+        for (PluginDirectoryType directoryType : DIRECTORY_ORDER) {
+            List<ImmutablePluginModel> plugins = directories.get(directoryType);
+            if (plugins == null) {
+                continue;
+            }
+            Map<String, Integer> positions = new HashMap<>(plugins.size());
+            for (int i = 0; i < plugins.size(); i++) {
+                String slug = plugins.get(i).getSlug();
+                if (TextUtils.isEmpty(slug)) {
+                    continue;
+                }
+                positions.put(slug, i);
+                if (!pluginsBySlug.containsKey(slug)) {
+                    pluginsBySlug.put(slug, plugins.get(i));
+                }
+            }
+            mPositions.put(directoryType, positions);
+        }
+        mPlugins.addAll(pluginsBySlug.values());
+
+        WordPrefixIndex.Builder nameWords = new WordPrefixIndex.Builder().setNumItems(mPlugins.size());
+        WordPrefixIndex.Builder descriptionWords = new WordPrefixIndex.Builder().setNumItems(mPlugins.size());
+        for (int position = 0; position < mPlugins.size(); position++) {
+            ImmutablePluginModel plugin = mPlugins.get(position);
+            nameWords.addWords(plugin.getDisplayName(), position);
+            nameWords.addWords(plugin.getSlug(), position);
+            descriptionWords.addWords(HtmlUtils.fastStripHtml(plugin.getDescriptionAsHtml()), position);
+        }
+        mNameWords = nameWords.build();
+        mDescriptionWords = descriptionWords.build();
+    }
+
+    public boolean containsSlug(String slug) {
+        for (Map<String, Integer> positions : mPositions.values()) {
+            if (positions.containsKey(slug)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * returns the position of the plugin with the passed slug in the directory, or -1 if it's not in it
+     */
+    public int getPosition(@NonNull PluginDirectoryType directoryType, String slug) {
+        Map<String, Integer> positions = mPositions.get(directoryType);
+        Integer position = positions != null ? positions.get(slug) : null;
+        return position != null ? position : -1;
+    }
+
+    /*
+     * returns the plugins where every word in the query starts a word in the plugin's name, slug or
+     * description - plugins matching on name or slug alone come first
+     */
+    public List<ImmutablePluginModel> search(String query) {
+        List<ImmutablePluginModel> results = new ArrayList<>();
+        List<String> queryWords = WordPrefixIndex.getLowerCaseWords(query);
+        if (queryWords.isEmpty()) {
+            return results;
+        }
+
+        BitSet nameMatches = null;
+        BitSet allMatches = null;
+        for (String queryWord : queryWords) {
+            BitSet wordNameMatches = mNameWords.findPrefix(queryWord);
+            BitSet wordAllMatches = mDescriptionWords.findPrefix(queryWord);
+            wordAllMatches.or(wordNameMatches);
+            if (nameMatches == null) {
+                nameMatches = wordNameMatches;
+                allMatches = wordAllMatches;
+            } else {
+                nameMatches.and(wordNameMatches);
+                allMatches.and(wordAllMatches);
+            }
+        }
+
+        allMatches.andNot(nameMatches);
+        for (int i = nameMatches.nextSetBit(0); i >= 0; i = nameMatches.nextSetBit(i + 1)) {
+            results.add(mPlugins.get(i));
+        }
+        for (int i = allMatches.nextSetBit(0); i >= 0; i = allMatches.nextSetBit(i + 1)) {
+            results.add(mPlugins.get(i));
+        }
+        return results;
+    }
+}
@@ -16,6 +16,7 @@ import org.wordpress.android.WordPress;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.model.TermModel;
 import org.wordpress.android.fluxc.store.TaxonomyStore;
+import org.wordpress.android.models.CategoryIndex;
 import org.wordpress.android.models.CategoryNode;
 import org.wordpress.android.util.ToastUtils;
 
@@ -115,8 +116,8 @@ public class AddCategoryFragment extends AppCompatDialogFragment {
     }
 
     private void loadCategories() {
-        CategoryNode rootCategory = CategoryNode.createCategoryTreeFromList(mTaxonomyStore.getCategoriesForSite(mSite));
-        ArrayList<CategoryNode> categoryLevels = CategoryNode.getSortedListOfCategoriesFromRoot(rootCategory);
+        ArrayList<CategoryNode> categoryLevels =
+                CategoryIndex.getForSite(mSite, mTaxonomyStore.getCategoriesForSite(mSite)).getSortedCategories();
         categoryLevels.add(0, new CategoryNode(0, 0, getString(R.string.top_level_category_name)));
         if (categoryLevels.size() > 0) {
             ParentCategorySpinnerAdapter categoryAdapter =
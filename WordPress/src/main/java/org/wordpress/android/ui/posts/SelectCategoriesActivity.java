@@ -7,7 +7,6 @@ import android.support.v4.app.Fragment;
 import android.support.v4.app.FragmentTransaction;
 import android.support.v7.app.ActionBar;
 import android.support.v7.app.AppCompatActivity;
-import android.util.LongSparseArray;
 import android.util.SparseBooleanArray;
 import android.view.Menu;
 import android.view.MenuInflater;
@@ -30,6 +29,7 @@ import org.wordpress.android.fluxc.store.TaxonomyStore;
 import org.wordpress.android.fluxc.store.TaxonomyStore.OnTaxonomyChanged;
 import org.wordpress.android.fluxc.store.TaxonomyStore.OnTermUploaded;
 import org.wordpress.android.fluxc.store.TaxonomyStore.RemoteTermPayload;
+import org.wordpress.android.models.CategoryIndex;
 import org.wordpress.android.models.CategoryNode;
 import org.wordpress.android.util.LocaleManager;
 import org.wordpress.android.util.NetworkUtils;
@@ -57,7 +57,7 @@ public class SelectCategoriesActivity extends AppCompatActivity {
     private SwipeToRefreshHelper mSwipeToRefreshHelper;
     private HashSet<Long> mSelectedCategories;
     private ArrayList<CategoryNode> mCategoryLevels;
-    private LongSparseArray<Integer> mCategoryRemoteIdsToListPositions = new LongSparseArray<>();
+    private CategoryIndex mCategoryIndex;
     private SiteModel mSite;
 
     @Inject SiteStore mSiteStore;
@@ -157,18 +157,16 @@ public class SelectCategoriesActivity extends AppCompatActivity {
     }
 
     private void populateCategoryList() {
-        CategoryNode categoryTree = CategoryNode.createCategoryTreeFromList(mTaxonomyStore.getCategoriesForSite(mSite));
-        mCategoryLevels = CategoryNode.getSortedListOfCategoriesFromRoot(categoryTree);
-        for (int i = 0; i < mCategoryLevels.size(); i++) {
-            mCategoryRemoteIdsToListPositions.put(mCategoryLevels.get(i).getCategoryId(), i);
-        }
+        mCategoryIndex = CategoryIndex.getForSite(mSite, mTaxonomyStore.getCategoriesForSite(mSite));
+        mCategoryLevels = mCategoryIndex.getSortedCategories();
 
         CategoryArrayAdapter categoryAdapter = new CategoryArrayAdapter(this, R.layout.categories_row, mCategoryLevels);
         mListView.setAdapter(categoryAdapter);
         if (mSelectedCategories != null) {
             for (Long selectedCategory : mSelectedCategories) {
-                if (mCategoryRemoteIdsToListPositions.get(selectedCategory) != null) {
-                    mListView.setItemChecked(mCategoryRemoteIdsToListPositions.get(selectedCategory), true);
+                int position = mCategoryIndex.getPosition(selectedCategory);
+                if (position != -1) {
+                    mListView.setItemChecked(position, true);
                 }
             }
         }
@@ -301,6 +299,8 @@ public class SelectCategoriesActivity extends AppCompatActivity {
             }
         } else {
             mSelectedCategories.add(event.term.getRemoteTermId());
+            // slot the new category into the cached index rather than rebuilding it
+            CategoryIndex.addCategory(mSite, event.term);
             populateCategoryList();
             if (!isFinishing()) {
                 ToastUtils.showToast(SelectCategoriesActivity.this, R.string.adding_cat_success, Duration.SHORT);
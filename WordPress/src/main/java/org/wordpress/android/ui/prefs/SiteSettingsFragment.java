@@ -10,7 +10,6 @@ import android.content.DialogInterface;
 import android.content.Intent;
 import android.content.res.Resources;
 import android.os.Bundle;
-import android.os.Handler;
 import android.preference.EditTextPreference;
 import android.preference.Preference;
 import android.preference.PreferenceCategory;
@@ -145,8 +144,6 @@ public class SiteSettingsFragment extends PreferenceFragment
     private static final String PURCHASE_ACTIVE_KEY = "active";
     private static final String ANALYTICS_ERROR_PROPERTY_KEY = "error";
 
-    private static final long FETCH_DELAY = 1000;
-
     @Inject AccountStore mAccountStore;
     @Inject SiteStore mSiteStore;
     @Inject Dispatcher mDispatcher;
@@ -325,20 +322,11 @@ public class SiteSettingsFragment extends PreferenceFragment
         // avoid calls to commitAllowingStateLoss.
         mIsFragmentPaused = false;
 
-        // always load cached settings
-        mSiteSettings.init(false);
-
-        if (mShouldFetch) {
-            new Handler().postDelayed(new Runnable() {
-                @Override
-                public void run() {
-                    // initialize settings with locally cached values, fetch remote on first pass
-                    mSiteSettings.init(true);
-                }
-            }, FETCH_DELAY);
-            // stop future calls from fetching remote settings
-            mShouldFetch = false;
-        }
+        // always show the cached settings straight away, and fetch remote ones on the first pass - only
+        // what's changed since the cache was saved is applied when they arrive
+        mSiteSettings.init(mShouldFetch);
+        // stop future calls from fetching remote settings
+        mShouldFetch = false;
     }
 
     @Override
@@ -4,6 +4,7 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.database.Cursor;
 import android.os.Handler;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.util.SparseArrayCompat;
@@ -24,6 +25,7 @@ import org.wordpress.android.fluxc.store.SiteStore.OnPostFormatsChanged;
 import org.wordpress.android.models.CategoryModel;
 import org.wordpress.android.models.JetpackSettingsModel;
 import org.wordpress.android.models.SiteSettingsModel;
+import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.FormatUtils;
 import org.wordpress.android.util.LanguageUtils;
 import org.wordpress.android.util.LocaleManager;
@@ -207,6 +209,10 @@ public abstract class SiteSettingsInterface {
     protected final JetpackSettingsModel mRemoteJpSettings;
     private final Map<String, String> mLanguageCodes;
 
+    // when init() was last called, used to log how long it takes for the cached and remote settings to show
+    protected long mInitTime;
+    private boolean mHasLoadedCachedJpSettings;
+
     @Inject SiteStore mSiteStore;
     @Inject Dispatcher mDispatcher;
 
@@ -978,6 +984,7 @@ public abstract class SiteSettingsInterface {
      * @return itself
      */
     public SiteSettingsInterface init(boolean fetchRemote) {
+        mInitTime = SystemClock.elapsedRealtime();
         loadCachedSettings();
 
         if (fetchRemote) {
@@ -1043,6 +1050,16 @@ public abstract class SiteSettingsInterface {
             setPassword(mSite.getPassword());
             setTitle(mSite.getName());
         }
+        // the Jetpack snapshot holds what the server last told us, so it's only read once - after that the
+        // in-memory settings are at least as recent
+        if (mSite.isJetpackConnected() && !mHasLoadedCachedJpSettings) {
+            mHasLoadedCachedJpSettings = true;
+            JetpackSettingsModel cachedJpSettings = SiteSettingsTable.getJetpackSettings(mSite.getId());
+            if (cachedJpSettings != null) {
+                mJpSettings.copyFrom(cachedJpSettings);
+                mRemoteJpSettings.copyFrom(cachedJpSettings);
+            }
+        }
         // Quota information always comes from the main site table
         if (mSite.hasDiskSpaceQuotaInformation()) {
             String percentage = FormatUtils.formatPercentage(mSite.getSpacePercentUsed() / 100);
@@ -1066,6 +1083,8 @@ public abstract class SiteSettingsInterface {
             localSettings.close();
         }
         notifyUpdatedOnUiThread();
+        AppLog.d(AppLog.T.SETTINGS, "Cached site settings loaded in "
+                                    + (SystemClock.elapsedRealtime() - mInitTime) + "ms");
     }
 
     /**
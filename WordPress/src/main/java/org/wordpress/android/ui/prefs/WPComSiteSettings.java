@@ -1,6 +1,7 @@
 package org.wordpress.android.ui.prefs;
 
 import android.content.Context;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.text.TextUtils;
 
@@ -16,12 +17,15 @@ import org.wordpress.android.datasets.SiteSettingsTable;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.models.CategoryModel;
 import org.wordpress.android.models.JetpackSettingsModel;
+import org.wordpress.android.networking.RestBatch;
+import org.wordpress.android.networking.RestClientUtils;
 import org.wordpress.android.util.AnalyticsUtils;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.SiteUtils;
 import org.wordpress.android.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -108,6 +112,10 @@ class WPComSiteSettings extends SiteSettingsInterface {
     private Exception mFetchError = null;
     private Exception mSaveError = null;
 
+    // whether the current fetch has brought anything the cached settings didn't already have
+    private boolean mFetchChangedSettings = false;
+    private JetpackSettingsModel mJpSettingsBeforeFetch;
+
     /**
      * Only instantiated by {@link SiteSettingsInterface}.
      */
@@ -142,22 +150,29 @@ class WPComSiteSettings extends SiteSettingsInterface {
             return;
         }
 
-        fetchCategories();
-        fetchWpSettings();
+        mFetchChangedSettings = false;
+        mJpSettingsBeforeFetch = new JetpackSettingsModel(mJpSettings);
+
+        // the site's settings are fetched in a single round trip - the batch is authenticated for the site
+        // in its first path, so the sites/$siteId requests go first
+        RestBatch batch = new RestBatch();
+        fetchWpSettings(batch);
+        fetchCategories(batch);
 
         if (mSite.isJetpackConnected()) {
-            fetchJetpackSettings();
+            fetchJetpackSettings(batch);
         }
+        WordPress.getRestClientUtilsV1_1().getBatch(batch, RestClientUtils.RequestPriority.USER_VISIBLE);
     }
 
     static boolean supportsJetpackSpeedUpSettings(SiteModel site) {
         return SiteUtils.checkMinimalJetpackVersion(site, SPEED_UP_SETTINGS_JETPACK_VERSION);
     }
 
-    private void fetchWpSettings() {
+    private void fetchWpSettings(RestBatch batch) {
         ++mFetchRequestCount;
-        WordPress.getRestClientUtilsV1_1().getGeneralSettings(
-                mSite.getSiteId(), new RestRequest.Listener() {
+        batch.add(
+                RestClientUtils.getGeneralSettingsPath(mSite.getSiteId()), new RestRequest.Listener() {
                     @Override
                     public void onResponse(JSONObject response) {
                         AppLog.d(AppLog.T.API, "Received response to Settings REST request.");
@@ -174,8 +189,7 @@ class WPComSiteSettings extends SiteSettingsInterface {
                             mSettings.copyFrom(mRemoteSettings);
                             mSettings.postFormats = currentPostFormats;
                             mSettings.location = location;
-
-                            SiteSettingsTable.saveSettings(mSettings);
+                            mFetchChangedSettings = true;
                         }
                         onFetchResponseReceived(null);
                     }
@@ -191,10 +205,10 @@ class WPComSiteSettings extends SiteSettingsInterface {
     /**
      * Request a list of post categories for a site via the WordPress REST API.
      */
-    private void fetchCategories() {
+    private void fetchCategories(RestBatch batch) {
         ++mFetchRequestCount;
         // TODO: Replace with FluxC (GET_CATEGORIES + TaxonomyStore.getCategoriesForSite())
-        WordPress.getRestClientUtilsV1_1().getCategories(mSite.getSiteId(),
+        batch.add(RestClientUtils.getCategoriesPath(mSite.getSiteId()),
                 new RestRequest.Listener() {
                     @Override
                     public void onResponse(JSONObject response) {
@@ -202,11 +216,13 @@ class WPComSiteSettings extends SiteSettingsInterface {
                         credentialsVerified(true);
 
                         CategoryModel[] models = deserializeCategoryRestResponse(response);
-                        if (models == null) return;
-
-                        SiteSettingsTable.saveCategories(models);
-                        mRemoteSettings.categories = models;
-                        mSettings.categories = models;
+                        if (models != null) {
+                            if (!Arrays.equals(models, mSettings.categories)) {
+                                mFetchChangedSettings = true;
+                            }
+                            mRemoteSettings.categories = models;
+                            mSettings.categories = models;
+                        }
                         onFetchResponseReceived(null);
                     }
                 }, new RestRequest.ErrorListener() {
@@ -218,15 +234,15 @@ class WPComSiteSettings extends SiteSettingsInterface {
                 });
     }
 
-    private void fetchJetpackSettings() {
-        fetchJetpackMonitorSettings();
-        fetchJetpackProtectAndSsoSettings();
-        fetchJetpackModuleSettings();
+    private void fetchJetpackSettings(RestBatch batch) {
+        fetchJetpackModuleSettings(batch);
+        fetchJetpackMonitorSettings(batch);
+        fetchJetpackProtectAndSsoSettings(batch);
     }
 
-    private void fetchJetpackProtectAndSsoSettings() {
+    private void fetchJetpackProtectAndSsoSettings(RestBatch batch) {
         ++mFetchRequestCount;
-        WordPress.getRestClientUtilsV1_1().getJetpackSettings(mSite.getSiteId(), new RestRequest.Listener() {
+        batch.add(RestClientUtils.getJetpackSettingsPath(mSite.getSiteId()), new RestRequest.Listener() {
             @Override
             public void onResponse(JSONObject response) {
                 final JSONObject data = response.optJSONObject("data");
@@ -281,10 +297,10 @@ class WPComSiteSettings extends SiteSettingsInterface {
         });
     }
 
-    private void fetchJetpackMonitorSettings() {
+    private void fetchJetpackMonitorSettings(RestBatch batch) {
         ++mFetchRequestCount;
-        WordPress.getRestClientUtilsV1_1().getJetpackMonitorSettings(
-                mSite.getSiteId(), new RestRequest.Listener() {
+        batch.add(
+                RestClientUtils.getJetpackMonitorSettingsPath(mSite.getSiteId()), new RestRequest.Listener() {
                     @Override
                     public void onResponse(JSONObject response) {
                         AppLog.v(AppLog.T.API, "Received Jetpack Monitor module options");
@@ -304,10 +320,10 @@ class WPComSiteSettings extends SiteSettingsInterface {
                 });
     }
 
-    private void fetchJetpackModuleSettings() {
+    private void fetchJetpackModuleSettings(RestBatch batch) {
         ++mFetchRequestCount;
-        WordPress.getRestClientUtilsV1_1().getJetpackModuleSettings(
-                mSite.getSiteId(), new RestRequest.Listener() {
+        batch.add(
+                RestClientUtils.getJetpackModuleSettingsPath(mSite.getSiteId()), new RestRequest.Listener() {
                     @Override
                     public void onResponse(JSONObject response) {
                         if (response == null) {
@@ -517,12 +533,26 @@ class WPComSiteSettings extends SiteSettingsInterface {
         if (error != null) {
             mWasFetchError = true;
             mFetchError = error;
-        } else {
-            // we received successful response to GET request, notify listener to update UI
+        }
+        if (--mFetchRequestCount > 0) {
+            return;
+        }
+
+        // all of our GET requests are completed - the cached settings are already showing, so only save
+        // and update the UI if the server sent something different
+        if (mSite.isJetpackConnected() && !mJpSettings.equals(mJpSettingsBeforeFetch)) {
+            mFetchChangedSettings = true;
+        }
+        if (mFetchChangedSettings) {
+            SiteSettingsTable.saveSnapshot(mSettings, mSite.isJetpackConnected() ? mRemoteJpSettings : null);
             notifyUpdatedOnUiThread();
         }
-        if (--mFetchRequestCount <= 0 && mWasFetchError) {
-            // all of our GET requests are completed and at least one had an error so we need to notify
+        AppLog.d(AppLog.T.SETTINGS, "Remote site settings received in "
+                                    + (SystemClock.elapsedRealtime() - mInitTime) + "ms, "
+                                    + (mFetchChangedSettings ? "updated" : "unchanged"));
+
+        if (mWasFetchError) {
+            // at least one had an error so we need to notify
             notifyFetchErrorOnUiThread(mFetchError);
             mWasFetchError = false;
             mFetchError = null;
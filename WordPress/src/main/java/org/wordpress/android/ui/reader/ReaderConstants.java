@@ -11,6 +11,12 @@ public class ReaderConstants {
     public static final long READER_AUTO_UPDATE_DELAY_MINUTES = 10; // 10 minute delay between automatic updates
     public static final int READER_MAX_RECOMMENDED_TO_REQUEST = 20; // max # of recommended blogs to request
 
+    // background sync of the most used tags & blogs
+    public static final long READER_PREDICTIVE_SYNC_BYTE_BUDGET = 5 * 1024 * 1024;
+    public static final int READER_PREDICTIVE_SYNC_MAX_TAGS = 3;
+    public static final int READER_PREDICTIVE_SYNC_MAX_BLOGS = 3;
+    public static final int READER_PREDICTIVE_SYNC_MAX_IMAGES_PER_ITEM = 5; // featured images to prefetch
+
     public static final int MIN_FEATURED_IMAGE_WIDTH = 640;
             // min width for an image to be suitable featured image
 
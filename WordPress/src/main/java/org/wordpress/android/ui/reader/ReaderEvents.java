@@ -3,6 +3,7 @@ package org.wordpress.android.ui.reader;
 import android.support.annotation.NonNull;
 
 import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.models.ReaderPostList;
 import org.wordpress.android.models.ReaderTag;
 import org.wordpress.android.ui.reader.actions.ReaderActions;
 import org.wordpress.android.ui.reader.models.ReaderSimplePostList;
@@ -131,6 +132,24 @@ public class ReaderEvents {
         }
     }
 
+    public static class SearchPostsLocalResultsLoaded {
+        private final String mQuery;
+        private final ReaderPostList mPosts;
+
+        public SearchPostsLocalResultsLoaded(@NonNull String query, @NonNull ReaderPostList posts) {
+            mQuery = query;
+            mPosts = posts;
+        }
+
+        public String getQuery() {
+            return mQuery;
+        }
+
+        public ReaderPostList getPosts() {
+            return mPosts;
+        }
+    }
+
     public static class UpdateCommentsStarted {
     }
 
@@ -34,6 +34,7 @@ import org.wordpress.android.datasets.ReaderDatabase;
 import org.wordpress.android.datasets.ReaderPostTable;
 import org.wordpress.android.datasets.ReaderSearchTable;
 import org.wordpress.android.datasets.ReaderTagTable;
+import org.wordpress.android.datasets.ReaderUsageTable;
 import org.wordpress.android.fluxc.store.AccountStore;
 import org.wordpress.android.models.FilterCriteria;
 import org.wordpress.android.models.ReaderPost;
@@ -255,6 +256,18 @@ public class ReaderPostListFragment extends Fragment
             mWasPaused = savedInstanceState.getBoolean(ReaderConstants.KEY_WAS_PAUSED);
             mHasUpdatedPosts = savedInstanceState.getBoolean(ReaderConstants.KEY_ALREADY_UPDATED);
             mFirstLoad = savedInstanceState.getBoolean(ReaderConstants.KEY_FIRST_LOAD);
+        } else if (getPostListType().isTagType() && hasCurrentTag()) {
+            // the tag the list opens with is read as much as one the user picks, so count it too
+            recordTagOpened(getCurrentTag());
+        } else if (getPostListType() == ReaderPostListType.BLOG_PREVIEW) {
+            final long blogId = mCurrentBlogId;
+            final long feedId = mCurrentFeedId;
+            new Thread() {
+                @Override
+                public void run() {
+                    ReaderUsageTable.recordBlogOpened(blogId, feedId);
+                }
+            }.start();
         }
     }
 
@@ -736,6 +749,21 @@ public class ReaderPostListFragment extends Fragment
         setEmptyTitleAndDescription(false);
     }
 
+    @SuppressWarnings("unused")
+    public void onEventMainThread(ReaderEvents.SearchPostsLocalResultsLoaded event) {
+        if (!isAdded()) {
+            return;
+        }
+
+        // show matching cached posts while the server results are loading
+        if (event.getPosts().size() > 0
+            && getPostListType() == ReaderPostListType.SEARCH_RESULTS
+            && event.getQuery().equals(mCurrentSearchQuery)
+            && hasPostAdapter()) {
+            getPostAdapter().showLocalSearchResults(event.getPosts());
+        }
+    }
+
     @SuppressWarnings("unused")
     public void onEventMainThread(ReaderEvents.SearchPostsEnded event) {
         if (!isAdded()) {
@@ -1489,10 +1517,24 @@ public class ReaderPostListFragment extends Fragment
         }
 
         trackTagLoaded(tag);
+        recordTagOpened(tag);
         AppLog.d(T.READER, String.format("reader post list > tag %s displayed", tag.getTagNameForLog()));
         setCurrentTag(tag);
     }
 
+    /*
+     * counts the tag as opened so the background sync can prefetch it - done when the list is first created
+     * and when the user picks a tag, but not when the current tag is restored or reverted
+     */
+    private void recordTagOpened(final ReaderTag tag) {
+        new Thread() {
+            @Override
+            public void run() {
+                ReaderUsageTable.recordTagOpened(tag);
+            }
+        }.start();
+    }
+
     private void trackTagLoaded(ReaderTag tag) {
         AnalyticsTracker.Stat stat = null;
 
@@ -0,0 +1,330 @@
+package org.wordpress.android.ui.reader.actions;
+
+import android.os.SystemClock;
+
+import com.android.volley.VolleyError;
+import com.wordpress.rest.RestRequest;
+
+import org.json.JSONObject;
+import org.wordpress.android.WordPress;
+import org.wordpress.android.datasets.ReaderActionQueueTable;
+import org.wordpress.android.datasets.ReaderLikeTable;
+import org.wordpress.android.datasets.ReaderPostTable;
+import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.models.ReaderQueuedAction;
+import org.wordpress.android.models.ReaderQueuedAction.ActionType;
+import org.wordpress.android.networking.ConnectionChangeReceiver;
+import org.wordpress.android.ui.reader.ReaderEvents;
+import org.wordpress.android.ui.reader.actions.ReaderActions.ActionListener;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+import org.wordpress.android.util.NetworkUtils;
+import org.wordpress.android.util.UrlUtils;
+import org.wordpress.android.util.VolleyUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.greenrobot.event.EventBus;
+
+/**
+ * Durable queue of the likes, follows and blocks made in the reader. Each action has already been applied
+ * to the local db when it's queued, and is removed once the server has accepted it - so actions made while
+ * offline or on a flaky connection are sent once connectivity returns rather than being rolled back. An
+ * action that undoes one still waiting in the queue (ie: unliking a post whose like hasn't been sent)
+ * cancels it out, so neither is sent. Must be used from the main thread.
+ */
+public class ReaderActionQueue {
+    private static final int FLUSH_BATCH_SIZE = 5;
+    // an action that keeps failing with a network or server error is eventually dropped and rolled back
+    private static final int MAX_ATTEMPTS = 5;
+
+    private enum SendResult {
+        SUCCEEDED,
+        FAILED,         // the server rejected the action, so it's rolled back
+        FAILED_RETRY    // the action didn't reach the server or the server had an error, so it stays queued
+    }
+
+    private static ReaderActionQueue sInstance;
+
+    // listeners and rollbacks for actions queued since the app started, keyed by action id
+    private static final Map<Long, ActionListener> LISTENERS = new HashMap<>();
+    private static final Map<Long, Runnable> ROLLBACKS = new HashMap<>();
+    private static final Set<Long> IN_FLIGHT = new HashSet<>();
+
+    private static boolean sIsFlushing;
+    private static boolean sHadRetryFailure;
+    private static int sNumPendingInBatch;
+    private static long sBatchStartTime;
+    private static long sLastFlushLatencyMs;
+
+    /*
+     * starts listening for connectivity changes and sends anything left in the queue from last time
+     */
+    public static void init() {
+        if (sInstance == null) {
+            sInstance = new ReaderActionQueue();
+            ConnectionChangeReceiver.getEventBus().register(sInstance);
+        }
+        flush();
+    }
+
+    @SuppressWarnings("unused")
+    public void onEventMainThread(ConnectionChangeReceiver.ConnectionChangeEvent event) {
+        if (event.isConnected()) {
+            flush();
+        }
+    }
+
+    /*
+     * number of actions waiting to be sent, including any being sent now
+     */
+    public static int getQueueDepth() {
+        return ReaderActionQueueTable.getNumActions();
+    }
+
+    /*
+     * time between queueing and the server accepting the most recently sent action
+     */
+    public static long getLastFlushLatencyMs() {
+        return sLastFlushLatencyMs;
+    }
+
+    static void enqueue(ReaderQueuedAction action, ActionListener actionListener) {
+        enqueue(action, null, actionListener);
+    }
+
+    /*
+     * queues an action that has already been applied locally - the rollback, if any, is used instead of
+     * the default one when the server rejects the action, but only until the app is restarted
+     */
+    static void enqueue(ReaderQueuedAction action, Runnable rollback, ActionListener actionListener) {
+        // an action that undoes one that hasn't been sent yet cancels it out
+        ActionType oppositeType = action.actionType.getOpposite();
+        ReaderQueuedAction opposite =
+                oppositeType != null ? ReaderActionQueueTable.getAction(oppositeType, action) : null;
+        if (opposite != null && !IN_FLIGHT.contains(opposite.id)) {
+            ReaderActionQueueTable.deleteAction(opposite.id);
+            LISTENERS.remove(opposite.id);
+            ROLLBACKS.remove(opposite.id);
+            AppLog.i(T.READER, "action queue > " + action.getIdempotencyKey() + " cancelled out "
+                               + opposite.getIdempotencyKey() + ", queue depth " + getQueueDepth());
+            ReaderActions.callActionListener(actionListener, true);
+            return;
+        }
+
+        action.dateQueued = System.currentTimeMillis();
+        if (ReaderActionQueueTable.addAction(action) == -1) {
+            AppLog.i(T.READER, "action queue > " + action.getIdempotencyKey() + " is already queued");
+            ReaderActions.callActionListener(actionListener, true);
+            return;
+        }
+        AppLog.i(T.READER, "action queue > queued " + action.getIdempotencyKey()
+                           + ", queue depth " + getQueueDepth());
+
+        if (rollback != null) {
+            ROLLBACKS.put(action.id, rollback);
+        }
+        if (!NetworkUtils.isNetworkAvailable(WordPress.getContext())) {
+            // the action will be sent when we're back online, so as far as the caller is concerned it worked
+            ReaderActions.callActionListener(actionListener, true);
+        } else if (actionListener != null) {
+            LISTENERS.put(action.id, actionListener);
+        }
+        flush();
+    }
+
+    /*
+     * removes a queued action before it's sent, returns false if there isn't one or it's already being sent
+     */
+    static boolean cancel(ReaderQueuedAction action) {
+        ReaderQueuedAction queued = ReaderActionQueueTable.getAction(action.actionType, action);
+        if (queued == null || IN_FLIGHT.contains(queued.id)) {
+            return false;
+        }
+        ReaderActionQueueTable.deleteAction(queued.id);
+        LISTENERS.remove(queued.id);
+        ROLLBACKS.remove(queued.id);
+        AppLog.i(T.READER, "action queue > cancelled " + queued.getIdempotencyKey());
+        return true;
+    }
+
+    /*
+     * sends the oldest queued actions, and keeps sending batches until the queue is empty or an
+     * action fails because we're offline or the server is having problems
+     */
+    public static void flush() {
+        if (sIsFlushing || !NetworkUtils.isNetworkAvailable(WordPress.getContext())) {
+            return;
+        }
+
+        List<ReaderQueuedAction> actions = ReaderActionQueueTable.getNextActions(FLUSH_BATCH_SIZE, IN_FLIGHT);
+        if (actions.isEmpty()) {
+            return;
+        }
+
+        sIsFlushing = true;
+        sHadRetryFailure = false;
+        sNumPendingInBatch = actions.size();
+        sBatchStartTime = SystemClock.elapsedRealtime();
+        AppLog.i(T.READER, "action queue > sending " + actions.size() + " actions, queue depth " + getQueueDepth());
+        for (ReaderQueuedAction action : actions) {
+            IN_FLIGHT.add(action.id);
+            send(action);
+        }
+    }
+
+    private static void onActionSent(ReaderQueuedAction action, SendResult result) {
+        IN_FLIGHT.remove(action.id);
+        ActionListener actionListener = LISTENERS.remove(action.id);
+        Runnable rollback = ROLLBACKS.remove(action.id);
+
+        if (result == SendResult.FAILED_RETRY && ReaderActionQueueTable.incrementNumAttempts(action) < MAX_ATTEMPTS) {
+            sHadRetryFailure = true;
+            // the caller is told it worked since it will be retried - the rollback is kept in case it's rejected
+            ReaderActions.callActionListener(actionListener, true);
+            if (rollback != null) {
+                ROLLBACKS.put(action.id, rollback);
+            }
+        } else {
+            ReaderActionQueueTable.deleteAction(action.id);
+            if (result == SendResult.SUCCEEDED) {
+                sLastFlushLatencyMs = System.currentTimeMillis() - action.dateQueued;
+                AppLog.d(T.READER, "action queue > " + action.getIdempotencyKey() + " succeeded "
+                                   + sLastFlushLatencyMs + "ms after it was queued");
+            } else {
+                AppLog.w(T.READER, "action queue > " + action.getIdempotencyKey() + " failed after "
+                                   + action.numAttempts + " attempts, rolling back");
+                if (rollback != null) {
+                    rollback.run();
+                } else {
+                    rollback(action);
+                }
+            }
+            ReaderActions.callActionListener(actionListener, result == SendResult.SUCCEEDED);
+        }
+
+        if (--sNumPendingInBatch == 0) {
+            sIsFlushing = false;
+            AppLog.i(T.READER, "action queue > batch sent in " + (SystemClock.elapsedRealtime() - sBatchStartTime)
+                               + "ms, queue depth " + getQueueDepth());
+            // wait for the next connectivity change rather than hammering a failing connection
+            if (!sHadRetryFailure) {
+                flush();
+            }
+        }
+    }
+
+    /*
+     * restores the local state to what it was before the action was applied
+     */
+    private static void rollback(ReaderQueuedAction action) {
+        switch (action.actionType) {
+            case LIKE_POST:
+            case UNLIKE_POST:
+                ReaderPost post = ReaderPostTable.getBlogPost(action.blogId, action.postId, true);
+                if (post != null) {
+                    boolean wasLiked = action.actionType == ActionType.UNLIKE_POST;
+                    int numLikes = Math.max(0, post.numLikes + (wasLiked ? 1 : -1));
+                    ReaderPostTable.setLikesForPost(post, numLikes, wasLiked);
+                    ReaderLikeTable.setCurrentUserLikesPost(post, wasLiked, action.userId);
+                }
+                break;
+            case FOLLOW_BLOG:
+            case UNFOLLOW_BLOG:
+                ReaderBlogActions.localRevertFollowBlogId(action.blogId, action.actionType == ActionType.FOLLOW_BLOG);
+                EventBus.getDefault().post(new ReaderEvents.FollowedBlogsChanged());
+                break;
+            case FOLLOW_FEED:
+            case UNFOLLOW_FEED:
+                if (action.feedId != 0) {
+                    ReaderBlogActions.localRevertFollowFeedId(action.feedId,
+                                                              action.actionType == ActionType.FOLLOW_FEED);
+                    EventBus.getDefault().post(new ReaderEvents.FollowedBlogsChanged());
+                }
+                break;
+            default:
+                // the posts deleted by a block are only kept in memory, so there's nothing to restore them from
+                break;
+        }
+    }
+
+    private static boolean isRetryable(VolleyError volleyError) {
+        int status = VolleyUtils.statusCodeFromVolleyError(volleyError);
+        return status == 0 || status >= 500;
+    }
+
+    private static void send(final ReaderQueuedAction action) {
+        final String path;
+        switch (action.actionType) {
+            case LIKE_POST:
+                path = "sites/" + action.blogId + "/posts/" + action.postId + "/likes/new";
+                break;
+            case UNLIKE_POST:
+                path = "sites/" + action.blogId + "/posts/" + action.postId + "/likes/mine/delete";
+                break;
+            case FOLLOW_BLOG:
+                path = "sites/" + action.blogId + "/follows/new?source=android";
+                break;
+            case UNFOLLOW_BLOG:
+                path = "sites/" + action.blogId + "/follows/mine/delete";
+                break;
+            case FOLLOW_FEED:
+                path = "read/following/mine/new?source=android&url=" + UrlUtils.urlEncode(action.getFeedUrl());
+                break;
+            case UNFOLLOW_FEED:
+                path = "read/following/mine/delete?url=" + UrlUtils.urlEncode(action.getFeedUrl());
+                break;
+            default:
+                path = "me/block/sites/" + Long.toString(action.blogId) + "/new";
+                break;
+        }
+
+        RestRequest.Listener listener = new RestRequest.Listener() {
+            @Override
+            public void onResponse(JSONObject jsonObject) {
+                boolean success;
+                switch (action.actionType) {
+                    case FOLLOW_BLOG:
+                    case FOLLOW_FEED:
+                        success = ReaderBlogActions.isFollowActionSuccessful(jsonObject, true);
+                        break;
+                    case UNFOLLOW_BLOG:
+                    case UNFOLLOW_FEED:
+                        success = ReaderBlogActions.isFollowActionSuccessful(jsonObject, false);
+                        break;
+                    default:
+                        success = true;
+                        break;
+                }
+                if (!success) {
+                    AppLog.w(T.READER, "action queue > unexpected response to " + path + " - " + jsonObject);
+                }
+                onActionSent(action, success ? SendResult.SUCCEEDED : SendResult.FAILED);
+            }
+        };
+        RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
+            @Override
+            public void onErrorResponse(VolleyError volleyError) {
+                AppLog.e(T.READER, volleyError);
+                // we get a 403 when unfollowing a blog that no longer exists - the workaround is to
+                // unfollow by url
+                int status = VolleyUtils.statusCodeFromVolleyError(volleyError);
+                if (status == 403 && action.actionType == ActionType.UNFOLLOW_BLOG) {
+                    ReaderBlogActions.internalUnfollowBlogByUrl(action.blogId, new ActionListener() {
+                        @Override
+                        public void onActionResult(boolean succeeded) {
+                            onActionSent(action, succeeded ? SendResult.SUCCEEDED : SendResult.FAILED);
+                        }
+                    });
+                } else {
+                    onActionSent(action, isRetryable(volleyError) ? SendResult.FAILED_RETRY : SendResult.FAILED);
+                }
+            }
+        };
+        WordPress.getRestClientUtilsV1_1().post(path, listener, errorListener);
+    }
+}
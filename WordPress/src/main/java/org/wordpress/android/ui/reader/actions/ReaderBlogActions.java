@@ -16,6 +16,8 @@ import org.wordpress.android.datasets.ReaderPostTable;
 import org.wordpress.android.models.ReaderBlog;
 import org.wordpress.android.models.ReaderPost;
 import org.wordpress.android.models.ReaderPostList;
+import org.wordpress.android.models.ReaderQueuedAction;
+import org.wordpress.android.models.ReaderQueuedAction.ActionType;
 import org.wordpress.android.ui.reader.actions.ReaderActions.ActionListener;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateBlogInfoListener;
 import org.wordpress.android.util.AnalyticsUtils;
@@ -33,10 +35,6 @@ public class ReaderBlogActions {
         public boolean wasFollowing;
     }
 
-    private static String jsonToString(JSONObject json) {
-        return (json != null ? json.toString() : "");
-    }
-
     public static boolean followBlogById(final long blogId,
                                          final boolean isAskingToFollow,
                                          final ActionListener actionListener) {
@@ -54,46 +52,14 @@ public class ReaderBlogActions {
             AnalyticsUtils.trackWithSiteId(AnalyticsTracker.Stat.READER_BLOG_UNFOLLOWED, blogId);
         }
 
-        final String actionName = (isAskingToFollow ? "follow" : "unfollow");
-        final String path = "sites/" + blogId + "/follows/" + (isAskingToFollow ? "new?source=android" : "mine/delete");
-
-        com.wordpress.rest.RestRequest.Listener listener = new RestRequest.Listener() {
-            @Override
-            public void onResponse(JSONObject jsonObject) {
-                boolean success = isFollowActionSuccessful(jsonObject, isAskingToFollow);
-                if (success) {
-                    AppLog.d(T.READER, "blog " + actionName + " succeeded");
-                } else {
-                    AppLog.w(T.READER, "blog " + actionName + " failed - " + jsonToString(jsonObject) + " - " + path);
-                    localRevertFollowBlogId(blogId, isAskingToFollow);
-                }
-                ReaderActions.callActionListener(actionListener, success);
-            }
-        };
-        RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
-            @Override
-            public void onErrorResponse(VolleyError volleyError) {
-                AppLog.w(T.READER, "blog " + actionName + " failed with error");
-                AppLog.e(T.READER, volleyError);
-                // check if we get a 403 when unfollowing - this will happen when we attempt
-                // to unfollow a blog that no longer exists - the workaround is to unfollow
-                // by url - note that the v1.2 endpoint will return a 404 in this situation
-                int status = VolleyUtils.statusCodeFromVolleyError(volleyError);
-                if (status == 403 && !isAskingToFollow) {
-                    internalUnfollowBlogByUrl(blogId, actionListener);
-                } else {
-                    localRevertFollowBlogId(blogId, isAskingToFollow);
-                    ReaderActions.callActionListener(actionListener, false);
-                }
-            }
-        };
-        WordPress.getRestClientUtilsV1_1().post(path, listener, errorListener);
+        ActionType actionType = isAskingToFollow ? ActionType.FOLLOW_BLOG : ActionType.UNFOLLOW_BLOG;
+        ReaderActionQueue.enqueue(ReaderQueuedAction.forBlog(actionType, blogId), actionListener);
 
         return true;
     }
 
-    private static void internalUnfollowBlogByUrl(long blogId,
-                                                  final ActionListener actionListener) {
+    static void internalUnfollowBlogByUrl(long blogId,
+                                          final ActionListener actionListener) {
         String blogUrl = ReaderBlogTable.getBlogUrl(blogId);
         if (TextUtils.isEmpty(blogUrl)) {
             AppLog.w(T.READER, "URL not found for blogId " + blogId);
@@ -198,34 +164,8 @@ public class ReaderBlogActions {
             AnalyticsTracker.track(AnalyticsTracker.Stat.READER_BLOG_UNFOLLOWED);
         }
 
-        final String actionName = (isAskingToFollow ? "follow" : "unfollow");
-        final String path = "read/following/mine/"
-                            + (isAskingToFollow ? "new?source=android&url=" : "delete?url=")
-                            + UrlUtils.urlEncode(feedUrl);
-
-        com.wordpress.rest.RestRequest.Listener listener = new RestRequest.Listener() {
-            @Override
-            public void onResponse(JSONObject jsonObject) {
-                boolean success = isFollowActionSuccessful(jsonObject, isAskingToFollow);
-                if (success) {
-                    AppLog.d(T.READER, "feed " + actionName + " succeeded");
-                } else {
-                    AppLog.w(T.READER, "feed " + actionName + " failed - " + jsonToString(jsonObject) + " - " + path);
-                    localRevertFollowFeedId(feedId, isAskingToFollow);
-                }
-                ReaderActions.callActionListener(actionListener, success);
-            }
-        };
-        RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
-            @Override
-            public void onErrorResponse(VolleyError volleyError) {
-                AppLog.w(T.READER, "feed " + actionName + " failed with error");
-                AppLog.e(T.READER, volleyError);
-                localRevertFollowFeedId(feedId, isAskingToFollow);
-                ReaderActions.callActionListener(actionListener, false);
-            }
-        };
-        WordPress.getRestClientUtilsV1_1().post(path, listener, errorListener);
+        ActionType actionType = isAskingToFollow ? ActionType.FOLLOW_FEED : ActionType.UNFOLLOW_FEED;
+        ReaderActionQueue.enqueue(ReaderQueuedAction.forFeed(actionType, feedId, feedUrl), actionListener);
 
         return true;
     }
@@ -251,12 +191,12 @@ public class ReaderBlogActions {
     /*
      * called when a follow/unfollow fails, restores local data to previous state
      */
-    private static void localRevertFollowBlogId(long blogId, boolean isAskingToFollow) {
+    static void localRevertFollowBlogId(long blogId, boolean isAskingToFollow) {
         ReaderBlogTable.setIsFollowedBlogId(blogId, !isAskingToFollow);
         ReaderPostTable.setFollowStatusForPostsInBlog(blogId, !isAskingToFollow);
     }
 
-    private static void localRevertFollowFeedId(long feedId, boolean isAskingToFollow) {
+    static void localRevertFollowFeedId(long feedId, boolean isAskingToFollow) {
         ReaderBlogTable.setIsFollowedFeedId(feedId, !isAskingToFollow);
         ReaderPostTable.setFollowStatusForPostsInFeed(feedId, !isAskingToFollow);
     }
@@ -268,7 +208,7 @@ public class ReaderBlogActions {
      * site/$site/follows/new
      * site/$site/follows/mine/delete
      */
-    private static boolean isFollowActionSuccessful(JSONObject json, boolean isAskingToFollow) {
+    static boolean isFollowActionSuccessful(JSONObject json, boolean isAskingToFollow) {
         if (json == null) {
             return false;
         }
@@ -438,27 +378,19 @@ public class ReaderBlogActions {
         ReaderPostTable.deletePostsInBlog(blogId);
         ReaderBlogTable.setIsFollowedBlogId(blogId, false);
 
-        com.wordpress.rest.RestRequest.Listener listener = new RestRequest.Listener() {
+        // restores the posts deleted by the block if the server rejects it
+        Runnable rollback = new Runnable() {
             @Override
-            public void onResponse(JSONObject jsonObject) {
-                ReaderActions.callActionListener(actionListener, true);
-            }
-        };
-        RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
-            @Override
-            public void onErrorResponse(VolleyError volleyError) {
-                AppLog.e(T.READER, volleyError);
+            public void run() {
                 ReaderPostTable.addOrUpdatePosts(null, blockResult.deletedPosts);
                 if (blockResult.wasFollowing) {
                     ReaderBlogTable.setIsFollowedBlogId(blogId, true);
                 }
-                ReaderActions.callActionListener(actionListener, false);
             }
         };
 
         AppLog.i(T.READER, "blocking blog " + blogId);
-        String path = "me/block/sites/" + Long.toString(blogId) + "/new";
-        WordPress.getRestClientUtilsV1_1().post(path, listener, errorListener);
+        ReaderActionQueue.enqueue(ReaderQueuedAction.forBlog(ActionType.BLOCK_BLOG, blogId), rollback, actionListener);
 
         return blockResult;
     }
@@ -471,6 +403,14 @@ public class ReaderBlogActions {
             ReaderPostTable.addOrUpdatePosts(null, blockResult.deletedPosts);
         }
 
+        // nothing to undo on the server if the block hasn't been sent yet
+        if (ReaderActionQueue.cancel(ReaderQueuedAction.forBlog(ActionType.BLOCK_BLOG, blockResult.blogId))) {
+            if (blockResult.wasFollowing) {
+                ReaderBlogTable.setIsFollowedBlogId(blockResult.blogId, true);
+            }
+            return;
+        }
+
         com.wordpress.rest.RestRequest.Listener listener = new RestRequest.Listener() {
             @Override
             public void onResponse(JSONObject jsonObject) {
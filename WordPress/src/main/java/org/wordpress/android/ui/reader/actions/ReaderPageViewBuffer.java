@@ -0,0 +1,263 @@
+package org.wordpress.android.ui.reader.actions;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import com.android.volley.AuthFailureError;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.StringRequest;
+
+import org.wordpress.android.WordPress;
+import org.wordpress.android.datasets.ReaderPageViewTable;
+import org.wordpress.android.datasets.ReaderPageViewTable.PageView;
+import org.wordpress.android.datasets.ReaderPostTable;
+import org.wordpress.android.fluxc.model.SiteModel;
+import org.wordpress.android.fluxc.store.SiteStore;
+import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.networking.ConnectionChangeReceiver;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+import org.wordpress.android.util.NetworkUtils;
+import org.wordpress.android.util.UrlUtils;
+import org.wordpress.android.util.VolleyUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Buffers reader page views on disk and sends them to the stats pixel in small groups at low priority
+ * once the reader has gone quiet, rather than firing a pixel request for every post the moment it's
+ * viewed. Page views that can't be sent because we're offline are sent when connectivity returns.
+ */
+public class ReaderPageViewBuffer {
+    private static final String TRACKING_REFERRER = "https://wordpress.com/";
+    private static final Random RANDOM = new Random();
+
+    // page views are sent once no new ones have been added for this long...
+    private static final long IDLE_DELAY_MS = 10 * 1000;
+    // ...or once the oldest unsent one is this old, so steady reading doesn't hold them back forever
+    private static final long MAX_DELAY_MS = 2 * 60 * 1000;
+    private static final int SEND_BATCH_SIZE = 10;
+
+    // database access happens on this thread so callers (usually the main thread) aren't blocked by it
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor();
+    private static final Handler HANDLER = new Handler(Looper.getMainLooper());
+
+    private static ReaderPageViewBuffer sInstance;
+
+    // these are only accessed on the main thread
+    private static boolean sIsSending;
+    private static long sFirstPendingTime;
+    private static int sNumPendingInBatch;
+    private static boolean sHadRetryFailure;
+    private static final List<Long> SENT_IDS = new ArrayList<>();
+
+    private static final Runnable FLUSH_RUNNABLE = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    /*
+     * starts listening for connectivity changes and sends any page views left from last time
+     */
+    public static void init() {
+        if (sInstance == null) {
+            sInstance = new ReaderPageViewBuffer();
+            ConnectionChangeReceiver.getEventBus().register(sInstance);
+        }
+        flush();
+    }
+
+    @SuppressWarnings("unused")
+    public void onEventMainThread(ConnectionChangeReceiver.ConnectionChangeEvent event) {
+        if (event.isConnected()) {
+            flush();
+        }
+    }
+
+    public static void addPageView(final SiteStore siteStore, final long blogId, final long postId) {
+        EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                addPageViewInBackground(siteStore, ReaderPostTable.getBlogPost(blogId, postId, true));
+            }
+        });
+    }
+
+    public static void addPageView(final SiteStore siteStore, final ReaderPost post) {
+        if (post == null) {
+            return;
+        }
+        EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                addPageViewInBackground(siteStore, post);
+            }
+        });
+    }
+
+    private static void addPageViewInBackground(SiteStore siteStore, ReaderPost post) {
+        if (post == null) {
+            return;
+        }
+
+        // don't bump stats for posts in sites the current user is an admin of, unless
+        // this is a private post since we count views for private posts from owner or member
+        SiteModel site = siteStore.getSiteBySiteId(post.blogId);
+        // site will be null here if the user is not the owner or a member of the site
+        if (site != null && !post.isPrivate) {
+            AppLog.d(T.READER, "skipped bump page view - user is admin");
+            return;
+        }
+
+        ReaderPageViewTable.addPageView(post.blogId, post.postId, UrlUtils.getHost(post.getBlogUrl()));
+        HANDLER.post(new Runnable() {
+            @Override
+            public void run() {
+                scheduleFlush();
+            }
+        });
+    }
+
+    /*
+     * pushes the flush back until the reader is idle, unless a page view has already waited too long
+     */
+    private static void scheduleFlush() {
+        long now = SystemClock.elapsedRealtime();
+        if (sFirstPendingTime == 0) {
+            sFirstPendingTime = now;
+        }
+        long delay = Math.min(IDLE_DELAY_MS, Math.max(0, sFirstPendingTime + MAX_DELAY_MS - now));
+        HANDLER.removeCallbacks(FLUSH_RUNNABLE);
+        HANDLER.postDelayed(FLUSH_RUNNABLE, delay);
+    }
+
+    private static void flush() {
+        HANDLER.removeCallbacks(FLUSH_RUNNABLE);
+        if (sIsSending || !NetworkUtils.isNetworkAvailable(WordPress.getContext())) {
+            return;
+        }
+
+        sIsSending = true;
+        sFirstPendingTime = 0;
+        EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                final List<PageView> pageViews = ReaderPageViewTable.getOldestPageViews(SEND_BATCH_SIZE);
+                HANDLER.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        sendPageViews(pageViews);
+                    }
+                });
+            }
+        });
+    }
+
+    private static void sendPageViews(List<PageView> pageViews) {
+        if (pageViews.isEmpty()) {
+            sIsSending = false;
+            return;
+        }
+
+        AppLog.d(T.READER, "sending " + pageViews.size() + " page views");
+        sNumPendingInBatch = pageViews.size();
+        sHadRetryFailure = false;
+        SENT_IDS.clear();
+        for (PageView pageView : pageViews) {
+            sendPageView(pageView);
+        }
+    }
+
+    private static void onPageViewSent(PageView pageView, boolean shouldRetry) {
+        if (shouldRetry) {
+            sHadRetryFailure = true;
+        } else {
+            SENT_IDS.add(pageView.id);
+        }
+        if (--sNumPendingInBatch > 0) {
+            return;
+        }
+
+        final List<Long> sentIds = new ArrayList<>(SENT_IDS);
+        final boolean hadRetryFailure = sHadRetryFailure;
+        EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                ReaderPageViewTable.deletePageViews(sentIds);
+                HANDLER.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        sIsSending = false;
+                        // page views that didn't make it wait for the next connectivity change
+                        if (!hadRetryFailure) {
+                            flush();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private static String getTrackingPixel(PageView pageView) {
+        return "https://pixel.wp.com/g.gif?v=wpcom&reader=1"
+               + "&blog=" + pageView.blogId
+               + "&post=" + pageView.postId
+               + "&host=" + UrlUtils.urlEncode(pageView.host)
+               + "&ref=" + UrlUtils.urlEncode(TRACKING_REFERRER)
+               + "&t=" + RANDOM.nextInt();
+    }
+
+    private static void sendPageView(final PageView pageView) {
+        Response.Listener<String> listener = new Response.Listener<String>() {
+            @Override
+            public void onResponse(String response) {
+                AppLog.d(T.READER, "bump page view succeeded");
+                onPageViewSent(pageView, false);
+            }
+        };
+        Response.ErrorListener errorListener = new Response.ErrorListener() {
+            @Override
+            public void onErrorResponse(VolleyError volleyError) {
+                AppLog.e(T.READER, volleyError);
+                AppLog.w(T.READER, "bump page view failed");
+                // keep page views that didn't reach the server, drop ones it rejected
+                int status = VolleyUtils.statusCodeFromVolleyError(volleyError);
+                onPageViewSent(pageView, status == 0 || status >= 500);
+            }
+        };
+
+        Request request = new StringRequest(
+                Request.Method.GET,
+                getTrackingPixel(pageView),
+                listener,
+                errorListener) {
+            @Override
+            public Map<String, String> getHeaders() throws AuthFailureError {
+                // call will fail without correct refer(r) er
+                Map<String, String> headers = new HashMap<>();
+                headers.put("Referer", TRACKING_REFERRER);
+                return headers;
+            }
+
+            @Override
+            public Priority getPriority() {
+                // page views can wait for anything the user is waiting on
+                return Priority.LOW;
+            }
+        };
+        request.setShouldCache(false);
+
+        WordPress.sRequestQueue.add(request);
+    }
+}
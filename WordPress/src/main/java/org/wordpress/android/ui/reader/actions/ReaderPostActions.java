@@ -1,14 +1,8 @@
 package org.wordpress.android.ui.reader.actions;
 
 import android.os.Handler;
-import android.support.annotation.NonNull;
-import android.text.TextUtils;
 
-import com.android.volley.AuthFailureError;
-import com.android.volley.Request;
-import com.android.volley.Response;
 import com.android.volley.VolleyError;
-import com.android.volley.toolbox.StringRequest;
 import com.wordpress.rest.RestRequest;
 
 import org.json.JSONArray;
@@ -17,9 +11,10 @@ import org.wordpress.android.WordPress;
 import org.wordpress.android.datasets.ReaderLikeTable;
 import org.wordpress.android.datasets.ReaderPostTable;
 import org.wordpress.android.datasets.ReaderUserTable;
-import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.store.SiteStore;
 import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.models.ReaderQueuedAction;
+import org.wordpress.android.models.ReaderQueuedAction.ActionType;
 import org.wordpress.android.models.ReaderUserIdList;
 import org.wordpress.android.models.ReaderUserList;
 import org.wordpress.android.networking.RestClientUtils;
@@ -31,19 +26,11 @@ import org.wordpress.android.ui.reader.models.ReaderSimplePostList;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.wordpress.android.util.JSONUtils;
-import org.wordpress.android.util.UrlUtils;
 import org.wordpress.android.util.VolleyUtils;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Random;
-
 import de.greenrobot.event.EventBus;
 
 public class ReaderPostActions {
-    private static final String TRACKING_REFERRER = "https://wordpress.com/";
-    private static final Random RANDOM = new Random();
-
     private static final int NUM_RELATED_POSTS_TO_REQUEST = 2;
 
     private ReaderPostActions() {
@@ -72,37 +59,9 @@ public class ReaderPostActions {
         ReaderPostTable.setLikesForPost(post, newNumLikes, isAskingToLike);
         ReaderLikeTable.setCurrentUserLikesPost(post, isAskingToLike, wpComUserId);
 
-        final String actionName = isAskingToLike ? "like" : "unlike";
-        String path = "sites/" + post.blogId + "/posts/" + post.postId + "/likes/";
-        if (isAskingToLike) {
-            path += "new";
-        } else {
-            path += "mine/delete";
-        }
-
-        com.wordpress.rest.RestRequest.Listener listener = new RestRequest.Listener() {
-            @Override
-            public void onResponse(JSONObject jsonObject) {
-                AppLog.d(T.READER, String.format("post %s succeeded", actionName));
-            }
-        };
-
-        RestRequest.ErrorListener errorListener = new RestRequest.ErrorListener() {
-            @Override
-            public void onErrorResponse(VolleyError volleyError) {
-                String error = VolleyUtils.errStringFromVolleyError(volleyError);
-                if (TextUtils.isEmpty(error)) {
-                    AppLog.w(T.READER, String.format("post %s failed", actionName));
-                } else {
-                    AppLog.w(T.READER, String.format("post %s failed (%s)", actionName, error));
-                }
-                AppLog.e(T.READER, volleyError);
-                ReaderPostTable.setLikesForPost(post, post.numLikes, post.isLikedByCurrentUser);
-                ReaderLikeTable.setCurrentUserLikesPost(post, post.isLikedByCurrentUser, wpComUserId);
-            }
-        };
-
-        WordPress.getRestClientUtilsV1_1().post(path, listener, errorListener);
+        // the like is sent by the action queue, which rolls back the local change if the server rejects it
+        ActionType actionType = isAskingToLike ? ActionType.LIKE_POST : ActionType.UNLIKE_POST;
+        ReaderActionQueue.enqueue(ReaderQueuedAction.forPost(actionType, post, wpComUserId), null);
         return true;
     }
 
@@ -292,62 +251,15 @@ public class ReaderPostActions {
         restClientUtils.get(path, null, null, listener, errorListener);
     }
 
-    private static String getTrackingPixelForPost(@NonNull ReaderPost post) {
-        return "https://pixel.wp.com/g.gif?v=wpcom&reader=1"
-               + "&blog=" + post.blogId
-               + "&post=" + post.postId
-               + "&host=" + UrlUtils.urlEncode(UrlUtils.getHost(post.getBlogUrl()))
-               + "&ref=" + UrlUtils.urlEncode(TRACKING_REFERRER)
-               + "&t=" + RANDOM.nextInt();
-    }
-
+    /*
+     * page views are buffered and sent in the background, so these can be called from the main thread
+     */
     public static void bumpPageViewForPost(SiteStore siteStore, long blogId, long postId) {
-        bumpPageViewForPost(siteStore, ReaderPostTable.getBlogPost(blogId, postId, true));
+        ReaderPageViewBuffer.addPageView(siteStore, blogId, postId);
     }
 
     public static void bumpPageViewForPost(SiteStore siteStore, ReaderPost post) {
-        if (post == null) {
-            return;
-        }
-
-        // don't bump stats for posts in sites the current user is an admin of, unless
-        // this is a private post since we count views for private posts from owner or member
-        SiteModel site = siteStore.getSiteBySiteId(post.blogId);
-        // site will be null here if the user is not the owner or a member of the site
-        if (site != null && !post.isPrivate) {
-            AppLog.d(T.READER, "skipped bump page view - user is admin");
-            return;
-        }
-
-        Response.Listener<String> listener = new Response.Listener<String>() {
-            @Override
-            public void onResponse(String response) {
-                AppLog.d(T.READER, "bump page view succeeded");
-            }
-        };
-        Response.ErrorListener errorListener = new Response.ErrorListener() {
-            @Override
-            public void onErrorResponse(VolleyError volleyError) {
-                AppLog.e(T.READER, volleyError);
-                AppLog.w(T.READER, "bump page view failed");
-            }
-        };
-
-        Request request = new StringRequest(
-                Request.Method.GET,
-                getTrackingPixelForPost(post),
-                listener,
-                errorListener) {
-            @Override
-            public Map<String, String> getHeaders() throws AuthFailureError {
-                // call will fail without correct refer(r) er
-                Map<String, String> headers = new HashMap<>();
-                headers.put("Referer", TRACKING_REFERRER);
-                return headers;
-            }
-        };
-
-        WordPress.sRequestQueue.add(request);
+        ReaderPageViewBuffer.addPageView(siteStore, post);
     }
 
     /*
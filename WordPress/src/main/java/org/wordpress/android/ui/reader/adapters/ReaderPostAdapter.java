@@ -44,6 +44,7 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.DateTimeUtils;
 import org.wordpress.android.util.DisplayUtils;
 import org.wordpress.android.util.GravatarUtils;
+import org.wordpress.android.util.ImagePrefetcher;
 import org.wordpress.android.util.NetworkUtils;
 import org.wordpress.android.util.ToastUtils;
 import org.wordpress.android.widgets.WPNetworkImageView;
@@ -60,6 +61,9 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
 
     private final int mPhotonWidth;
     private final int mPhotonHeight;
+    // scale type of the featured image views, taken from the first one inflated - prefetched images are
+    // only found in the bitmap cache when they're requested with the same scale type as the view
+    private ImageView.ScaleType mFeaturedImageScaleType;
     private final int mAvatarSzMedium;
     private final int mAvatarSzSmall;
     private final int mMarginLarge;
@@ -69,8 +73,13 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
 
     private final ReaderTypes.ReaderPostListType mPostListType;
     private final ReaderPostList mPosts = new ReaderPostList();
+    // cached posts matching the current search that arrived while posts were being loaded
+    private ReaderPostList mPendingLocalSearchResults;
     private final HashSet<String> mRenderedIds = new HashSet<>();
 
+    private final ImagePrefetcher mImagePrefetcher;
+    private final ImagePrefetcher.VolleyImagePrefetcher mVolleyPrefetcher = new ImagePrefetcher.VolleyImagePrefetcher();
+
     private ReaderInterfaces.OnPostSelectedListener mPostSelectedListener;
     private ReaderInterfaces.OnPostPopupListener mOnPostPopupListener;
     private ReaderInterfaces.DataLoadedListener mDataLoadedListener;
@@ -303,7 +312,11 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
 
             default:
                 View postView = LayoutInflater.from(context).inflate(R.layout.reader_cardview_post, parent, false);
-                return new ReaderPostViewHolder(postView);
+                ReaderPostViewHolder postHolder = new ReaderPostViewHolder(postView);
+                if (mFeaturedImageScaleType == null) {
+                    mFeaturedImageScaleType = postHolder.mImgFeatured.getScaleType();
+                }
+                return postHolder;
         }
     }
 
@@ -608,9 +621,61 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         mPhotonWidth = displayWidth - (cardMargin * 2);
         mPhotonHeight = context.getResources().getDimensionPixelSize(R.dimen.reader_featured_image_height_cardview);
 
+        mImagePrefetcher = new ImagePrefetcher(new ImagePrefetcher.PrefetchHandler() {
+            @Override
+            public void prefetchItem(int position) {
+                String imageUrl = getFeaturedImageUrlForPrefetch(position);
+                if (imageUrl != null && mFeaturedImageScaleType != null) {
+                    mVolleyPrefetcher.prefetch(position, imageUrl, mPhotonWidth, mPhotonHeight,
+                                               mFeaturedImageScaleType);
+                }
+            }
+
+            @Override
+            public void cancelPrefetchItem(int position) {
+                mVolleyPrefetcher.cancel(position);
+            }
+        });
+
         setHasStableIds(true);
     }
 
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mImagePrefetcher.attach(recyclerView);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        mImagePrefetcher.detach(recyclerView);
+        mVolleyPrefetcher.cancelAll();
+    }
+
+    /*
+     * returns the Photon-sized featured image url that will be shown for the post at the passed position,
+     * or null if it won't show one
+     */
+    private String getFeaturedImageUrlForPrefetch(int position) {
+        if (position < 0 || position >= getItemCount() || getItemViewType(position) != VIEW_TYPE_POST) {
+            return null;
+        }
+        ReaderPost post = getItem(position);
+        if (post == null) {
+            return null;
+        }
+        switch (post.getCardType()) {
+            case PHOTO:
+                return post.getFeaturedImageForDisplay(mPhotonWidth, mPhotonHeight);
+            case GALLERY:
+            case VIDEO:
+                return null;
+            default:
+                return post.hasFeaturedImage() ? post.getFeaturedImageForDisplay(mPhotonWidth, mPhotonHeight) : null;
+        }
+    }
+
     private boolean hasCustomFirstItem() {
         return hasSiteHeader() || hasTagHeader();
     }
@@ -656,6 +721,7 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         if (!ReaderTag.isSameTag(tag, mCurrentTag)) {
             mCurrentTag = tag;
             mRenderedIds.clear();
+            mPendingLocalSearchResults = null;
             reload();
         }
     }
@@ -693,6 +759,30 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         loadPosts();
     }
 
+    /*
+     * shows the passed cached posts while a search is in progress - they're not stored with the search
+     * results, so they're only shown when the search has no results yet and are replaced when the
+     * server's results are loaded
+     */
+    public void showLocalSearchResults(ReaderPostList posts) {
+        if (mIsTaskRunning) {
+            mPendingLocalSearchResults = posts;
+            return;
+        }
+        if (!mPosts.isEmpty()) {
+            return;
+        }
+        // the list isn't backed by stored results yet, so there's nothing to request more of
+        mCanRequestMorePosts = false;
+        mGapMarkerPosition = -1;
+        mPosts.addAll(posts);
+        notifyDataSetChanged();
+
+        if (mDataLoadedListener != null) {
+            mDataLoadedListener.onDataLoaded(isEmpty());
+        }
+    }
+
     public void removePostsInBlog(long blogId) {
         int numRemoved = 0;
         ReaderPostList postsInBlog = mPosts.getPostsInBlog(blogId);
@@ -998,6 +1088,9 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
         @Override
         protected void onPostExecute(Boolean result) {
             if (result) {
+                // positions are about to change so any pending prefetches are no longer valid
+                mImagePrefetcher.cancelAll();
+                mVolleyPrefetcher.cancelAll();
                 mPosts.clear();
                 mPosts.addAll(mAllPosts);
                 notifyDataSetChanged();
@@ -1008,6 +1101,12 @@ public class ReaderPostAdapter extends RecyclerView.Adapter<RecyclerView.ViewHol
             }
 
             mIsTaskRunning = false;
+
+            if (mPendingLocalSearchResults != null) {
+                ReaderPostList localResults = mPendingLocalSearchResults;
+                mPendingLocalSearchResults = null;
+                showLocalSearchResults(localResults);
+            }
         }
     }
 }
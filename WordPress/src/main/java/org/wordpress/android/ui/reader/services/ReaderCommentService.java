@@ -18,6 +18,7 @@ import org.wordpress.android.datasets.ReaderUserTable;
 import org.wordpress.android.models.ReaderComment;
 import org.wordpress.android.models.ReaderCommentList;
 import org.wordpress.android.models.ReaderUserList;
+import org.wordpress.android.networking.RestClientUtils.RequestPriority;
 import org.wordpress.android.ui.reader.ReaderConstants;
 import org.wordpress.android.ui.reader.ReaderEvents;
 import org.wordpress.android.ui.reader.actions.ReaderActions;
@@ -107,7 +108,8 @@ public class ReaderCommentService extends Service {
             mCurrentPage = 1;
         }
 
-        updateCommentsForPost(blogId, postId, mCurrentPage, new UpdateResultListener() {
+        updateCommentsForPost(blogId, postId, mCurrentPage, RequestPriority.USER_VISIBLE,
+                              new UpdateResultListener() {
             @Override
             public void onUpdateResult(UpdateResult result) {
                 if (commentId > 0) {
@@ -117,7 +119,7 @@ public class ReaderCommentService extends Service {
                     } else {
                         // Comment not found yet, request the next page
                         mCurrentPage++;
-                        updateCommentsForPost(blogId, postId, mCurrentPage, this);
+                        updateCommentsForPost(blogId, postId, mCurrentPage, RequestPriority.USER_VISIBLE, this);
                     }
                 } else {
                     EventBus.getDefault().post(new ReaderEvents.UpdateCommentsEnded(result));
@@ -132,6 +134,7 @@ public class ReaderCommentService extends Service {
     private static void updateCommentsForPost(final long blogId,
                                               final long postId,
                                               final int pageNumber,
+                                              final RequestPriority priority,
                                               final ReaderActions.UpdateResultListener resultListener) {
         String path = "sites/" + blogId + "/posts/" + postId + "/replies/"
                       + "?number=" + Integer.toString(ReaderConstants.READER_MAX_COMMENTS_TO_REQUEST)
@@ -155,7 +158,7 @@ public class ReaderCommentService extends Service {
             }
         };
         AppLog.d(AppLog.T.READER, "updating comments");
-        WordPress.getRestClientUtilsV1_1().get(path, null, null, listener, errorListener);
+        WordPress.getRestClientUtilsV1_1().get(path, null, null, priority, listener, errorListener);
     }
 
     private static void handleUpdateCommentsResponse(final JSONObject jsonObject,
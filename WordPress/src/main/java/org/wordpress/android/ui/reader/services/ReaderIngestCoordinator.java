@@ -0,0 +1,181 @@
+package org.wordpress.android.ui.reader.services;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteTransactionListener;
+import android.os.SystemClock;
+
+import org.wordpress.android.datasets.ReaderDatabase;
+import org.wordpress.android.util.AppLog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import de.greenrobot.event.EventBus;
+
+/**
+ * Ingests reader responses by parsing them in parallel and funneling all database writes through a
+ * single writer thread, so the responses don't contend with each other for the SQLite writer. Each
+ * task is written in its own transaction so a failed write can't roll back (or partially commit) the
+ * writes of other tasks, and the events a task produces are posted once its transaction has committed.
+ */
+class ReaderIngestCoordinator {
+    private static final int NUM_PARSE_THREADS = 3;
+
+    private static final ExecutorService PARSE_EXECUTOR = Executors.newFixedThreadPool(NUM_PARSE_THREADS);
+    private static final ExecutorService WRITE_EXECUTOR = Executors.newSingleThreadExecutor();
+    private static final LinkedBlockingQueue<ParsedTask<?>> WRITE_QUEUE = new LinkedBlockingQueue<>();
+
+    /**
+     * A unit of work to ingest - parse() runs on the parse pool and must not write to the database,
+     * write() runs on the writer thread inside its own transaction, onCommitted() runs on the writer
+     * thread only if that transaction committed - which it doesn't if a nested transaction inside write()
+     * failed - and onCompleted() runs on the writer thread after the transaction has ended whether or
+     * not it committed.
+     */
+    abstract static class IngestTask<T> {
+        private final String mName;
+
+        IngestTask(String name) {
+            mName = name;
+        }
+
+        abstract T parse();
+
+        /*
+         * writes the parsed response, events added to the passed list are posted after the commit
+         */
+        abstract void write(T parsed, List<Object> events);
+
+        void onCommitted() {
+        }
+
+        void onCompleted() {
+        }
+    }
+
+    private static class ParsedTask<T> {
+        private final IngestTask<T> mTask;
+        private final T mParsed;
+        private final long mParseTime;
+        private long mWriteTime;
+        private final List<Object> mEvents = new ArrayList<>();
+
+        ParsedTask(IngestTask<T> task, T parsed, long parseTime) {
+            mTask = task;
+            mParsed = parsed;
+            mParseTime = parseTime;
+        }
+
+        void write() {
+            long startTime = SystemClock.elapsedRealtime();
+            mTask.write(mParsed, mEvents);
+            mWriteTime = SystemClock.elapsedRealtime() - startTime;
+        }
+    }
+
+    /**
+     * Tells whether a task's transaction actually committed - a nested transaction the task's write
+     * ended without marking it successful rolls back the whole transaction when it ends, even though
+     * the task itself marked it successful and didn't throw
+     */
+    private static class CommitListener implements SQLiteTransactionListener {
+        private boolean mIsCommitted;
+
+        @Override
+        public void onBegin() {
+        }
+
+        @Override
+        public void onCommit() {
+            mIsCommitted = true;
+        }
+
+        @Override
+        public void onRollback() {
+            mIsCommitted = false;
+        }
+    }
+
+    private ReaderIngestCoordinator() {
+        throw new AssertionError();
+    }
+
+    static <T> void submit(final IngestTask<T> task) {
+        PARSE_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                long startTime = SystemClock.elapsedRealtime();
+                T parsed = null;
+                try {
+                    parsed = task.parse();
+                } catch (RuntimeException e) {
+                    AppLog.e(AppLog.T.READER, "reader ingest > failed to parse " + task.mName, e);
+                }
+                long parseTime = SystemClock.elapsedRealtime() - startTime;
+
+                if (parsed == null) {
+                    task.onCompleted();
+                    return;
+                }
+
+                WRITE_QUEUE.add(new ParsedTask<>(task, parsed, parseTime));
+                WRITE_EXECUTOR.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        writePendingTasks();
+                    }
+                });
+            }
+        });
+    }
+
+    /*
+     * runs on the writer thread - writes every task that's been parsed so far, returns without doing
+     * anything if an earlier call has already written them
+     */
+    private static void writePendingTasks() {
+        List<ParsedTask<?>> batch = new ArrayList<>();
+        WRITE_QUEUE.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long startTime = SystemClock.elapsedRealtime();
+        SQLiteDatabase db = ReaderDatabase.getWritableDb();
+        for (ParsedTask<?> parsedTask : batch) {
+            CommitListener commitListener = new CommitListener();
+            boolean isWritten = false;
+            db.beginTransactionWithListener(commitListener);
+            try {
+                parsedTask.write();
+                db.setTransactionSuccessful();
+                isWritten = true;
+            } catch (RuntimeException e) {
+                AppLog.e(AppLog.T.READER, "reader ingest > failed to write " + parsedTask.mTask.mName, e);
+            } finally {
+                db.endTransaction();
+            }
+
+            boolean isCommitted = commitListener.mIsCommitted;
+            if (isWritten && !isCommitted) {
+                AppLog.e(AppLog.T.READER, "reader ingest > " + parsedTask.mTask.mName
+                                          + " rolled back by a failed nested transaction");
+            }
+            if (isCommitted) {
+                parsedTask.mTask.onCommitted();
+                for (Object event : parsedTask.mEvents) {
+                    EventBus.getDefault().post(event);
+                }
+                AppLog.d(AppLog.T.READER, "reader ingest > " + parsedTask.mTask.mName
+                                          + " parsed in " + parsedTask.mParseTime + "ms,"
+                                          + " written in " + parsedTask.mWriteTime + "ms");
+            }
+            parsedTask.mTask.onCompleted();
+        }
+        AppLog.d(AppLog.T.READER, "reader ingest > wrote batch of " + batch.size()
+                                  + " tasks in " + (SystemClock.elapsedRealtime() - startTime) + "ms");
+    }
+}
@@ -17,6 +17,7 @@ import org.wordpress.android.models.ReaderPost;
 import org.wordpress.android.models.ReaderPostList;
 import org.wordpress.android.models.ReaderTag;
 import org.wordpress.android.models.ReaderTagType;
+import org.wordpress.android.networking.RestClientUtils.RequestPriority;
 import org.wordpress.android.ui.reader.ReaderConstants;
 import org.wordpress.android.ui.reader.ReaderEvents;
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResult;
@@ -126,6 +127,7 @@ public class ReaderPostService extends Service {
         requestPostsWithTag(
                 tag,
                 action,
+                RequestPriority.USER_VISIBLE,
                 new UpdateResultListener() {
                     @Override
                     public void onUpdateResult(UpdateResult result) {
@@ -143,7 +145,7 @@ public class ReaderPostService extends Service {
                 stopSelf();
             }
         };
-        requestPostsForBlog(blogId, action, listener);
+        requestPostsForBlog(blogId, action, RequestPriority.USER_VISIBLE, listener);
     }
 
     private void updatePostsInFeed(long feedId, final UpdateAction action) {
@@ -154,12 +156,13 @@ public class ReaderPostService extends Service {
                 stopSelf();
             }
         };
-        requestPostsForFeed(feedId, action, listener);
+        requestPostsForFeed(feedId, action, RequestPriority.USER_VISIBLE, listener);
     }
 
-    private static void requestPostsWithTag(final ReaderTag tag,
-                                            final UpdateAction updateAction,
-                                            final UpdateResultListener resultListener) {
+    static void requestPostsWithTag(final ReaderTag tag,
+                                    final UpdateAction updateAction,
+                                    final RequestPriority priority,
+                                    final UpdateResultListener resultListener) {
         String path = getRelativeEndpointForTag(tag);
         if (TextUtils.isEmpty(path)) {
             resultListener.onUpdateResult(UpdateResult.FAILED);
@@ -212,12 +215,13 @@ public class ReaderPostService extends Service {
             }
         };
 
-        WordPress.getRestClientUtilsV1_2().get(sb.toString(), null, null, listener, errorListener);
+        WordPress.getRestClientUtilsV1_2().get(sb.toString(), null, null, priority, listener, errorListener);
     }
 
-    private static void requestPostsForBlog(final long blogId,
-                                            final UpdateAction updateAction,
-                                            final UpdateResultListener resultListener) {
+    static void requestPostsForBlog(final long blogId,
+                                    final UpdateAction updateAction,
+                                    final RequestPriority priority,
+                                    final UpdateResultListener resultListener) {
         String path = "read/sites/" + blogId + "/posts/?meta=site,likes";
 
         // append the date of the oldest cached post in this blog when requesting older posts
@@ -242,12 +246,13 @@ public class ReaderPostService extends Service {
             }
         };
         AppLog.d(AppLog.T.READER, "updating posts in blog " + blogId);
-        WordPress.getRestClientUtilsV1_2().get(path, null, null, listener, errorListener);
+        WordPress.getRestClientUtilsV1_2().get(path, null, null, priority, listener, errorListener);
     }
 
-    private static void requestPostsForFeed(final long feedId,
-                                            final UpdateAction updateAction,
-                                            final UpdateResultListener resultListener) {
+    static void requestPostsForFeed(final long feedId,
+                                    final UpdateAction updateAction,
+                                    final RequestPriority priority,
+                                    final UpdateResultListener resultListener) {
         String path = "read/feed/" + feedId + "/posts/?meta=site,likes";
         if (updateAction == UpdateAction.REQUEST_OLDER) {
             String dateOldest = ReaderPostTable.getOldestPubDateInFeed(feedId);
@@ -271,7 +276,7 @@ public class ReaderPostService extends Service {
         };
 
         AppLog.d(AppLog.T.READER, "updating posts in feed " + feedId);
-        WordPress.getRestClientUtilsV1_2().get(path, null, null, listener, errorListener);
+        WordPress.getRestClientUtilsV1_2().get(path, null, null, priority, listener, errorListener);
     }
 
     /*
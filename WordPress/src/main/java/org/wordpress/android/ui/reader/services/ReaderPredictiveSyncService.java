@@ -0,0 +1,357 @@
+package org.wordpress.android.ui.reader.services;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.app.Service;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import android.net.TrafficStats;
+import android.os.BatteryManager;
+import android.os.Handler;
+import android.os.IBinder;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.support.v4.net.ConnectivityManagerCompat;
+import android.widget.ImageView;
+
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.ImageLoader;
+
+import org.wordpress.android.R;
+import org.wordpress.android.WordPress;
+import org.wordpress.android.datasets.ReaderPostTable;
+import org.wordpress.android.datasets.ReaderTagTable;
+import org.wordpress.android.datasets.ReaderUsageTable;
+import org.wordpress.android.models.ReaderBlog;
+import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.models.ReaderPostList;
+import org.wordpress.android.models.ReaderTag;
+import org.wordpress.android.networking.RestClientUtils.RequestPriority;
+import org.wordpress.android.ui.reader.ReaderConstants;
+import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResult;
+import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResultListener;
+import org.wordpress.android.ui.reader.services.ReaderPostService.UpdateAction;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.DisplayUtils;
+
+import java.util.LinkedList;
+
+/**
+ * service which prefetches the newest posts in the tags and blogs the user opens most, along with
+ * their featured images, so they're ready the next time the reader is opened. Scheduled to run a couple
+ * of times a day, but only does anything while the device is charging and on an unmetered network, and
+ * stops once it has used up its byte budget.
+ */
+public class ReaderPredictiveSyncService extends Service {
+    private static final long SYNC_INTERVAL_MS = AlarmManager.INTERVAL_HALF_DAY;
+
+    // used to estimate the bytes used when TrafficStats isn't supported on this device
+    private static final long ESTIMATED_BYTES_PER_REQUEST = 64 * 1024;
+
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final LinkedList<SyncStep> mSteps = new LinkedList<>();
+
+    private boolean mIsSyncing;
+    private long mStartRxBytes;
+    private int mNumRequests;
+    private long mStartTime;
+
+    private int mPhotonWidth;
+    private int mPhotonHeight;
+
+    /*
+     * a single request - its listener must lead to onStepCompleted() on the main thread whether or
+     * not the request succeeded
+     */
+    private abstract class SyncStep {
+        private final String mName;
+
+        SyncStep(String name) {
+            mName = name;
+        }
+
+        abstract void run();
+    }
+
+    /*
+     * schedules the sync to run periodically - does nothing if it's already scheduled, so it's safe
+     * to call each time the app starts
+     */
+    public static void schedule(Context context) {
+        Intent intent = new Intent(context, ReaderPredictiveSyncService.class);
+        if (PendingIntent.getService(context, 0, intent, PendingIntent.FLAG_NO_CREATE) != null) {
+            return;
+        }
+        PendingIntent pendingIntent = PendingIntent.getService(context, 0, intent, 0);
+        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+        // not a wakeup alarm - there's no point waking the device, since the sync only runs while
+        // it's charging and the device is rarely asleep for long then
+        alarmManager.setInexactRepeating(AlarmManager.ELAPSED_REALTIME,
+                                         SystemClock.elapsedRealtime() + SYNC_INTERVAL_MS,
+                                         SYNC_INTERVAL_MS,
+                                         pendingIntent);
+    }
+
+    /*
+     * returns true if the device is charging and connected to an unmetered network
+     */
+    private static boolean canSyncNow(Context context) {
+        Intent batteryStatus = context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        boolean isCharging = batteryStatus != null
+                             && batteryStatus.getIntExtra(BatteryManager.EXTRA_PLUGGED, 0) != 0;
+        if (!isCharging) {
+            return false;
+        }
+
+        ConnectivityManager cm = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        NetworkInfo networkInfo = cm.getActiveNetworkInfo();
+        return networkInfo != null
+               && networkInfo.isConnected()
+               && !ConnectivityManagerCompat.isActiveNetworkMetered(cm);
+    }
+
+    @Override
+    public IBinder onBind(Intent intent) {
+        return null;
+    }
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        AppLog.i(AppLog.T.READER, "reader predictive sync > service created");
+    }
+
+    @Override
+    public void onDestroy() {
+        AppLog.i(AppLog.T.READER, "reader predictive sync > service destroyed");
+        mSteps.clear();
+        super.onDestroy();
+    }
+
+    @Override
+    public int onStartCommand(Intent intent, int flags, int startId) {
+        if (mIsSyncing) {
+            return START_NOT_STICKY;
+        }
+        if (!canSyncNow(this)) {
+            AppLog.i(AppLog.T.READER, "reader predictive sync > skipped, not charging on an unmetered network");
+            stopSelf();
+            return START_NOT_STICKY;
+        }
+
+        mIsSyncing = true;
+        mStartTime = SystemClock.elapsedRealtime();
+        mStartRxBytes = TrafficStats.getUidRxBytes(Process.myUid());
+        mNumRequests = 0;
+
+        int displayWidth = DisplayUtils.getDisplayPixelWidth(this);
+        int cardMargin = getResources().getDimensionPixelSize(R.dimen.reader_card_margin);
+        mPhotonWidth = displayWidth - (cardMargin * 2);
+        mPhotonHeight = getResources().getDimensionPixelSize(R.dimen.reader_featured_image_height_cardview);
+
+        // reading the usage table is quick, but it's still best kept off the main thread
+        new Thread() {
+            @Override
+            public void run() {
+                final LinkedList<SyncStep> steps = buildPostSteps();
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        mSteps.addAll(steps);
+                        runNextStep();
+                    }
+                });
+            }
+        }.start();
+
+        return START_NOT_STICKY;
+    }
+
+    private LinkedList<SyncStep> buildPostSteps() {
+        LinkedList<SyncStep> steps = new LinkedList<>();
+        int maxTags = ReaderConstants.READER_PREDICTIVE_SYNC_MAX_TAGS;
+        for (final ReaderTag tag : ReaderUsageTable.getMostUsedTags(maxTags)) {
+            // skip tags that have been updated recently enough
+            if (!ReaderTagTable.shouldAutoUpdateTag(tag)) {
+                continue;
+            }
+            steps.add(new SyncStep("posts with tag " + tag.getTagSlug()) {
+                @Override
+                void run() {
+                    ReaderPostService.requestPostsWithTag(tag, UpdateAction.REQUEST_NEWER,
+                                                          RequestPriority.BACKGROUND,
+                                                          new PostsResultListener(tag, 0, 0));
+                }
+            });
+        }
+        int maxBlogs = ReaderConstants.READER_PREDICTIVE_SYNC_MAX_BLOGS;
+        for (final ReaderBlog blog : ReaderUsageTable.getMostUsedBlogs(maxBlogs)) {
+            if (blog.blogId != 0) {
+                steps.add(new SyncStep("posts in blog " + blog.blogId) {
+                    @Override
+                    void run() {
+                        ReaderPostService.requestPostsForBlog(blog.blogId, UpdateAction.REQUEST_NEWER,
+                                                              RequestPriority.BACKGROUND,
+                                                              new PostsResultListener(null, blog.blogId, 0));
+                    }
+                });
+            } else {
+                steps.add(new SyncStep("posts in feed " + blog.feedId) {
+                    @Override
+                    void run() {
+                        ReaderPostService.requestPostsForFeed(blog.feedId, UpdateAction.REQUEST_NEWER,
+                                                              RequestPriority.BACKGROUND,
+                                                              new PostsResultListener(null, 0, blog.feedId));
+                    }
+                });
+            }
+        }
+        return steps;
+    }
+
+    /*
+     * once the posts for a tag/blog/feed have been updated, queues the requests for the featured images
+     * of the newest ones ahead of the remaining tags/blogs/feeds, so the budget is spent on fewer
+     * but complete items
+     */
+    private class PostsResultListener implements UpdateResultListener {
+        private final ReaderTag mTag;
+        private final long mBlogId;
+        private final long mFeedId;
+
+        PostsResultListener(ReaderTag tag, long blogId, long feedId) {
+            mTag = tag;
+            mBlogId = blogId;
+            mFeedId = feedId;
+        }
+
+        @Override
+        public void onUpdateResult(UpdateResult result) {
+            // called on a background thread once the posts have been saved
+            final LinkedList<SyncStep> steps = new LinkedList<>();
+            if (result != UpdateResult.FAILED) {
+                steps.addAll(buildDetailSteps(getNewestPosts()));
+            }
+            mHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    mSteps.addAll(0, steps);
+                    onStepCompleted();
+                }
+            });
+        }
+
+        private ReaderPostList getNewestPosts() {
+            int maxPosts = ReaderConstants.READER_PREDICTIVE_SYNC_MAX_IMAGES_PER_ITEM;
+            if (mTag != null) {
+                return ReaderPostTable.getPostsWithTag(mTag, maxPosts, true);
+            } else if (mBlogId != 0) {
+                return ReaderPostTable.getPostsInBlog(mBlogId, maxPosts, true);
+            } else {
+                return ReaderPostTable.getPostsInFeed(mFeedId, maxPosts, true);
+            }
+        }
+    }
+
+    private LinkedList<SyncStep> buildDetailSteps(ReaderPostList posts) {
+        LinkedList<SyncStep> steps = new LinkedList<>();
+        for (ReaderPost post : posts) {
+            if (post.hasFeaturedImage()) {
+                final String imageUrl = post.getFeaturedImageForDisplay(mPhotonWidth, mPhotonHeight);
+                steps.add(new SyncStep("featured image " + imageUrl) {
+                    @Override
+                    void run() {
+                        requestImage(imageUrl);
+                    }
+                });
+            }
+        }
+        return steps;
+    }
+
+    /*
+     * requests the image at the same size and scale type the post list shows it at, so it ends up in both
+     * Volley's response cache and the bitmap cache
+     */
+    private void requestImage(String imageUrl) {
+        WordPress.sImageLoader.get(imageUrl, new ImageLoader.ImageListener() {
+            private boolean mIsCompleted;
+
+            @Override
+            public void onResponse(ImageLoader.ImageContainer response, boolean isImmediate) {
+                if ((response.getBitmap() != null || !isImmediate) && !mIsCompleted) {
+                    mIsCompleted = true;
+                    postStepCompleted();
+                }
+            }
+
+            @Override
+            public void onErrorResponse(VolleyError error) {
+                if (!mIsCompleted) {
+                    mIsCompleted = true;
+                    postStepCompleted();
+                }
+            }
+        }, mPhotonWidth, mPhotonHeight, ImageView.ScaleType.CENTER_CROP);
+    }
+
+    /*
+     * listeners may be called on a background thread (or, for cached images, before the request call
+     * has returned) so the next step is always started from a fresh main thread message
+     */
+    private void postStepCompleted() {
+        mHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                onStepCompleted();
+            }
+        });
+    }
+
+    private void onStepCompleted() {
+        mNumRequests++;
+        runNextStep();
+    }
+
+    private long getBytesUsed() {
+        long rxBytes = TrafficStats.getUidRxBytes(Process.myUid());
+        if (mStartRxBytes == TrafficStats.UNSUPPORTED || rxBytes == TrafficStats.UNSUPPORTED) {
+            return mNumRequests * ESTIMATED_BYTES_PER_REQUEST;
+        }
+        return rxBytes - mStartRxBytes;
+    }
+
+    private void runNextStep() {
+        if (!mIsSyncing) {
+            return;
+        }
+
+        long bytesUsed = getBytesUsed();
+        String reason = null;
+        if (mSteps.isEmpty()) {
+            reason = "completed";
+        } else if (bytesUsed >= ReaderConstants.READER_PREDICTIVE_SYNC_BYTE_BUDGET) {
+            reason = "byte budget of " + ReaderConstants.READER_PREDICTIVE_SYNC_BYTE_BUDGET + " used up";
+        } else if (!canSyncNow(this)) {
+            reason = "no longer charging on an unmetered network";
+        }
+
+        if (reason != null) {
+            AppLog.i(AppLog.T.READER, "reader predictive sync > " + reason + ", made " + mNumRequests
+                                      + " requests using " + bytesUsed + " bytes in "
+                                      + (SystemClock.elapsedRealtime() - mStartTime) + "ms");
+            mIsSyncing = false;
+            mSteps.clear();
+            stopSelf();
+            return;
+        }
+
+        SyncStep step = mSteps.removeFirst();
+        AppLog.d(AppLog.T.READER, "reader predictive sync > requesting " + step.mName);
+        step.run();
+    }
+}
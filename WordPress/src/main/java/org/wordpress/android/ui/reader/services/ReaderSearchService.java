@@ -4,6 +4,7 @@ import android.app.Service;
 import android.content.Context;
 import android.content.Intent;
 import android.os.IBinder;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 
 import com.android.volley.VolleyError;
@@ -22,6 +23,9 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.UrlUtils;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import de.greenrobot.event.EventBus;
 
 /**
@@ -32,6 +36,13 @@ public class ReaderSearchService extends Service {
     private static final String ARG_QUERY = "query";
     private static final String ARG_OFFSET = "offset";
 
+    // max number of cached posts shown while waiting for the server results
+    private static final int MAX_LOCAL_RESULTS = 20;
+
+    // local results are found on the same thread the server results are written on, so the local
+    // results for a search are always posted before its server results
+    private static final ExecutorService RESULTS_EXECUTOR = Executors.newSingleThreadExecutor();
+
     public static void startService(Context context, @NonNull String query, int offset) {
         Intent intent = new Intent(context, ReaderSearchService.class);
         intent.putExtra(ARG_QUERY, query);
@@ -105,18 +116,39 @@ public class ReaderSearchService extends Service {
 
         AppLog.d(AppLog.T.READER, "reader search service > starting search for " + query);
         EventBus.getDefault().post(new ReaderEvents.SearchPostsStarted(query, offset));
+        if (offset == 0) {
+            searchLocalPosts(query);
+        }
         WordPress.getRestClientUtilsV1_2().get(path, null, null, listener, errorListener);
     }
 
+    /*
+     * finds matching cached posts so they can be shown right away - they're passed in the event rather
+     * than stored with the search results, and are replaced by the server's results once they arrive
+     */
+    private static void searchLocalPosts(final String query) {
+        RESULTS_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                long startTime = SystemClock.elapsedRealtime();
+                ReaderPostList localPosts = ReaderPostTable.searchPosts(query, MAX_LOCAL_RESULTS);
+                AppLog.d(AppLog.T.READER, "reader search service > found " + localPosts.size()
+                                          + " local results in " + (SystemClock.elapsedRealtime() - startTime)
+                                          + "ms");
+                EventBus.getDefault().post(new ReaderEvents.SearchPostsLocalResultsLoaded(query, localPosts));
+            }
+        });
+    }
+
     private static void handleSearchResponse(final String query, final int offset, final JSONObject jsonObject) {
-        new Thread() {
+        RESULTS_EXECUTOR.execute(new Runnable() {
             @Override
             public void run() {
                 ReaderPostList serverPosts = ReaderPostList.fromJson(jsonObject);
                 ReaderPostTable.addOrUpdatePosts(getTagForSearchQuery(query), serverPosts);
                 EventBus.getDefault().post(new ReaderEvents.SearchPostsEnded(query, offset, true));
             }
-        }.start();
+        });
     }
 
     /*
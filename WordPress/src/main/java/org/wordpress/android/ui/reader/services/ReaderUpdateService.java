@@ -21,6 +21,8 @@ import org.wordpress.android.models.ReaderRecommendBlogList;
 import org.wordpress.android.models.ReaderTag;
 import org.wordpress.android.models.ReaderTagList;
 import org.wordpress.android.models.ReaderTagType;
+import org.wordpress.android.networking.ConditionalRequestStore;
+import org.wordpress.android.networking.RestClientUtils;
 import org.wordpress.android.ui.reader.ReaderConstants;
 import org.wordpress.android.ui.reader.ReaderEvents;
 import org.wordpress.android.util.AppLog;
@@ -28,11 +30,10 @@ import org.wordpress.android.util.JSONUtils;
 
 import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.List;
 
 import javax.inject.Inject;
 
-import de.greenrobot.event.EventBus;
-
 public class ReaderUpdateService extends Service {
     /***
      * service which updates followed/recommended tags and blogs for the Reader, relies
@@ -92,7 +93,8 @@ public class ReaderUpdateService extends Service {
         mCurrentTasks = EnumSet.copyOf(tasks);
 
         // perform in priority order - we want to update tags first since without them
-        // the Reader can't show anything
+        // the Reader can't show anything. the responses are ingested by ReaderIngestCoordinator,
+        // which parses them in parallel but writes them to the db from a single thread
         if (tasks.contains(UpdateTask.TAGS)) {
             updateTags();
         }
@@ -104,7 +106,7 @@ public class ReaderUpdateService extends Service {
         }
     }
 
-    private void taskCompleted(UpdateTask task) {
+    private synchronized void taskCompleted(UpdateTask task) {
         mCurrentTasks.remove(task);
         if (mCurrentTasks.isEmpty()) {
             allTasksCompleted();
@@ -135,25 +137,49 @@ public class ReaderUpdateService extends Service {
                 taskCompleted(UpdateTask.TAGS);
             }
         };
+        // only make the request conditional when we have local tags, since a 304 means local is up to date
+        RestClientUtils.NotModifiedListener notModifiedListener = null;
+        if (!ReaderTagTable.isEmpty()) {
+            notModifiedListener = new RestClientUtils.NotModifiedListener() {
+                @Override
+                public void onNotModified() {
+                    AppLog.d(AppLog.T.READER, "reader service > tags not modified");
+                    taskCompleted(UpdateTask.TAGS);
+                }
+            };
+        }
         AppLog.d(AppLog.T.READER, "reader service > updating tags");
-        WordPress.getRestClientUtilsV1_2().get("read/menu", null, null, listener, errorListener);
+        WordPress.getRestClientUtilsV1_2().get("read/menu", null, null, RestClientUtils.RequestPriority.BACKGROUND,
+                                               listener, notModifiedListener, errorListener);
+    }
+
+    private static class TagsResponse {
+        private final ReaderTagList mServerTopics = new ReaderTagList();
+        private ReaderTagList mServerRecommended;
     }
 
     private void handleUpdateTagsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        final boolean hasAccessToken = mAccountStore.hasAccessToken();
+        ReaderIngestCoordinator.submit(new ReaderIngestCoordinator.IngestTask<TagsResponse>("tags") {
             @Override
-            public void run() {
+            TagsResponse parse() {
                 // get server topics, both default & followed - but use "recommended" for logged-out
                 // reader since user won't have any followed tags
-                ReaderTagList serverTopics = new ReaderTagList();
-                serverTopics.addAll(parseTags(jsonObject, "default", ReaderTagType.DEFAULT));
-                if (!mAccountStore.hasAccessToken()) {
-                    serverTopics.addAll(parseTags(jsonObject, "recommended", ReaderTagType.FOLLOWED));
+                TagsResponse response = new TagsResponse();
+                response.mServerTopics.addAll(parseTags(jsonObject, "default", ReaderTagType.DEFAULT));
+                if (!hasAccessToken) {
+                    response.mServerTopics.addAll(parseTags(jsonObject, "recommended", ReaderTagType.FOLLOWED));
                 } else {
-                    serverTopics.addAll(parseTags(jsonObject, "subscribed", ReaderTagType.FOLLOWED));
+                    response.mServerTopics.addAll(parseTags(jsonObject, "subscribed", ReaderTagType.FOLLOWED));
+                    response.mServerRecommended = parseTags(jsonObject, "recommended", ReaderTagType.RECOMMENDED);
                 }
+                return response;
+            }
 
-                // parse topics from the response, detect whether they're different from local
+            @Override
+            void write(TagsResponse response, List<Object> events) {
+                // detect whether the server topics are different from local
+                ReaderTagList serverTopics = response.mServerTopics;
                 ReaderTagList localTopics = new ReaderTagList();
                 localTopics.addAll(ReaderTagTable.getDefaultTags());
                 localTopics.addAll(ReaderTagTable.getFollowedTags());
@@ -167,23 +193,31 @@ public class ReaderUpdateService extends Service {
                     // now replace local topics with the server topics
                     ReaderTagTable.replaceTags(serverTopics);
                     // broadcast the fact that there are changes
-                    EventBus.getDefault().post(new ReaderEvents.FollowedTagsChanged());
+                    events.add(new ReaderEvents.FollowedTagsChanged());
                 }
 
                 // save changes to recommended topics
-                if (mAccountStore.hasAccessToken()) {
-                    ReaderTagList serverRecommended = parseTags(jsonObject, "recommended", ReaderTagType.RECOMMENDED);
+                if (response.mServerRecommended != null) {
                     ReaderTagList localRecommended = ReaderTagTable.getRecommendedTags(false);
-                    if (!serverRecommended.isSameList(localRecommended)) {
+                    if (!response.mServerRecommended.isSameList(localRecommended)) {
                         AppLog.d(AppLog.T.READER, "reader service > recommended topics changed");
-                        ReaderTagTable.setRecommendedTags(serverRecommended);
-                        EventBus.getDefault().post(new ReaderEvents.RecommendedTagsChanged());
+                        ReaderTagTable.setRecommendedTags(response.mServerRecommended);
+                        events.add(new ReaderEvents.RecommendedTagsChanged());
                     }
                 }
+            }
 
+            @Override
+            void onCommitted() {
+                // the tags are saved, so the next request can be made conditional
+                ConditionalRequestStore.getInstance(ReaderUpdateService.this).saveValidators(jsonObject);
+            }
+
+            @Override
+            void onCompleted() {
                 taskCompleted(UpdateTask.TAGS);
             }
-        }.start();
+        });
     }
 
     /*
@@ -261,16 +295,33 @@ public class ReaderUpdateService extends Service {
             }
         };
 
+        RestClientUtils.NotModifiedListener notModifiedListener = null;
+        if (ReaderBlogTable.hasFollowedBlogs()) {
+            notModifiedListener = new RestClientUtils.NotModifiedListener() {
+                @Override
+                public void onNotModified() {
+                    AppLog.d(AppLog.T.READER, "reader service > followed blogs not modified");
+                    taskCompleted(UpdateTask.FOLLOWED_BLOGS);
+                }
+            };
+        }
+
         AppLog.d(AppLog.T.READER, "reader service > updating followed blogs");
         // request using ?meta=site,feed to get extra info
-        WordPress.getRestClientUtilsV1_1().get("read/following/mine?meta=site%2Cfeed", listener, errorListener);
+        WordPress.getRestClientUtilsV1_1().get("read/following/mine?meta=site%2Cfeed", null, null,
+                                               RestClientUtils.RequestPriority.BACKGROUND,
+                                               listener, notModifiedListener, errorListener);
     }
 
     private void handleFollowedBlogsResponse(final JSONObject jsonObject) {
-        new Thread() {
+        ReaderIngestCoordinator.submit(new ReaderIngestCoordinator.IngestTask<ReaderBlogList>("followed blogs") {
             @Override
-            public void run() {
-                ReaderBlogList serverBlogs = ReaderBlogList.fromJson(jsonObject);
+            ReaderBlogList parse() {
+                return ReaderBlogList.fromJson(jsonObject);
+            }
+
+            @Override
+            void write(ReaderBlogList serverBlogs, List<Object> events) {
                 ReaderBlogList localBlogs = ReaderBlogTable.getFollowedBlogs();
 
                 if (!localBlogs.isSameList(serverBlogs)) {
@@ -283,13 +334,21 @@ public class ReaderUpdateService extends Service {
                     if (!localBlogs.hasSameBlogs(serverBlogs)) {
                         ReaderPostTable.updateFollowedStatus();
                         AppLog.i(AppLog.T.READER, "reader blogs service > followed blogs changed");
-                        EventBus.getDefault().post(new ReaderEvents.FollowedBlogsChanged());
+                        events.add(new ReaderEvents.FollowedBlogsChanged());
                     }
                 }
+            }
+
+            @Override
+            void onCommitted() {
+                ConditionalRequestStore.getInstance(ReaderUpdateService.this).saveValidators(jsonObject);
+            }
 
+            @Override
+            void onCompleted() {
                 taskCompleted(UpdateTask.FOLLOWED_BLOGS);
             }
-        }.start();
+        });
     }
 
     /***
@@ -314,23 +373,31 @@ public class ReaderUpdateService extends Service {
         String path = "read/recommendations/mine/"
                       + "?source=mobile"
                       + "&number=" + Integer.toString(ReaderConstants.READER_MAX_RECOMMENDED_TO_REQUEST);
-        WordPress.getRestClientUtilsV1_1().get(path, listener, errorListener);
+        WordPress.getRestClientUtilsV1_1().get(path, null, null, RestClientUtils.RequestPriority.BACKGROUND,
+                                               listener, errorListener);
     }
 
     private void handleRecommendedBlogsResponse(final JSONObject jsonObject) {
-        new Thread() {
-            @Override
-            public void run() {
-                ReaderRecommendBlogList serverBlogs = ReaderRecommendBlogList.fromJson(jsonObject);
-                ReaderRecommendBlogList localBlogs = ReaderBlogTable.getRecommendedBlogs();
+        ReaderIngestCoordinator.submit(
+                new ReaderIngestCoordinator.IngestTask<ReaderRecommendBlogList>("recommended blogs") {
+                    @Override
+                    ReaderRecommendBlogList parse() {
+                        return ReaderRecommendBlogList.fromJson(jsonObject);
+                    }
 
-                if (!localBlogs.isSameList(serverBlogs)) {
-                    ReaderBlogTable.setRecommendedBlogs(serverBlogs);
-                    EventBus.getDefault().post(new ReaderEvents.RecommendedBlogsChanged());
-                }
+                    @Override
+                    void write(ReaderRecommendBlogList serverBlogs, List<Object> events) {
+                        ReaderRecommendBlogList localBlogs = ReaderBlogTable.getRecommendedBlogs();
+                        if (!localBlogs.isSameList(serverBlogs)) {
+                            ReaderBlogTable.setRecommendedBlogs(serverBlogs);
+                            events.add(new ReaderEvents.RecommendedBlogsChanged());
+                        }
+                    }
 
-                taskCompleted(UpdateTask.RECOMMENDED_BLOGS);
-            }
-        }.start();
+                    @Override
+                    void onCompleted() {
+                        taskCompleted(UpdateTask.RECOMMENDED_BLOGS);
+                    }
+                });
     }
 }
@@ -43,7 +43,6 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 
 import java.io.Serializable;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -441,8 +440,9 @@ public class StatsService extends Service {
                     return;
             }
 
-            // We need to check if we already have the same request in the queue
-            if (checkIfRequestShouldBeEnqueued(restClientUtils, path)) {
+            // an identical request would share the response of the one in flight, but we don't want the
+            // response handled twice
+            if (!restClientUtils.isGetInFlight(path, null)) {
                 AppLog.d(AppLog.T.STATS, "Enqueuing the following Stats request " + path);
                 Request<JSONObject> currentRequest = restClientUtils.get(path, vListener, vListener);
                 vListener.mCurrentRequest = currentRequest;
@@ -454,34 +454,6 @@ public class StatsService extends Service {
         }
     }
 
-    /**
-     * This method checks if we already have the same request in the Queue. No need to re-enqueue a new request
-     * if one with the same parameters is there.
-     * <p>
-     * This method is a kind of tricky, since it does the comparison by checking the origin URL of requests.
-     * To do that we had to get the fullURL of the new request by calling a method of the REST client `getAbsoluteURL`.
-     * That's good for now, but could lead to errors if the RestClient changes the way the URL is constructed
-     * internally, by calling `getAbsoluteURL`.
-     * <p>
-     * - Another approach would involve the get of the requests ErrorListener and the check Listener's parameters.
-     * - Cleanest approach is for sure to create a new class that extends Request<JSONObject> and stores parameters
-     * for later comparison, unfortunately we have to change the REST Client and RestClientUtils
-     * a lot if we want follow this way...
-     */
-    private boolean checkIfRequestShouldBeEnqueued(final RestClientUtils restClientUtils, String path) {
-        String absoluteRequestPath = restClientUtils.getRestClient().getAbsoluteURL(path);
-        Iterator<Request<JSONObject>> it = mStatsNetworkRequests.iterator();
-        while (it.hasNext()) {
-            Request<JSONObject> req = it.next();
-            if (!req.hasHadResponseDelivered() && !req.isCanceled()
-                && absoluteRequestPath.equals(req.getUrl())) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
     // Call an updates on the installed widgets if the blog is the primary, the endpoint is Visits
     // the timeframe is DAY or INSIGHTS, and the date = TODAY
     private void updateWidgetsUI(long siteId, final StatsEndpointsEnum endpointName,
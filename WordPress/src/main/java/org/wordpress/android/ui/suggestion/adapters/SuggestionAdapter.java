@@ -11,18 +11,18 @@ import android.widget.TextView;
 
 import org.wordpress.android.R;
 import org.wordpress.android.models.Suggestion;
+import org.wordpress.android.ui.suggestion.util.SuggestionIndex;
 import org.wordpress.android.util.GravatarUtils;
 import org.wordpress.android.widgets.WPNetworkImageView;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 public class SuggestionAdapter extends BaseAdapter implements Filterable {
     private final LayoutInflater mInflater;
     private Filter mSuggestionFilter;
     private List<Suggestion> mSuggestionList;
     private List<Suggestion> mOrigSuggestionList;
+    private SuggestionIndex mSuggestionIndex;
     private int mAvatarSz;
 
     public SuggestionAdapter(Context context) {
@@ -30,8 +30,17 @@ public class SuggestionAdapter extends BaseAdapter implements Filterable {
         mInflater = LayoutInflater.from(context);
     }
 
-    public void setSuggestionList(List<Suggestion> suggestionList) {
+    public synchronized void setSuggestionList(List<Suggestion> suggestionList) {
         mOrigSuggestionList = suggestionList;
+        // the index is built the next time the list is filtered, on the filter's background thread
+        mSuggestionIndex = null;
+    }
+
+    private synchronized SuggestionIndex getSuggestionIndex() {
+        if (mSuggestionIndex == null && mOrigSuggestionList != null) {
+            mSuggestionIndex = new SuggestionIndex(mOrigSuggestionList);
+        }
+        return mSuggestionIndex;
     }
 
     @Override
@@ -105,26 +114,16 @@ public class SuggestionAdapter extends BaseAdapter implements Filterable {
         @Override
         protected FilterResults performFiltering(CharSequence constraint) {
             FilterResults results = new FilterResults();
+            SuggestionIndex suggestionIndex = getSuggestionIndex();
 
-            if (mOrigSuggestionList == null) {
+            if (suggestionIndex == null) {
                 results.values = null;
                 results.count = 0;
             } else if (constraint == null || constraint.length() == 0) {
-                results.values = mOrigSuggestionList;
-                results.count = mOrigSuggestionList.size();
+                results.values = suggestionIndex.getSuggestions();
+                results.count = suggestionIndex.getSuggestions().size();
             } else {
-                List<Suggestion> nSuggestionList = new ArrayList<Suggestion>();
-
-                for (Suggestion suggestion : mOrigSuggestionList) {
-                    String lowerCaseConstraint = constraint.toString().toLowerCase(Locale.getDefault());
-                    if (suggestion.getUserLogin().toLowerCase(Locale.ROOT).startsWith(lowerCaseConstraint)
-                        || suggestion.getDisplayName().toLowerCase(Locale.getDefault()).startsWith(lowerCaseConstraint)
-                        || suggestion.getDisplayName().toLowerCase(Locale.getDefault())
-                                     .contains(" " + lowerCaseConstraint)) {
-                        nSuggestionList.add(suggestion);
-                    }
-                }
-
+                List<Suggestion> nSuggestionList = suggestionIndex.getSuggestionsWithPrefix(constraint.toString());
                 results.values = nSuggestionList;
                 results.count = nSuggestionList.size();
             }
@@ -0,0 +1,68 @@
+package org.wordpress.android.ui.suggestion.util;
+
+import android.support.annotation.NonNull;
+
+import org.wordpress.android.models.Suggestion;
+import org.wordpress.android.util.WordPrefixIndex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prefix index of @-mention suggestions, so filtering on each keystroke doesn't have to lowercase and scan
+ * every suggestion. Each suggestion is indexed by its login, its display name and each part of its display
+ * name that follows a space (so "Mary Ann Lee" can be found by typing "ann" or "lee"). The keys are stored
+ * lowercased in a WordPrefixIndex, so a lookup is a binary search followed by a scan of the matching keys.
+ */
+public class SuggestionIndex {
+    private final List<Suggestion> mSuggestions;
+    private final WordPrefixIndex mKeys;
+
+    public SuggestionIndex(@NonNull List<Suggestion> suggestions) {
+        mSuggestions = suggestions;
+
+        WordPrefixIndex.Builder builder = new WordPrefixIndex.Builder().setNumItems(suggestions.size());
+        Locale locale = Locale.getDefault();
+        for (int i = 0; i < suggestions.size(); i++) {
+            Suggestion suggestion = suggestions.get(i);
+            String login = suggestion.getUserLogin();
+            if (login != null && login.length() > 0) {
+                builder.addWord(login.toLowerCase(Locale.ROOT), i);
+            }
+            String displayName = suggestion.getDisplayName();
+            if (displayName != null && displayName.length() > 0) {
+                String lowerName = displayName.toLowerCase(locale);
+                builder.addWord(lowerName, i);
+                int space = lowerName.indexOf(' ');
+                while (space > -1) {
+                    if (space + 1 < lowerName.length()) {
+                        builder.addWord(lowerName.substring(space + 1), i);
+                    }
+                    space = lowerName.indexOf(' ', space + 1);
+                }
+            }
+        }
+        mKeys = builder.build();
+    }
+
+    public List<Suggestion> getSuggestions() {
+        return mSuggestions;
+    }
+
+    /*
+     * returns the suggestions whose login, display name, or any word in their display name starts with
+     * the passed prefix, in the same order as the list the index was created from
+     */
+    public List<Suggestion> getSuggestionsWithPrefix(@NonNull String prefix) {
+        // a suggestion may match more than one of its keys, the BitSet skips the duplicates and returns
+        // the matches in their original order
+        BitSet matches = mKeys.findPrefix(prefix.toLowerCase(Locale.getDefault()));
+        List<Suggestion> results = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            results.add(mSuggestions.get(i));
+        }
+        return results;
+    }
+}
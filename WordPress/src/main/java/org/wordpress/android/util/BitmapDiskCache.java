@@ -0,0 +1,241 @@
+package org.wordpress.android.util;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Process;
+
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Size-bounded disk cache of decoded, display-sized bitmaps, used as the second tier of BitmapLruCache
+ * so images don't have to be downloaded and decoded again after the app restarts. Entries are evicted
+ * in least-recently-used order once the cache exceeds its max size. Writes happen on a background
+ * thread, reads are synchronous so callers must make them off the main thread.
+ */
+public class BitmapDiskCache {
+    private static final int JPEG_QUALITY = 90;
+
+    private final File mCacheDir;
+    private final long mMaxSizeBytes;
+    private long mSizeBytes;
+
+    // file name -> file size, in access order so the first entry is the least recently used
+    private final LinkedHashMap<String, Long> mEntries = new LinkedHashMap<>(64, 0.75f, true);
+    private boolean mIsIndexed;
+
+    private final ExecutorService mExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            return new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "BitmapDiskCache");
+        }
+    });
+
+    public BitmapDiskCache(File cacheDir, long maxSizeBytes) {
+        mCacheDir = cacheDir;
+        mMaxSizeBytes = maxSizeBytes;
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                buildIndex();
+            }
+        });
+    }
+
+    /*
+     * builds the in-memory index of cached files, oldest first, so lookups never hit the file system
+     * for bitmaps that aren't cached
+     */
+    private void buildIndex() {
+        if (!mCacheDir.exists() && !mCacheDir.mkdirs()) {
+            AppLog.w(T.UTILS, "Unable to create bitmap disk cache directory");
+        }
+        File[] files = mCacheDir.listFiles();
+        if (files != null) {
+            Arrays.sort(files, new Comparator<File>() {
+                @Override
+                public int compare(File file1, File file2) {
+                    long modified1 = file1.lastModified();
+                    long modified2 = file2.lastModified();
+                    return modified1 < modified2 ? -1 : (modified1 == modified2 ? 0 : 1);
+                }
+            });
+        }
+        synchronized (this) {
+            if (files != null) {
+                for (File file : files) {
+                    mEntries.put(file.getName(), file.length());
+                    mSizeBytes += file.length();
+                }
+            }
+            mIsIndexed = true;
+        }
+        trimToSize();
+    }
+
+    private static String getFileName(String key) {
+        return StringUtils.getMd5Hash(key);
+    }
+
+    public synchronized boolean contains(String key) {
+        return mIsIndexed && mEntries.containsKey(getFileName(key));
+    }
+
+    /*
+     * returns the cached bitmap for the passed key, or null if it's not cached
+     */
+    public Bitmap get(String key) {
+        String fileName = getFileName(key);
+        synchronized (this) {
+            // get() also marks the entry as recently used
+            if (!mIsIndexed || mEntries.get(fileName) == null) {
+                return null;
+            }
+        }
+
+        File file = new File(mCacheDir, fileName);
+        Bitmap bitmap = BitmapFactory.decodeFile(file.getAbsolutePath());
+        if (bitmap == null) {
+            // file is missing or corrupt
+            remove(key);
+        } else if (!file.setLastModified(System.currentTimeMillis())) {
+            AppLog.v(T.UTILS, "Unable to update bitmap disk cache access time");
+        }
+        return bitmap;
+    }
+
+    /*
+     * writes the passed bitmap to the cache in the background
+     */
+    public void put(final String key, final Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                write(key, bitmap);
+            }
+        });
+    }
+
+    private void write(String key, Bitmap bitmap) {
+        if (bitmap.isRecycled()) {
+            return;
+        }
+        String fileName = getFileName(key);
+        File file = new File(mCacheDir, fileName);
+        Bitmap.CompressFormat format = bitmap.hasAlpha() ? Bitmap.CompressFormat.PNG : Bitmap.CompressFormat.JPEG;
+
+        OutputStream out = null;
+        boolean success = false;
+        try {
+            out = new BufferedOutputStream(new FileOutputStream(file));
+            success = bitmap.compress(format, JPEG_QUALITY, out);
+        } catch (IOException e) {
+            AppLog.w(T.UTILS, "Unable to write bitmap to disk cache: " + e.getMessage());
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    success = false;
+                }
+            }
+        }
+
+        if (!success) {
+            if (file.exists() && !file.delete()) {
+                AppLog.w(T.UTILS, "Unable to delete partial bitmap disk cache file");
+            }
+            return;
+        }
+
+        synchronized (this) {
+            Long previousSize = mEntries.put(fileName, file.length());
+            if (previousSize != null) {
+                mSizeBytes -= previousSize;
+            }
+            mSizeBytes += file.length();
+        }
+        trimToSize();
+    }
+
+    public void remove(String key) {
+        final String fileName = getFileName(key);
+        synchronized (this) {
+            Long size = mEntries.remove(fileName);
+            if (size != null) {
+                mSizeBytes -= size;
+            }
+        }
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                File file = new File(mCacheDir, fileName);
+                if (file.exists() && !file.delete()) {
+                    AppLog.w(T.UTILS, "Unable to delete bitmap disk cache file");
+                }
+            }
+        });
+    }
+
+    public void clear() {
+        synchronized (this) {
+            mEntries.clear();
+            mSizeBytes = 0;
+        }
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                File[] files = mCacheDir.listFiles();
+                if (files != null) {
+                    for (File file : files) {
+                        if (!file.delete()) {
+                            AppLog.w(T.UTILS, "Unable to delete bitmap disk cache file");
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    private void trimToSize() {
+        while (true) {
+            String fileName;
+            synchronized (this) {
+                if (mSizeBytes <= mMaxSizeBytes || mEntries.isEmpty()) {
+                    return;
+                }
+                Iterator<Map.Entry<String, Long>> iterator = mEntries.entrySet().iterator();
+                Map.Entry<String, Long> eldest = iterator.next();
+                fileName = eldest.getKey();
+                mSizeBytes -= eldest.getValue();
+                iterator.remove();
+            }
+            File file = new File(mCacheDir, fileName);
+            if (file.exists() && !file.delete()) {
+                AppLog.w(T.UTILS, "Unable to delete bitmap disk cache file");
+            }
+        }
+    }
+}
@@ -1,23 +1,58 @@
 package org.wordpress.android.util;
 
 import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.v4.util.LruCache;
+import android.widget.ImageView.ScaleType;
 
 import com.android.volley.toolbox.ImageLoader.ImageCache;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class BitmapLruCache extends LruCache<String, Bitmap> implements ImageCache {
+    public enum LookupSource {
+        MEMORY,
+        DISK,
+        MISS
+    }
+
+    public interface DiskLookupListener {
+        // called on the main thread, the bitmap is in the memory cache when found is true
+        void onDiskLookupFinished(boolean found);
+    }
+
+    private static final int DISK_READ_THREADS = 2;
+
+    // optional second tier written by putBitmap - Volley calls getBitmap on the main thread, so reads
+    // from it go through loadFromDisk instead
+    private BitmapDiskCache mDiskCache;
+    private final ExecutorService mDiskReadExecutor = Executors.newFixedThreadPool(DISK_READ_THREADS);
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
     public BitmapLruCache(int maxSize) {
         super(maxSize);
     }
 
+    public void setDiskCache(BitmapDiskCache diskCache) {
+        mDiskCache = diskCache;
+    }
+
+    public BitmapDiskCache getDiskCache() {
+        return mDiskCache;
+    }
+
     public void removeSimilar(String keyLike) {
         Map<String, Bitmap> map = snapshot();
 
         for (String key : map.keySet()) {
             if (key.contains(keyLike)) {
                 remove(key);
+                if (mDiskCache != null) {
+                    mDiskCache.remove(key);
+                }
             }
         }
     }
@@ -30,13 +65,62 @@ public class BitmapLruCache extends LruCache<String, Bitmap> implements ImageCac
         return (bytes / 1024); // value.getByteCount() introduced in HONEYCOMB_MR1 or higher.
     }
 
+    /*
+     * returns the cache key Volley's ImageLoader uses for the passed request, which it doesn't expose
+     */
+    public static String getCacheKey(String url, int maxWidth, int maxHeight, ScaleType scaleType) {
+        return "#W" + maxWidth + "#H" + maxHeight + "#S" + scaleType.ordinal() + url;
+    }
+
     @Override
     public Bitmap getBitmap(String key) {
         return this.get(key);
     }
 
+    /*
+     * returns where the bitmap for the passed key can be found without touching the file system
+     */
+    public LookupSource getLookupSource(String key) {
+        if (this.get(key) != null) {
+            return LookupSource.MEMORY;
+        }
+        if (mDiskCache != null && mDiskCache.contains(key)) {
+            return LookupSource.DISK;
+        }
+        return LookupSource.MISS;
+    }
+
+    /*
+     * reads and decodes the bitmap for the passed key from the disk cache in the background and
+     * promotes it to the memory cache, so the next getBitmap() for the key returns it
+     */
+    public void loadFromDisk(final String key, final DiskLookupListener listener) {
+        if (mDiskCache == null) {
+            listener.onDiskLookupFinished(false);
+            return;
+        }
+        mDiskReadExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Bitmap bitmap = mDiskCache.get(key);
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (bitmap != null) {
+                            put(key, bitmap);
+                        }
+                        listener.onDiskLookupFinished(bitmap != null);
+                    }
+                });
+            }
+        });
+    }
+
     @Override
     public void putBitmap(String key, Bitmap bitmap) {
         this.put(key, bitmap);
+        if (mDiskCache != null) {
+            mDiskCache.put(key, bitmap);
+        }
     }
 }
@@ -0,0 +1,236 @@
+package org.wordpress.android.util;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.widget.ImageView;
+
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.ImageLoader;
+
+import org.wordpress.android.WordPress;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Watches the scroll direction and velocity of a RecyclerView and asks its PrefetchHandler to warm the
+ * image cache for the rows about to scroll into view, and to cancel the prefetches for rows that are no
+ * longer ahead of the scroll. The faster the list scrolls, the further ahead it prefetches. Only works
+ * with a LinearLayoutManager (or GridLayoutManager, which extends it).
+ */
+public class ImagePrefetcher extends RecyclerView.OnScrollListener {
+    public interface PrefetchHandler {
+        void prefetchItem(int position);
+
+        void cancelPrefetchItem(int position);
+    }
+
+    private static final int MIN_ITEMS_AHEAD = 4;
+    private static final int MAX_ITEMS_AHEAD = 16;
+    // extra items to prefetch for each pixel per millisecond of scroll velocity
+    private static final float ITEMS_PER_VELOCITY = 4f;
+
+    private final PrefetchHandler mHandler;
+    private final Set<Integer> mPrefetchedPositions = new HashSet<>();
+
+    private long mLastScrollTime;
+    private float mVelocity;
+
+    public ImagePrefetcher(@NonNull PrefetchHandler handler) {
+        mHandler = handler;
+    }
+
+    public void attach(@NonNull RecyclerView recyclerView) {
+        recyclerView.addOnScrollListener(this);
+    }
+
+    public void detach(@NonNull RecyclerView recyclerView) {
+        recyclerView.removeOnScrollListener(this);
+        cancelAll();
+    }
+
+    /*
+     * cancels all prefetches - call this when the adapter's data changes since positions no longer match
+     */
+    public void cancelAll() {
+        for (Integer position : mPrefetchedPositions) {
+            mHandler.cancelPrefetchItem(position);
+        }
+        mPrefetchedPositions.clear();
+    }
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        if (!(recyclerView.getLayoutManager() instanceof LinearLayoutManager) || recyclerView.getAdapter() == null) {
+            return;
+        }
+
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int delta = layoutManager.getOrientation() == LinearLayoutManager.VERTICAL ? dy : dx;
+        if (delta == 0) {
+            return;
+        }
+
+        // smoothed scroll velocity in pixels per millisecond
+        long now = SystemClock.uptimeMillis();
+        long elapsed = now - mLastScrollTime;
+        mLastScrollTime = now;
+        if (elapsed > 0 && elapsed < 1000) {
+            mVelocity = (mVelocity + Math.abs(delta) / (float) elapsed) / 2;
+        } else {
+            mVelocity = 0;
+        }
+
+        int firstVisible = layoutManager.findFirstVisibleItemPosition();
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (firstVisible == RecyclerView.NO_POSITION || lastVisible == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        int itemsAhead = Math.min(MAX_ITEMS_AHEAD, MIN_ITEMS_AHEAD + Math.round(mVelocity * ITEMS_PER_VELOCITY));
+        int itemCount = recyclerView.getAdapter().getItemCount();
+        int start;
+        int end;
+        if (delta > 0) {
+            start = lastVisible + 1;
+            end = Math.min(itemCount - 1, lastVisible + itemsAhead);
+        } else {
+            start = Math.max(0, firstVisible - itemsAhead);
+            end = firstVisible - 1;
+        }
+
+        // cancel prefetches for items that are no longer visible or ahead of the scroll - visible items
+        // are left alone since the prefetch is likely to complete before the row's own request
+        Iterator<Integer> iterator = mPrefetchedPositions.iterator();
+        while (iterator.hasNext()) {
+            int position = iterator.next();
+            boolean isVisible = position >= firstVisible && position <= lastVisible;
+            boolean isAhead = position >= start && position <= end;
+            if (isVisible) {
+                iterator.remove();
+            } else if (!isAhead) {
+                iterator.remove();
+                mHandler.cancelPrefetchItem(position);
+            }
+        }
+
+        for (int position = start; position <= end; position++) {
+            if (mPrefetchedPositions.add(position)) {
+                mHandler.prefetchItem(position);
+            }
+        }
+    }
+
+    /**
+     * Loads images into the bitmap cache through the app's ImageLoader so WPNetworkImageView finds them
+     * there when their rows are bound. The number of concurrent requests is limited so prefetches don't
+     * crowd out images requested by visible rows, and the most recently queued prefetches win when
+     * there are more waiting than that.
+     */
+    public static class VolleyImagePrefetcher {
+        private static final int MAX_CONCURRENT_REQUESTS = 3;
+        private static final int MAX_QUEUED_REQUESTS = 24;
+
+        private final Map<Integer, ImageRequestInfo> mQueued = new LinkedHashMap<>();
+        private final Map<Integer, ImageLoader.ImageContainer> mInFlight = new HashMap<>();
+
+        private static class ImageRequestInfo {
+            private final String mUrl;
+            private final int mMaxWidth;
+            private final int mMaxHeight;
+            private final ImageView.ScaleType mScaleType;
+
+            ImageRequestInfo(String url, int maxWidth, int maxHeight, ImageView.ScaleType scaleType) {
+                mUrl = url;
+                mMaxWidth = maxWidth;
+                mMaxHeight = maxHeight;
+                mScaleType = scaleType;
+            }
+        }
+
+        /*
+         * maxWidth, maxHeight & scaleType should match the view the image will be shown in, since the
+         * bitmap cache is keyed by all three - when they don't match the image still comes from Volley's
+         * response cache rather than the network
+         */
+        public void prefetch(int position, String url, int maxWidth, int maxHeight,
+                             @NonNull ImageView.ScaleType scaleType) {
+            if (url == null || url.isEmpty() || mInFlight.containsKey(position)) {
+                return;
+            }
+            mQueued.remove(position);
+            mQueued.put(position, new ImageRequestInfo(url, maxWidth, maxHeight, scaleType));
+            if (mQueued.size() > MAX_QUEUED_REQUESTS) {
+                Iterator<Integer> iterator = mQueued.keySet().iterator();
+                iterator.next();
+                iterator.remove();
+            }
+            startNextRequests();
+        }
+
+        public void cancel(int position) {
+            mQueued.remove(position);
+            ImageLoader.ImageContainer container = mInFlight.remove(position);
+            if (container != null) {
+                // Volley only cancels the request if no view is waiting on the same image
+                container.cancelRequest();
+            }
+            startNextRequests();
+        }
+
+        public void cancelAll() {
+            mQueued.clear();
+            for (ImageLoader.ImageContainer container : mInFlight.values()) {
+                container.cancelRequest();
+            }
+            mInFlight.clear();
+        }
+
+        private void startNextRequests() {
+            while (mInFlight.size() < MAX_CONCURRENT_REQUESTS && !mQueued.isEmpty()) {
+                // start the most recently queued request first since it's for the item furthest ahead of
+                // the scroll, which is the least likely to already be requested by its row
+                Integer position = null;
+                for (Integer key : mQueued.keySet()) {
+                    position = key;
+                }
+                final ImageRequestInfo info = mQueued.remove(position);
+                final int requestPosition = position;
+                ImageLoader.ImageContainer container = WordPress.sImageLoader.get(
+                        info.mUrl,
+                        new ImageLoader.ImageListener() {
+                            @Override
+                            public void onResponse(ImageLoader.ImageContainer response, boolean isImmediate) {
+                                if (response.getBitmap() != null || !isImmediate) {
+                                    onRequestCompleted(requestPosition, response);
+                                }
+                            }
+
+                            @Override
+                            public void onErrorResponse(VolleyError error) {
+                                onRequestCompleted(requestPosition, null);
+                            }
+                        },
+                        info.mMaxWidth, info.mMaxHeight, info.mScaleType);
+                // the listener has already been called if the image was cached
+                if (container.getBitmap() == null) {
+                    mInFlight.put(requestPosition, container);
+                }
+            }
+        }
+
+        private void onRequestCompleted(int position, ImageLoader.ImageContainer container) {
+            ImageLoader.ImageContainer inFlight = mInFlight.get(position);
+            if (inFlight != null && (container == null || inFlight == container)) {
+                mInFlight.remove(position);
+                startNextRequests();
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.wordpress.android.util;
+
+import android.support.annotation.NonNull;
+import android.text.TextUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable prefix index over the words of a list of items, where each item is identified by its position
+ * in the list. The words are stored in a sorted array alongside the position of the item they came from, so
+ * finding the items with a word starting with a prefix is a binary search followed by a scan of the matching
+ * words, rather than a scan of every item. Used by the site picker, plugin directory, category picker and
+ * @-mention searches.
+ */
+public class WordPrefixIndex {
+    private final String[] mWords;
+    private final int[] mPositions;
+    private final int mNumItems;
+
+    private static class WordRef implements Comparable<WordRef> {
+        private final String mWord;
+        private final int mPosition;
+
+        WordRef(String word, int position) {
+            mWord = word;
+            mPosition = position;
+        }
+
+        @Override
+        public int compareTo(@NonNull WordRef other) {
+            return mWord.compareTo(other.mWord);
+        }
+    }
+
+    public static class Builder {
+        private final List<WordRef> mRefs = new ArrayList<>();
+        private int mNumItems;
+
+        /*
+         * adds a word for the item at the passed position as is - it's up to the caller to lowercase it
+         */
+        public Builder addWord(String word, int position) {
+            mRefs.add(new WordRef(word, position));
+            mNumItems = Math.max(mNumItems, position + 1);
+            return this;
+        }
+
+        /*
+         * adds each word in the passed text, lowercased, for the item at the passed position
+         */
+        public Builder addWords(String text, int position) {
+            for (String word : getLowerCaseWords(text)) {
+                addWord(word, position);
+            }
+            return this;
+        }
+
+        /*
+         * makes sure the index covers the passed number of items, even if the last ones have no words
+         */
+        public Builder setNumItems(int numItems) {
+            mNumItems = Math.max(mNumItems, numItems);
+            return this;
+        }
+
+        public WordPrefixIndex build() {
+            return new WordPrefixIndex(mRefs, mNumItems);
+        }
+    }
+
+    private WordPrefixIndex(List<WordRef> refs, int numItems) {
+        WordRef[] sorted = refs.toArray(new WordRef[refs.size()]);
+        Arrays.sort(sorted);
+        mWords = new String[sorted.length];
+        mPositions = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            mWords[i] = sorted[i].mWord;
+            mPositions[i] = sorted[i].mPosition;
+        }
+        mNumItems = numItems;
+    }
+
+    /*
+     * splits text into the words it's searched by - runs of letters and digits - leaving the case as is
+     */
+    public static void splitWords(List<String> words, String text) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start == -1) {
+                start = i;
+            } else if (!isWordChar && start != -1) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+    }
+
+    /*
+     * splits text into words as above after lowercasing it in the default locale, which is how both the
+     * items' text and queries are split unless the caller needs something else
+     */
+    public static List<String> getLowerCaseWords(String text) {
+        List<String> words = new ArrayList<>();
+        if (!TextUtils.isEmpty(text)) {
+            splitWords(words, text.toLowerCase(Locale.getDefault()));
+        }
+        return words;
+    }
+
+    /*
+     * returns the positions of the items with a word starting with the prefix, which must be lowercase
+     */
+    public BitSet findPrefix(String prefix) {
+        BitSet matches = new BitSet(mNumItems);
+        // binary search for the first word that's >= the prefix, which is the first one starting with it
+        // if any do
+        int low = 0;
+        int high = mWords.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mWords[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < mWords.length && mWords[i].startsWith(prefix); i++) {
+            matches.set(mPositions[i]);
+        }
+        return matches;
+    }
+
+    /*
+     * returns the positions of the items where every word in the query starts one of the item's words,
+     * or null if the query doesn't contain any words
+     */
+    public BitSet findAllWords(String query) {
+        List<String> queryWords = getLowerCaseWords(query);
+        if (queryWords.isEmpty()) {
+            return null;
+        }
+        BitSet matches = null;
+        for (String queryWord : queryWords) {
+            BitSet wordMatches = findPrefix(queryWord);
+            if (matches == null) {
+                matches = wordMatches;
+            } else {
+                matches.and(wordMatches);
+            }
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+        return matches;
+    }
+}
@@ -19,6 +19,7 @@ import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.model.plugin.ImmutablePluginModel;
 import org.wordpress.android.fluxc.model.plugin.PluginDirectoryType;
 import org.wordpress.android.fluxc.store.PluginStore;
+import org.wordpress.android.ui.plugins.PluginDirectoryIndex;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.StringUtils;
 
@@ -28,6 +29,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.inject.Inject;
 
@@ -51,11 +54,28 @@ public class PluginBrowserViewModel extends ViewModel {
     private static final String KEY_SEARCH_QUERY = "KEY_SEARCH_QUERY";
     private static final String KEY_TITLE = "KEY_TITLE";
 
+    // the directories are kept in the store, so ones fetched recently are shown from there when the browser
+    // is opened again rather than being fetched again - pull to refresh always fetches
+    private static final long SITE_DIRECTORY_TTL_MS = 5 * 60 * 1000;
+    private static final long WPORG_DIRECTORY_TTL_MS = 60 * 60 * 1000;
+    private static final Map<String, DirectoryFetch> DIRECTORY_FETCHES = new HashMap<>();
+
+    private static class DirectoryFetch {
+        private final long mTime;
+        private final boolean mCanLoadMore;
+
+        DirectoryFetch(boolean canLoadMore) {
+            mTime = System.currentTimeMillis();
+            mCanLoadMore = canLoadMore;
+        }
+    }
+
     private final Dispatcher mDispatcher;
     private final PluginStore mPluginStore;
 
     private boolean mIsStarted = false;
-    private String mSearchQuery;
+    // read by the index executor when it updates the local search results
+    private volatile String mSearchQuery;
     private SiteModel mSite;
 
     private final Handler mHandler;
@@ -64,6 +84,14 @@ public class PluginBrowserViewModel extends ViewModel {
     @SuppressWarnings("WeakerAccess")
     protected final Set<String> mUpdatedPluginSlugSet;
 
+    private final Map<PluginDirectoryType, List<ImmutablePluginModel>> mDirectoryLists = new HashMap<>();
+    // index of the directory lists, rebuilt in the background each time they change - the versions tell
+    // whether the index includes the latest change
+    private final ExecutorService mIndexExecutor = Executors.newSingleThreadExecutor();
+    private PluginDirectoryIndex mDirectoryIndex;
+    private int mDirectoryListsVersion;
+    private int mDirectoryIndexVersion;
+
     private final MutableLiveData<PluginListStatus> mFeaturedPluginsListStatus;
     private final MutableLiveData<PluginListStatus> mNewPluginsListStatus;
     private final MutableLiveData<PluginListStatus> mPopularPluginsListStatus;
@@ -108,6 +136,7 @@ public class PluginBrowserViewModel extends ViewModel {
     protected void onCleared() {
         super.onCleared();
         mDispatcher.unregister(this);
+        mIndexExecutor.shutdownNow();
     }
 
     public void writeToBundle(@NonNull Bundle outState) {
@@ -137,10 +166,10 @@ public class PluginBrowserViewModel extends ViewModel {
         reloadPluginDirectory(PluginDirectoryType.POPULAR);
         reloadPluginDirectory(PluginDirectoryType.SITE);
 
-        fetchPlugins(PluginListType.SITE, false);
-        fetchPlugins(PluginListType.FEATURED, false);
-        fetchPlugins(PluginListType.POPULAR, false);
-        fetchPlugins(PluginListType.NEW, false);
+        fetchPluginsIfStale(PluginListType.SITE, PluginDirectoryType.SITE);
+        fetchPluginsIfStale(PluginListType.FEATURED, PluginDirectoryType.FEATURED);
+        fetchPluginsIfStale(PluginListType.POPULAR, PluginDirectoryType.POPULAR);
+        fetchPluginsIfStale(PluginListType.NEW, PluginDirectoryType.NEW);
         // If activity is recreated we need to re-search
         if (shouldSearch()) {
             fetchPlugins(PluginListType.SEARCH, false);
@@ -168,6 +197,122 @@ public class PluginBrowserViewModel extends ViewModel {
                 mSitePlugins.postValue(pluginList);
                 break;
         }
+        setDirectoryList(directoryType, pluginList);
+    }
+
+    private void setDirectoryList(PluginDirectoryType directoryType, List<ImmutablePluginModel> pluginList) {
+        synchronized (mDirectoryLists) {
+            mDirectoryLists.put(directoryType, pluginList);
+            mDirectoryListsVersion++;
+        }
+        if (mIndexExecutor.isShutdown()) {
+            return;
+        }
+        mIndexExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                buildDirectoryIndex();
+                // update the local results if the remote search hasn't returned yet
+                if (mSearchPluginsListStatus.getValue() == PluginListStatus.FETCHING) {
+                    showLocalSearchResults();
+                }
+            }
+        });
+    }
+
+    /*
+     * returns the index of the current directory lists, building it if it's out of date
+     */
+    @WorkerThread
+    private PluginDirectoryIndex buildDirectoryIndex() {
+        Map<PluginDirectoryType, List<ImmutablePluginModel>> directoryLists;
+        int version;
+        synchronized (mDirectoryLists) {
+            if (mDirectoryIndex != null && mDirectoryIndexVersion == mDirectoryListsVersion) {
+                return mDirectoryIndex;
+            }
+            directoryLists = new HashMap<>(mDirectoryLists);
+            version = mDirectoryListsVersion;
+        }
+        PluginDirectoryIndex directoryIndex = new PluginDirectoryIndex(directoryLists);
+        synchronized (mDirectoryLists) {
+            if (mDirectoryIndex == null || version > mDirectoryIndexVersion) {
+                mDirectoryIndex = directoryIndex;
+                mDirectoryIndexVersion = version;
+            }
+        }
+        return directoryIndex;
+    }
+
+    /*
+     * returns the most recently built index without building one, so it may not include the latest
+     * changes to the lists, or be null if no index has been built yet
+     */
+    @Nullable
+    private PluginDirectoryIndex getBuiltDirectoryIndex() {
+        synchronized (mDirectoryLists) {
+            return mDirectoryIndex;
+        }
+    }
+
+    private List<ImmutablePluginModel> getDirectoryList(PluginDirectoryType directoryType) {
+        synchronized (mDirectoryLists) {
+            return mDirectoryLists.get(directoryType);
+        }
+    }
+
+    // Directory cache
+
+    private static String getDirectoryFetchKey(SiteModel site, PluginDirectoryType directoryType) {
+        return (site != null ? site.getId() : 0) + ":" + directoryType.name();
+    }
+
+    private static void setDirectoryFetched(SiteModel site, PluginDirectoryType directoryType, boolean canLoadMore) {
+        synchronized (DIRECTORY_FETCHES) {
+            DIRECTORY_FETCHES.put(getDirectoryFetchKey(site, directoryType), new DirectoryFetch(canLoadMore));
+        }
+    }
+
+    /*
+     * returns the last fetch of the directory if it's recent enough to show without fetching again
+     */
+    @Nullable
+    private static DirectoryFetch getFreshDirectoryFetch(SiteModel site, PluginDirectoryType directoryType) {
+        DirectoryFetch fetch;
+        synchronized (DIRECTORY_FETCHES) {
+            fetch = DIRECTORY_FETCHES.get(getDirectoryFetchKey(site, directoryType));
+        }
+        long ttl = directoryType == PluginDirectoryType.SITE ? SITE_DIRECTORY_TTL_MS : WPORG_DIRECTORY_TTL_MS;
+        if (fetch == null || System.currentTimeMillis() - fetch.mTime > ttl) {
+            return null;
+        }
+        return fetch;
+    }
+
+    @WorkerThread
+    private void fetchPluginsIfStale(@NonNull PluginListType listType, @NonNull PluginDirectoryType directoryType) {
+        DirectoryFetch fetch = getFreshDirectoryFetch(getSite(), directoryType);
+        List<ImmutablePluginModel> pluginList = getDirectoryList(directoryType);
+        if (fetch == null || pluginList == null || pluginList.isEmpty()) {
+            fetchPlugins(listType, false);
+            return;
+        }
+        AppLog.d(AppLog.T.PLUGINS, "Showing cached plugin directory " + directoryType);
+        PluginListStatus status = fetch.mCanLoadMore ? PluginListStatus.CAN_LOAD_MORE : PluginListStatus.DONE;
+        switch (listType) {
+            case SITE:
+                mSitePluginsListStatus.postValue(status);
+                break;
+            case FEATURED:
+                mFeaturedPluginsListStatus.postValue(status);
+                break;
+            case POPULAR:
+                mPopularPluginsListStatus.postValue(status);
+                break;
+            case NEW:
+                mNewPluginsListStatus.postValue(status);
+                break;
+        }
     }
 
     // Pull to refresh
@@ -298,6 +443,7 @@ public class PluginBrowserViewModel extends ViewModel {
                 mSitePluginsListStatus.postValue(listStatus);
         }
         if (!event.isError()) {
+            setDirectoryFetched(getSite(), event.type, event.canLoadMore);
             reloadPluginDirectory(event.type);
         }
     }
@@ -398,8 +544,20 @@ public class PluginBrowserViewModel extends ViewModel {
         if (updatedPluginSlugSet.size() == 0) {
             return;
         }
+        // only look up the plugins that are actually being shown
+        PluginDirectoryIndex directoryIndex = buildDirectoryIndex();
+        Set<String> searchResultSlugs = new HashSet<>();
+        List<ImmutablePluginModel> searchResults = mSearchResults.getValue();
+        if (searchResults != null) {
+            for (ImmutablePluginModel immutablePlugin : searchResults) {
+                searchResultSlugs.add(immutablePlugin.getSlug());
+            }
+        }
         Map<String, ImmutablePluginModel> newPluginMap = new HashMap<>(updatedPluginSlugSet.size());
         for (String slug : updatedPluginSlugSet) {
+            if (!directoryIndex.containsSlug(slug) && !searchResultSlugs.contains(slug)) {
+                continue;
+            }
             ImmutablePluginModel immutablePlugin = mPluginStore.getImmutablePluginBySlug(getSite(), slug);
             if (immutablePlugin != null) {
                 newPluginMap.put(slug, immutablePlugin);
@@ -407,9 +565,9 @@ public class PluginBrowserViewModel extends ViewModel {
         }
         // By combining all the updated plugins into one map, we can post a single update to the UI after changes are
         // reflected
-        updatePluginListWithNewPlugin(mFeaturedPlugins, newPluginMap);
-        updatePluginListWithNewPlugin(mNewPlugins, newPluginMap);
-        updatePluginListWithNewPlugin(mPopularPlugins, newPluginMap);
+        updateDirectoryListWithNewPlugins(PluginDirectoryType.FEATURED, mFeaturedPlugins, directoryIndex, newPluginMap);
+        updateDirectoryListWithNewPlugins(PluginDirectoryType.NEW, mNewPlugins, directoryIndex, newPluginMap);
+        updateDirectoryListWithNewPlugins(PluginDirectoryType.POPULAR, mPopularPlugins, directoryIndex, newPluginMap);
         updatePluginListWithNewPlugin(mSearchResults, newPluginMap);
 
         // Unfortunately we can't use the same method to update the site plugins because removing/installing plugins can
@@ -419,6 +577,39 @@ public class PluginBrowserViewModel extends ViewModel {
         reloadPluginDirectory(PluginDirectoryType.SITE);
     }
 
+    /*
+     * replaces the updated plugins in the directory list using the positions in the index rather than
+     * scanning the list for them
+     */
+    @WorkerThread
+    private void updateDirectoryListWithNewPlugins(
+            @NonNull PluginDirectoryType directoryType,
+            @NonNull MutableLiveData<List<ImmutablePluginModel>> mutableLiveData,
+            @NonNull PluginDirectoryIndex directoryIndex,
+            @NonNull Map<String, ImmutablePluginModel> newPluginMap) {
+        List<ImmutablePluginModel> pluginList = getDirectoryList(directoryType);
+        if (pluginList == null || pluginList.size() == 0 || newPluginMap.size() == 0) {
+            // Nothing to update
+            return;
+        }
+        List<ImmutablePluginModel> newList = null;
+        for (Map.Entry<String, ImmutablePluginModel> entry : newPluginMap.entrySet()) {
+            int position = directoryIndex.getPosition(directoryType, entry.getKey());
+            if (position > -1 && position < pluginList.size()
+                && StringUtils.equals(pluginList.get(position).getSlug(), entry.getKey())) {
+                if (newList == null) {
+                    newList = new ArrayList<>(pluginList);
+                }
+                newList.set(position, entry.getValue());
+            }
+        }
+        // Only update if the list is actually changed
+        if (newList != null) {
+            mutableLiveData.postValue(newList);
+            setDirectoryList(directoryType, newList);
+        }
+    }
+
     @WorkerThread
     private void updatePluginListWithNewPlugin(
             @NonNull final MutableLiveData<List<ImmutablePluginModel>> mutableLiveData,
@@ -454,6 +645,9 @@ public class PluginBrowserViewModel extends ViewModel {
     public void setSearchQuery(String searchQuery) {
         mSearchQuery = searchQuery;
 
+        // show matches from the cached directories straight away, the remote search replaces them
+        showLocalSearchResults();
+
         // Don't delay if the searchQuery is empty
         submitSearch(searchQuery, !TextUtils.isEmpty(searchQuery));
     }
@@ -478,7 +672,7 @@ public class PluginBrowserViewModel extends ViewModel {
                 }
             }, 250);
         } else {
-            clearSearchResults();
+            showLocalSearchResults();
 
             if (shouldSearch()) {
                 fetchPlugins(PluginListType.SEARCH, false);
@@ -496,9 +690,16 @@ public class PluginBrowserViewModel extends ViewModel {
         }
     }
 
-    @WorkerThread
-    private void clearSearchResults() {
-        mSearchResults.postValue(new ArrayList<ImmutablePluginModel>());
+    /*
+     * searches the directory index if one has been built - if not, the results are shown once it has
+     */
+    private void showLocalSearchResults() {
+        PluginDirectoryIndex directoryIndex = getBuiltDirectoryIndex();
+        if (shouldSearch() && directoryIndex != null) {
+            mSearchResults.postValue(directoryIndex.search(getSearchQuery()));
+        } else {
+            mSearchResults.postValue(new ArrayList<ImmutablePluginModel>());
+        }
     }
 
     public boolean shouldShowEmptySearchResultsView() {
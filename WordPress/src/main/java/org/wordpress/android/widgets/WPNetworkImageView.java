@@ -12,6 +12,7 @@ import android.os.AsyncTask;
 import android.support.annotation.ColorRes;
 import android.support.annotation.DrawableRes;
 import android.support.v4.content.ContextCompat;
+import android.support.v4.util.LruCache;
 import android.support.v7.widget.AppCompatImageView;
 import android.text.TextUtils;
 import android.util.AttributeSet;
@@ -26,13 +27,18 @@ import org.wordpress.android.WordPress;
 import org.wordpress.android.datasets.ReaderThumbnailTable;
 import org.wordpress.android.ui.reader.utils.ReaderVideoUtils;
 import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.BitmapLruCache;
 import org.wordpress.android.util.DisplayUtils;
 import org.wordpress.android.util.ImageUtils;
 import org.wordpress.android.util.MediaUtils;
 import org.wordpress.android.util.VolleyUtils;
 
+import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * most of the code below is from Volley's NetworkImageView, but it's modified to support:
@@ -61,6 +67,10 @@ public class WPNetworkImageView extends AppCompatImageView {
     private ImageType mImageType = ImageType.NONE;
     private String mUrl;
     private ImageLoader.ImageContainer mImageContainer;
+    // cache key of the bitmap being read from the disk cache, if any
+    private String mDiskLookupKey;
+    // pending task shaping this view's image, if any
+    private ShapeBitmapTask mShapeTask;
 
     private int mDefaultImageResId;
     private int mErrorImageResId;
@@ -70,6 +80,28 @@ public class WPNetworkImageView extends AppCompatImageView {
 
     private static final HashSet<String> URL_SKIP_LIST = new HashSet<>();
 
+    // dedicated executor for shaping avatars & rounded photos so they don't compete with (and get rejected
+    // by) the shared AsyncTask pool - a view cancels its pending shape when it's rebound, and when the queue
+    // is full the cancelled tasks are purged to make room, if there's still no room the image is shown
+    // without being shaped
+    private static final int SHAPE_EXECUTOR_THREADS = 2;
+    private static final int SHAPE_EXECUTOR_QUEUE_SIZE = 32;
+    private static final ThreadPoolExecutor SHAPE_EXECUTOR = new ThreadPoolExecutor(
+            SHAPE_EXECUTOR_THREADS, SHAPE_EXECUTOR_THREADS, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(SHAPE_EXECUTOR_QUEUE_SIZE));
+
+    // already-shaped bitmaps keyed by shape, size and url, sized in kilobytes to 1/32 of available memory
+    private static final LruCache<String, Bitmap> SHAPED_BITMAP_CACHE =
+            new LruCache<String, Bitmap>((int) (Runtime.getRuntime().maxMemory() / 1024 / 32)) {
+                @Override
+                protected int sizeOf(String key, Bitmap value) {
+                    return value.getRowBytes() * value.getHeight() / 1024;
+                }
+            };
+
+    // bitmap cache hit/miss counts for each image type, indexed by BitmapLruCache.LookupSource
+    private static final EnumMap<ImageType, int[]> CACHE_LOOKUP_COUNTS = new EnumMap<>(ImageType.class);
+
     public WPNetworkImageView(Context context) {
         this(context, null);
     }
@@ -110,6 +142,9 @@ public class WPNetworkImageView extends AppCompatImageView {
                             ImageLoadListener imageLoadListener,
                             int cropWidth,
                             int cropHeight) {
+        if (!TextUtils.equals(url, mUrl)) {
+            cancelShapeTask();
+        }
         mUrl = url;
         mImageType = imageType;
 
@@ -240,15 +275,93 @@ public class WPNetworkImageView extends AppCompatImageView {
         int maxWidth = wrapWidth ? 0 : width;
         int maxHeight = wrapHeight ? 0 : height;
 
+        // a disk cache read for this image is already underway
+        String cacheKey = BitmapLruCache.getCacheKey(mUrl, maxWidth, maxHeight, scaleType);
+        if (cacheKey.equals(mDiskLookupKey)) {
+            return;
+        }
+
+        BitmapLruCache.LookupSource lookupSource = WordPress.getBitmapCache().getLookupSource(cacheKey);
+        trackCacheLookup(mImageType, lookupSource);
+        if (lookupSource == BitmapLruCache.LookupSource.DISK) {
+            loadImageFromDiskCache(cacheKey, imageLoadListener, maxWidth, maxHeight, scaleType);
+        } else {
+            mDiskLookupKey = null;
+            requestImage(mUrl, isInLayoutPass, imageLoadListener, maxWidth, maxHeight, scaleType);
+        }
+    }
+
+    private void requestImage(String url,
+                              boolean isInLayoutPass,
+                              ImageLoadListener imageLoadListener,
+                              int maxWidth,
+                              int maxHeight,
+                              ScaleType scaleType) {
         // The pre-existing content of this view didn't match the current URL. Load the new image
         // from the network.
         ImageLoader.ImageContainer newContainer = WordPress.sImageLoader.get(
-                mUrl, new WPNetworkImageLoaderListener(mUrl, isInLayoutPass, imageLoadListener),
+                url, new WPNetworkImageLoaderListener(url, isInLayoutPass, imageLoadListener),
                 maxWidth, maxHeight, scaleType);
         // update the ImageContainer to be the new bitmap container.
         mImageContainer = newContainer;
     }
 
+    /*
+     * reads the image from the disk cache in the background - once it's in the memory cache the
+     * ImageLoader returns it immediately, and if it couldn't be read it's requested from the network
+     */
+    private void loadImageFromDiskCache(final String cacheKey,
+                                        final ImageLoadListener imageLoadListener,
+                                        final int maxWidth,
+                                        final int maxHeight,
+                                        final ScaleType scaleType) {
+        final String requestedUrl = mUrl;
+        mImageContainer = null;
+        mDiskLookupKey = cacheKey;
+        WordPress.getBitmapCache().loadFromDisk(cacheKey, new BitmapLruCache.DiskLookupListener() {
+            @Override
+            public void onDiskLookupFinished(boolean found) {
+                // skip if the view has been recycled or detached since the read started
+                if (!cacheKey.equals(mDiskLookupKey) || !requestedUrl.equals(mUrl)) {
+                    return;
+                }
+                mDiskLookupKey = null;
+                requestImage(requestedUrl, false, imageLoadListener, maxWidth, maxHeight, scaleType);
+            }
+        });
+    }
+
+    /*
+     * called from the main thread before each image is loaded to record whether it came from the memory
+     * cache, the disk cache, or had to be requested
+     */
+    private static void trackCacheLookup(ImageType imageType, BitmapLruCache.LookupSource source) {
+        int[] counts = CACHE_LOOKUP_COUNTS.get(imageType);
+        if (counts == null) {
+            counts = new int[BitmapLruCache.LookupSource.values().length];
+            CACHE_LOOKUP_COUNTS.put(imageType, counts);
+        }
+        counts[source.ordinal()]++;
+    }
+
+    /*
+     * returns the number of cache lookups for the passed image type that were satisfied by the passed source
+     */
+    public static int getCacheLookupCount(ImageType imageType, BitmapLruCache.LookupSource source) {
+        int[] counts = CACHE_LOOKUP_COUNTS.get(imageType);
+        return counts != null ? counts[source.ordinal()] : 0;
+    }
+
+    public static void logCacheLookupCounts() {
+        for (ImageType imageType : CACHE_LOOKUP_COUNTS.keySet()) {
+            int[] counts = CACHE_LOOKUP_COUNTS.get(imageType);
+            AppLog.d(AppLog.T.UTILS, "WPNetworkImageView > " + imageType.name()
+                                     + " memory hits " + counts[BitmapLruCache.LookupSource.MEMORY.ordinal()]
+                                     + ", disk hits " + counts[BitmapLruCache.LookupSource.DISK.ordinal()]
+                                     + ", misses " + counts[BitmapLruCache.LookupSource.MISS.ordinal()]);
+        }
+    }
+
     /**
      * Our implementation of ImageLoader.ImageListener that keeps a reference to the requested URL
      * and makes sure we're setting the correct requested picture on response.
@@ -332,22 +445,12 @@ public class WPNetworkImageView extends AppCompatImageView {
                 bitmap = ThumbnailUtils.extractThumbnail(bitmap, mCropWidth, mCropHeight);
             }
 
-            try {
-                // Apply circular rounding to avatars in a background task
-                if (mImageType == ImageType.AVATAR) {
-                    new ShapeBitmapTask(ShapeType.CIRCLE, imageLoadListener)
-                            .executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, bitmap);
-                    return;
-                } else if (mImageType == ImageType.PHOTO_ROUNDED) {
-                    new ShapeBitmapTask(ShapeType.ROUNDED, imageLoadListener)
-                            .executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, bitmap);
-                    return;
-                }
-            } catch (RejectedExecutionException e) {
-                AppLog.w(AppLog.T.UTILS,
-                         "Too many tasks already available in the default AsyncTask.THREAD_POOL_EXECUTOR queue. "
-                         + "The current ShapeBitmapTask was rejected");
-                showDefaultImage();
+            // Apply circular rounding to avatars in a background task
+            if (mImageType == ImageType.AVATAR) {
+                shapeBitmap(ShapeType.CIRCLE, bitmap, mUrl, imageLoadListener);
+                return;
+            } else if (mImageType == ImageType.PHOTO_ROUNDED) {
+                shapeBitmap(ShapeType.ROUNDED, bitmap, mUrl, imageLoadListener);
                 return;
             }
 
@@ -363,6 +466,8 @@ public class WPNetworkImageView extends AppCompatImageView {
     }
 
     public void resetImage() {
+        mDiskLookupKey = null;
+        cancelShapeTask();
         if (mImageContainer != null) {
             // If the view was bound to an image request, cancel it and clear
             // out the image from the view.
@@ -387,6 +492,8 @@ public class WPNetworkImageView extends AppCompatImageView {
 
     @Override
     protected void onDetachedFromWindow() {
+        mDiskLookupKey = null;
+        cancelShapeTask();
         if (mImageContainer != null) {
             // If the view was bound to an image request, cancel it and clear
             // out the image from the view.
@@ -484,16 +591,18 @@ public class WPNetworkImageView extends AppCompatImageView {
         if (getContext() == null) {
             return;
         }
-        try {
-            new ShapeBitmapTask(ShapeType.CIRCLE, null)
-                    .executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, BitmapFactory.decodeResource(
-                            getContext().getResources(),
-                            R.drawable.ic_placeholder_gravatar_grey_lighten_20_100dp
-                                                                                                   ));
-        } catch (RejectedExecutionException e) {
-            AppLog.w(AppLog.T.UTILS,
-                     "Too many tasks already available in the default AsyncTask.THREAD_POOL_EXECUTOR queue. "
-                     + "The current DefaultGravatarImage was rejected");
+        // the shaped placeholder is cached, so only decode the resource when it isn't
+        String cacheKey = getShapedBitmapCacheKey(ShapeType.CIRCLE, 0, 0, DEFAULT_GRAVATAR_KEY);
+        Bitmap shapedBitmap = SHAPED_BITMAP_CACHE.get(cacheKey);
+        if (shapedBitmap != null) {
+            setImageBitmap(shapedBitmap);
+            return;
+        }
+        Bitmap bitmap = BitmapFactory.decodeResource(getContext().getResources(),
+                                                     R.drawable.ic_placeholder_gravatar_grey_lighten_20_100dp);
+        if (!executeShapeTask(new ShapeBitmapTask(ShapeType.CIRCLE, cacheKey, null, null), bitmap)) {
+            AppLog.w(AppLog.T.UTILS, "WPNetworkImageView > default gravatar shape task rejected");
+            setImageBitmap(bitmap);
         }
     }
 
@@ -526,15 +635,97 @@ public class WPNetworkImageView extends AppCompatImageView {
         CIRCLE, ROUNDED
     }
 
+    private static final String DEFAULT_GRAVATAR_KEY = "default_gravatar";
+
+    /*
+     * the size is part of the key since Volley scales the same url differently depending on the view's size
+     */
+    private static String getShapedBitmapCacheKey(ShapeType shapeType, int width, int height, String url) {
+        return shapeType.name() + "#W" + width + "#H" + height + url;
+    }
+
+    /*
+     * shows the shaped version of the passed bitmap, using the cached version if the same url has already
+     * been shaped at the same size
+     */
+    private void shapeBitmap(ShapeType shapeType, Bitmap bitmap, String url, ImageLoadListener imageLoadListener) {
+        String cacheKey = getShapedBitmapCacheKey(shapeType, bitmap.getWidth(), bitmap.getHeight(), url);
+        Bitmap shapedBitmap = SHAPED_BITMAP_CACHE.get(cacheKey);
+        if (shapedBitmap != null) {
+            setImageBitmap(shapedBitmap);
+            if (imageLoadListener != null) {
+                imageLoadListener.onLoaded();
+            }
+            return;
+        }
+
+        if (!executeShapeTask(new ShapeBitmapTask(shapeType, cacheKey, url, imageLoadListener), bitmap)) {
+            // better to show the image unshaped than to leave the view blank
+            AppLog.w(AppLog.T.UTILS, "WPNetworkImageView > shape task rejected");
+            setImageBitmap(bitmap);
+            if (imageLoadListener != null) {
+                imageLoadListener.onLoaded();
+            }
+        }
+    }
+
+    /*
+     * starts shaping the passed bitmap for this view after cancelling any shape that's still pending,
+     * returns false if the task couldn't be queued
+     */
+    private boolean executeShapeTask(ShapeBitmapTask task, Bitmap bitmap) {
+        cancelShapeTask();
+        // tasks cancelled by views that have been rebound stay in the queue until they're purged
+        if (SHAPE_EXECUTOR.getQueue().remainingCapacity() == 0) {
+            SHAPE_EXECUTOR.purge();
+        }
+        try {
+            task.executeOnExecutor(SHAPE_EXECUTOR, bitmap);
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+        mShapeTask = task;
+        return true;
+    }
+
+    private void cancelShapeTask() {
+        if (mShapeTask != null) {
+            mShapeTask.cancel(false);
+            mShapeTask = null;
+        }
+    }
+
+    /*
+     * removes shaped bitmaps whose url contains the passed string, used when an avatar is changed
+     */
+    public static void removeSimilarShapedBitmaps(String urlLike) {
+        for (String key : SHAPED_BITMAP_CACHE.snapshot().keySet()) {
+            if (key.contains(urlLike)) {
+                SHAPED_BITMAP_CACHE.remove(key);
+            }
+        }
+    }
+
+    public static void clearShapedBitmapCache() {
+        SHAPED_BITMAP_CACHE.evictAll();
+    }
+
     private class ShapeBitmapTask extends AsyncTask<Bitmap, Void, Bitmap> {
         private final ImageLoadListener mImageLoadListener;
         private final ShapeType mShapeType;
+        private final String mCacheKey;
+        private final String mRequestedUrl;
         private int mRoundedCornerRadiusPx;
         private static final int ROUNDED_CORNER_RADIUS_DP = 2;
 
-        ShapeBitmapTask(ShapeType shapeType, ImageLoadListener imageLoadListener) {
+        ShapeBitmapTask(ShapeType shapeType,
+                        String cacheKey,
+                        String requestedUrl,
+                        ImageLoadListener imageLoadListener) {
             mImageLoadListener = imageLoadListener;
             mShapeType = shapeType;
+            mCacheKey = cacheKey;
+            mRequestedUrl = requestedUrl;
             if (mShapeType == ShapeType.ROUNDED) {
                 mRoundedCornerRadiusPx = DisplayUtils.dpToPx(getContext(), ROUNDED_CORNER_RADIUS_DP);
             }
@@ -559,6 +750,16 @@ public class WPNetworkImageView extends AppCompatImageView {
 
         @Override
         protected void onPostExecute(Bitmap bitmap) {
+            if (mShapeTask == this) {
+                mShapeTask = null;
+            }
+            if (bitmap != null) {
+                SHAPED_BITMAP_CACHE.put(mCacheKey, bitmap);
+            }
+            // the view may have been recycled for another url while this was being shaped
+            if (mRequestedUrl != null && !mRequestedUrl.equals(mUrl)) {
+                return;
+            }
             if (bitmap != null) {
                 setImageBitmap(bitmap);
                 if (mImageLoadListener != null) {
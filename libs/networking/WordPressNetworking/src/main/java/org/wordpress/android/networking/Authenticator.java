@@ -10,4 +10,10 @@ package org.wordpress.android.networking;
  */
 public interface Authenticator {
     void authenticate(AuthenticatorRequest authenticatorRequest);
+
+    /**
+     * Returns the access token requests are currently authenticated with, or null if there isn't one. Used
+     * to tell identical requests made for different accounts apart.
+     */
+    String getAccessToken();
 }
@@ -0,0 +1,172 @@
+package org.wordpress.android.networking;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.text.TextUtils;
+
+import org.json.JSONObject;
+import org.wordpress.android.util.AppLog;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Stores the validators (ETag and Last-Modified) of the last full response for each endpoint requested
+ * through RestClientUtils with a NotModifiedListener, so the next request for that endpoint can be made
+ * conditional. Also counts the bytes and time saved by responses that turned out to be not modified.
+ *
+ * The validators of a full response aren't stored until the caller has saved the response and calls
+ * {@link #saveValidators}, otherwise a failed save would leave us sending validators for data we don't
+ * have and the server would keep telling us nothing has changed.
+ */
+public class ConditionalRequestStore {
+    private static final String PREFS_NAME = "rest_conditional_requests";
+
+    private static final String KEY_ETAG = "#etag";
+    private static final String KEY_LAST_MODIFIED = "#last_modified";
+    private static final String KEY_NUM_BYTES = "#num_bytes";
+    private static final String KEY_ELAPSED_MS = "#elapsed_ms";
+
+    private static ConditionalRequestStore sInstance;
+
+    private final SharedPreferences mPrefs;
+
+    // validators of full responses that haven't been saved by the caller yet - keyed by the response
+    // itself so they're dropped along with responses that are never saved
+    private final Map<JSONObject, PendingValidators> mPendingValidators = new WeakHashMap<>();
+
+    private int mNotModifiedCount;
+    private long mBytesSaved;
+    private long mTimeSavedMs;
+
+    public static synchronized ConditionalRequestStore getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = new ConditionalRequestStore(context.getApplicationContext());
+        }
+        return sInstance;
+    }
+
+    private ConditionalRequestStore(Context context) {
+        mPrefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /*
+     * returns the If-None-Match/If-Modified-Since headers for the passed url, empty if there's no
+     * stored validator for it
+     */
+    Map<String, String> getConditionalHeaders(String url) {
+        Map<String, String> headers = new HashMap<>();
+        String etag = mPrefs.getString(url + KEY_ETAG, null);
+        if (!TextUtils.isEmpty(etag)) {
+            headers.put("If-None-Match", etag);
+        }
+        String lastModified = mPrefs.getString(url + KEY_LAST_MODIFIED, null);
+        if (!TextUtils.isEmpty(lastModified)) {
+            headers.put("If-Modified-Since", lastModified);
+        }
+        return headers;
+    }
+
+    /*
+     * called with each full response - the url's stored validators no longer match what the caller has
+     * saved, so they're removed right away, and the response's own validators are held until the caller
+     * calls saveValidators() with the response
+     */
+    synchronized void onFullResponse(String url, JSONObject response, Map<String, String> responseHeaders,
+                                     int numBytes, long elapsedMs) {
+        mPrefs.edit()
+              .remove(url + KEY_ETAG)
+              .remove(url + KEY_LAST_MODIFIED)
+              .remove(url + KEY_NUM_BYTES)
+              .remove(url + KEY_ELAPSED_MS)
+              .apply();
+
+        String etag = getHeader(responseHeaders, "ETag");
+        String lastModified = getHeader(responseHeaders, "Last-Modified");
+        if (etag != null || lastModified != null) {
+            mPendingValidators.put(response, new PendingValidators(url, etag, lastModified, numBytes, elapsedMs));
+        }
+    }
+
+    /*
+     * stores the validators of a full response along with its size and how long it took, the latter two are
+     * used to work out what's saved each time the endpoint responds with a 304 - must only be called once
+     * the response has been saved
+     */
+    public synchronized void saveValidators(JSONObject response) {
+        PendingValidators validators = mPendingValidators.remove(response);
+        if (validators == null) {
+            return;
+        }
+        mPrefs.edit()
+              .putString(validators.mUrl + KEY_ETAG, validators.mEtag)
+              .putString(validators.mUrl + KEY_LAST_MODIFIED, validators.mLastModified)
+              .putInt(validators.mUrl + KEY_NUM_BYTES, validators.mNumBytes)
+              .putLong(validators.mUrl + KEY_ELAPSED_MS, validators.mElapsedMs)
+              .apply();
+    }
+
+    private static class PendingValidators {
+        private final String mUrl;
+        private final String mEtag;
+        private final String mLastModified;
+        private final int mNumBytes;
+        private final long mElapsedMs;
+
+        PendingValidators(String url, String etag, String lastModified, int numBytes, long elapsedMs) {
+            mUrl = url;
+            mEtag = etag;
+            mLastModified = lastModified;
+            mNumBytes = numBytes;
+            mElapsedMs = elapsedMs;
+        }
+    }
+
+    synchronized void onNotModified(String url, long elapsedMs) {
+        int numBytes = mPrefs.getInt(url + KEY_NUM_BYTES, 0);
+        long fullElapsedMs = mPrefs.getLong(url + KEY_ELAPSED_MS, 0);
+        mNotModifiedCount++;
+        mBytesSaved += numBytes;
+        mTimeSavedMs += Math.max(0, fullElapsedMs - elapsedMs);
+        AppLog.d(AppLog.T.API, "conditional request > not modified, saved " + numBytes + " bytes"
+                               + " (total " + mBytesSaved + " bytes and " + mTimeSavedMs + "ms in "
+                               + mNotModifiedCount + " requests) for " + url);
+    }
+
+    /*
+     * the header names in Volley's response map keep the case the server sent them in
+     */
+    private static String getHeader(Map<String, String> headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    public synchronized int getNotModifiedCount() {
+        return mNotModifiedCount;
+    }
+
+    public synchronized long getBytesSaved() {
+        return mBytesSaved;
+    }
+
+    public synchronized long getTimeSavedMs() {
+        return mTimeSavedMs;
+    }
+
+    /*
+     * must be called whenever the data the responses were stored in is deleted (ie: on sign out), otherwise
+     * the server would keep telling us nothing has changed
+     */
+    public synchronized void clear() {
+        mPendingValidators.clear();
+        mPrefs.edit().clear().apply();
+    }
+}
@@ -0,0 +1,73 @@
+package org.wordpress.android.networking;
+
+import android.os.SystemClock;
+
+import com.android.volley.AuthFailureError;
+import com.android.volley.NetworkResponse;
+import com.android.volley.Response;
+
+import org.json.JSONObject;
+
+import java.net.HttpURLConnection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * GET request that sends the validators stored for its url, and skips parsing entirely when the
+ * server responds with 304 Not Modified - the NotModifiedListener is called instead of the Listener.
+ * The validators of a full response are only stored once the Listener has saved the response and
+ * passed it to {@link ConditionalRequestStore#saveValidators}.
+ */
+class ConditionalRestRequest extends PrioritizedRestRequest {
+    // delivered in place of a parsed response when the server responds with a 304
+    private static final JSONObject NOT_MODIFIED = new JSONObject();
+
+    private final ConditionalRequestStore mStore;
+    private final RestClientUtils.NotModifiedListener mNotModifiedListener;
+    private final long mStartTime = SystemClock.elapsedRealtime();
+
+    ConditionalRestRequest(String url, ConditionalRequestStore store, RestClientUtils.RequestPriority priority,
+                           Listener listener, RestClientUtils.NotModifiedListener notModifiedListener,
+                           ErrorListener errorListener) {
+        super(Method.GET, url, null, priority, listener, errorListener);
+        mStore = store;
+        mNotModifiedListener = notModifiedListener;
+        // a 304 without a Volley cache entry has no body, and we don't want Volley making its own
+        // conditional requests for this url
+        setShouldCache(false);
+    }
+
+    @Override
+    public Map<String, String> getHeaders() throws AuthFailureError {
+        Map<String, String> headers = new HashMap<>(super.getHeaders());
+        headers.putAll(mStore.getConditionalHeaders(getUrl()));
+        return headers;
+    }
+
+    @Override
+    protected Response<JSONObject> parseNetworkResponse(NetworkResponse response) {
+        long elapsedMs = SystemClock.elapsedRealtime() - mStartTime;
+        if (response.statusCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            mStore.onNotModified(getUrl(), elapsedMs);
+            return Response.success(NOT_MODIFIED, null);
+        }
+
+        Response<JSONObject> parsed = super.parseNetworkResponse(response);
+        if (parsed.isSuccess()) {
+            int numBytes = response.data != null ? response.data.length : 0;
+            mStore.onFullResponse(getUrl(), parsed.result, response.headers, numBytes, elapsedMs);
+        }
+        return parsed;
+    }
+
+    @Override
+    protected void deliverResponse(JSONObject response) {
+        if (response == NOT_MODIFIED) {
+            if (mNotModifiedListener != null) {
+                mNotModifiedListener.onNotModified();
+            }
+        } else {
+            super.deliverResponse(response);
+        }
+    }
+}
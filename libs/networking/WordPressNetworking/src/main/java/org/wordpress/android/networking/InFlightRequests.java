@@ -0,0 +1,181 @@
+package org.wordpress.android.networking;
+
+import com.android.volley.NetworkResponse;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.android.volley.VolleyError;
+import com.wordpress.rest.RestRequest.ErrorListener;
+import com.wordpress.rest.RestRequest.Listener;
+
+import org.json.JSONObject;
+import org.wordpress.android.util.AppLog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the GET requests made through RestClientUtils that haven't responded yet, so an identical
+ * GET made while one is in flight shares its response instead of going to the network again. Requests are
+ * identical when they have the same absolute url and will be sent with the same access token, so requests
+ * made for different accounts are never shared.
+ *
+ * Each caller gets its own CallerRequest back rather than the request that's actually sent. The shared
+ * request is sent at the highest priority any of its callers asked for, and cancelling a CallerRequest
+ * only drops that caller - the shared request is cancelled once every caller has cancelled.
+ */
+class InFlightRequests {
+    private static final Map<String, SharedRequest> REQUESTS = new HashMap<>();
+
+    private InFlightRequests() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Listens for the response of a shared request and passes it on to every caller that's still waiting
+     * for it
+     */
+    static class SharedRequest implements Listener, ErrorListener {
+        private final String mKey;
+        private final List<CallerRequest> mCallers = new ArrayList<>();
+        private PrioritizedRestRequest mRequest;
+
+        SharedRequest(String url, Authenticator authenticator) {
+            mKey = getKey(url, authenticator);
+        }
+
+        @Override
+        public void onResponse(JSONObject response) {
+            for (CallerRequest caller : onCompleted()) {
+                caller.markDelivered();
+                if (caller.mListener != null) {
+                    caller.mListener.onResponse(response);
+                }
+            }
+        }
+
+        @Override
+        public void onErrorResponse(VolleyError error) {
+            for (CallerRequest caller : onCompleted()) {
+                caller.markDelivered();
+                if (caller.mErrorListener != null) {
+                    caller.mErrorListener.onErrorResponse(error);
+                }
+            }
+        }
+
+        /*
+         * removes the request from the in-flight requests and returns the callers still waiting for it
+         */
+        private List<CallerRequest> onCompleted() {
+            synchronized (InFlightRequests.class) {
+                remove(this);
+                List<CallerRequest> callers = new ArrayList<>(mCallers);
+                mCallers.clear();
+                return callers;
+            }
+        }
+    }
+
+    /**
+     * What a caller of RestClientUtils.get() gets back for a shared request - it's never sent itself, it
+     * only stands for the caller's interest in the shared request's response
+     */
+    static class CallerRequest extends Request<JSONObject> {
+        private final SharedRequest mSharedRequest;
+        private final Listener mListener;
+        private final ErrorListener mErrorListener;
+        private final boolean mIsFirstCaller;
+
+        private CallerRequest(SharedRequest sharedRequest, Listener listener, ErrorListener errorListener,
+                              boolean isFirstCaller) {
+            super(Method.GET, sharedRequest.mRequest.getUrl(), null);
+            mSharedRequest = sharedRequest;
+            mListener = listener;
+            mErrorListener = errorListener;
+            mIsFirstCaller = isFirstCaller;
+        }
+
+        /*
+         * true if this caller registered the shared request, in which case it's up to them to send it
+         */
+        boolean isFirstCaller() {
+            return mIsFirstCaller;
+        }
+
+        @Override
+        public void cancel() {
+            super.cancel();
+            leave(this);
+        }
+
+        @Override
+        public Priority getPriority() {
+            return mSharedRequest.mRequest.getPriority();
+        }
+
+        @Override
+        protected Response<JSONObject> parseNetworkResponse(NetworkResponse response) {
+            throw new UnsupportedOperationException("CallerRequest is never sent");
+        }
+
+        @Override
+        protected void deliverResponse(JSONObject response) {
+            throw new UnsupportedOperationException("CallerRequest is never sent");
+        }
+    }
+
+    private static String getKey(String url, Authenticator authenticator) {
+        String accessToken = authenticator != null ? authenticator.getAccessToken() : null;
+        return (accessToken != null ? accessToken : "") + "|" + url;
+    }
+
+    /*
+     * registers a caller for the passed request - if an identical request is already in flight the caller
+     * joins it, raising its priority if the caller's is higher, otherwise the passed request is registered
+     * as in flight and the returned CallerRequest's isFirstCaller() is true so the caller sends it
+     */
+    static synchronized CallerRequest register(SharedRequest sharedRequest, PrioritizedRestRequest request,
+                                               RestClientUtils.RequestPriority priority,
+                                               Listener listener, ErrorListener errorListener) {
+        SharedRequest existing = REQUESTS.get(sharedRequest.mKey);
+        // a cancelled request never calls its listeners, so it would never be removed otherwise
+        if (existing != null && !existing.mRequest.isCanceled()) {
+            existing.mRequest.raisePriority(priority);
+            CallerRequest caller = new CallerRequest(existing, listener, errorListener, false);
+            existing.mCallers.add(caller);
+            AppLog.d(AppLog.T.API, "in-flight request > joined " + request.getUrl());
+            return caller;
+        }
+
+        sharedRequest.mRequest = request;
+        REQUESTS.put(sharedRequest.mKey, sharedRequest);
+        CallerRequest caller = new CallerRequest(sharedRequest, listener, errorListener, true);
+        sharedRequest.mCallers.add(caller);
+        return caller;
+    }
+
+    static synchronized boolean isInFlight(String url, Authenticator authenticator) {
+        SharedRequest existing = REQUESTS.get(getKey(url, authenticator));
+        return existing != null && !existing.mRequest.isCanceled();
+    }
+
+    /*
+     * drops a cancelled caller, and cancels the shared request if no one else is waiting for it
+     */
+    private static synchronized void leave(CallerRequest caller) {
+        SharedRequest sharedRequest = caller.mSharedRequest;
+        if (!sharedRequest.mCallers.remove(caller) || !sharedRequest.mCallers.isEmpty()) {
+            return;
+        }
+        remove(sharedRequest);
+        sharedRequest.mRequest.cancel();
+    }
+
+    private static void remove(SharedRequest sharedRequest) {
+        if (REQUESTS.get(sharedRequest.mKey) == sharedRequest) {
+            REQUESTS.remove(sharedRequest.mKey);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.wordpress.android.networking;
+
+import com.wordpress.rest.RestRequest;
+
+import java.util.Map;
+
+/**
+ * RestRequest which Volley dispatches according to the RequestPriority it was made with, rather than
+ * in the order it was added to the queue
+ */
+class PrioritizedRestRequest extends RestRequest {
+    private volatile Priority mPriority;
+
+    PrioritizedRestRequest(int method, String url, Map<String, String> params, RestClientUtils.RequestPriority priority,
+                           Listener listener, ErrorListener errorListener) {
+        super(method, url, params, listener, errorListener);
+        mPriority = priority.getVolleyPriority();
+    }
+
+    @Override
+    public Priority getPriority() {
+        return mPriority;
+    }
+
+    /*
+     * raises the priority when a caller with a higher priority shares this request - Volley orders its queue
+     * as requests are added and taken, so this only helps while the request is still waiting its turn
+     */
+    void raisePriority(RestClientUtils.RequestPriority priority) {
+        Priority volleyPriority = priority.getVolleyPriority();
+        if (volleyPriority.ordinal() > mPriority.ordinal()) {
+            mPriority = volleyPriority;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.wordpress.android.networking;
+
+import com.android.volley.VolleyError;
+import com.wordpress.rest.RestRequest.ErrorListener;
+import com.wordpress.rest.RestRequest.Listener;
+
+import org.json.JSONObject;
+import org.wordpress.android.util.AppLog;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a call to the WP.com batch endpoint, which makes several GET requests in a single round trip,
+ * and hands each request's part of the batch response to that request's listeners. Send it with
+ * RestClientUtils.getBatch().
+ */
+public class RestBatch {
+    private final List<BatchEntry> mEntries = new ArrayList<>();
+
+    private static class BatchEntry {
+        private final String mPath;
+        private final Listener mListener;
+        private final ErrorListener mErrorListener;
+
+        BatchEntry(String path, Listener listener, ErrorListener errorListener) {
+            // the batch endpoint expects paths relative to the API root, and keys its response by them
+            mPath = path.startsWith("/") ? path : "/" + path;
+            mListener = listener;
+            mErrorListener = errorListener;
+        }
+    }
+
+    /**
+     * Adds a GET request to the batch - the path is the same one that would be passed to RestClientUtils.get()
+     * and may include a query string. Requests for a specific site should be added first, since the site
+     * the batch is authenticated for is taken from the first path.
+     */
+    public RestBatch add(String path, Listener listener, ErrorListener errorListener) {
+        mEntries.add(new BatchEntry(path, listener, errorListener));
+        return this;
+    }
+
+    public int size() {
+        return mEntries.size();
+    }
+
+    public boolean isEmpty() {
+        return mEntries.isEmpty();
+    }
+
+    /*
+     * returns the urls[]= query string for the batch endpoint, with the paths in the order they were added
+     */
+    String getQueryString() {
+        StringBuilder sb = new StringBuilder();
+        for (BatchEntry entry : mEntries) {
+            if (sb.length() > 0) {
+                sb.append("&");
+            }
+            sb.append(urlEncode("urls[]")).append("=").append(urlEncode(entry.mPath));
+        }
+        return sb.toString();
+    }
+
+    private static String urlEncode(String text) {
+        try {
+            return URLEncoder.encode(text, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            return text;
+        }
+    }
+
+    /*
+     * passes each request's part of the batch response to its listener, or to its error listener if
+     * that part is missing or is an error
+     */
+    void deliverResponse(JSONObject response) {
+        for (BatchEntry entry : mEntries) {
+            Object result = response != null ? response.opt(entry.mPath) : null;
+            VolleyError error = null;
+            if (!(result instanceof JSONObject)) {
+                error = new VolleyError("Batch response has no result for " + entry.mPath);
+            } else if (isErrorResult((JSONObject) result)) {
+                JSONObject errorResult = (JSONObject) result;
+                error = new VolleyError("Batch request for " + entry.mPath + " failed: "
+                                        + errorResult.optString("error") + " - " + errorResult.optString("message"));
+            }
+
+            if (error != null) {
+                AppLog.w(AppLog.T.API, error.getMessage());
+                if (entry.mErrorListener != null) {
+                    entry.mErrorListener.onErrorResponse(error);
+                }
+            } else if (entry.mListener != null) {
+                entry.mListener.onResponse((JSONObject) result);
+            }
+        }
+    }
+
+    /*
+     * a request in the batch that fails is returned as the same error object the endpoint would have
+     * responded with on its own
+     */
+    private static boolean isErrorResult(JSONObject result) {
+        return result.has("error") && result.has("message");
+    }
+
+    /*
+     * the batch request as a whole failed, so every request in it has
+     */
+    void deliverError(VolleyError error) {
+        for (BatchEntry entry : mEntries) {
+            if (entry.mErrorListener != null) {
+                entry.mErrorListener.onErrorResponse(error);
+            }
+        }
+    }
+}
@@ -30,13 +30,35 @@ import java.util.Map;
  */
 
 public class RestClientUtils {
-    public static final String NOTIFICATION_FIELDS = "id,type,unread,body,subject,timestamp,meta";
+    public static final String NOTIFICATION_FIELDS = "id,type,unread,body,subject,timestamp,meta,note_hash";
+    public static final String NOTIFICATION_HASH_FIELDS = "id,note_hash";
     private static String sUserAgent = "WordPress Networking Android";
 
     private RestClient mRestClient;
     private Authenticator mAuthenticator;
+    private RestRequest.OnAuthFailedListener mOnAuthFailedListener;
     private Context mContext;
 
+    /**
+     * How urgently a request is needed - Volley starts higher priority requests first, so requests for
+     * what the user is looking at aren't held up behind prefetches and background syncs
+     */
+    public enum RequestPriority {
+        USER_VISIBLE(Request.Priority.HIGH),
+        PREFETCH(Request.Priority.NORMAL),
+        BACKGROUND(Request.Priority.LOW);
+
+        private final Request.Priority mVolleyPriority;
+
+        RequestPriority(Request.Priority volleyPriority) {
+            mVolleyPriority = volleyPriority;
+        }
+
+        Request.Priority getVolleyPriority() {
+            return mVolleyPriority;
+        }
+    }
+
     /**
      * Socket timeout in milliseconds for rest requests
      */
@@ -72,6 +94,7 @@ public class RestClientUtils {
         // load an existing access token from prefs if we have one
         mContext = context;
         mAuthenticator = authenticator;
+        mOnAuthFailedListener = onAuthFailedListener;
         mRestClient = RestClientFactory.instantiate(queue, version);
         if (onAuthFailedListener != null) {
             mRestClient.setOnAuthFailedListener(onAuthFailedListener);
@@ -87,9 +110,12 @@ public class RestClientUtils {
         return mRestClient;
     }
 
+    public static String getCategoriesPath(long siteId) {
+        return String.format(Locale.US, "sites/%d/categories", siteId);
+    }
+
     public void getCategories(long siteId, Listener listener, ErrorListener errorListener) {
-        String path = String.format(Locale.US, "sites/%d/categories", siteId);
-        get(path, null, null, listener, errorListener);
+        get(getCategoriesPath(siteId), null, null, listener, errorListener);
     }
 
     /**
@@ -150,25 +176,36 @@ public class RestClientUtils {
         post(path, params, null, listener, errorListener);
     }
 
+    public static String getJetpackSettingsPath(long siteId) {
+        return String.format(Locale.US, "jetpack-blogs/%d/rest-api/?path=/jetpack/v4/settings", siteId);
+    }
+
     public void getJetpackSettings(long siteId, Listener listener, ErrorListener errorListener) {
-        String path = String.format(Locale.US, "jetpack-blogs/%d/rest-api/?path=/jetpack/v4/settings", siteId);
-        get(path, listener, errorListener);
+        get(getJetpackSettingsPath(siteId), listener, errorListener);
+    }
+
+    public static String getGeneralSettingsPath(long siteId) {
+        return String.format(Locale.US, "sites/%d/settings", siteId);
     }
 
     public void getGeneralSettings(long siteId, Listener listener, ErrorListener errorListener) {
-        String path = String.format(Locale.US, "sites/%d/settings", siteId);
-        get(path, listener, errorListener);
+        get(getGeneralSettingsPath(siteId), listener, errorListener);
+    }
+
+    public static String getJetpackMonitorSettingsPath(long siteId) {
+        return String.format(Locale.US, "jetpack-blogs/%d", siteId);
     }
 
     public void getJetpackMonitorSettings(long siteId, Listener listener, ErrorListener errorListener) {
-        String path = String.format(Locale.US, "jetpack-blogs/%d", siteId);
-        get(path, listener, errorListener);
+        get(getJetpackMonitorSettingsPath(siteId), listener, errorListener);
     }
 
+    public static String getJetpackModuleSettingsPath(long siteId) {
+        return String.format(Locale.US, "sites/%d/jetpack/modules", siteId);
+    }
 
     public void getJetpackModuleSettings(long siteId, Listener listener, ErrorListener errorListener) {
-        String path = String.format(Locale.US, "sites/%d/jetpack/modules", siteId);
-        get(path, listener, errorListener);
+        get(getJetpackModuleSettingsPath(siteId), listener, errorListener);
     }
 
     public void setGeneralSiteSettings(long siteId, JSONObject params, Listener listener, ErrorListener errorListener) {
@@ -248,6 +285,111 @@ public class RestClientUtils {
      */
     public Request<JSONObject> get(String path, Map<String, String> params, RetryPolicy retryPolicy, Listener listener,
                     ErrorListener errorListener) {
+        return get(path, params, retryPolicy, RequestPriority.USER_VISIBLE, listener, null, errorListener);
+    }
+
+    /**
+     * Make GET request with params and the passed priority
+     */
+    public Request<JSONObject> get(String path, Map<String, String> params, RetryPolicy retryPolicy,
+                                   RequestPriority priority, Listener listener, ErrorListener errorListener) {
+        return get(path, params, retryPolicy, priority, listener, null, errorListener);
+    }
+
+    /**
+     * Make GET request with params - when a NotModifiedListener is passed the request is made conditional
+     * using the validators of the last response from the same endpoint, and the NotModifiedListener is
+     * called instead of the Listener if the server responds that nothing has changed - once the Listener has
+     * saved a full response it must pass it to ConditionalRequestStore.saveValidators()
+     */
+    public Request<JSONObject> get(String path, Map<String, String> params, RetryPolicy retryPolicy, Listener listener,
+                                   NotModifiedListener notModifiedListener, ErrorListener errorListener) {
+        return get(path, params, retryPolicy, RequestPriority.USER_VISIBLE, listener, notModifiedListener,
+                errorListener);
+    }
+
+    /**
+     * Make GET request with params and the passed priority. Unless it's conditional (see above), a request
+     * that's identical to one already in flight isn't sent - the listeners are called with the response to
+     * the one in flight instead, and that request is returned.
+     */
+    public Request<JSONObject> get(String path, Map<String, String> params, RetryPolicy retryPolicy,
+                                   RequestPriority priority, Listener listener,
+                                   NotModifiedListener notModifiedListener, ErrorListener errorListener) {
+        return sendGet(getAbsoluteGetUrl(path, params), retryPolicy, priority, listener, notModifiedListener,
+                errorListener);
+    }
+
+    /**
+     * Make the GET requests in the passed batch as a single request to the batch endpoint
+     */
+    public Request<JSONObject> getBatch(final RestBatch batch, RequestPriority priority) {
+        String url = mRestClient.getAbsoluteURL("batch/") + "?" + batch.getQueryString();
+        // the site id is read from the start of the query string, so the locale goes at the end
+        for (Map.Entry<String, String> param : getRestLocaleParams(mContext).entrySet()) {
+            url += "&" + param.getKey() + "=" + Uri.encode(param.getValue());
+        }
+
+        Listener listener = new Listener() {
+            @Override
+            public void onResponse(JSONObject response) {
+                batch.deliverResponse(response);
+            }
+        };
+        ErrorListener errorListener = new ErrorListener() {
+            @Override
+            public void onErrorResponse(VolleyError error) {
+                batch.deliverError(error);
+            }
+        };
+        return sendGet(url, null, priority, listener, null, errorListener);
+    }
+
+    private Request<JSONObject> sendGet(String url, RetryPolicy retryPolicy, RequestPriority priority,
+                                        Listener listener, NotModifiedListener notModifiedListener,
+                                        ErrorListener errorListener) {
+        RestRequest request;
+        Request<JSONObject> callerRequest;
+        if (notModifiedListener != null) {
+            request = new ConditionalRestRequest(url, ConditionalRequestStore.getInstance(mContext), priority,
+                    listener, notModifiedListener, errorListener);
+            callerRequest = request;
+        } else {
+            InFlightRequests.SharedRequest sharedRequest = new InFlightRequests.SharedRequest(url, mAuthenticator);
+            PrioritizedRestRequest sharedRestRequest =
+                    new PrioritizedRestRequest(Method.GET, url, null, priority, sharedRequest, sharedRequest);
+            InFlightRequests.CallerRequest caller =
+                    InFlightRequests.register(sharedRequest, sharedRestRequest, priority, listener, errorListener);
+            if (!caller.isFirstCaller()) {
+                return caller;
+            }
+            request = sharedRestRequest;
+            callerRequest = caller;
+            errorListener = sharedRequest;
+        }
+        request.setUserAgent(sUserAgent);
+        if (mOnAuthFailedListener != null) {
+            request.setOnAuthFailedListener(mOnAuthFailedListener);
+        }
+
+        if (retryPolicy == null) {
+            retryPolicy = new DefaultRetryPolicy(REST_TIMEOUT_MS, REST_MAX_RETRIES_GET, REST_BACKOFF_MULT);
+        }
+        request.setRetryPolicy(retryPolicy);
+        AuthenticatorRequest authCheck = new AuthenticatorRequest(request, errorListener, mRestClient, mAuthenticator);
+        authCheck.send();
+        return callerRequest;
+    }
+
+    /**
+     * Returns true if a GET request for the passed path and params is in flight, in which case another one
+     * would share its response
+     */
+    public boolean isGetInFlight(String path, Map<String, String> params) {
+        return InFlightRequests.isInFlight(getAbsoluteGetUrl(path, params), mAuthenticator);
+    }
+
+    private String getAbsoluteGetUrl(String path, Map<String, String> params) {
         // turn params into query string
         HashMap<String, String> paramsWithLocale = getRestLocaleParams(mContext);
         if (params != null) {
@@ -260,16 +402,11 @@ public class RestClientUtils {
         }
         paramsWithLocale.putAll(getSanitizedParameters(path));
 
-        RestRequest request = mRestClient.makeRequest(Method.GET, mRestClient
-                        .getAbsoluteURL(realPath, paramsWithLocale), null, listener, errorListener);
+        return mRestClient.getAbsoluteURL(realPath, paramsWithLocale);
+    }
 
-        if (retryPolicy == null) {
-            retryPolicy = new DefaultRetryPolicy(REST_TIMEOUT_MS, REST_MAX_RETRIES_GET, REST_BACKOFF_MULT);
-        }
-        request.setRetryPolicy(retryPolicy);
-        AuthenticatorRequest authCheck = new AuthenticatorRequest(request, errorListener, mRestClient, mAuthenticator);
-        authCheck.send();
-        return request;
+    public interface NotModifiedListener {
+        void onNotModified();
     }
 
     /**
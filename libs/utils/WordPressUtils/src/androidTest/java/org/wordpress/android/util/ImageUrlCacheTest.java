@@ -0,0 +1,97 @@
+package org.wordpress.android.util;
+
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+import android.util.Log;
+
+import org.wordpress.android.util.PhotonUtils.Quality;
+
+public class ImageUrlCacheTest extends InstrumentationTestCase {
+    private static final String TAG = "ImageUrlCacheTest";
+    private static final String IMAGE_URL = "https://example.com/image.jpg?w=100#fragment";
+
+    // a list of rows, each with an avatar and a featured image, bound over and over as it's scrolled
+    private static final int NUM_BENCHMARK_ROWS = 100;
+    private static final int NUM_BENCHMARK_PASSES = 50;
+
+    public void testCachedPhotonUrlMatchesResolvedUrl() {
+        String expected = "https://i0.wp.com/example.com/image.jpg?strip=info&quality=65&resize=200,100";
+        assertEquals(expected, PhotonUtils.getPhotonImageUrl(IMAGE_URL, 200, 100));
+        assertSame(PhotonUtils.getPhotonImageUrl(IMAGE_URL, 200, 100),
+                   PhotonUtils.getPhotonImageUrl(IMAGE_URL, 200, 100));
+    }
+
+    public void testPhotonUrlsAreCachedBySizeAndQuality() {
+        String medium = PhotonUtils.getPhotonImageUrl(IMAGE_URL, 200, 100, Quality.MEDIUM);
+        assertFalse(medium.equals(PhotonUtils.getPhotonImageUrl(IMAGE_URL, 200, 100, Quality.HIGH)));
+        assertFalse(medium.equals(PhotonUtils.getPhotonImageUrl(IMAGE_URL, 100, 200, Quality.MEDIUM)));
+        assertFalse(medium.equals(PhotonUtils.getPhotonImageUrl(IMAGE_URL, 200, 0, Quality.MEDIUM)));
+    }
+
+    public void testGravatarUrlsAreCachedBySize() {
+        String email = "someone@example.com";
+        String small = GravatarUtils.gravatarFromEmail(email, 48);
+        assertSame(small, GravatarUtils.gravatarFromEmail(email, 48));
+        assertEquals(small.replace("size=48", "size=96"), GravatarUtils.gravatarFromEmail(email, 96));
+
+        String avatarUrl = "https://secure.gravatar.com/avatar/abc?s=96&d=identicon";
+        assertEquals("https://secure.gravatar.com/avatar/abc?s=48&d=mm", GravatarUtils.fixGravatarUrl(avatarUrl, 48));
+        assertEquals("https://secure.gravatar.com/avatar/abc?s=96&d=mm", GravatarUtils.fixGravatarUrl(avatarUrl, 96));
+    }
+
+    /*
+     * compares binding rows with the cache against resolving every url on each bind, as was done before
+     */
+    public void testBenchmark() {
+        String[] emails = new String[NUM_BENCHMARK_ROWS];
+        String[] imageUrls = new String[NUM_BENCHMARK_ROWS];
+        for (int i = 0; i < NUM_BENCHMARK_ROWS; i++) {
+            emails[i] = "author" + i + "@example.com";
+            imageUrls[i] = "https://example" + i + ".files.wordpress.com/2017/10/image-" + i + ".jpg?w=1024#top";
+        }
+
+        long startTime = SystemClock.elapsedRealtime();
+        for (int pass = 0; pass < NUM_BENCHMARK_PASSES; pass++) {
+            for (int i = 0; i < NUM_BENCHMARK_ROWS; i++) {
+                resolveGravatarFromEmail(emails[i], 96);
+                PhotonUtils.resolvePhotonImageUrl(imageUrls[i], 640, 360, Quality.MEDIUM);
+            }
+        }
+        long resolveTime = SystemClock.elapsedRealtime() - startTime;
+
+        startTime = SystemClock.elapsedRealtime();
+        for (int pass = 0; pass < NUM_BENCHMARK_PASSES; pass++) {
+            for (int i = 0; i < NUM_BENCHMARK_ROWS; i++) {
+                GravatarUtils.gravatarFromEmail(emails[i], 96);
+                PhotonUtils.getPhotonImageUrl(imageUrls[i], 640, 360, Quality.MEDIUM);
+            }
+        }
+        long cacheTime = SystemClock.elapsedRealtime() - startTime;
+
+        for (int i = 0; i < NUM_BENCHMARK_ROWS; i++) {
+            assertEquals(resolveGravatarFromEmail(emails[i], 96), GravatarUtils.gravatarFromEmail(emails[i], 96));
+            assertEquals(PhotonUtils.resolvePhotonImageUrl(imageUrls[i], 640, 360, Quality.MEDIUM),
+                         PhotonUtils.getPhotonImageUrl(imageUrls[i], 640, 360, Quality.MEDIUM));
+        }
+
+        Log.i(TAG, NUM_BENCHMARK_PASSES + " binds of " + NUM_BENCHMARK_ROWS + " rows took " + resolveTime
+                   + "ms resolving each url and " + cacheTime + "ms with the cache");
+    }
+
+    /*
+     * how GravatarUtils.gravatarFromEmail() built its url before it was cached
+     */
+    private static String resolveGravatarFromEmail(String email, int size) {
+        return "http://gravatar.com/avatar/"
+               + StringUtils.getMd5Hash(email)
+               + "?d=mm"
+               + "&size=" + Integer.toString(size);
+    }
+
+    public void testGravatarAndPhotonUrlsDontCollide() {
+        String url = "https://example.com/avatar.png";
+        String photonUrl = PhotonUtils.getPhotonImageUrl(url, 48, 48);
+        assertFalse(photonUrl.equals(GravatarUtils.blavatarFromUrl(url, 48)));
+        assertEquals(photonUrl, GravatarUtils.fixGravatarUrl(url, 48));
+    }
+}
@@ -0,0 +1,79 @@
+package org.wordpress.android.util;
+
+import android.test.InstrumentationTestCase;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class JSONPathTest extends InstrumentationTestCase {
+    private static final String NOTE_JSON = "{"
+            + "\"type\":\"comment\","
+            + "\"meta\":{\"ids\":{\"site\":123,\"comment\":456},\"links\":{\"home\":\"https://example.com\"}},"
+            + "\"body\":[{\"text\":\"first\"},{\"text\":\"last\",\"ranges\":[{\"id\":1},{\"id\":2}]}]"
+            + "}";
+
+    private static final String POST_JSON = "{\"meta\":{\"data\":{\"site\":{\"ID\":3584907,\"name\":\"News\"}}}}";
+
+    public void testQueriesObjectKeysAndIndexes() throws JSONException {
+        JSONObject note = new JSONObject(NOTE_JSON);
+        assertEquals("comment", JSONPath.compile("type").query(note, ""));
+        assertEquals(123, (int) JSONPath.compile("meta.ids.site").query(note, 0));
+        assertEquals("first", JSONPath.compile("body[first].text").query(note, ""));
+        assertEquals("last", JSONPath.compile("body[last].text").query(note, ""));
+        assertEquals("last", JSONPath.compile("body[-1].text").query(note, ""));
+        assertEquals(2, (int) JSONPath.compile("body[1].ranges[1].id").query(note, 0));
+    }
+
+    public void testReturnsDefaultForMissingOrMismatchedValues() throws JSONException {
+        JSONObject note = new JSONObject(NOTE_JSON);
+        assertEquals("none", JSONPath.compile("meta.ids.post").query(note, "none"));
+        assertEquals("none", JSONPath.compile("body[5].text").query(note, "none"));
+        assertEquals("none", JSONPath.compile("meta.ids.site").query(note, "none"));
+        assertEquals("none", JSONPath.compile("type[0]").query(note, "none"));
+        assertEquals("none", JSONPath.compile("body[x].text").query(note, "none"));
+        assertEquals("none", JSONPath.compile("body[0]text").query(note, "none"));
+        assertEquals("none", JSONPath.compile("type").query((JSONObject) null, "none"));
+    }
+
+    public void testQueriesArrays() throws JSONException {
+        JSONArray body = new JSONObject(NOTE_JSON).getJSONArray("body");
+        assertEquals("first", JSONPath.compile("[0].text").query(body, ""));
+        assertEquals(1, (int) JSONPath.compile("[last].ranges[0].id").query(body, 0));
+        // a key in front of the first index is ignored, as it was before queries were compiled
+        assertEquals("last", JSONPath.compile("body[1].text").query(body, ""));
+        assertEquals("none", JSONPath.compile("text").query(body, "none"));
+    }
+
+    public void testIgnoresEverythingBeforeFirstArrayIndex() throws JSONException {
+        JSONArray body = new JSONObject(NOTE_JSON).getJSONArray("body");
+        // before queries were compiled everything up to the first "[" was dropped, so these match "[0]..."
+        assertSame(body.get(0), JSONPath.compile("a.b[0]").query(body, new JSONObject()));
+        assertEquals("first", JSONPath.compile("a.b[0].text").query(body, ""));
+        assertEquals(2, (int) JSONPath.compile("a.b.c[last].ranges[last].id").query(body, 0));
+        assertEquals("none", JSONPath.compile("a.b.text").query(body, "none"));
+    }
+
+    public void testMatchesJSONUtils() throws JSONException {
+        JSONObject note = new JSONObject(NOTE_JSON);
+        String[] queries = {"type", "meta.links.home", "body[last].text", "body[0].ranges", "meta.ids.missing"};
+        for (String query : queries) {
+            assertEquals(JSONUtils.queryJSON(note, query, ""), JSONPath.compile(query).query(note, ""));
+        }
+    }
+
+    public void testCompiledQueriesAreCached() {
+        assertSame(JSONPath.compile("meta.ids.site"), JSONPath.compile("meta.ids.site"));
+        assertSame(JSONPath.compileChild("meta/data/site"), JSONPath.compileChild("meta/data/site"));
+    }
+
+    public void testGetsChildObjects() throws JSONException {
+        JSONObject post = new JSONObject(POST_JSON);
+        JSONObject site = JSONPath.compileChild("meta/data/site").getJSONObject(post);
+        assertNotNull(site);
+        assertEquals(3584907, site.optInt("ID"));
+        assertNull(JSONPath.compileChild("meta/data/feed").getJSONObject(post));
+        assertNull(JSONPath.compileChild("meta/data/site/name").getJSONObject(post));
+        assertSame(site, JSONUtils.getJSONChild(post, "meta/data/site"));
+    }
+}
@@ -58,8 +58,15 @@ public class GravatarUtils {
             return PhotonUtils.getPhotonImageUrl(imageUrl, avatarSz, avatarSz);
         }
 
-        // remove all other params, then add query string for size and default image
-        return UrlUtils.removeQuery(imageUrl) + "?s=" + avatarSz + "&d=" + defaultImage.toString();
+        ImageUrlCache.Key key = new ImageUrlCache.Key(
+                ImageUrlCache.TYPE_GRAVATAR_FIX, imageUrl, avatarSz, avatarSz, defaultImage.ordinal());
+        String gravatarUrl = ImageUrlCache.get(key);
+        if (gravatarUrl == null) {
+            // remove all other params, then add query string for size and default image
+            gravatarUrl = UrlUtils.removeQuery(imageUrl) + "?s=" + avatarSz + "&d=" + defaultImage.toString();
+            ImageUrlCache.put(key, gravatarUrl);
+        }
+        return gravatarUrl;
     }
 
     public static String gravatarFromEmail(final String email, int size) {
@@ -67,10 +74,17 @@ public class GravatarUtils {
     }
 
     public static String gravatarFromEmail(final String email, int size, DefaultImage defaultImage) {
-        return "http://gravatar.com/avatar/"
-               + StringUtils.getMd5Hash(StringUtils.notNullStr(email))
-               + "?d=" + defaultImage.toString()
-               + "&size=" + Integer.toString(size);
+        ImageUrlCache.Key key = new ImageUrlCache.Key(
+                ImageUrlCache.TYPE_GRAVATAR_EMAIL, StringUtils.notNullStr(email), size, size, defaultImage.ordinal());
+        String gravatarUrl = ImageUrlCache.get(key);
+        if (gravatarUrl == null) {
+            gravatarUrl = "http://gravatar.com/avatar/"
+                          + StringUtils.getMd5Hash(StringUtils.notNullStr(email))
+                          + "?d=" + defaultImage.toString()
+                          + "&size=" + Integer.toString(size);
+            ImageUrlCache.put(key, gravatarUrl);
+        }
+        return gravatarUrl;
     }
 
     public static String blavatarFromUrl(final String url, int size) {
@@ -78,9 +92,16 @@ public class GravatarUtils {
     }
 
     public static String blavatarFromUrl(final String url, int size, DefaultImage defaultImage) {
-        return "http://gravatar.com/blavatar/"
-               + StringUtils.getMd5Hash(UrlUtils.getHost(url))
-               + "?d=" + defaultImage.toString()
-               + "&size=" + Integer.toString(size);
+        ImageUrlCache.Key key = new ImageUrlCache.Key(
+                ImageUrlCache.TYPE_BLAVATAR, StringUtils.notNullStr(url), size, size, defaultImage.ordinal());
+        String blavatarUrl = ImageUrlCache.get(key);
+        if (blavatarUrl == null) {
+            blavatarUrl = "http://gravatar.com/blavatar/"
+                          + StringUtils.getMd5Hash(UrlUtils.getHost(url))
+                          + "?d=" + defaultImage.toString()
+                          + "&size=" + Integer.toString(size);
+            ImageUrlCache.put(key, blavatarUrl);
+        }
+        return blavatarUrl;
     }
 }
@@ -0,0 +1,75 @@
+package org.wordpress.android.util;
+
+import android.util.LruCache;
+
+/**
+ * Bounded, thread-safe cache of image urls that have already been resolved by {@link GravatarUtils}
+ * and {@link PhotonUtils}. Adapters ask for the same avatar and photon urls every time a row is bound,
+ * and resolving them means hashing emails and running several passes over the source url.
+ */
+final class ImageUrlCache {
+    static final int TYPE_PHOTON = 0;
+    static final int TYPE_GRAVATAR_FIX = 1;
+    static final int TYPE_GRAVATAR_EMAIL = 2;
+    static final int TYPE_BLAVATAR = 3;
+
+    private static final int MAX_ENTRIES = 500;
+
+    // LruCache synchronizes its own access, so this can be used from any thread
+    private static final LruCache<Key, String> CACHE = new LruCache<>(MAX_ENTRIES);
+
+    private ImageUrlCache() {
+        throw new AssertionError();
+    }
+
+    static final class Key {
+        private final int mType;
+        private final String mSource;
+        private final int mWidth;
+        private final int mHeight;
+        // quality for photon urls, default image for gravatar urls
+        private final int mVariant;
+        private final int mHashCode;
+
+        Key(int type, String source, int width, int height, int variant) {
+            mType = type;
+            mSource = source;
+            mWidth = width;
+            mHeight = height;
+            mVariant = variant;
+
+            int hashCode = mSource.hashCode();
+            hashCode = 31 * hashCode + mType;
+            hashCode = 31 * hashCode + mWidth;
+            hashCode = 31 * hashCode + mHeight;
+            mHashCode = 31 * hashCode + mVariant;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Key)) return false;
+            Key otherKey = (Key) other;
+            return mType == otherKey.mType
+                   && mWidth == otherKey.mWidth
+                   && mHeight == otherKey.mHeight
+                   && mVariant == otherKey.mVariant
+                   && mSource.equals(otherKey.mSource);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+    }
+
+    static String get(Key key) {
+        return CACHE.get(key);
+    }
+
+    static void put(Key key, String url) {
+        if (url != null) {
+            CACHE.put(key, url);
+        }
+    }
+}
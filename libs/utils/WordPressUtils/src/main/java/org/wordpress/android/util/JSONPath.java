@@ -0,0 +1,228 @@
+package org.wordpress.android.util;
+
+import android.text.TextUtils;
+import android.util.LruCache;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.wordpress.android.util.AppLog.T;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A query into a JSON object graph that's parsed once and can be reused, rather than re-parsing the
+ * query string each time it's evaluated. Two query syntaxes are supported:
+ *
+ * compile("meta.ids.site"), compile("ranges[last].id"), compile("[0].media[0].url") - the syntax used
+ * by {@link JSONUtils#queryJSON}, where array indexes may be negative to count from the end, or
+ * "first" and "last"
+ *
+ * compileChild("meta/data/site") - the syntax used by {@link JSONUtils#getJSONChild}, which only
+ * walks through nested objects
+ *
+ * Compiled queries are cached, so compiling the same query again is cheap, but callers that evaluate
+ * a fixed query often should keep the compiled query in a constant.
+ */
+public final class JSONPath {
+    private static final char QUERY_SEPARATOR = '.';
+    private static final char QUERY_ARRAY_INDEX_START = '[';
+    private static final char QUERY_ARRAY_INDEX_END = ']';
+    private static final String QUERY_ARRAY_FIRST = "first";
+    private static final String QUERY_ARRAY_LAST = "last";
+    private static final char CHILD_SEPARATOR = '/';
+
+    private static final int MAX_CACHED_QUERIES = 200;
+
+    // LruCache synchronizes its own access, so queries can be compiled on any thread
+    private static final LruCache<String, JSONPath> QUERY_CACHE = new LruCache<>(MAX_CACHED_QUERIES);
+    private static final LruCache<String, JSONPath> CHILD_CACHE = new LruCache<>(MAX_CACHED_QUERIES);
+
+    // each segment is either an object key or, when the key is null, an array index
+    private final String[] mKeys;
+    private final int[] mIndexes;
+    private final boolean mIsValid;
+
+    private JSONPath(List<String> keys, List<Integer> indexes, boolean isValid) {
+        mKeys = keys.toArray(new String[keys.size()]);
+        mIndexes = new int[indexes.size()];
+        for (int i = 0; i < mIndexes.length; i++) {
+            mIndexes[i] = indexes.get(i);
+        }
+        mIsValid = isValid;
+    }
+
+    /*
+     * returns the compiled form of a queryJSON-style query, ie: "meta.ids.site" or "[0].ranges[last].url"
+     */
+    public static JSONPath compile(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("query can't be null");
+        }
+        JSONPath path = QUERY_CACHE.get(query);
+        if (path == null) {
+            path = parseQuery(query);
+            QUERY_CACHE.put(query, path);
+        }
+        return path;
+    }
+
+    /*
+     * returns the compiled form of a getJSONChild-style query, ie: "meta/data/site"
+     */
+    public static JSONPath compileChild(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("query can't be null");
+        }
+        JSONPath path = CHILD_CACHE.get(query);
+        if (path == null) {
+            path = parseChildQuery(query);
+            CHILD_CACHE.put(query, path);
+        }
+        return path;
+    }
+
+    private static JSONPath parseQuery(String query) {
+        List<String> keys = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        int pos = 0;
+        // a query that doesn't start with an index starts with a key
+        if (query.isEmpty() || query.charAt(0) != QUERY_ARRAY_INDEX_START) {
+            pos = addKey(query, 0, keys, indexes);
+        }
+        while (pos < query.length()) {
+            char c = query.charAt(pos);
+            if (c == QUERY_SEPARATOR) {
+                pos = addKey(query, pos + 1, keys, indexes);
+            } else if (c == QUERY_ARRAY_INDEX_START) {
+                int end = query.indexOf(QUERY_ARRAY_INDEX_END, pos);
+                if (end == -1 || !addIndex(query.substring(pos + 1, end), keys, indexes)) {
+                    AppLog.w(T.UTILS, "Invalid array index in query " + query);
+                    return new JSONPath(keys, indexes, false);
+                }
+                pos = end + 1;
+            } else {
+                AppLog.w(T.UTILS, "Incorrect query " + query);
+                return new JSONPath(keys, indexes, false);
+            }
+        }
+        return new JSONPath(keys, indexes, true);
+    }
+
+    /*
+     * adds the key starting at the passed position and returns the position following it
+     */
+    private static int addKey(String query, int start, List<String> keys, List<Integer> indexes) {
+        int end = start;
+        while (end < query.length()
+               && query.charAt(end) != QUERY_SEPARATOR
+               && query.charAt(end) != QUERY_ARRAY_INDEX_START) {
+            end++;
+        }
+        keys.add(query.substring(start, end));
+        indexes.add(0);
+        return end;
+    }
+
+    private static boolean addIndex(String indexStr, List<String> keys, List<Integer> indexes) {
+        int index;
+        if (indexStr.equals(QUERY_ARRAY_FIRST)) {
+            index = 0;
+        } else if (indexStr.equals(QUERY_ARRAY_LAST)) {
+            index = -1;
+        } else {
+            try {
+                index = Integer.parseInt(indexStr);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        keys.add(null);
+        indexes.add(index);
+        return true;
+    }
+
+    private static JSONPath parseChildQuery(String query) {
+        List<String> keys = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        if (!TextUtils.isEmpty(query)) {
+            for (String key : query.split(String.valueOf(CHILD_SEPARATOR))) {
+                keys.add(key);
+                indexes.add(0);
+            }
+        }
+        return new JSONPath(keys, indexes, !keys.isEmpty());
+    }
+
+    /*
+     * returns the value at the end of the query, or null if the query doesn't lead anywhere
+     */
+    private Object evaluate(Object source, int firstSegment) {
+        if (!mIsValid) {
+            return null;
+        }
+        Object current = source;
+        for (int i = firstSegment; i < mKeys.length; i++) {
+            if (mKeys[i] != null) {
+                if (!(current instanceof JSONObject)) {
+                    return null;
+                }
+                current = ((JSONObject) current).opt(mKeys[i]);
+            } else {
+                if (!(current instanceof JSONArray)) {
+                    return null;
+                }
+                JSONArray array = (JSONArray) current;
+                int index = mIndexes[i] < 0 ? array.length() + mIndexes[i] : mIndexes[i];
+                current = array.opt(index);
+            }
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    public <U> U query(JSONObject source, U defaultObject) {
+        return queryFrom(source, 0, defaultObject);
+    }
+
+    public <U> U query(JSONArray source, U defaultObject) {
+        // array queries have to start with an index - as before queries were compiled, everything in front
+        // of the first index is ignored, so "subject[1].text" and "a.b[1].text" are the same as "[1].text"
+        int firstSegment = 0;
+        while (firstSegment < mKeys.length && mKeys[firstSegment] != null) {
+            firstSegment++;
+        }
+        if (firstSegment == mKeys.length) {
+            return defaultObject;
+        }
+        return queryFrom(source, firstSegment, defaultObject);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U> U queryFrom(Object source, int firstSegment, U defaultObject) {
+        Object result = evaluate(source, firstSegment);
+        if (result == null) {
+            return defaultObject;
+        }
+        if (defaultObject == null) {
+            return (U) result;
+        }
+        if (result.getClass().isAssignableFrom(defaultObject.getClass())) {
+            return (U) result;
+        }
+        AppLog.w(T.UTILS,
+                 String.format("The returned object type %s is not assignable to the type %s. Using default!",
+                               result.getClass(), defaultObject.getClass()));
+        return defaultObject;
+    }
+
+    /*
+     * returns the JSONObject at the end of the query, or null if there isn't one
+     */
+    public JSONObject getJSONObject(JSONObject source) {
+        Object result = evaluate(source, 0);
+        return result instanceof JSONObject ? (JSONObject) result : null;
+    }
+}
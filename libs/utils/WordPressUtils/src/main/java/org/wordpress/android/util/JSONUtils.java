@@ -11,18 +11,15 @@ import org.wordpress.android.util.AppLog.T;
 import java.util.ArrayList;
 
 public class JSONUtils {
-    private static final String QUERY_SEPERATOR = ".";
-    private static final String QUERY_ARRAY_INDEX_START = "[";
-    private static final String QUERY_ARRAY_INDEX_END = "]";
-    private static final String QUERY_ARRAY_FIRST = "first";
-    private static final String QUERY_ARRAY_LAST = "last";
-
     private static final String JSON_NULL_STR = "null";
     private static final String TAG = "JSONUtils";
 
     /**
      * Given a JSONObject and a key path (e.g property.child) and a default it will
      * traverse the object graph and pull out the desired property
+     *
+     * The query is compiled by {@link JSONPath}, which caches it - callers that run the same
+     * query often can hold on to the compiled query instead
      */
     public static <U> U queryJSON(JSONObject source, String query, U defaultObject) {
         if (source == null) {
@@ -33,62 +30,7 @@ public class JSONUtils {
             AppLog.e(T.UTILS, "Parameter query is null");
             return defaultObject;
         }
-        int nextSeperator = query.indexOf(QUERY_SEPERATOR);
-        int nextIndexStart = query.indexOf(QUERY_ARRAY_INDEX_START);
-        if (nextSeperator == -1 && nextIndexStart == -1) {
-            // last item let's get it
-            try {
-                if (!source.has(query)) {
-                    return defaultObject;
-                }
-                Object result = source.get(query);
-                if (result.getClass().isAssignableFrom(defaultObject.getClass())) {
-                    return (U) result;
-                } else {
-                    AppLog.w(T.UTILS, String.format(
-                            "The returned object type %s is not assignable to the type %s. Using default!",
-                            result.getClass(), defaultObject.getClass()));
-                    return defaultObject;
-                }
-            } catch (java.lang.ClassCastException e) {
-                AppLog.e(T.UTILS, "Unable to cast the object to " + defaultObject.getClass().getName(), e);
-                return defaultObject;
-            } catch (JSONException e) {
-                AppLog.e(T.UTILS, "Unable to get the Key from the input object. Key:" + query, e);
-                return defaultObject;
-            }
-        }
-        int endQuery;
-        if (nextSeperator == -1 || nextIndexStart == -1) {
-            endQuery = Math.max(nextSeperator, nextIndexStart);
-        } else {
-            endQuery = Math.min(nextSeperator, nextIndexStart);
-        }
-        String nextQuery = query.substring(endQuery);
-        String key = query.substring(0, endQuery);
-        try {
-            if (nextQuery.indexOf(QUERY_SEPERATOR) == 0) {
-                return queryJSON(source.getJSONObject(key), nextQuery.substring(1), defaultObject);
-            } else if (nextQuery.indexOf(QUERY_ARRAY_INDEX_START) == 0) {
-                return queryJSON(source.getJSONArray(key), nextQuery, defaultObject);
-            } else if (!nextQuery.equals("")) {
-                return defaultObject;
-            }
-            Object result = source.get(key);
-            if (result.getClass().isAssignableFrom(defaultObject.getClass())) {
-                return (U) result;
-            } else {
-                AppLog.w(T.UTILS,
-                         String.format("The returned object type %s is not assignable to the type %s. Using default!",
-                                       result.getClass(), defaultObject.getClass()));
-                return defaultObject;
-            }
-        } catch (java.lang.ClassCastException e) {
-            AppLog.e(T.UTILS, "Unable to cast the object to " + defaultObject.getClass().getName(), e);
-            return defaultObject;
-        } catch (JSONException e) {
-            return defaultObject;
-        }
+        return JSONPath.compile(query).query(source, defaultObject);
     }
 
     /**
@@ -107,52 +49,7 @@ public class JSONUtils {
             AppLog.e(T.UTILS, "Parameter query is null");
             return defaultObject;
         }
-        // query must start with [ have an index and then have ]
-        int indexStart = query.indexOf(QUERY_ARRAY_INDEX_START);
-        int indexEnd = query.indexOf(QUERY_ARRAY_INDEX_END);
-        if (indexStart == -1 || indexEnd == -1 || indexStart > indexEnd) {
-            return defaultObject;
-        }
-        // get "index" from "[index]"
-        String indexStr = query.substring(indexStart + 1, indexEnd);
-        int index;
-        if (indexStr.equals(QUERY_ARRAY_FIRST)) {
-            index = 0;
-        } else if (indexStr.equals(QUERY_ARRAY_LAST)) {
-            index = -1;
-        } else {
-            index = Integer.parseInt(indexStr);
-        }
-        if (index < 0) {
-            index = source.length() + index;
-        }
-        // copy remaining query
-        String remainingQuery = query.substring(indexEnd + 1);
-        try {
-            if (remainingQuery.indexOf(QUERY_ARRAY_INDEX_START) == 0) {
-                return queryJSON(source.getJSONArray(index), remainingQuery, defaultObject);
-            } else if (remainingQuery.indexOf(QUERY_SEPERATOR) == 0) {
-                return queryJSON(source.getJSONObject(index), remainingQuery.substring(1), defaultObject);
-            } else if (!remainingQuery.equals("")) {
-                // TODO throw an exception since the query isn't valid?
-                AppLog.w(T.UTILS, String.format("Incorrect query for next object %s", remainingQuery));
-                return defaultObject;
-            }
-            Object result = source.get(index);
-            if (result.getClass().isAssignableFrom(defaultObject.getClass())) {
-                return (U) result;
-            } else {
-                AppLog.w(T.UTILS,
-                         String.format("The returned object type %s is not assignable to the type %s. Using default!",
-                                       result.getClass(), defaultObject.getClass()));
-                return defaultObject;
-            }
-        } catch (java.lang.ClassCastException e) {
-            AppLog.e(T.UTILS, "Unable to cast the object to " + defaultObject.getClass().getName(), e);
-            return defaultObject;
-        } catch (JSONException e) {
-            return defaultObject;
-        }
+        return JSONPath.compile(query).query(source, defaultObject);
     }
 
     /**
@@ -245,18 +142,6 @@ public class JSONUtils {
         if (jsonParent == null || TextUtils.isEmpty(query)) {
             return null;
         }
-        String[] names = query.split("/");
-        JSONObject jsonChild = null;
-        for (int i = 0; i < names.length; i++) {
-            if (jsonChild == null) {
-                jsonChild = jsonParent.optJSONObject(names[i]);
-            } else {
-                jsonChild = jsonChild.optJSONObject(names[i]);
-            }
-            if (jsonChild == null) {
-                return null;
-            }
-        }
-        return jsonChild;
+        return JSONPath.compileChild(query).getJSONObject(jsonParent);
     }
 }
@@ -37,6 +37,20 @@ public class PhotonUtils {
             return "";
         }
 
+        ImageUrlCache.Key key = new ImageUrlCache.Key(
+                ImageUrlCache.TYPE_PHOTON, imageUrl, width, height, quality.ordinal());
+        String photonUrl = ImageUrlCache.get(key);
+        if (photonUrl == null) {
+            photonUrl = resolvePhotonImageUrl(imageUrl, width, height, quality);
+            ImageUrlCache.put(key, photonUrl);
+        }
+        return photonUrl;
+    }
+
+    /*
+     * builds the photon url without the cache - package-private so tests can compare the two
+     */
+    static String resolvePhotonImageUrl(String imageUrl, int width, int height, Quality quality) {
         // make sure it's valid
         int schemePos = imageUrl.indexOf("://");
         if (schemePos == -1) {